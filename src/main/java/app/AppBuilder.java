@@ -1,26 +1,49 @@
 package app;
 
 import java.awt.CardLayout;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executors;
 
 import javax.swing.JFrame;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 import javax.swing.WindowConstants;
 
+import data_access.http.CircuitBreaker;
+import data_access.http.DailyQuota;
+import data_access.http.HttpTransport;
+import data_access.http.ResilientCaller;
+import data_access.http.TokenBucket;
 import data_access.recent_city.RecentCitiesDAO;
 import data_access.summarization.SummarizationSummaryDAO;
+import data_access.weather.ForecastPrefetcher;
+import data_access.weather.ForecastRefreshScheduler;
 import data_access.weather.WeatherDAO;
+import data_access.weather.cache.FileSnapshotStore;
+import data_access.weather.cache.ForecastCache;
+import data_access.weather.geocoding.CachedGeocodingDAO;
+import data_access.weather.geocoding.CityNameDAO;
+import data_access.weather.geocoding.CoalescingGeocodingDAO;
+import data_access.weather.geocoding.Gazetteer;
+import data_access.weather.geocoding.Geocoder;
+import data_access.weather.geocoding.OfflineGeocodingDAO;
+import data_access.weather.open_weather.OpenWeatherGeocodingDAO;
+import data_access.weather.open_weather.OpenWeatherWeatherDAO;
 import entity.recent_city.ConcreteRecentCityDataFactory;
 import entity.recent_city.RecentCityDataFactory;
 import entity.summarization.ConcreteSummarizationFactory;
 import entity.summarization.SummarizationFactory;
 import entity.weather.daily_weather.ConcreteDailyWeatherDataFactory;
 import entity.weather.daily_weather.DailyWeatherDataFactory;
-import entity.weather.day_weather.ConcreteDayWeatherDataFactory;
-import entity.weather.day_weather.DayWeatherDataFactory;
-import entity.weather.hour_weather.ConcreteHourWeatherDataFactory;
-import entity.weather.hour_weather.HourWeatherDataFactory;
 import entity.weather.hourly_weather.ConcreteHourlyWeatherDataFactory;
 import entity.weather.hourly_weather.HourlyWeatherDataFactory;
+import exception.RecentCitiesDataException;
+import interface_adapter.UseCaseDispatcher;
 import interface_adapter.ViewManagerModel;
 import interface_adapter.display_checker.DisplayCheckerController;
 import interface_adapter.display_checker.DisplayCheckerPresenter;
@@ -89,39 +112,74 @@ public class AppBuilder {
 
     private final RecentCityDataFactory recentCityDataFactory = new ConcreteRecentCityDataFactory();
     private final DailyWeatherDataFactory dailyWeatherDataFactory = new ConcreteDailyWeatherDataFactory();
-    private final DayWeatherDataFactory dayWeatherDataFactory = new ConcreteDayWeatherDataFactory();
     private final HourlyWeatherDataFactory hourlyWeatherDataFactory = new ConcreteHourlyWeatherDataFactory();
-    private final HourWeatherDataFactory hourWeatherDataFactory = new ConcreteHourWeatherDataFactory();
     private final SummarizationFactory summarizationFactory = new ConcreteSummarizationFactory();
 
+    // one pooled HTTP client shared by every remote DAO
+    private final HttpTransport httpTransport = new HttpTransport();
+    // both OpenWeather APIs are served by one host, so they open and close one circuit together, while each keeps
+    // its own latencies to hedge against
+    private final CircuitBreaker openWeatherCircuitBreaker = new CircuitBreaker();
+    // One Call 3.0 is metered per day, and the first 1,000 calls are free; the bucket keeps a burst of refreshes
+    // from spending the day's budget at once
+    private final DailyQuota oneCallQuota = new DailyQuota("One Call", 1000,
+            new TokenBucket(10, 60, Duration.ofMinutes(1), Clock.systemUTC()),
+            Path.of("src", "main", "resources", "data", "OneCallQuota.json"), Clock.systemUTC());
+    // OpenAI completions are paid per request
+    private final DailyQuota openAiQuota = new DailyQuota("OpenAI", 200,
+            new TokenBucket(3, 20, Duration.ofMinutes(1), Clock.systemUTC()),
+            Path.of("src", "main", "resources", "data", "OpenAIQuota.json"), Clock.systemUTC());
+    // geocoding results are cached in memory and on disk so known cities skip the network, concurrent misses for
+    // the same city share one request, and misses are held to the Geocoding API's 60 calls a minute
+    private final CachedGeocodingDAO cachedGeocodingDAO = new CachedGeocodingDAO(
+            new CoalescingGeocodingDAO(new OpenWeatherGeocodingDAO(new ResilientCaller(httpTransport,
+                    openWeatherCircuitBreaker, new TokenBucket(60, 60, Duration.ofMinutes(1), Clock.systemUTC())))));
+    // the gazetteer built with the app resolves well known cities without the network, so only other cities reach
+    // the geocoding cache and API
+    private final Gazetteer gazetteer = openGazetteer();
+    private final Geocoder geocoder = offlineFirst(gazetteer, cachedGeocodingDAO);
+    private final OpenWeatherWeatherDAO openWeatherWeatherDAO = new OpenWeatherWeatherDAO(
+            new ResilientCaller(httpTransport, openWeatherCircuitBreaker, oneCallQuota));
+    // a single WeatherDAO so every use case is served from the same cached forecast snapshot, shared by every city in
+    // the same one degree tile, with the last-known snapshot of each tile kept on disk for when the API cannot be
+    // reached
+    private final WeatherDAO weatherDAO = new WeatherDAO(dailyWeatherDataFactory, hourlyWeatherDataFactory,
+            geocoder, openWeatherWeatherDAO, new ForecastCache(),
+            new FileSnapshotStore(dailyWeatherDataFactory, hourlyWeatherDataFactory));
+    // keeps the forecasts of recently viewed cities fresh in the background until the window closes
+    private final ForecastRefreshScheduler forecastRefreshScheduler = new ForecastRefreshScheduler(weatherDAO);
+
+    // interactors run on virtual threads so network calls never block the Event Dispatch Thread, and presenters are
+    // called back on it
+    private final UseCaseDispatcher useCaseDispatcher = new UseCaseDispatcher(
+            Executors.newVirtualThreadPerTaskExecutor(), SwingUtilities::invokeLater);
+
     private final ViewManagerModel viewManagerModel = new ViewManagerModel();
     private final ViewManager viewManager = new ViewManager(cardPanel, cardLayout, viewManagerModel);
 
+    // one in-memory list of recent cities serves every use case, and is written to disk in the background
+    private final RecentCitiesDAO recentCitiesDAO = new RecentCitiesDAO(recentCityDataFactory);
+
     // daily DAI's
-    private final DisplayDailyRecentCitiesDAI displayDailyRecentCitiesDAO = new RecentCitiesDAO(recentCityDataFactory);
-    private final DisplayDailyWeatherDAI displayDailyWeatherDAO = new WeatherDAO(dayWeatherDataFactory,
-            dailyWeatherDataFactory, hourWeatherDataFactory, hourlyWeatherDataFactory);
+    private final DisplayDailyRecentCitiesDAI displayDailyRecentCitiesDAO = recentCitiesDAO;
+    private final DisplayDailyWeatherDAI displayDailyWeatherDAO = weatherDAO;
     // checker DAI's
-    private final DisplayCheckerDAI displayCheckerWeatherDAO = new WeatherDAO(dayWeatherDataFactory,
-            dailyWeatherDataFactory, hourWeatherDataFactory, hourlyWeatherDataFactory);
+    private final DisplayCheckerDAI displayCheckerWeatherDAO = weatherDAO;
     // home DAI's
-    private final DisplayHomeRecentCitiesDAI displayHomeRecentCitiesDAO = new RecentCitiesDAO(recentCityDataFactory);
-    private final DisplayHomeWeatherDAI displayHomeWeatherDAO = new WeatherDAO(dayWeatherDataFactory,
-            dailyWeatherDataFactory, hourWeatherDataFactory, hourlyWeatherDataFactory);
+    private final DisplayHomeRecentCitiesDAI displayHomeRecentCitiesDAO = recentCitiesDAO;
+    private final DisplayHomeWeatherDAI displayHomeWeatherDAO = weatherDAO;
+    private final CityNameDAO cityNameDAO = new CityNameDAO();
     // summarization DAI's
-    private final DisplaySummarizationRecentCitiesDAI displaySummarizationRecentCitiesDAO = new
-            RecentCitiesDAO(recentCityDataFactory);
-    private final DisplaySummarizationWeatherDAI displaySummarizationWeatherDAO = new WeatherDAO(dayWeatherDataFactory,
-            dailyWeatherDataFactory, hourWeatherDataFactory, hourlyWeatherDataFactory);
+    private final DisplaySummarizationRecentCitiesDAI displaySummarizationRecentCitiesDAO = recentCitiesDAO;
+    private final DisplaySummarizationWeatherDAI displaySummarizationWeatherDAO = weatherDAO;
     private final DisplaySummarizationSummaryDAI displaySummarizationSummaryDAO =
-            new SummarizationSummaryDAO(summarizationFactory);
+            new SummarizationSummaryDAO(summarizationFactory,
+                    new ResilientCaller(httpTransport, new CircuitBreaker(), openAiQuota));
     // history DAI's
-    private final DisplayHistoryDAI displayHistoryDAO = new RecentCitiesDAO(recentCityDataFactory);
+    private final DisplayHistoryDAI displayHistoryDAO = recentCitiesDAO;
     // hourly DAI's
-    private final DisplayHourlyRecentCitiesDAI displayHourlyRecentCitiesDAO =
-            new RecentCitiesDAO(recentCityDataFactory);
-    private final DisplayHourlyWeatherDAI displayHourlyWeatherDAO = new WeatherDAO(dayWeatherDataFactory,
-            dailyWeatherDataFactory, hourWeatherDataFactory, hourlyWeatherDataFactory);
+    private final DisplayHourlyRecentCitiesDAI displayHourlyRecentCitiesDAO = recentCitiesDAO;
+    private final DisplayHourlyWeatherDAI displayHourlyWeatherDAO = weatherDAO;
 
     private DailyView dailyView;
     private DisplayDailyViewModel displayDailyViewModel;
@@ -232,13 +290,15 @@ public class AppBuilder {
      * @return the current instance of AppBuilder for method chaining
      */
     public AppBuilder addDisplayDailyUseCase() {
-        final DisplayDailyOutputBoundary displayDailyPresenter =
-                new DisplayDailyPresenter(displayDailyViewModel, displayHomeViewModel, viewManagerModel);
+        final DisplayDailyOutputBoundary displayDailyPresenter = useCaseDispatcher.onUiThread(
+                DisplayDailyOutputBoundary.class,
+                new DisplayDailyPresenter(displayDailyViewModel, displayHomeViewModel, viewManagerModel));
         final DisplayDailyInputBoundary displayDailyInteractor =
                 new DisplayDailyInteractor(displayDailyRecentCitiesDAO, displayDailyWeatherDAO,
                         displayDailyPresenter);
 
-        final DisplayDailyController displayDailyController = new DisplayDailyController(displayDailyInteractor);
+        final DisplayDailyController displayDailyController = new DisplayDailyController(displayDailyInteractor,
+                useCaseDispatcher);
         dailyView.setDisplayDailyController(displayDailyController);
         return this;
     }
@@ -253,13 +313,14 @@ public class AppBuilder {
      * @return the current instance of AppBuilder for method chaining
      */
     public AppBuilder addDisplayCheckerUseCase() {
-        final DisplayCheckerOutputBoundary displayCheckerPresenter = new DisplayCheckerPresenter(
-                displayCheckerViewModel, displayHomeViewModel, viewManagerModel);
+        final DisplayCheckerOutputBoundary displayCheckerPresenter = useCaseDispatcher.onUiThread(
+                DisplayCheckerOutputBoundary.class,
+                new DisplayCheckerPresenter(displayCheckerViewModel, displayHomeViewModel, viewManagerModel));
         final DisplayCheckerInputBoundary displayCheckerInteractor = new DisplayCheckerInteractor(
                 displayCheckerWeatherDAO, displayCheckerPresenter);
 
         final DisplayCheckerController displayCheckerController = new
-                DisplayCheckerController(displayCheckerInteractor);
+                DisplayCheckerController(displayCheckerInteractor, useCaseDispatcher);
         checkerView.setCheckerController(displayCheckerController);
         return this;
     }
@@ -271,15 +332,16 @@ public class AppBuilder {
      * @return the current instance of AppBuilder for method chaining
      */
     public AppBuilder addDisplaySummarizationUseCase() {
-        final DisplaySummarizationOutputBoundary displaySummarizationPresenter =
-                new DisplaySummarizationPresenter(displaySummarizationViewModel,
-                        displayHomeViewModel, viewManagerModel);
+        final DisplaySummarizationOutputBoundary displaySummarizationPresenter = useCaseDispatcher.onUiThread(
+                DisplaySummarizationOutputBoundary.class,
+                new DisplaySummarizationPresenter(displaySummarizationViewModel, displayHomeViewModel,
+                        viewManagerModel));
         final DisplaySummarizationInputBoundary displaySummarizationInteractor =
                 new DisplaySummarizationInteractor(displaySummarizationRecentCitiesDAO, displaySummarizationWeatherDAO,
                         displaySummarizationSummaryDAO, displaySummarizationPresenter);
 
         final DisplaySummarizationController displaySummarizationController =
-                new DisplaySummarizationController(displaySummarizationInteractor);
+                new DisplaySummarizationController(displaySummarizationInteractor, useCaseDispatcher);
         summarizationView.setController(displaySummarizationController);
         return this;
     }
@@ -300,6 +362,8 @@ public class AppBuilder {
         final DisplayHistoryController displayHistoryController =
                 new DisplayHistoryController(displayHistoryInteractor);
         historyView.setController(displayHistoryController);
+        // the history follows the recent cities as the other use cases change them
+        recentCitiesDAO.addListener(recentCities -> SwingUtilities.invokeLater(displayHistoryController::execute));
         return this;
     }
 
@@ -311,15 +375,30 @@ public class AppBuilder {
      * @return the current instance of AppBuilder for method chaining
      */
     public AppBuilder addDisplayHomeUseCase() {
-        final DisplayHomeOutputBoundary displayHomePresenter =
+        final DisplayHomeOutputBoundary displayHomePresenter = useCaseDispatcher.onUiThread(
+                DisplayHomeOutputBoundary.class,
                 new DisplayHomePresenter(viewManagerModel, displayHomeViewModel, displaySummarizationViewModel,
                         displayHistoryViewModel, displayDailyViewModel, displayCheckerViewModel,
-                        displayHourlyViewModel);
+                        displayHourlyViewModel));
         final DisplayHomeInputBoundary displayHomeInteractor = new DisplayHomeInteractor(displayHomeWeatherDAO,
-                displayHomePresenter, displayHomeRecentCitiesDAO);
+                displayHomePresenter, displayHomeRecentCitiesDAO, cityNameDAO);
+
+        // suggestions and corrections come from the gazetteer, the cities geocoded before and the recently viewed
+        // cities, which only hold cities whose weather was found
+        if (gazetteer != null) {
+            cityNameDAO.addCities(gazetteer.getNames(), CityNameDAO.GAZETTEER_WEIGHT);
+        }
+        cityNameDAO.addCities(cachedGeocodingDAO.getCachedCities(), CityNameDAO.GEOCODED_WEIGHT);
+        try {
+            cityNameDAO.addCities(recentCitiesDAO.getRecentCityData().getRecentCityList(), CityNameDAO.RECENT_WEIGHT);
+        }
+        catch (RecentCitiesDataException exception) {
+            System.err.println(exception.getMessage());
+        }
+        recentCitiesDAO.addListener(recentCities -> cityNameDAO.addCities(recentCities, CityNameDAO.RECENT_WEIGHT));
 
         final DisplayHomeController displayHomeController =
-                new DisplayHomeController(displayHomeInteractor);
+                new DisplayHomeController(displayHomeInteractor, useCaseDispatcher);
         homeView.setDisplayHomeController(displayHomeController);
         return this;
     }
@@ -332,18 +411,53 @@ public class AppBuilder {
      * @return the current instance of AppBuilder for method chaining
      */
     public AppBuilder addDisplayHourlyUseCase() {
-        final DisplayHourlyOutputBoundary displayHourlyPresenter =
-                new DisplayHourlyPresenter(displayHourlyViewModel, displayHomeViewModel, viewManagerModel);
+        final DisplayHourlyOutputBoundary displayHourlyPresenter = useCaseDispatcher.onUiThread(
+                DisplayHourlyOutputBoundary.class,
+                new DisplayHourlyPresenter(displayHourlyViewModel, displayHomeViewModel, viewManagerModel));
         final DisplayHourlyInputBoundary displayHourlyInteractor =
                 new DisplayHourlyInteractor(displayHourlyRecentCitiesDAO, displayHourlyWeatherDAO,
                         displayHourlyPresenter);
 
         final DisplayHourlyController displayHourlyController =
-                new DisplayHourlyController(displayHourlyInteractor);
+                new DisplayHourlyController(displayHourlyInteractor, useCaseDispatcher);
         hourlyView.setDisplayHourlyController(displayHourlyController);
         return this;
     }
 
+    /**
+     * Starts warming the forecasts and coordinates of the most recently viewed cities in the background, so the
+     * first visits to Home, Hourly, Daily and History are served from the caches. Progress and timing are logged
+     * through the prefetcher's listener hook.
+     * @return the current instance of AppBuilder for method chaining
+     */
+    public AppBuilder addForecastWarmUp() {
+        final ForecastPrefetcher.Listener listener = new ForecastPrefetcher.Listener() {
+            @Override
+            public void onCityFailed(String city, Throwable cause, Duration elapsed) {
+                System.err.println("Failed To Warm Up " + city + ". " + cause.getMessage());
+            }
+
+            @Override
+            public void onFinished(int warmed, int failed, Duration elapsed) {
+                System.out.println("Warmed Up " + warmed + " Cities In " + elapsed.toMillis() + " ms, "
+                        + failed + " Failed.");
+            }
+        };
+        new ForecastPrefetcher(recentCitiesDAO, weatherDAO, ForecastPrefetcher.DEFAULT_CITY_COUNT, listener)
+                .prefetch();
+        return this;
+    }
+
+    /**
+     * Starts refreshing the cached forecasts of the cities the use cases have asked for in the background, so
+     * revisiting a view is served from the cache. Refreshing stops when the application window is closed.
+     * @return the current instance of AppBuilder for method chaining
+     */
+    public AppBuilder addForecastRefresh() {
+        forecastRefreshScheduler.start();
+        return this;
+    }
+
     /**
      * Creates the JFrame for the application and initially sets the Home View to be displayed.
      * @return the application
@@ -355,6 +469,23 @@ public class AppBuilder {
         application.setResizable(false);
 
         application.add(cardPanel);
+        application.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent event) {
+                forecastRefreshScheduler.stop();
+                try {
+                    recentCitiesDAO.flush();
+                }
+                catch (RecentCitiesDataException exception) {
+                    System.err.println(exception.getMessage());
+                }
+                httpTransport.shutdown();
+                oneCallQuota.flush();
+                openAiQuota.flush();
+                System.out.println(oneCallQuota.report());
+                System.out.println(openAiQuota.report());
+            }
+        });
 
         // set Home View as default view
         viewManagerModel.setState(homeView.getViewName());
@@ -362,4 +493,28 @@ public class AppBuilder {
 
         return application;
     }
+
+    /**
+     * Maps the gazetteer bundled by the build. The gazetteer is optional, so one that is missing or unreadable is
+     * logged and geocoding goes to the network alone.
+     * @return the gazetteer, or null if there is none
+     */
+    private static Gazetteer openGazetteer() {
+        try {
+            return Gazetteer.openBundled();
+        }
+        catch (IOException exception) {
+            System.err.println("Offline Gazetteer Unavailable: " + Gazetteer.BUNDLED_RESOURCE + ". "
+                    + exception.getMessage());
+            return null;
+        }
+    }
+
+    private static Geocoder offlineFirst(Gazetteer gazetteer, Geocoder geocoder) {
+        Geocoder offlineFirst = geocoder;
+        if (gazetteer != null) {
+            offlineFirst = new OfflineGeocodingDAO(gazetteer, geocoder);
+        }
+        return offlineFirst;
+    }
 }
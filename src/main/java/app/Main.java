@@ -10,6 +10,8 @@ public class Main {
     public static void main(String[] args) {
         final AppBuilder appBuilder = new AppBuilder();
         final JFrame application = appBuilder
+                // start warming the recent cities first so it overlaps building the views
+                .addForecastWarmUp()
                 .addHomeView()
                 .addHourlyView()
                 .addDailyView()
@@ -22,6 +24,7 @@ public class Main {
                 .addDisplayHistoryUseCase()
                 .addDisplayCheckerUseCase()
                 .addDisplaySummarizationUseCase()
+                .addForecastRefresh()
                 .build();
 
         application.setVisible(true);
@@ -0,0 +1,146 @@
+package data_access.concurrent;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import exception.ApiCallException;
+
+/**
+ * Coalesces concurrent calls for the same key into a single call. The first caller for a key runs the loader, and
+ * every caller that arrives while it is in flight waits for and shares its result or its ApiCallException.
+ * Blocking and asynchronous callers share the same in-flight calls.
+ *
+ * @param <K> the type of key calls are coalesced by
+ * @param <V> the type of value produced by a call
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the loader for the key unless a call for the key is already in flight, in which case the result of that
+     * call is returned instead.
+     * @param key the key to coalesce calls by
+     * @param loader the call to make if none is in flight for the key
+     * @return the value produced by the call
+     * @throws ApiCallException if the shared call fails
+     */
+    public V execute(K key, Loader<V> loader) throws ApiCallException {
+        final CompletableFuture<V> call = new CompletableFuture<>();
+        final CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            final V value = loader.load();
+            call.complete(value);
+            return value;
+        }
+        catch (ApiCallException | RuntimeException exception) {
+            call.completeExceptionally(exception);
+            throw exception;
+        }
+        finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Starts the loader for the key unless a call for the key is already in flight, in which case a future of that
+     * call is returned instead. Each caller gets its own copy of the shared future, so one caller cancelling or
+     * completing its copy does not affect the others.
+     * @param key the key to coalesce calls by
+     * @param loader starts the call to make if none is in flight for the key
+     * @return a future of the value produced by the call
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> loader) {
+        final CompletableFuture<V> call = new CompletableFuture<>();
+        final CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            return existing.copy();
+        }
+
+        try {
+            loader.get().whenComplete((value, exception) -> {
+                inFlight.remove(key, call);
+                if (exception == null) {
+                    call.complete(value);
+                }
+                else {
+                    call.completeExceptionally(unwrap(exception));
+                }
+            });
+        }
+        catch (RuntimeException exception) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(exception);
+        }
+        return call.copy();
+    }
+
+    /**
+     * Returns the number of keys with a call currently in flight.
+     * @return the number of in flight calls
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Returns whether a call for the key is currently in flight.
+     * @param key the key of the call
+     * @return true if a caller would join an existing call
+     */
+    public boolean isInFlight(K key) {
+        return inFlight.containsKey(key);
+    }
+
+    private static <V> V await(CompletableFuture<V> call) throws ApiCallException {
+        try {
+            return call.get();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ApiCallException("Interrupted While Waiting For Shared Request.", exception);
+        }
+        catch (ExecutionException exception) {
+            final Throwable cause = exception.getCause();
+            if (cause instanceof ApiCallException apiCallException) {
+                throw apiCallException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ApiCallException(cause);
+        }
+    }
+
+    private static Throwable unwrap(Throwable exception) {
+        Throwable cause = exception;
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * A call that produces a value or fails with an ApiCallException.
+     *
+     * @param <V> the type of value produced
+     */
+    @FunctionalInterface
+    public interface Loader<V> {
+
+        /**
+         * Makes the call.
+         * @return the value produced by the call
+         * @throws ApiCallException if the call fails
+         */
+        V load() throws ApiCallException;
+    }
+}
@@ -0,0 +1,34 @@
+package data_access.http;
+
+/**
+ * Client-side limit on the requests sent to a metered API. Every request sent, including retries and hedges, takes
+ * one permit.
+ */
+public interface ApiQuota {
+
+    // a quota that never runs out
+    ApiQuota NONE = new ApiQuota() {
+        @Override
+        public boolean tryAcquire() {
+            return true;
+        }
+
+        @Override
+        public boolean isTight() {
+            return false;
+        }
+    };
+
+    /**
+     * Takes a permit for one request.
+     * @return true if the request may be sent, or false if the quota has run out for now
+     */
+    boolean tryAcquire();
+
+    /**
+     * Returns whether so little of the quota is left that callers should only send the requests they cannot do
+     * without, serving cached data and refreshing less often instead.
+     * @return true if the quota is running low
+     */
+    boolean isTight();
+}
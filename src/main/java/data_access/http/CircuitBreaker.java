@@ -0,0 +1,105 @@
+package data_access.http;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Circuit breaker for a remote API. After a run of consecutive failed attempts the circuit opens and requests fail
+ * fast without being sent, which gives a degraded API room to recover instead of every client hammering it. Once
+ * the open duration has passed, a single trial request is let through: success closes the circuit, and failure
+ * opens it again for another open duration.
+ */
+public class CircuitBreaker {
+
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    public CircuitBreaker() {
+        this(DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_DURATION, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a closed circuit breaker.
+     * @param failureThreshold the number of consecutive failed attempts that opens the circuit
+     * @param openDuration how long the circuit stays open before a trial request is let through
+     * @param clock the clock the open duration is measured with
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns whether a request may be sent now. Once the open duration has passed, exactly one caller is allowed
+     * through as the trial request. A trial that never reports back, because it was cancelled, is replaced by
+     * another after a further open duration.
+     * @return true if the request may be sent
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (clock.millis() - openedAt >= openDuration.toMillis()) {
+            state = State.HALF_OPEN;
+            openedAt = clock.millis();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records a successful attempt, closing the circuit.
+     */
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+    }
+
+    /**
+     * Records a failed attempt, opening the circuit if the trial request failed or the failures reached the
+     * threshold.
+     */
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.millis();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Returns how long until a trial request is let through.
+     * @return the remaining open duration, or zero if the circuit is not open
+     */
+    public synchronized Duration getRemainingOpenDuration() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis(Math.max(0, openDuration.toMillis() - (clock.millis() - openedAt)));
+    }
+
+    /**
+     * The state of a circuit.
+     */
+    public enum State {
+        // requests are sent
+        CLOSED,
+        // requests fail fast
+        OPEN,
+        // a single trial request is in flight
+        HALF_OPEN
+    }
+}
@@ -0,0 +1,274 @@
+package data_access.http;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Daily request budget of a metered API, in front of a token bucket that spreads the budget out over the day. The
+ * requests used so far today are written to a file, so restarting the app does not hand out the day's budget again.
+ * The file is written behind: a request only counts itself in memory, and is written in the background with every
+ * other request made within the flush delay, off the thread that sent it. The budget resets at midnight UTC, when
+ * OpenWeather and OpenAI reset their daily limits. Once less than the reserve is left the quota reports itself as
+ * tight, so callers fall back to cached data and refresh less often for the rest of the day; the usage is written
+ * straight away when that happens, and should be flushed when the app closes.
+ */
+public class DailyQuota implements ApiQuota {
+
+    // the share of the daily budget kept back for requests a user is waiting on
+    public static final double DEFAULT_RESERVE = 0.2;
+    // long enough to coalesce the retries and hedges of a burst of requests
+    public static final Duration DEFAULT_FLUSH_DELAY = Duration.ofSeconds(1);
+
+    private static final String DAY = "day";
+    private static final String USED = "used";
+
+    private final String name;
+    private final long dailyLimit;
+    private final double reserve;
+    private final TokenBucket tokenBucket;
+    private final Path path;
+    private final Duration flushDelay;
+    private final Clock clock;
+    private final AtomicLong rejections = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    // held while the usage file is written, and always taken before the monitor, so requests are counted while a
+    // flush writes
+    private final Object writeLock = new Object();
+
+    private LocalDate day;
+    private long used;
+    private boolean warned;
+    // whether requests were counted since the usage was last written
+    private boolean dirty;
+    private boolean flushScheduled;
+
+    public DailyQuota(String name, long dailyLimit, TokenBucket tokenBucket, Path path, Clock clock) {
+        this(name, dailyLimit, DEFAULT_RESERVE, tokenBucket, path, clock);
+    }
+
+    /**
+     * Creates a quota, picking up today's usage from the file if it was written today.
+     * @param name the name of the API, used in log messages
+     * @param dailyLimit the requests allowed per UTC day
+     * @param reserve the share of the daily limit below which the quota is tight
+     * @param tokenBucket the rate limiter every request must also pass
+     * @param path the file today's usage is kept in
+     * @param clock the clock days are told apart with
+     */
+    public DailyQuota(String name, long dailyLimit, double reserve, TokenBucket tokenBucket, Path path,
+                      Clock clock) {
+        this(name, dailyLimit, reserve, tokenBucket, path, DEFAULT_FLUSH_DELAY, clock);
+    }
+
+    /**
+     * Creates a quota, picking up today's usage from the file if it was written today.
+     * @param name the name of the API, used in log messages
+     * @param dailyLimit the requests allowed per UTC day
+     * @param reserve the share of the daily limit below which the quota is tight
+     * @param tokenBucket the rate limiter every request must also pass
+     * @param path the file today's usage is kept in
+     * @param flushDelay how long a request waits to be written, so the requests made meanwhile are written with it
+     * @param clock the clock days are told apart with
+     */
+    public DailyQuota(String name, long dailyLimit, double reserve, TokenBucket tokenBucket, Path path,
+                      Duration flushDelay, Clock clock) {
+        this.name = name;
+        this.dailyLimit = dailyLimit;
+        this.reserve = reserve;
+        this.tokenBucket = tokenBucket;
+        this.path = path;
+        this.flushDelay = flushDelay;
+        this.clock = clock;
+        this.day = today();
+        load();
+    }
+
+    /**
+     * Takes a request from today's budget and the token bucket. The request is written to the usage file in the
+     * background, unless it is the one that turns the quota tight, which is written before returning.
+     * @return true if the request may be sent
+     */
+    @Override
+    public boolean tryAcquire() {
+        final boolean turnedTight;
+        synchronized (this) {
+            rollOver();
+            if (used >= dailyLimit || !tokenBucket.tryAcquire()) {
+                rejections.incrementAndGet();
+                return false;
+            }
+            used++;
+            dirty = true;
+            turnedTight = isTight() && !warned;
+            if (turnedTight) {
+                warned = true;
+                System.err.println(name + " Quota Running Low: " + getRemaining() + " Of " + dailyLimit
+                        + " Requests Left Today.");
+            }
+            else if (!flushScheduled) {
+                flushScheduled = true;
+                CompletableFuture.runAsync(this::flush,
+                        CompletableFuture.delayedExecutor(flushDelay.toMillis(), TimeUnit.MILLISECONDS));
+            }
+        }
+        if (turnedTight) {
+            flush();
+        }
+        return true;
+    }
+
+    /**
+     * Writes the requests counted since the usage file was last written, such as when the app closes.
+     */
+    public void flush() {
+        synchronized (writeLock) {
+            final String usage;
+            synchronized (this) {
+                flushScheduled = false;
+                if (!dirty) {
+                    return;
+                }
+                dirty = false;
+                usage = new JSONObject().put(DAY, day.toString()).put(USED, used).toString();
+            }
+            write(usage);
+            flushes.incrementAndGet();
+        }
+    }
+
+    @Override
+    public synchronized boolean isTight() {
+        rollOver();
+        return dailyLimit - used <= dailyLimit * reserve;
+    }
+
+    /**
+     * Returns the requests left in today's budget.
+     * @return the remaining requests
+     */
+    public synchronized long getRemaining() {
+        rollOver();
+        return Math.max(0, dailyLimit - used);
+    }
+
+    public synchronized long getUsedToday() {
+        rollOver();
+        return used;
+    }
+
+    public long getDailyLimit() {
+        return dailyLimit;
+    }
+
+    /**
+     * Returns the requests refused by the daily budget or the rate limiter since the quota was created.
+     * @return the refused requests
+     */
+    public long getRejectionCount() {
+        return rejections.get();
+    }
+
+    /**
+     * Returns the writes of the usage file since the quota was created.
+     * @return the usage file writes
+     */
+    public long getFlushCount() {
+        return flushes.get();
+    }
+
+    /**
+     * Projects when today's budget runs out if requests keep being sent at today's average rate.
+     * @return the projected time, or null if the budget lasts until it resets at midnight
+     */
+    public synchronized Instant getProjectedExhaustion() {
+        rollOver();
+        final Instant now = clock.instant();
+        if (used >= dailyLimit) {
+            return now;
+        }
+        final long elapsed = Duration.between(day.atStartOfDay(ZoneOffset.UTC).toInstant(), now).toMillis();
+        if (used == 0 || elapsed <= 0) {
+            return null;
+        }
+        final Instant exhaustion = now.plusMillis((long) ((double) (dailyLimit - used) * elapsed / used));
+        if (!exhaustion.isBefore(day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant())) {
+            return null;
+        }
+        return exhaustion;
+    }
+
+    /**
+     * Summarizes today's usage for logging.
+     * @return a one line usage report
+     */
+    public synchronized String report() {
+        final Instant exhaustion = getProjectedExhaustion();
+        String projection = "Lasts Until Reset";
+        if (exhaustion != null) {
+            projection = "Runs Out At " + exhaustion;
+        }
+        return name + " Quota: " + getUsedToday() + " Of " + dailyLimit + " Used Today, " + projection + ", "
+                + getRejectionCount() + " Refused.";
+    }
+
+    private LocalDate today() {
+        return LocalDate.ofInstant(clock.instant(), ZoneOffset.UTC);
+    }
+
+    private void rollOver() {
+        final LocalDate now = today();
+        if (!now.equals(day)) {
+            day = now;
+            used = 0;
+            warned = false;
+        }
+    }
+
+    /**
+     * Loads today's usage. A missing or unreadable file, or one written on another day, starts the day unused.
+     */
+    private void load() {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try {
+            final JSONObject usage = new JSONObject(Files.readString(path));
+            if (LocalDate.parse(usage.getString(DAY)).equals(day)) {
+                used = usage.getLong(USED);
+            }
+        }
+        catch (IOException | JSONException | DateTimeParseException exception) {
+            System.err.println("Ignoring Unreadable Quota Usage: " + path + ". " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Writes the usage to a temporary file and moves it over the usage file so a crash never leaves a half written
+     * file behind. Must be called with the write lock held, since every write goes through the same temporary file.
+     * @param usage the day and the requests used on it, as JSON
+     */
+    private void write(String usage) {
+        try {
+            final Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.writeString(temporaryPath, usage);
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException exception) {
+            System.err.println("Failed To Write Quota Usage: " + path + ". " + exception.getMessage());
+        }
+    }
+}
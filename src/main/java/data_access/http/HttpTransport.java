@@ -0,0 +1,134 @@
+package data_access.http;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Shared HTTP transport used by every DAO that talks to a remote API. A single OkHttpClient is built once so that
+ * all requests share one connection pool, one dispatcher and, where the server supports it, a single multiplexed
+ * HTTP/2 connection per host instead of a new TLS handshake per lookup.
+ */
+public class HttpTransport {
+
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(10);
+    // OpenAI completions can take a long time, so the call timeout bounds the whole exchange instead
+    public static final Duration DEFAULT_CALL_TIMEOUT = Duration.ofSeconds(60);
+    public static final Duration DEFAULT_KEEP_ALIVE = Duration.ofMinutes(5);
+    public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 8;
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 8;
+
+    private final OkHttpClient client;
+
+    public HttpTransport() {
+        this(DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT, DEFAULT_CALL_TIMEOUT, DEFAULT_KEEP_ALIVE,
+                DEFAULT_MAX_IDLE_CONNECTIONS, DEFAULT_MAX_REQUESTS_PER_HOST);
+    }
+
+    /**
+     * Builds a transport with the given limits.
+     * @param connectTimeout the maximum time to establish a TCP and TLS connection
+     * @param readTimeout the maximum time to wait between bytes of a response
+     * @param callTimeout the maximum time for a complete request and response exchange
+     * @param keepAlive how long an idle connection is kept in the pool
+     * @param maxIdleConnections the maximum number of idle connections kept in the pool
+     * @param maxRequestsPerHost the maximum number of concurrent requests sent to a single host
+     */
+    public HttpTransport(Duration connectTimeout, Duration readTimeout, Duration callTimeout, Duration keepAlive,
+                         int maxIdleConnections, int maxRequestsPerHost) {
+        final Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
+        this.client = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAlive.toMillis(), TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                // negotiate HTTP/2 through ALPN and fall back to HTTP/1.1 keep-alive
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .callTimeout(callTimeout)
+                .retryOnConnectionFailure(true)
+                .build();
+    }
+
+    public HttpTransport(OkHttpClient client) {
+        this.client = client;
+    }
+
+    public OkHttpClient getClient() {
+        return client;
+    }
+
+    /**
+     * Sends the request on the dispatcher without blocking the calling thread. The reader runs on the dispatcher
+     * thread as soon as the response headers arrive, so the body is consumed as it streams off the connection.
+     * Cancelling the returned future cancels the call.
+     * @param request the request to send
+     * @param reader reads the response into a value
+     * @param <T> the type the response is read into
+     * @return a future of the value read from the response, failing with the IOException of the call or the reader
+     */
+    public <T> CompletableFuture<T> enqueue(Request request, ResponseReader<T> reader) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final Call call = client.newCall(request);
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call failedCall, IOException exception) {
+                future.completeExceptionally(exception);
+            }
+
+            @Override
+            public void onResponse(Call completedCall, Response response) {
+                try (response) {
+                    future.complete(reader.read(response));
+                }
+                catch (IOException | RuntimeException exception) {
+                    future.completeExceptionally(exception);
+                }
+            }
+        });
+        future.whenComplete((value, exception) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Releases the pooled connections and dispatcher threads. The transport should not be used afterwards.
+     */
+    public void shutdown() {
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+
+    /**
+     * Reads a response into a value.
+     *
+     * @param <T> the type the response is read into
+     */
+    @FunctionalInterface
+    public interface ResponseReader<T> {
+
+        /**
+         * Reads the response.
+         * @param response the response, closed by the transport once the reader returns
+         * @return the value read from the response
+         * @throws IOException if the response is unsuccessful or cannot be read
+         */
+        T read(Response response) throws IOException;
+    }
+}
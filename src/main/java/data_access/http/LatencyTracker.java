@@ -0,0 +1,47 @@
+package data_access.http;
+
+import java.util.Arrays;
+
+/**
+ * Rolling window of the latest request latencies, used to decide when a request has taken long enough to be worth
+ * hedging.
+ */
+class LatencyTracker {
+
+    private final long[] samples;
+    private int count;
+    private int next;
+
+    /**
+     * Creates an empty tracker.
+     * @param window the number of latest latencies kept
+     */
+    LatencyTracker(int window) {
+        this.samples = new long[window];
+    }
+
+    synchronized void record(long latencyMillis) {
+        samples[next] = latencyMillis;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Returns the latency below which the fraction of the kept latencies fall.
+     * @param fraction the percentile as a fraction, such as 0.95
+     * @return the percentile latency in milliseconds, or -1 if no latency was recorded
+     */
+    synchronized long percentile(double fraction) {
+        if (count == 0) {
+            return -1;
+        }
+        final long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        final int index = (int) Math.ceil(fraction * count) - 1;
+        return sorted[Math.clamp(index, 0, count - 1)];
+    }
+}
@@ -0,0 +1,320 @@
+package data_access.http;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+import exception.CircuitOpenException;
+import exception.QuotaExceededException;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Sends requests through the shared HttpTransport with the failure handling a remote API needs. GET requests are
+ * idempotent, so one that fails with a network error or a 5xx or 429 status is retried after a jittered exponential
+ * backoff, and one still waiting after the 95th percentile of recent latencies is hedged with a second identical
+ * request, the first response winning and the other being cancelled. Every attempt is reported to a circuit
+ * breaker, and while it is open requests fail fast with a CircuitOpenException instead of waiting on an API that is
+ * down, so callers can serve what they have cached instead. Every request sent also takes a permit from the API's
+ * quota, and fails with a QuotaExceededException when none is left; while the quota is tight nothing is retried or
+ * hedged.
+ */
+public class ResilientCaller {
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final Duration DEFAULT_BASE_DELAY = Duration.ofMillis(200);
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(2);
+    // requests slower than this share of recent requests are hedged
+    public static final double HEDGE_PERCENTILE = 0.95;
+    // the percentile means little until enough latencies were seen
+    public static final int MIN_HEDGE_SAMPLES = 20;
+
+    private static final int LATENCY_WINDOW = 100;
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVER_ERROR = 500;
+
+    private final HttpTransport httpTransport;
+    private final CircuitBreaker circuitBreaker;
+    private final ApiQuota quota;
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final boolean hedging;
+    private final LatencyTracker latencies = new LatencyTracker(LATENCY_WINDOW);
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+
+    public ResilientCaller(HttpTransport httpTransport) {
+        this(httpTransport, new CircuitBreaker());
+    }
+
+    public ResilientCaller(HttpTransport httpTransport, CircuitBreaker circuitBreaker) {
+        this(httpTransport, circuitBreaker, ApiQuota.NONE);
+    }
+
+    public ResilientCaller(HttpTransport httpTransport, CircuitBreaker circuitBreaker, ApiQuota quota) {
+        this(httpTransport, circuitBreaker, quota, DEFAULT_MAX_ATTEMPTS, DEFAULT_BASE_DELAY, DEFAULT_MAX_DELAY, true);
+    }
+
+    public ResilientCaller(HttpTransport httpTransport, CircuitBreaker circuitBreaker, int maxAttempts,
+                           Duration baseDelay, Duration maxDelay, boolean hedging) {
+        this(httpTransport, circuitBreaker, ApiQuota.NONE, maxAttempts, baseDelay, maxDelay, hedging);
+    }
+
+    /**
+     * Creates a caller.
+     * @param httpTransport the transport requests are sent on
+     * @param circuitBreaker the circuit breaker every attempt is reported to, which may be shared by the callers of
+     *                       one API
+     * @param quota the quota every request sent takes a permit from
+     * @param maxAttempts the maximum number of attempts of an idempotent request, including the first
+     * @param baseDelay the backoff before the first retry, doubled for every retry after it
+     * @param maxDelay the maximum backoff before a retry
+     * @param hedging whether slow idempotent requests are hedged
+     */
+    public ResilientCaller(HttpTransport httpTransport, CircuitBreaker circuitBreaker, ApiQuota quota,
+                           int maxAttempts, Duration baseDelay, Duration maxDelay, boolean hedging) {
+        this.httpTransport = httpTransport;
+        this.circuitBreaker = circuitBreaker;
+        this.quota = quota;
+        this.maxAttempts = maxAttempts;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.hedging = hedging;
+    }
+
+    /**
+     * Sends the request without blocking the calling thread, retrying and hedging it if it is idempotent.
+     * @param request the request to send
+     * @param reader reads a response into a value; it is never handed a response with a 5xx or 429 status
+     * @param <T> the type the response is read into
+     * @return a future of the value read from the response, failing with the IOException of the last attempt, the
+     *         exception of the reader, a CircuitOpenException if the circuit is open, or a QuotaExceededException
+     *         if the quota has run out
+     */
+    public <T> CompletableFuture<T> call(Request request, HttpTransport.ResponseReader<T> reader) {
+        final boolean idempotent = "GET".equals(request.method()) || "HEAD".equals(request.method());
+        return attempt(request, checked(reader), idempotent, 1)
+                .exceptionallyCompose(exception -> CompletableFuture.failedFuture(unwrap(exception)));
+    }
+
+    /**
+     * Sends the request and blocks until it is read, retrying and hedging it if it is idempotent.
+     * @param request the request to send
+     * @param reader reads a response into a value
+     * @param <T> the type the response is read into
+     * @return the value read from the response
+     * @throws IOException if the last attempt or the reader failed, the circuit is open, or the quota has run out
+     */
+    public <T> T execute(Request request, HttpTransport.ResponseReader<T> reader) throws IOException {
+        try {
+            return call(request, reader).join();
+        }
+        catch (CompletionException exception) {
+            if (exception.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw exception;
+        }
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public ApiQuota getQuota() {
+        return quota;
+    }
+
+    public long getRetryCount() {
+        return retries.get();
+    }
+
+    public long getHedgeCount() {
+        return hedges.get();
+    }
+
+    public long getRejectionCount() {
+        return rejections.get();
+    }
+
+    private <T> CompletableFuture<T> attempt(Request request, HttpTransport.ResponseReader<T> reader,
+                                             boolean idempotent, int attempt) {
+        return send(request, reader, idempotent).exceptionallyCompose(exception -> {
+            if (!idempotent || attempt >= maxAttempts || !isRetryable(completionCause(exception))
+                    || quota.isTight()) {
+                return CompletableFuture.failedFuture(exception);
+            }
+            retries.incrementAndGet();
+            return CompletableFuture.runAsync(() -> { },
+                            CompletableFuture.delayedExecutor(backoff(attempt), TimeUnit.MILLISECONDS))
+                    .thenCompose(ignored -> attempt(request, reader, idempotent, attempt + 1));
+        });
+    }
+
+    /**
+     * Sends one attempt of the request, hedging it once it has been in flight longer than the hedge percentile.
+     */
+    private <T> CompletableFuture<T> send(Request request, HttpTransport.ResponseReader<T> reader,
+                                        boolean idempotent) {
+        final CompletableFuture<T> primary = sendOnce(request, reader);
+        final long hedgeDelay = hedgeDelay();
+        if (!idempotent || hedgeDelay < 0 || primary.isDone()) {
+            return primary;
+        }
+
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final AtomicReference<CompletableFuture<T>> hedge = new AtomicReference<>();
+        // attempts still able to settle the result; once it drops to zero no hedge is sent
+        final AtomicInteger pending = new AtomicInteger(1);
+        final BiConsumer<T, Throwable> settle = (value, exception) -> {
+            if (exception == null) {
+                result.complete(value);
+            }
+            else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(exception);
+            }
+        };
+        primary.whenComplete(settle);
+        CompletableFuture.delayedExecutor(hedgeDelay, TimeUnit.MILLISECONDS).execute(() -> {
+            if (result.isDone() || pending.getAndUpdate(count -> count == 0 ? 0 : count + 1) == 0) {
+                return;
+            }
+            if (quota.isTight() || !circuitBreaker.tryAcquire() || !quota.tryAcquire()) {
+                settle.accept(null, new IOException("Hedge Not Sent."));
+                return;
+            }
+            hedges.incrementAndGet();
+            hedge.set(sendAcquired(request, reader));
+            hedge.get().whenComplete(settle);
+        });
+        result.whenComplete((value, exception) -> {
+            primary.cancel(true);
+            if (hedge.get() != null) {
+                hedge.get().cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private <T> CompletableFuture<T> sendOnce(Request request, HttpTransport.ResponseReader<T> reader) {
+        if (!circuitBreaker.tryAcquire()) {
+            rejections.incrementAndGet();
+            return CompletableFuture.failedFuture(new CircuitOpenException("Circuit Open For "
+                    + request.url().host() + ". Retrying In "
+                    + circuitBreaker.getRemainingOpenDuration().toSeconds() + "s."));
+        }
+        if (!quota.tryAcquire()) {
+            return CompletableFuture.failedFuture(new QuotaExceededException("Quota Exhausted For "
+                    + request.url().host() + "."));
+        }
+        return sendAcquired(request, reader);
+    }
+
+    /**
+     * Sends the request once the circuit breaker let it through, reporting its outcome back.
+     */
+    private <T> CompletableFuture<T> sendAcquired(Request request, HttpTransport.ResponseReader<T> reader) {
+        final long start = System.nanoTime();
+        final CompletableFuture<T> call = httpTransport.enqueue(request, reader);
+        // callers only see the outcome once it was reported, so the next attempt sees the circuit it left behind
+        final CompletableFuture<T> reported = call.whenComplete((value, exception) -> {
+            if (exception == null) {
+                latencies.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                circuitBreaker.recordSuccess();
+            }
+            else if (isRetryable(completionCause(exception))) {
+                circuitBreaker.recordFailure();
+            }
+            else if (!(exception instanceof CancellationException)) {
+                // the API answered, so it is up even if the answer could not be read
+                circuitBreaker.recordSuccess();
+            }
+        });
+        reported.whenComplete((value, exception) -> {
+            if (reported.isCancelled()) {
+                call.cancel(true);
+            }
+        });
+        return reported;
+    }
+
+    private long hedgeDelay() {
+        if (!hedging || latencies.size() < MIN_HEDGE_SAMPLES) {
+            return -1;
+        }
+        return latencies.percentile(HEDGE_PERCENTILE);
+    }
+
+    /**
+     * Returns a random backoff of up to the base delay doubled for every earlier retry ("full jitter"), so clients
+     * that failed together do not all retry together.
+     */
+    private long backoff(int attempt) {
+        final long ceiling = Math.min(maxDelay.toMillis(), baseDelay.toMillis() << Math.min(attempt - 1, 30));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static boolean isRetryable(Throwable exception) {
+        return exception instanceof IOException
+                && !(exception instanceof ReadException)
+                && !(exception instanceof CircuitOpenException)
+                && !(exception instanceof QuotaExceededException);
+    }
+
+    /**
+     * Fails responses with a retryable status before the reader sees them, and marks failures of the reader so they
+     * are not retried.
+     */
+    private static <T> HttpTransport.ResponseReader<T> checked(HttpTransport.ResponseReader<T> reader) {
+        return response -> {
+            if (response.code() >= SERVER_ERROR || response.code() == TOO_MANY_REQUESTS) {
+                throw new IOException("Server Returned " + response.code() + ".");
+            }
+            try {
+                return reader.read(response);
+            }
+            catch (IOException exception) {
+                throw new ReadException(exception);
+            }
+        };
+    }
+
+    private static Throwable completionCause(Throwable exception) {
+        Throwable cause = exception;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static Throwable unwrap(Throwable exception) {
+        final Throwable cause = completionCause(exception);
+        if (cause instanceof ReadException) {
+            return cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * Failure of a reader, unwrapped before it reaches the caller.
+     */
+    private static final class ReadException extends IOException {
+
+        private ReadException(IOException cause) {
+            super(cause);
+        }
+    }
+}
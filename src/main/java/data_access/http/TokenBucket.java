@@ -0,0 +1,71 @@
+package data_access.http;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Token bucket rate limiter. The bucket holds up to its capacity in tokens and is refilled at a steady rate, so
+ * bursts of up to the capacity are let through while the long-run rate never exceeds the refill rate. On its own it
+ * is a quota for APIs that are limited per minute but not per day.
+ */
+public class TokenBucket implements ApiQuota {
+
+    private final int capacity;
+    private final double tokensPerMilli;
+    private final Clock clock;
+
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * Creates a full bucket.
+     * @param capacity the most tokens the bucket holds, which is the largest burst let through
+     * @param refillTokens the tokens added every refill period
+     * @param refillPeriod the period the refill tokens are spread over
+     * @param clock the clock the refill is measured with
+     */
+    public TokenBucket(int capacity, int refillTokens, Duration refillPeriod, Clock clock) {
+        if (capacity <= 0 || refillTokens <= 0 || refillPeriod.isNegative() || refillPeriod.isZero()) {
+            throw new IllegalArgumentException("Token Bucket Capacity And Refill Rate Must Be Positive.");
+        }
+        this.capacity = capacity;
+        this.tokensPerMilli = (double) refillTokens / refillPeriod.toMillis();
+        this.clock = clock;
+        this.tokens = capacity;
+        this.refilledAt = clock.millis();
+    }
+
+    @Override
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+
+    /**
+     * Returns false, since a bucket always refills.
+     * @return false
+     */
+    @Override
+    public boolean isTight() {
+        return false;
+    }
+
+    /**
+     * Returns the tokens in the bucket now.
+     * @return the available tokens, which may include a fraction of the next one
+     */
+    public synchronized double getAvailableTokens() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        final long now = clock.millis();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerMilli);
+        refilledAt = now;
+    }
+}
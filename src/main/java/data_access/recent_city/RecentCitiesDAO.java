@@ -1,13 +1,8 @@
 package data_access.recent_city;
 
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.List;
 
-import org.json.JSONArray;
-
 import entity.recent_city.RecentCityData;
 import entity.recent_city.RecentCityDataFactory;
 import exception.RecentCitiesDataException;
@@ -18,93 +13,78 @@ import use_case.display_hourly.DisplayHourlyRecentCitiesDAI;
 import use_case.display_summarization.DisplaySummarizationRecentCitiesDAI;
 
 /**
- * DAO for accessing data about recently viewed cities.
+ * DAO for accessing data about recently viewed cities. The cities are kept in memory by a RecentCitiesJournal shared
+ * by every DAO of the same file, and adding a city is written to the file's journal in the background, together with
+ * the other cities added meanwhile. Listeners are told when the list changes.
  */
 public class RecentCitiesDAO implements DisplayDailyRecentCitiesDAI, DisplayHomeRecentCitiesDAI,
         DisplaySummarizationRecentCitiesDAI, DisplayHistoryDAI, DisplayHourlyRecentCitiesDAI {
 
-    private static final Path RECENT_CITIES_PATH =
-            Path.of("src", "main", "resources", "data", "RecentCities.json");
+    public static final Path DEFAULT_PATH = Path.of("src", "main", "resources", "data", "RecentCities.json");
+
     private final RecentCityDataFactory recentCityDataFactory;
+    private final RecentCitiesJournal recentCitiesJournal;
 
     public RecentCitiesDAO(RecentCityDataFactory recentCityDataFactory) {
+        this(recentCityDataFactory, DEFAULT_PATH);
+    }
+
+    /**
+     * Creates a DAO for a recent cities file.
+     * @param recentCityDataFactory the factory for the recent city data entity
+     * @param path the JSON file the recent cities are kept in
+     */
+    public RecentCitiesDAO(RecentCityDataFactory recentCityDataFactory, Path path) {
         this.recentCityDataFactory = recentCityDataFactory;
+        this.recentCitiesJournal = RecentCitiesJournal.open(path);
     }
 
     /**
-     * Add a city to the recently viewed cities list. The data will be added to the recent city data file.
+     * Add a city to the front of the recently viewed cities list. The city is written to the recent cities journal in
+     * the background.
      * @param city the city to add to the recently viewed city list
      * @throws RecentCitiesDataException when there is an issue writing data
      */
     @Override
     public void addCity(String city) throws RecentCitiesDataException {
-        final JSONArray recentCitiesArray = readRecentCities();
-        final List<String> recentCitiesList = new ArrayList<>();
-
-        // Add the city to the front and remove duplicates
-        recentCitiesList.add(city);
-        for (int i = 0; i < recentCitiesArray.length(); i++) {
-            final String existingCity = recentCitiesArray.getString(i);
-            if (!existingCity.equals(city)) {
-                recentCitiesList.add(existingCity);
-            }
-        }
-
-        // Update the JSON Array and write to the file
-        writeToRecentCities(new JSONArray(recentCitiesList));
+        recentCitiesJournal.add(city);
     }
 
     /**
-     * Reads the recent cities from the JSON file and returns the corresponding RecentCityData entity.
+     * Returns the recently viewed cities, most recent first, as the corresponding RecentCityData entity.
      * @return a list of recent city names
      */
     @Override
     public RecentCityData getRecentCityData() throws RecentCitiesDataException {
-        final JSONArray recentCitiesArray = readRecentCities();
-
-        // create an array list of the city names
-        final List<String> cityList = new ArrayList<>(recentCitiesArray.length());
-        for (int i = 0; i < recentCitiesArray.length(); i++) {
-            cityList.add(recentCitiesArray.getString(i));
-        }
+        return this.recentCityDataFactory.create(recentCitiesJournal.list());
+    }
 
-        return this.recentCityDataFactory.create(cityList);
+    /**
+     * Registers a listener to be told whenever a city added changes the list.
+     * @param listener the listener
+     */
+    public void addListener(Listener listener) {
+        recentCitiesJournal.addListener(listener);
     }
 
     /**
-     * Read the RecentCities json file from resource. Return a JSONArray of the data in the file.
-     * @return JSONArray containing the recent cities
-     * @throws RecentCitiesDataException when the RecentCities json file is not found
+     * Writes the cities added but not yet written to the file, such as when the app closes.
+     * @throws RecentCitiesDataException when the file cannot be written to
      */
-    private JSONArray readRecentCities() throws RecentCitiesDataException {
-        try {
-            final String jsonString = Files.readString(RECENT_CITIES_PATH);
-            return new JSONArray(jsonString);
-        }
-        catch (IOException exception) {
-            throw new RecentCitiesDataException("Failed To Get Recent City Data. Failed To Read File: "
-                    + RECENT_CITIES_PATH + "."
-            );
-        }
-        catch (org.json.JSONException exception) {
-            throw new RecentCitiesDataException(
-                    "Failed To Get Recent City Data. Failed To Parse File: " + RECENT_CITIES_PATH + "."
-            );
-        }
+    public void flush() throws RecentCitiesDataException {
+        recentCitiesJournal.flush();
     }
 
     /**
-     * Write the recent cities array to the RecentCities JSON file.
-     * @param recentCitiesArray the array of cities to write to the JSON file
-     * @throws RecentCitiesDataException when the RecentCities file cannot be found or written to
+     * Hook the recent cities are reported to whenever they change. Calls are made from the thread that added the
+     * city, after the list has changed in memory but possibly before it is written to the file.
      */
-    private void writeToRecentCities(JSONArray recentCitiesArray) throws RecentCitiesDataException {
-        try {
-            Files.writeString(RECENT_CITIES_PATH, recentCitiesArray.toString());
-        }
-        catch (IOException exception) {
-            throw new RecentCitiesDataException("Failed To Get Recent City Data. Failed To Write To File: "
-                    + RECENT_CITIES_PATH);
-        }
+    public interface Listener {
+
+        /**
+         * Called when a city is added that was not already the most recent.
+         * @param recentCities the recent cities, most recent first
+         */
+        void onRecentCitiesChanged(List<String> recentCities);
     }
 }
@@ -0,0 +1,513 @@
+package data_access.recent_city;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import exception.RecentCitiesDataException;
+
+/**
+ * Recently viewed cities, kept as a bounded snapshot file plus an append-only journal of the cities viewed since the
+ * snapshot was written. Viewing a city appends a single line to the journal instead of rewriting the whole list, and
+ * once the journal holds enough lines it is compacted into a new snapshot of the most recent cities, deduplicated and
+ * capped at the capacity. The snapshot keeps the JSON array format of RecentCities.json, most recent city first. The
+ * list is served from memory, and one journal is shared by every DAO of the same file.
+ * <p>
+ * Views are written behind: a view updates the list in memory and is written to disk with every other view made
+ * within the flush delay, in one append and one sync. Viewing the city already at the front changes nothing and
+ * writes nothing. Listeners are told about every view that changes the list.
+ * <p>
+ * Several processes can share the files, such as two instances of the app in one working directory. The files are
+ * only read and written under an exclusive lock on the journal, held for one flush, and every compaction writes a new
+ * version on the journal's first line. Before appending, a process catches up with what other processes have written
+ * since it last looked, replaying their new lines or, if the version has changed, reloading both files, and then
+ * appends its own views after theirs, so concurrent views are merged rather than lost. Reads check the journal's
+ * size and version, and catch up the same way when another process has written.
+ * <p>
+ * A snapshot is written to a temporary file, synced and then atomically moved over the old one before the journal is
+ * truncated, so a crash at any point leaves either the old or the new snapshot, with a journal whose replay is
+ * harmless either way. A crash loses at most the views of the last flush delay, and a line torn by a crash is cut
+ * off by the next process to take the lock.
+ */
+class RecentCitiesJournal {
+
+    // more cities than the history view or the warm-up ever read
+    static final int DEFAULT_CAPACITY = 100;
+    static final int DEFAULT_COMPACTION_THRESHOLD = 1000;
+    // long enough to coalesce the views of a burst of navigation
+    static final Duration DEFAULT_FLUSH_DELAY = Duration.ofMillis(500);
+
+    private static final Map<Path, RecentCitiesJournal> JOURNALS = new ConcurrentHashMap<>();
+    // longer than the version line at the start of the journal
+    private static final int VERSION_LENGTH = 24;
+
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final int capacity;
+    private final int compactionThreshold;
+    private final Duration flushDelay;
+    private final List<RecentCitiesDAO.Listener> listeners = new CopyOnWriteArrayList<>();
+    // held while the files are read or written, and always taken before the monitor, so the list can be read and
+    // viewed while a flush syncs
+    private final ReentrantLock ioLock = new ReentrantLock();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong maxLockHoldNanos = new AtomicLong();
+
+    // the cities on disk followed by the views not yet flushed, least recently viewed first, so viewing a city
+    // again moves it to the end
+    private LinkedHashMap<String, Boolean> cities;
+    // views not yet flushed, oldest first
+    private final List<String> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+    private FileChannel journal;
+    // the journal's version and how much of it has been replayed into the list
+    private long version;
+    private long offset;
+    private int journalEntries;
+
+    /**
+     * Creates a journal. Nothing is read until the journal is first used.
+     * @param snapshotPath the snapshot file; the journal is kept next to it
+     * @param capacity the most cities kept
+     * @param compactionThreshold the journal lines that trigger a compaction
+     * @param flushDelay how long a view waits to be written, so the views made meanwhile are written with it
+     */
+    RecentCitiesJournal(Path snapshotPath, int capacity, int compactionThreshold, Duration flushDelay) {
+        this.snapshotPath = snapshotPath;
+        this.journalPath = snapshotPath.resolveSibling(
+                snapshotPath.getFileName().toString().replaceFirst("\\.json$", "") + ".journal");
+        this.capacity = capacity;
+        this.compactionThreshold = compactionThreshold;
+        this.flushDelay = flushDelay;
+        this.cities = newCities();
+    }
+
+    /**
+     * Returns the journal shared by every DAO of the snapshot file.
+     * @param snapshotPath the snapshot file
+     * @return the journal of the file
+     */
+    static RecentCitiesJournal open(Path snapshotPath) {
+        return JOURNALS.computeIfAbsent(snapshotPath.toAbsolutePath().normalize(),
+                path -> new RecentCitiesJournal(path, DEFAULT_CAPACITY, DEFAULT_COMPACTION_THRESHOLD,
+                        DEFAULT_FLUSH_DELAY));
+    }
+
+    /**
+     * Records a view of the city, moving it to the front of the list, and schedules it to be written.
+     * @param city the city viewed
+     * @throws RecentCitiesDataException if the files cannot be read
+     */
+    void add(String city) throws RecentCitiesDataException {
+        load();
+        List<String> changed = null;
+        synchronized (this) {
+            if (city.equals(front())) {
+                return;
+            }
+            record(cities, city);
+            pending.add(city);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                CompletableFuture.runAsync(this::flushQuietly,
+                        CompletableFuture.delayedExecutor(flushDelay.toMillis(), TimeUnit.MILLISECONDS));
+            }
+            if (!listeners.isEmpty()) {
+                changed = snapshot();
+            }
+        }
+        if (changed != null) {
+            for (RecentCitiesDAO.Listener listener : listeners) {
+                listener.onRecentCitiesChanged(changed);
+            }
+        }
+    }
+
+    /**
+     * Writes the views not yet written to the journal in one append and one sync, after the views other processes
+     * have written, compacting the journal if it has reached the threshold.
+     * @throws RecentCitiesDataException if the journal or snapshot cannot be written; the views are kept for the next
+     *     flush
+     */
+    void flush() throws RecentCitiesDataException {
+        load();
+        ioLock.lock();
+        try {
+            final List<String> lines;
+            synchronized (this) {
+                flushScheduled = false;
+                lines = List.copyOf(pending);
+            }
+            if (!lines.isEmpty()) {
+                locked(() -> append(lines));
+                synchronized (this) {
+                    pending.subList(0, lines.size()).clear();
+                }
+                flushes.incrementAndGet();
+            }
+        }
+        catch (IOException exception) {
+            throw new RecentCitiesDataException("Failed To Get Recent City Data. Failed To Write To File: "
+                    + journalPath + ".", exception);
+        }
+        catch (JSONException exception) {
+            throw new RecentCitiesDataException("Failed To Get Recent City Data. Failed To Parse File: "
+                    + snapshotPath + ".", exception);
+        }
+        finally {
+            ioLock.unlock();
+        }
+    }
+
+    void addListener(RecentCitiesDAO.Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Returns the cities, most recently viewed first, after catching up with the views other processes have
+     * written. A flush in progress catches up itself, so the list is then returned as it is.
+     * @return the recent cities
+     * @throws RecentCitiesDataException if the files cannot be read
+     */
+    List<String> list() throws RecentCitiesDataException {
+        load();
+        if (ioLock.tryLock()) {
+            try {
+                if (journal.size() != offset || readVersion() != version) {
+                    locked(this::catchUp);
+                }
+            }
+            catch (IOException exception) {
+                throw new RecentCitiesDataException("Failed To Get Recent City Data. Failed To Read File: "
+                        + journalPath + ".", exception);
+            }
+            catch (JSONException exception) {
+                throw new RecentCitiesDataException("Failed To Get Recent City Data. Failed To Parse File: "
+                        + snapshotPath + ".", exception);
+            }
+            finally {
+                ioLock.unlock();
+            }
+        }
+        synchronized (this) {
+            return snapshot();
+        }
+    }
+
+    /**
+     * Returns the flushes that wrote to the journal since the journal was created.
+     * @return the journal writes
+     */
+    long getFlushCount() {
+        return flushes.get();
+    }
+
+    /**
+     * Returns the longest this process has held the lock on the journal, while catching up, appending and
+     * compacting.
+     * @return the longest lock hold
+     */
+    Duration getMaxLockHold() {
+        return Duration.ofNanos(maxLockHoldNanos.get());
+    }
+
+    int getJournalEntries() {
+        ioLock.lock();
+        try {
+            return journalEntries;
+        }
+        finally {
+            ioLock.unlock();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        }
+        catch (RecentCitiesDataException exception) {
+            System.err.println(exception.getMessage() + " " + exception.getCause().getMessage());
+        }
+    }
+
+    private LinkedHashMap<String, Boolean> newCities() {
+        return new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    private String front() {
+        final Map.Entry<String, Boolean> front = cities.lastEntry();
+        if (front == null) {
+            return null;
+        }
+        return front.getKey();
+    }
+
+    private List<String> snapshot() {
+        final List<String> list = new ArrayList<>(cities.keySet());
+        Collections.reverse(list);
+        return list;
+    }
+
+    private static void record(Map<String, Boolean> cities, String city) {
+        cities.remove(city);
+        cities.put(city, Boolean.TRUE);
+    }
+
+    /**
+     * Opens the journal and reads both files, the first time the journal is used.
+     * @throws RecentCitiesDataException if either file cannot be read or the snapshot cannot be parsed
+     */
+    private void load() throws RecentCitiesDataException {
+        ioLock.lock();
+        try {
+            if (journal == null) {
+                journal = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+                locked(this::reload);
+            }
+        }
+        catch (IOException exception) {
+            close();
+            throw new RecentCitiesDataException("Failed To Get Recent City Data. Failed To Read File: "
+                    + snapshotPath + ".", exception);
+        }
+        catch (JSONException exception) {
+            close();
+            throw new RecentCitiesDataException("Failed To Get Recent City Data. Failed To Parse File: "
+                    + snapshotPath + ".", exception);
+        }
+        finally {
+            ioLock.unlock();
+        }
+    }
+
+    private void close() {
+        try {
+            if (journal != null) {
+                journal.close();
+            }
+        }
+        catch (IOException exception) {
+            System.err.println("Failed To Close File: " + journalPath + ". " + exception.getMessage());
+        }
+        journal = null;
+    }
+
+    /**
+     * Runs an action under an exclusive lock on the journal, recording how long the lock was held. Must be called
+     * with the I/O lock held, since the JVM allows one lock on a file at a time.
+     * @param action the action
+     * @throws IOException if the lock cannot be taken or the action fails
+     */
+    private void locked(JournalAction action) throws IOException {
+        final FileLock lock = journal.lock();
+        final long start = System.nanoTime();
+        try {
+            action.run();
+        }
+        finally {
+            maxLockHoldNanos.accumulateAndGet(System.nanoTime() - start, Math::max);
+            lock.release();
+        }
+    }
+
+    /**
+     * Brings the list up to date with the files: replays the lines written since the journal was last read, or
+     * reloads both files if the journal has been compacted since.
+     * @throws IOException if either file cannot be read
+     */
+    private void catchUp() throws IOException {
+        if (readVersion() != version || journal.size() < offset) {
+            reload();
+        }
+        else if (journal.size() > offset) {
+            final List<String> written = replay(offset);
+            synchronized (this) {
+                for (String city : written) {
+                    record(cities, city);
+                }
+                // views not yet flushed are newer than anything on disk
+                for (String city : pending) {
+                    record(cities, city);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the list from the snapshot and the whole journal, followed by the views not yet flushed.
+     * @throws IOException if either file cannot be read
+     */
+    private void reload() throws IOException {
+        final LinkedHashMap<String, Boolean> reloaded = newCities();
+        if (Files.exists(snapshotPath)) {
+            final JSONArray snapshot = new JSONArray(Files.readString(snapshotPath));
+            for (int i = snapshot.length() - 1; i >= 0; i--) {
+                record(reloaded, snapshot.getString(i));
+            }
+        }
+        version = readVersion();
+        journalEntries = 0;
+        for (String city : replay(0)) {
+            record(reloaded, city);
+        }
+        synchronized (this) {
+            for (String city : pending) {
+                record(reloaded, city);
+            }
+            cities = reloaded;
+        }
+    }
+
+    /**
+     * Reads the journal from a line to the end, cutting off a line torn by a crash. Since no other process writes
+     * while the lock is held, an unfinished last line can only have been torn.
+     * @param from the position of the first line to read
+     * @return the cities of the lines, in the order they were written
+     * @throws IOException if the journal cannot be read or cut
+     */
+    private List<String> replay(long from) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(journal.size() - from));
+        int read = 0;
+        while (buffer.hasRemaining() && read >= 0) {
+            read = journal.read(buffer, from + buffer.position());
+        }
+        final String contents = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+        final String lines = contents.substring(0, contents.lastIndexOf('\n') + 1);
+        offset = from + lines.getBytes(StandardCharsets.UTF_8).length;
+        if (offset < journal.size()) {
+            journal.truncate(offset);
+        }
+
+        final List<String> replayed = new ArrayList<>();
+        for (String line : lines.split("\n")) {
+            try {
+                // the version line is a number, and is skipped
+                if (!line.isEmpty() && new JSONTokener(line).nextValue() instanceof String city) {
+                    replayed.add(city);
+                    journalEntries++;
+                }
+            }
+            catch (JSONException exception) {
+                System.err.println("Skipping Unreadable Recent City: " + journalPath + ". "
+                        + exception.getMessage());
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * Appends views to the journal after catching up with it, compacting it if it has reached the threshold.
+     * @param lines the cities viewed, oldest first
+     * @throws IOException if either file cannot be read or written
+     */
+    private void append(List<String> lines) throws IOException {
+        catchUp();
+        final StringBuilder contents = new StringBuilder();
+        for (String city : lines) {
+            contents.append(JSONObject.quote(city)).append('\n');
+        }
+        write(ByteBuffer.wrap(contents.toString().getBytes(StandardCharsets.UTF_8)), journal.size());
+        journal.force(false);
+        offset = journal.size();
+        journalEntries += lines.size();
+        if (journalEntries >= compactionThreshold) {
+            compact();
+        }
+    }
+
+    /**
+     * Reads the journal's version from its first line, where compactions write it.
+     * @return the version, or 0 for a journal that has never been compacted
+     * @throws IOException if the journal cannot be read
+     */
+    private long readVersion() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(VERSION_LENGTH);
+        journal.read(buffer, 0);
+        final String start = new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII);
+        final int end = start.indexOf('\n');
+        long read = 0;
+        if (end > 0 && Character.isDigit(start.charAt(0))) {
+            try {
+                read = Long.parseLong(start.substring(0, end));
+            }
+            catch (NumberFormatException exception) {
+                read = 0;
+            }
+        }
+        return read;
+    }
+
+    private void write(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            journal.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * Writes the cities, including the views not yet flushed, to a new snapshot and starts the next version of the
+     * journal. The views not yet flushed are still written to the journal later, and replaying them over the new
+     * snapshot is harmless.
+     * @throws IOException if the snapshot or journal cannot be written
+     */
+    private void compact() throws IOException {
+        final Path temporaryPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        final List<String> snapshot;
+        synchronized (this) {
+            snapshot = snapshot();
+        }
+        try (FileChannel snapshotChannel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer contents = ByteBuffer.wrap(new JSONArray(snapshot).toString()
+                    .getBytes(StandardCharsets.UTF_8));
+            while (contents.hasRemaining()) {
+                snapshotChannel.write(contents);
+            }
+            snapshotChannel.force(true);
+        }
+        Files.move(temporaryPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        version++;
+        journal.truncate(0);
+        write(ByteBuffer.wrap((version + "\n").getBytes(StandardCharsets.US_ASCII)), 0);
+        journal.force(true);
+        offset = journal.size();
+        journalEntries = 0;
+    }
+
+    /**
+     * Reads or writes the files while the journal is locked.
+     */
+    private interface JournalAction {
+
+        void run() throws IOException;
+    }
+}
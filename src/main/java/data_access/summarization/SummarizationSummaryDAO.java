@@ -1,16 +1,18 @@
 package data_access.summarization;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 import exception.ApiCallException;
 import org.jetbrains.annotations.NotNull;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import data_access.http.HttpTransport;
+import data_access.http.ResilientCaller;
 import entity.summarization.Summarization;
 import entity.summarization.SummarizationFactory;
 import io.github.cdimascio.dotenv.Dotenv;
-import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import use_case.display_summarization.DisplaySummarizationSummaryDAI;
 
@@ -27,13 +29,43 @@ public class SummarizationSummaryDAO implements DisplaySummarizationSummaryDAI {
     private static final String STRING = "string";
     private static final String FUNCTIONCALL = "function_call";
 
-    private static final String API_URL = "https://api.openai.com/v1/chat/completions";
+    public static final String DEFAULT_BASE_URL = "https://api.openai.com";
+    private static final String API_PATH = "/v1/chat/completions";
+    private static final Dotenv DOTENV = Dotenv.configure().ignoreIfMissing().load();
+
     private final SummarizationFactory summarizationFactory;
-    private final Dotenv dotenv = Dotenv.load();
-    private final String apikey = dotenv.get("OPENAI_API_KEY");
+    private final ResilientCaller resilientCaller;
+    private final String baseUrl;
+    private final String apikey;
+
+    public SummarizationSummaryDAO(SummarizationFactory summarizationFactory, HttpTransport httpTransport) {
+        this(summarizationFactory, new ResilientCaller(httpTransport));
+    }
+
+    /**
+     * Creates a DAO whose requests are guarded by the circuit breaker and quota of the caller. Completions are not
+     * idempotent, so they are never retried or hedged.
+     * @param summarizationFactory the factory summarizations are created with
+     * @param resilientCaller the caller requests are sent through
+     */
+    public SummarizationSummaryDAO(SummarizationFactory summarizationFactory, ResilientCaller resilientCaller) {
+        this(summarizationFactory, resilientCaller, DEFAULT_BASE_URL, DOTENV.get("OPENAI_API_KEY"));
+    }
 
-    public SummarizationSummaryDAO(SummarizationFactory summarizationFactory) {
+    /**
+     * Creates a DAO that sends its requests to another server speaking the chat completions API, such as a local
+     * stand-in.
+     * @param summarizationFactory the factory summarizations are created with
+     * @param resilientCaller the caller requests are sent through
+     * @param baseUrl the scheme and host of the server, without a trailing slash
+     * @param apikey the API key sent with every request
+     */
+    public SummarizationSummaryDAO(SummarizationFactory summarizationFactory, ResilientCaller resilientCaller,
+                                   String baseUrl, String apikey) {
         this.summarizationFactory = summarizationFactory;
+        this.resilientCaller = resilientCaller;
+        this.baseUrl = baseUrl;
+        this.apikey = apikey;
     }
 
     /**
@@ -45,8 +77,46 @@ public class SummarizationSummaryDAO implements DisplaySummarizationSummaryDAI {
      * @throws RuntimeException if the request fails
      */
     public Summarization getSummarization(String prompt) throws ApiCallException {
-        final OkHttpClient client = new OkHttpClient();
+        // Execute the request
+        final JSONObject arguments;
+        try {
+            arguments = resilientCaller.execute(buildRequest(prompt), SummarizationSummaryDAO::readArguments);
+        }
+        catch (IOException exception) {
+            throw new ApiCallException("Failed To Get Summarization. " + exception.getMessage(), exception);
+        }
+        return createSummarization(arguments);
+    }
 
+    /**
+     * Returns Summarization entity from the OpenAI API, sending the request on the OkHttp dispatcher instead of
+     * blocking the calling thread.
+     *
+     * @param prompt the prompt to use for the summarization which includes weather data.
+     * @return a future of the Summarization entity, failing with an ApiCallException if the request fails
+     */
+    @Override
+    public CompletableFuture<Summarization> getSummarizationAsync(String prompt) {
+        return resilientCaller.call(buildRequest(prompt), SummarizationSummaryDAO::readArguments)
+                .exceptionallyCompose(exception -> CompletableFuture.failedFuture(new ApiCallException(
+                        "Failed To Get Summarization. " + exception.getMessage(), exception)))
+                .thenCompose(arguments -> {
+                    try {
+                        return CompletableFuture.completedFuture(createSummarization(arguments));
+                    }
+                    catch (ApiCallException exception) {
+                        return CompletableFuture.failedFuture(exception);
+                    }
+                });
+    }
+
+    /**
+     * Builds the chat completions request asking for a structured summarization of the prompt.
+     *
+     * @param prompt the prompt to use for the summarization which includes weather data.
+     * @return the request
+     */
+    private Request buildRequest(String prompt) {
         // Define the JSON schema for the response
         final JSONObject schema = new JSONObject();
         schema.put(TYPE, "object");
@@ -77,38 +147,43 @@ public class SummarizationSummaryDAO implements DisplaySummarizationSummaryDAI {
         final okhttp3.RequestBody body = okhttp3.RequestBody.create(jsonBody.toString(),
                 okhttp3.MediaType.parse("application/json"));
 
-        final Request request = new Request.Builder()
-                .url(API_URL)
+        return new Request.Builder()
+                .url(baseUrl + API_PATH)
                 .addHeader("Authorization", "Bearer " + apikey)
                 .addHeader("Content-Type", "application/json")
                 .post(body)
                 .build();
+    }
 
-        // Execute the request
-        try (okhttp3.Response response = client.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
+    /**
+     * Reads the structured summarization arguments out of a chat completions response.
+     *
+     * @param response the response
+     * @return the arguments of the summarization function call
+     * @throws IOException if the call was unsuccessful or the response does not hold a summarization
+     */
+    private static JSONObject readArguments(okhttp3.Response response) throws IOException {
+        if (!response.isSuccessful()) {
 
-                throw new IOException("API Call Unsuccessful. HTTP Code: " + response.code());
-            }
-            if (response.body() == null) {
-                throw new IOException("API Returned No Response.");
-            }
+            throw new IOException("API Call Unsuccessful. HTTP Code: " + response.code());
+        }
+        if (response.body() == null) {
+            throw new IOException("API Returned No Response.");
+        }
 
-            final String responseBody = response.body().string();
+        final String responseBody = response.body().string();
 
-            // Parse the JSON response
-            final JSONObject arguments = getJsonObject(responseBody);
+        // Parse the JSON response
+        return getJsonObject(responseBody);
+    }
 
-            // Extract fields from the structured response
-            final String weatherSummary = arguments.getString(WEATHERSUMMARY);
-            final String outfitSuggestion = arguments.getString(OUTFITSUGGESTION);
-            final String travelAdvice = arguments.getString(TRAVELADVICE);
+    private Summarization createSummarization(JSONObject arguments) throws ApiCallException {
+        // Extract fields from the structured response
+        final String weatherSummary = arguments.getString(WEATHERSUMMARY);
+        final String outfitSuggestion = arguments.getString(OUTFITSUGGESTION);
+        final String travelAdvice = arguments.getString(TRAVELADVICE);
 
-            return this.summarizationFactory.createSummarization(weatherSummary, outfitSuggestion, travelAdvice);
-        }
-        catch (IOException exception) {
-            throw new ApiCallException("Failed To Get Summarization. " + exception.getMessage(), exception);
-        }
+        return this.summarizationFactory.createSummarization(weatherSummary, outfitSuggestion, travelAdvice);
     }
 
     @NotNull
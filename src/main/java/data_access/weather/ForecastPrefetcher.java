@@ -0,0 +1,131 @@
+package data_access.weather;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import data_access.recent_city.RecentCitiesDAO;
+import exception.RecentCitiesDataException;
+
+/**
+ * Warms the geocoding and forecast caches for the most recently viewed cities when the app starts, so that opening
+ * Home, Hourly, Daily or a History entry is served from a cached snapshot instead of a cold geocode and One Call.
+ * The cities are fetched in parallel through the asynchronous WeatherDAO path, and a use case asking for a city
+ * that is still warming up joins its in-flight request instead of sending another.
+ */
+public class ForecastPrefetcher {
+
+    public static final int DEFAULT_CITY_COUNT = 5;
+
+    private final RecentCitiesDAO recentCitiesDAO;
+    private final WeatherDAO weatherDAO;
+    private final int cityCount;
+    private final Listener listener;
+
+    public ForecastPrefetcher(RecentCitiesDAO recentCitiesDAO, WeatherDAO weatherDAO) {
+        this(recentCitiesDAO, weatherDAO, DEFAULT_CITY_COUNT, Listener.NONE);
+    }
+
+    /**
+     * Creates a prefetcher.
+     * @param recentCitiesDAO the source of the recently viewed cities
+     * @param weatherDAO the DAO whose caches are warmed
+     * @param cityCount the number of most recent cities to warm
+     * @param listener the hook warm-up progress and timing is reported to
+     */
+    public ForecastPrefetcher(RecentCitiesDAO recentCitiesDAO, WeatherDAO weatherDAO, int cityCount,
+                              Listener listener) {
+        this.recentCitiesDAO = recentCitiesDAO;
+        this.weatherDAO = weatherDAO;
+        this.cityCount = cityCount;
+        this.listener = listener;
+    }
+
+    /**
+     * Starts warming the most recent cities without blocking the calling thread. A city that fails to warm is
+     * reported to the listener and otherwise ignored, since the use case will simply fetch it again when opened.
+     * @return a future that completes once every city has been warmed or has failed
+     */
+    public CompletableFuture<Void> prefetch() {
+        final long start = System.nanoTime();
+        final List<String> cities;
+        try {
+            final List<String> recentCities = recentCitiesDAO.getRecentCityData().getRecentCityList();
+            cities = recentCities.subList(0, Math.min(cityCount, recentCities.size()));
+        }
+        catch (RecentCitiesDataException exception) {
+            listener.onFinished(0, 0, Duration.ofNanos(System.nanoTime() - start));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final AtomicInteger warmed = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final List<CompletableFuture<?>> requests = new ArrayList<>(cities.size());
+        for (String city : cities) {
+            requests.add(weatherDAO.getHourlyWeatherDataAsync(city).handle((hourlyWeatherData, exception) -> {
+                final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+                if (exception == null) {
+                    warmed.incrementAndGet();
+                    listener.onCityWarmed(city, elapsed);
+                }
+                else {
+                    failed.incrementAndGet();
+                    listener.onCityFailed(city, unwrap(exception), elapsed);
+                }
+                return null;
+            }));
+        }
+
+        return CompletableFuture.allOf(requests.toArray(new CompletableFuture<?>[0]))
+                .thenRun(() -> listener.onFinished(warmed.get(), failed.get(),
+                        Duration.ofNanos(System.nanoTime() - start)));
+    }
+
+    private static Throwable unwrap(Throwable exception) {
+        Throwable cause = exception;
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * Hook warm-up progress and timing is reported to. Calls are made from whichever thread completed the request,
+     * usually an OkHttp dispatcher thread.
+     */
+    public interface Listener {
+
+        // a listener that ignores every report
+        Listener NONE = new Listener() {
+        };
+
+        /**
+         * Called when a city's coordinates and forecast are cached.
+         * @param city the city that was warmed
+         * @param elapsed the time since warm-up started
+         */
+        default void onCityWarmed(String city, Duration elapsed) {
+        }
+
+        /**
+         * Called when a city could not be warmed.
+         * @param city the city that failed
+         * @param cause the reason the city could not be fetched
+         * @param elapsed the time since warm-up started
+         */
+        default void onCityFailed(String city, Throwable cause, Duration elapsed) {
+        }
+
+        /**
+         * Called once every city has been warmed or has failed.
+         * @param warmed the number of cities warmed
+         * @param failed the number of cities that failed
+         * @param elapsed the total warm-up time
+         */
+        default void onFinished(int warmed, int failed, Duration elapsed) {
+        }
+    }
+}
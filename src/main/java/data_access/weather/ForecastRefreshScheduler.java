@@ -0,0 +1,95 @@
+package data_access.weather;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import data_access.weather.cache.ForecastCache;
+
+/**
+ * Keeps the cached forecasts of active cities fresh in the background, so that use cases are served from the cache
+ * instead of waiting on a One Call request. Every cadence, each location a use case asked for within the active
+ * window is refreshed after a random jitter, which spreads the requests for many cities out instead of sending them
+ * all at once. The default cadence follows OpenWeather's 10 minute model update interval. While the One Call quota
+ * is tight, each location is only refreshed every few cadences.
+ */
+public class ForecastRefreshScheduler {
+
+    public static final Duration DEFAULT_CADENCE = ForecastCache.DEFAULT_TTL;
+    public static final Duration DEFAULT_JITTER = Duration.ofMinutes(1);
+    // cities nobody has looked at for an hour stop being refreshed
+    public static final Duration DEFAULT_ACTIVE_WINDOW = Duration.ofHours(1);
+    // how many times longer the cadence gets while the One Call quota is tight
+    public static final int TIGHT_QUOTA_BACKOFF = 3;
+
+    private final WeatherDAO weatherDAO;
+    private final Duration cadence;
+    private final Duration jitter;
+    private final Duration activeWindow;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "forecast-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ForecastRefreshScheduler(WeatherDAO weatherDAO) {
+        this(weatherDAO, DEFAULT_CADENCE, DEFAULT_JITTER, DEFAULT_ACTIVE_WINDOW);
+    }
+
+    /**
+     * Creates a scheduler. It does nothing until it is started.
+     * @param weatherDAO the DAO whose cached forecasts are refreshed
+     * @param cadence how often the active locations are refreshed
+     * @param jitter the largest random delay added to each refresh
+     * @param activeWindow how recently a location must have been requested to be refreshed
+     */
+    public ForecastRefreshScheduler(WeatherDAO weatherDAO, Duration cadence, Duration jitter,
+                                    Duration activeWindow) {
+        this.weatherDAO = weatherDAO;
+        this.cadence = cadence;
+        this.jitter = jitter;
+        this.activeWindow = activeWindow;
+    }
+
+    /**
+     * Starts refreshing the active locations every cadence.
+     */
+    public void start() {
+        scheduler.scheduleAtFixedRate(this::refreshActiveLocations, cadence.toMillis(), cadence.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops scheduling refreshes. Requests already sent are left to finish and still land in the cache.
+     */
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public boolean isStopped() {
+        return scheduler.isShutdown();
+    }
+
+    private void refreshActiveLocations() {
+        final Duration minAge = getMinAge();
+        for (String key : weatherDAO.getActiveLocations(activeWindow)) {
+            final long delay = ThreadLocalRandom.current().nextLong(jitter.toMillis() + 1);
+            scheduler.schedule(() -> weatherDAO.refresh(key, minAge), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns how old a cached snapshot must be to be refreshed on this tick. A snapshot a use case fetched since
+     * the last tick is still young enough to be left alone, and while the quota is tight so is one refreshed on
+     * any of the last few ticks.
+     * @return the minimum age of a refreshed snapshot
+     */
+    Duration getMinAge() {
+        if (weatherDAO.isQuotaTight()) {
+            return cadence.multipliedBy(TIGHT_QUOTA_BACKOFF).minus(jitter);
+        }
+        return cadence.minus(jitter);
+    }
+}
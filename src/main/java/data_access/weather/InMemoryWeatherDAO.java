@@ -6,12 +6,14 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import exception.ApiCallException;
 import org.jetbrains.annotations.NotNull;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import entity.weather.ConditionCodes;
 import entity.weather.daily_weather.DailyWeatherData;
 import entity.weather.daily_weather.DailyWeatherDataFactory;
 import entity.weather.day_weather.DayWeatherData;
@@ -81,6 +83,22 @@ public class InMemoryWeatherDAO implements DisplayHomeWeatherDAI, DisplayDailyWe
                 highTemperature);
     }
 
+    /**
+     * Returns HourlyWeatherData entity from the in memory weather data file. There is no request to wait on, so the
+     * future is already complete.
+     * @param city the name of the city to get the weather forecast for
+     * @return a completed future of the HourlyWeatherData entity
+     */
+    @Override
+    public CompletableFuture<HourlyWeatherData> getHourlyWeatherDataAsync(String city) {
+        try {
+            return CompletableFuture.completedFuture(getHourlyWeatherData(city));
+        }
+        catch (ApiCallException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
     /**
      * Mutates hourWeatherDataList by creating HourWeatherData objects inside of it. HourWeatherData objects are
      * created for each hour provided by the OpenWeather JSON Array.
@@ -98,8 +116,8 @@ public class InMemoryWeatherDAO implements DisplayHomeWeatherDAI, DisplayDailyWe
             // unpacking for main weather condition
             final JSONArray conditionArray = hourObject.getJSONArray("weather");
             final JSONObject conditionObject = conditionArray.getJSONObject(0);
-            // main weather condition ("Rain", "Clouds", "Snow")
-            final String condition = conditionObject.getString("main");
+            // weather condition id (500 for light rain, 804 for overcast clouds)
+            final byte conditionCode = ConditionCodes.fromId(conditionObject.getInt("id"));
 
             final int temperature = (int) hourObject.getDouble(TEMP);
 
@@ -115,20 +133,8 @@ public class InMemoryWeatherDAO implements DisplayHomeWeatherDAI, DisplayDailyWe
 
             final int humidity = (int) hourObject.getDouble(HUMIDITY);
 
-            // package all forecast values
-            final JSONObject hourWeatherDataValues = new JSONObject();
-            hourWeatherDataValues.put("city", city);
-            hourWeatherDataValues.put(TIME_ZONE, timezone);
-            hourWeatherDataValues.put("condition", condition);
-            hourWeatherDataValues.put("temperature", temperature);
-            hourWeatherDataValues.put("feelsLikeTemperature", feelsLikeTemperature);
-            hourWeatherDataValues.put("windSpeed", windSpeed);
-            hourWeatherDataValues.put("uvIndex", uvIndex);
-            hourWeatherDataValues.put("cloudCover", cloudCover);
-            hourWeatherDataValues.put("precipitation", precipitation);
-            hourWeatherDataValues.put(HUMIDITY, humidity);
-
-            final HourWeatherData hourWeatherData = this.hourWeatherDataFactory.create(hourWeatherDataValues);
+            final HourWeatherData hourWeatherData = this.hourWeatherDataFactory.create(city, timezone, conditionCode,
+                    temperature, feelsLikeTemperature, windSpeed, uvIndex, cloudCover, precipitation, humidity);
             hourWeatherDataList.add(hourWeatherData);
         }
     }
@@ -151,6 +157,22 @@ public class InMemoryWeatherDAO implements DisplayHomeWeatherDAI, DisplayDailyWe
         return this.dailyWeatherDataFactory.create(dayWeatherDataList, timezone, city);
     }
 
+    /**
+     * Returns a DailyWeatherData entity from the in memory weather data file. There is no request to wait on, so the
+     * future is already complete.
+     * @param city the name of the city to get the weather forecast for
+     * @return a completed future of the DailyWeatherData entity
+     */
+    @Override
+    public CompletableFuture<DailyWeatherData> getDailyWeatherDataAsync(String city) {
+        try {
+            return CompletableFuture.completedFuture(getDailyWeatherData(city));
+        }
+        catch (ApiCallException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
     /**
      * Mutates dayWeatherDataList by creating dayWeatherData objects inside of it. DayWeatherData objects are
      * created for each day provided by the OpenWeather JSON Array.
@@ -168,8 +190,8 @@ public class InMemoryWeatherDAO implements DisplayHomeWeatherDAI, DisplayDailyWe
             // unpacking for main weather condition
             final JSONArray conditionArray = dayObject.getJSONArray("weather");
             final JSONObject conditionObject = conditionArray.getJSONObject(0);
-            // main weather condition ("Rain", "Clouds", "Snow")
-            final String condition = conditionObject.getString("main");
+            // weather condition id (500 for light rain, 804 for overcast clouds)
+            final byte conditionCode = ConditionCodes.fromId(conditionObject.getInt("id"));
 
             // unpacking for temperature
             final JSONObject temperatureObject = dayObject.getJSONObject(TEMP);
@@ -191,20 +213,8 @@ public class InMemoryWeatherDAO implements DisplayHomeWeatherDAI, DisplayDailyWe
 
             final int humidity = (int) dayObject.getDouble(HUMIDITY);
 
-            // package all forecast values
-            final JSONObject dayWeatherDataValues = new JSONObject();
-            dayWeatherDataValues.put("city", city);
-            dayWeatherDataValues.put(TIME_ZONE, timezone);
-            dayWeatherDataValues.put("condition", condition);
-            dayWeatherDataValues.put("temperature", temperature);
-            dayWeatherDataValues.put("feelsLikeTemperature", feelsLikeTemperature);
-            dayWeatherDataValues.put("windSpeed", windSpeed);
-            dayWeatherDataValues.put("uvIndex", uvIndex);
-            dayWeatherDataValues.put("cloudCover", cloudCover);
-            dayWeatherDataValues.put("precipitation", precipitation);
-            dayWeatherDataValues.put(HUMIDITY, humidity);
-
-            final DayWeatherData dayWeatherData = this.dayWeatherDataFactory.create(dayWeatherDataValues);
+            final DayWeatherData dayWeatherData = this.dayWeatherDataFactory.create(city, timezone, conditionCode,
+                    temperature, feelsLikeTemperature, windSpeed, uvIndex, cloudCover, precipitation, humidity);
             dayWeatherDataList.add(dayWeatherData);
         }
     }
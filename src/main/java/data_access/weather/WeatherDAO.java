@@ -1,19 +1,25 @@
 package data_access.weather;
 
-import java.util.ArrayList;
+import java.time.Duration;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import exception.ApiCallException;
-import org.json.JSONArray;
-import org.json.JSONObject;
 
+import data_access.concurrent.SingleFlight;
+import data_access.weather.cache.ForecastCache;
+import data_access.weather.cache.ForecastSnapshot;
+import data_access.weather.cache.SnapshotStore;
+import data_access.weather.geocoding.Geocoder;
+import data_access.weather.open_weather.ForecastSection;
+import data_access.weather.open_weather.OneCallParser;
 import data_access.weather.open_weather.OpenWeatherWeatherDAO;
 import entity.weather.daily_weather.DailyWeatherData;
 import entity.weather.daily_weather.DailyWeatherDataFactory;
-import entity.weather.day_weather.DayWeatherData;
-import entity.weather.day_weather.DayWeatherDataFactory;
-import entity.weather.hour_weather.HourWeatherData;
-import entity.weather.hour_weather.HourWeatherDataFactory;
 import entity.weather.hourly_weather.HourlyWeatherData;
 import entity.weather.hourly_weather.HourlyWeatherDataFactory;
 import use_case.display_checker.DisplayCheckerDAI;
@@ -23,28 +29,51 @@ import use_case.display_hourly.DisplayHourlyWeatherDAI;
 import use_case.display_summarization.DisplaySummarizationWeatherDAI;
 
 /**
- * This class parses OpenWeather JSON Objects and creates DailyWeatherData and HourlyWeatherDataObjects.
+ * This class parses OpenWeather responses and creates DailyWeatherData and HourlyWeatherDataObjects. A single One
+ * Call response is parsed into a ForecastSnapshot and shared by every use case until it expires. Snapshots are
+ * cached per tile of the cache's ForecastTiling and fetched for the tile's center, so every name that resolves into
+ * a tile shares one request and one snapshot. The entities' city is the name of whichever city was fetched first,
+ * so use cases must name the forecast after the city they requested and never read it from the entities.
+ * Each request asks only for the ForecastSections its use case reads, so daily data is fetched without the hourly
+ * section, and the cache merges a daily-only snapshot with a later hourly one. An
+ * expired snapshot that is still within the cache's stale window is returned straight away while a newer one is
+ * fetched in the background, and the locations requested recently can be kept fresh by a ForecastRefreshScheduler.
+ * Every fetched snapshot is also written to a SnapshotStore, and when the API cannot be reached the last-known
+ * snapshot is served from it instead, marked as restored so its age can be told apart from a live forecast.
  */
 public class WeatherDAO implements DisplayHomeWeatherDAI, DisplayDailyWeatherDAI, DisplayCheckerDAI,
         DisplaySummarizationWeatherDAI, DisplayHourlyWeatherDAI {
 
-    private static final String TIME_ZONE = "timezone";
-    private static final String TEMP = "temp";
-    private static final String HUMIDITY = "humidity";
-
-    private final DayWeatherDataFactory dayWeatherDataFactory;
-    private final DailyWeatherDataFactory dailyWeatherDataFactory;
-    private final HourlyWeatherDataFactory hourlyWeatherDataFactory;
-    private final HourWeatherDataFactory hourWeatherDataFactory;
+    private final OneCallParser oneCallParser;
+    private final Geocoder geocoder;
+    private final OpenWeatherWeatherDAO openWeatherWeatherDAO;
+    private final ForecastCache forecastCache;
+    private final SnapshotStore snapshotStore;
+    // concurrent misses for the same location and sections share one One Call request
+    private final SingleFlight<String, ForecastSnapshot> forecastRequests = new SingleFlight<>();
+    // locations requested recently by a use case, keyed by cache key
+    private final Map<String, ActiveLocation> activeLocations = new ConcurrentHashMap<>();
+
+    public WeatherDAO(DailyWeatherDataFactory dailyWeatherDataFactory,
+                      HourlyWeatherDataFactory hourlyWeatherDataFactory,
+                      Geocoder geocoder,
+                      OpenWeatherWeatherDAO openWeatherWeatherDAO,
+                      ForecastCache forecastCache) {
+        this(dailyWeatherDataFactory, hourlyWeatherDataFactory, geocoder, openWeatherWeatherDAO, forecastCache,
+                SnapshotStore.NONE);
+    }
 
-    public WeatherDAO(DayWeatherDataFactory dayWeatherDataFactory,
-                      DailyWeatherDataFactory dailyWeatherDataFactory,
-                      HourWeatherDataFactory hourWeatherDataFactory,
-                      HourlyWeatherDataFactory hourlyWeatherDataFactory) {
-        this.dayWeatherDataFactory = dayWeatherDataFactory;
-        this.dailyWeatherDataFactory = dailyWeatherDataFactory;
-        this.hourlyWeatherDataFactory = hourlyWeatherDataFactory;
-        this.hourWeatherDataFactory = hourWeatherDataFactory;
+    public WeatherDAO(DailyWeatherDataFactory dailyWeatherDataFactory,
+                      HourlyWeatherDataFactory hourlyWeatherDataFactory,
+                      Geocoder geocoder,
+                      OpenWeatherWeatherDAO openWeatherWeatherDAO,
+                      ForecastCache forecastCache,
+                      SnapshotStore snapshotStore) {
+        this.oneCallParser = new OneCallParser(dailyWeatherDataFactory, hourlyWeatherDataFactory);
+        this.geocoder = geocoder;
+        this.openWeatherWeatherDAO = openWeatherWeatherDAO;
+        this.forecastCache = forecastCache;
+        this.snapshotStore = snapshotStore;
     }
 
     /**
@@ -55,151 +84,316 @@ public class WeatherDAO implements DisplayHomeWeatherDAI, DisplayDailyWeatherDAI
      */
     @Override
     public HourlyWeatherData getHourlyWeatherData(String city) throws ApiCallException {
-        final JSONObject weatherData = OpenWeatherWeatherDAO.apiRequest(city);
-
-        final String timezone = weatherData.getString(TIME_ZONE);
-        // get min and max temperature for the day
-        // the weather data for today
-        final JSONObject todayWeatherData = weatherData.getJSONArray("daily").getJSONObject(0);
-        // temperature data from the weather data today
-        final JSONObject temperatureTodayWeatherData = todayWeatherData.getJSONObject(TEMP);
-        final int lowTemperature = (int) temperatureTodayWeatherData.getDouble("min");
-        final int highTemperature = (int) temperatureTodayWeatherData.getDouble("max");
-
-        final JSONArray hourlyArray = weatherData.getJSONArray("hourly");
-        // HourWeatherData objects for the HourlyWeatherData object
-        final List<HourWeatherData> hourWeatherDataList = new ArrayList<>(hourlyArray.length());
-        getHourWeatherDataList(city, timezone, hourlyArray, hourWeatherDataList);
-
-        return this.hourlyWeatherDataFactory.create(hourWeatherDataList, timezone, city, lowTemperature,
-                highTemperature);
+        return getForecastSnapshot(city, EnumSet.of(ForecastSection.HOURLY)).getHourlyWeatherData();
     }
 
     /**
-     * Mutates hourWeatherDataList by creating HourWeatherData objects inside of it. HourWeatherData objects are
-     * created for each hour provided by the OpenWeather JSON Array.
-     * @param city the city the data is being created for
-     * @param timezone the timezone of the city
-     * @param hourlyArray the JSON Array of hour weather forecast information provided by the API
-     * @param hourWeatherDataList the list to be mutated to add the new HourWeatherData objects
+     * Returns a DailyWeatherData entity with updated weather data from the OpenWeather API.
+     * @param city the name of the city to get the weather forecast for
+     * @return a DailyWeatherData entity
+     * @throws ApiCallException if the request fails or the API Key is not set
      */
-    private void getHourWeatherDataList(String city, String timezone, JSONArray hourlyArray,
-                                        List<HourWeatherData> hourWeatherDataList) {
-        for (int i = 0; i < hourlyArray.length(); i++) {
-            final JSONObject hourObject = hourlyArray.getJSONObject(i);
-
-            // note that parsing for DayWeatherData objects and HourWeatherData objects are slightly different
-            // unpacking for main weather condition
-            final JSONArray conditionArray = hourObject.getJSONArray("weather");
-            final JSONObject conditionObject = conditionArray.getJSONObject(0);
-            // main weather condition ("Rain", "Clouds", "Snow")
-            final String condition = conditionObject.getString("main");
-
-            final int temperature = (int) hourObject.getDouble(TEMP);
-
-            final int feelsLikeTemperature = (int) hourObject.getDouble("feels_like");
+    @Override
+    public DailyWeatherData getDailyWeatherData(String city) throws ApiCallException {
+        return getForecastSnapshot(city, EnumSet.of(ForecastSection.DAILY)).getDailyWeatherData();
+    }
 
-            final int windSpeed = (int) hourObject.getDouble("wind_speed");
+    /**
+     * Returns HourlyWeatherData entity from the OpenWeather API without blocking the calling thread. The geocoding
+     * and One Call requests are sent on the OkHttp dispatcher, and the future completes as soon as the response is
+     * parsed.
+     * @param city the name of the city to get the weather forecast for
+     * @return a future of the HourlyWeatherData entity, failing with an ApiCallException if the request fails
+     */
+    @Override
+    public CompletableFuture<HourlyWeatherData> getHourlyWeatherDataAsync(String city) {
+        return getForecastSnapshotAsync(city, EnumSet.of(ForecastSection.HOURLY))
+                .thenApply(ForecastSnapshot::getHourlyWeatherData);
+    }
 
-            final int uvIndex = (int) hourObject.getDouble("uvi");
+    /**
+     * Returns a DailyWeatherData entity from the OpenWeather API without blocking the calling thread.
+     * @param city the name of the city to get the weather forecast for
+     * @return a future of the DailyWeatherData entity, failing with an ApiCallException if the request fails
+     */
+    @Override
+    public CompletableFuture<DailyWeatherData> getDailyWeatherDataAsync(String city) {
+        return getForecastSnapshotAsync(city, EnumSet.of(ForecastSection.DAILY))
+                .thenApply(ForecastSnapshot::getDailyWeatherData);
+    }
 
-            final int cloudCover = (int) hourObject.getDouble("clouds");
+    /**
+     * Returns the forecast snapshot for the coordinates of the city, fetching and parsing a new One Call response
+     * only when there is no fresh or stale snapshot covering the sections cached for those coordinates. If the
+     * request fails, the last-known snapshot in the store is returned instead.
+     * @param city the name of the city to get the forecast for
+     * @param sections the sections the use case reads
+     * @return a forecast snapshot for the city covering the sections
+     * @throws ApiCallException if the city cannot be resolved, or the request fails and no snapshot was stored
+     */
+    private ForecastSnapshot getForecastSnapshot(String city, Set<ForecastSection> sections)
+            throws ApiCallException {
+        final Map<String, Double> coordinates = forecastCache.getTiling().center(geocoder.getCoordinates(city));
+        final String key = forecastCache.key(coordinates);
+
+        final ForecastSnapshot snapshot = getCachedSnapshot(city, coordinates, key, sections);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        final Set<ForecastSection> requested = requestSections(key, sections);
+        try {
+            return forecastRequests.execute(requestKey(key, requested),
+                    () -> fetchForecastSnapshot(city, coordinates, key, requested));
+        }
+        catch (ApiCallException exception) {
+            final ForecastSnapshot lastKnown = loadLastKnown(city, key, sections);
+            if (lastKnown == null) {
+                throw exception;
+            }
+            return lastKnown;
+        }
+    }
 
-            final int precipitation = (int) (hourObject.getDouble("pop") * 100);
+    /**
+     * Fetches and parses the sections of a One Call response and merges them into the cached snapshot for the key.
+     * @param city the name of the city the forecast was requested for
+     * @param coordinates the center of the city's tile
+     * @param key the cache key of the coordinates
+     * @param sections the sections to fetch
+     * @return the cached snapshot, covering at least the sections
+     * @throws ApiCallException if the request fails
+     */
+    private ForecastSnapshot fetchForecastSnapshot(String city, Map<String, Double> coordinates, String key,
+                                                   Set<ForecastSection> sections) throws ApiCallException {
+        // another caller may have finished the same request just before this one started
+        final ForecastSnapshot cached = forecastCache.get(key);
+        if (cached != null && cached.covers(sections)) {
+            return cached;
+        }
 
-            final int humidity = (int) hourObject.getDouble(HUMIDITY);
+        // the response is parsed as it streams off the connection rather than into a DOM first
+        final ForecastSnapshot snapshot = openWeatherWeatherDAO.apiRequest(coordinates, sections,
+                body -> oneCallParser.parse(city, body, forecastCache.getClock().millis()));
+        return store(key, snapshot);
+    }
 
-            // package all forecast values
-            final JSONObject hourWeatherDataValues = new JSONObject();
-            hourWeatherDataValues.put("city", city);
-            hourWeatherDataValues.put(TIME_ZONE, timezone);
-            hourWeatherDataValues.put("condition", condition);
-            hourWeatherDataValues.put("temperature", temperature);
-            hourWeatherDataValues.put("feelsLikeTemperature", feelsLikeTemperature);
-            hourWeatherDataValues.put("windSpeed", windSpeed);
-            hourWeatherDataValues.put("uvIndex", uvIndex);
-            hourWeatherDataValues.put("cloudCover", cloudCover);
-            hourWeatherDataValues.put("precipitation", precipitation);
-            hourWeatherDataValues.put(HUMIDITY, humidity);
+    /**
+     * Returns a future of the forecast snapshot for the coordinates of the city. A fresh cached snapshot completes
+     * the future straight away; otherwise the request is shared with any other caller missing the same key, whether
+     * blocking or asynchronous, and falls back to the last-known snapshot in the store if it fails.
+     * @param city the name of the city to get the forecast for
+     * @param sections the sections the use case reads
+     * @return a future of a forecast snapshot for the city covering the sections
+     */
+    private CompletableFuture<ForecastSnapshot> getForecastSnapshotAsync(String city,
+                                                                        Set<ForecastSection> sections) {
+        return geocoder.getCoordinatesAsync(city).thenCompose(resolved -> {
+            final Map<String, Double> coordinates = forecastCache.getTiling().center(resolved);
+            final String key = forecastCache.key(coordinates);
+
+            final ForecastSnapshot snapshot = getCachedSnapshot(city, coordinates, key, sections);
+            if (snapshot != null) {
+                return CompletableFuture.completedFuture(snapshot);
+            }
+            final Set<ForecastSection> requested = requestSections(key, sections);
+            return forecastRequests.executeAsync(requestKey(key, requested),
+                            () -> fetchForecastSnapshotAsync(city, coordinates, key, requested))
+                    .exceptionallyCompose(exception -> {
+                        final ForecastSnapshot lastKnown = loadLastKnown(city, key, sections);
+                        if (lastKnown == null) {
+                            return CompletableFuture.failedFuture(exception);
+                        }
+                        return CompletableFuture.completedFuture(lastKnown);
+                    });
+        });
+    }
 
-            final HourWeatherData hourWeatherData = this.hourWeatherDataFactory.create(hourWeatherDataValues);
-            hourWeatherDataList.add(hourWeatherData);
+    /**
+     * Sends a One Call request unless another caller has just cached a fresh snapshot, parsing the response on the
+     * dispatcher thread and merging it into the cached snapshot for the key.
+     * @param city the name of the city the forecast was requested for
+     * @param coordinates the center of the city's tile
+     * @param key the cache key of the coordinates
+     * @param sections the sections to fetch
+     * @return a future of the cached snapshot, covering at least the sections
+     */
+    private CompletableFuture<ForecastSnapshot> fetchForecastSnapshotAsync(String city,
+                                                                          Map<String, Double> coordinates,
+                                                                          String key,
+                                                                          Set<ForecastSection> sections) {
+        final ForecastSnapshot cached = forecastCache.get(key);
+        if (cached != null && cached.covers(sections)) {
+            return CompletableFuture.completedFuture(cached);
         }
+        return requestForecastSnapshotAsync(city, coordinates, key, sections);
     }
 
     /**
-     * Returns a DailyWeatherData entity with updated weather data from the OpenWeather API.
-     * @param city the name of the city to get the weather forecast for
-     * @return a DailyWeatherData entity
-     * @throws ApiCallException if the request fails or the API Key is not set
+     * Sends a One Call request for the sections whether or not a fresh snapshot is cached, and merges the parsed
+     * response into the cached snapshot for the key.
+     * @param city the name of the city the forecast was requested for
+     * @param coordinates the center of the city's tile
+     * @param key the cache key of the coordinates
+     * @param sections the sections to fetch
+     * @return a future of the cached snapshot, covering at least the sections
      */
-    @Override
-    public DailyWeatherData getDailyWeatherData(String city) throws ApiCallException {
-        final JSONObject weatherData = OpenWeatherWeatherDAO.apiRequest(city);
-
-        final String timezone = weatherData.getString(TIME_ZONE);
-        final JSONArray dailyArray = weatherData.getJSONArray("daily");
-
-        final List<DayWeatherData> dayWeatherDataList = new ArrayList<>(dailyArray.length());
-        getDayWeatherDataList(city, timezone, dailyArray, dayWeatherDataList);
-        return this.dailyWeatherDataFactory.create(dayWeatherDataList, timezone, city);
+    private CompletableFuture<ForecastSnapshot> requestForecastSnapshotAsync(String city,
+                                                                            Map<String, Double> coordinates,
+                                                                            String key,
+                                                                            Set<ForecastSection> sections) {
+        return openWeatherWeatherDAO.apiRequestAsync(coordinates, sections,
+                        body -> oneCallParser.parse(city, body, forecastCache.getClock().millis()))
+                .thenApply(snapshot -> store(key, snapshot));
     }
 
     /**
-     * Mutates dayWeatherDataList by creating dayWeatherData objects inside of it. DayWeatherData objects are
-     * created for each day provided by the OpenWeather JSON Array.
-     * @param city the city the data is being created for
-     * @param timezone the timezone of the city
-     * @param dailyArray the JSON Array of day weather forecast information provided by the API
-     * @param dayWeatherDataList the list to be mutated to add the new DayWeatherData objects
+     * Merges a fetched snapshot into the cache and writes the merged snapshot to the store.
+     * @param key the cache key of the coordinates
+     * @param snapshot the fetched snapshot
+     * @return the merged snapshot
      */
-    private void getDayWeatherDataList(String city, String timezone, JSONArray dailyArray,
-                                       List<DayWeatherData> dayWeatherDataList) {
-        for (int i = 0; i < dailyArray.length(); i++) {
-            final JSONObject dayObject = dailyArray.getJSONObject(i);
-
-            // note that parsing for DayWeatherData objects and HourWeatherData objects are slightly different
-            // unpacking for main weather condition
-            final JSONArray conditionArray = dayObject.getJSONArray("weather");
-            final JSONObject conditionObject = conditionArray.getJSONObject(0);
-            // main weather condition ("Rain", "Clouds", "Snow")
-            final String condition = conditionObject.getString("main");
+    private ForecastSnapshot store(String key, ForecastSnapshot snapshot) {
+        final ForecastSnapshot merged = forecastCache.put(key, snapshot);
+        snapshotStore.save(key, merged);
+        return merged;
+    }
 
-            // unpacking for temperature
-            final JSONObject temperatureObject = dayObject.getJSONObject(TEMP);
-            // "day" means temperature in the middle of the day
-            final int temperature = (int) temperatureObject.getDouble("day");
+    /**
+     * Records the location as active and returns its cached snapshot if it covers the sections. A stale snapshot is
+     * returned as is, with a background request for all of its sections started to replace it; a caller that then
+     * misses the cache joins that request. While the One Call quota is tight, a cached or last-known snapshot of any
+     * age is returned instead of spending the quota, and stale snapshots are not revalidated.
+     * @param city the name of the city the forecast was requested for
+     * @param coordinates the center of the city's tile
+     * @param key the cache key of the coordinates
+     * @param sections the sections the use case reads
+     * @return the fresh or stale snapshot, or null if neither is cached with the sections
+     */
+    private ForecastSnapshot getCachedSnapshot(String city, Map<String, Double> coordinates, String key,
+                                               Set<ForecastSection> sections) {
+        activeLocations.merge(key, new ActiveLocation(city, coordinates, sections, forecastCache.getClock().millis()),
+                ActiveLocation::requestedAgain);
+
+        final boolean quotaTight = openWeatherWeatherDAO.isQuotaTight();
+        ForecastSnapshot snapshot = forecastCache.get(key);
+        if (snapshot == null) {
+            snapshot = forecastCache.getStale(key);
+            if (snapshot != null && snapshot.covers(sections) && !quotaTight) {
+                final Set<ForecastSection> staleSections = requestSections(key, snapshot.getSections());
+                forecastRequests.executeAsync(requestKey(key, staleSections),
+                        () -> requestForecastSnapshotAsync(city, coordinates, key, staleSections));
+            }
+        }
+        if (snapshot == null && quotaTight) {
+            snapshot = forecastCache.peek(key);
+        }
+        if (snapshot != null && !snapshot.covers(sections)) {
+            snapshot = null;
+        }
+        if (snapshot == null && quotaTight) {
+            snapshot = loadLastKnown(city, key, sections);
+        }
+        forecastCache.recordLookup(key, city, snapshot != null);
+        return snapshot;
+    }
 
-            // unpacking for feels like temperature
-            final JSONObject feelsLikeObject = dayObject.getJSONObject("feels_like");
-            // "day" means temperature in the middle of the day
-            final int feelsLikeTemperature = (int) feelsLikeObject.getDouble("day");
+    /**
+     * Reads the last-known snapshot for the key back from the store, for when the API cannot be reached.
+     * @param city the name of the city the forecast was requested for
+     * @param key the cache key of the coordinates
+     * @param sections the sections the use case reads
+     * @return the restored snapshot, or null if none covering the sections was stored
+     */
+    private ForecastSnapshot loadLastKnown(String city, String key, Set<ForecastSection> sections) {
+        ForecastSnapshot lastKnown = snapshotStore.load(key);
+        if (lastKnown != null && !lastKnown.covers(sections)) {
+            lastKnown = null;
+        }
+        if (lastKnown != null) {
+            System.err.println("Serving Last-Known Forecast For " + city + ", "
+                    + Duration.ofMillis(forecastCache.getAge(lastKnown)).toMinutes() + " Minutes Old.");
+        }
+        return lastKnown;
+    }
 
-            final int windSpeed = (int) dayObject.getDouble("wind_speed");
+    /**
+     * Returns the cache keys of the locations requested within the window, and forgets the ones that were not.
+     * @param window how recently a location must have been requested to count as active
+     * @return the cache keys of the active locations
+     */
+    public List<String> getActiveLocations(Duration window) {
+        final long cutoff = forecastCache.getClock().millis() - window.toMillis();
+        activeLocations.values().removeIf(location -> location.requestedAt() < cutoff);
+        return List.copyOf(activeLocations.keySet());
+    }
 
-            final int uvIndex = (int) dayObject.getDouble("uvi");
+    /**
+     * Returns whether so little of the One Call quota is left that forecasts should be refreshed less often.
+     * @return true if the quota is running low
+     */
+    public boolean isQuotaTight() {
+        return openWeatherWeatherDAO.isQuotaTight();
+    }
 
-            final int cloudCover = (int) dayObject.getDouble("clouds");
+    /**
+     * Fetches a new snapshot of every section requested for an active location in the background, unless its cached
+     * snapshot is younger than the minimum age. The request is shared with any use case missing the same location
+     * and sections meanwhile.
+     * @param key the cache key of an active location
+     * @param minAge how old the cached snapshot must be before it is refreshed
+     * @return a future of the current snapshot, or of null if the location is not active
+     */
+    public CompletableFuture<ForecastSnapshot> refresh(String key, Duration minAge) {
+        final ActiveLocation location = activeLocations.get(key);
+        if (location == null) {
+            return CompletableFuture.completedFuture(null);
+        }
 
-            final int precipitation = (int) (dayObject.getDouble("pop") * 100);
+        final ForecastSnapshot current = forecastCache.peek(key);
+        if (current != null && forecastCache.getAge(current) < minAge.toMillis()) {
+            return CompletableFuture.completedFuture(current);
+        }
+        final Set<ForecastSection> requested = requestSections(key, location.sections());
+        return forecastRequests.executeAsync(requestKey(key, requested),
+                () -> requestForecastSnapshotAsync(location.city(), location.coordinates(), key, requested));
+    }
 
-            final int humidity = (int) dayObject.getDouble(HUMIDITY);
+    /**
+     * Returns the sections to request for the sections a use case reads. The daily section comes with the hourly
+     * one anyway, so an hourly request always covers both, and a daily request joins such a request if one is
+     * already in flight for the location.
+     * @param key the cache key of the coordinates
+     * @param sections the sections the use case reads
+     * @return the sections to request
+     */
+    private Set<ForecastSection> requestSections(String key, Set<ForecastSection> sections) {
+        if (sections.contains(ForecastSection.HOURLY)
+                || forecastRequests.isInFlight(requestKey(key, ForecastSection.ALL))) {
+            return ForecastSection.ALL;
+        }
+        return sections;
+    }
 
-            // package all forecast values
-            final JSONObject dayWeatherDataValues = new JSONObject();
-            dayWeatherDataValues.put("city", city);
-            dayWeatherDataValues.put(TIME_ZONE, timezone);
-            dayWeatherDataValues.put("condition", condition);
-            dayWeatherDataValues.put("temperature", temperature);
-            dayWeatherDataValues.put("feelsLikeTemperature", feelsLikeTemperature);
-            dayWeatherDataValues.put("windSpeed", windSpeed);
-            dayWeatherDataValues.put("uvIndex", uvIndex);
-            dayWeatherDataValues.put("cloudCover", cloudCover);
-            dayWeatherDataValues.put("precipitation", precipitation);
-            dayWeatherDataValues.put(HUMIDITY, humidity);
+    private static String requestKey(String key, Set<ForecastSection> sections) {
+        // EnumSet lists the sections in declaration order, so equal sets always give the same key
+        return key + EnumSet.copyOf(sections);
+    }
 
-            final DayWeatherData dayWeatherData = this.dayWeatherDataFactory.create(dayWeatherDataValues);
-            dayWeatherDataList.add(dayWeatherData);
+    /**
+     * A location a use case asked for.
+     * @param city the name of the city as it was requested
+     * @param coordinates the center of the city's tile
+     * @param sections every section requested for the location
+     * @param requestedAt the epoch milliseconds of the latest request
+     */
+    private record ActiveLocation(String city, Map<String, Double> coordinates, Set<ForecastSection> sections,
+                                  long requestedAt) {
+
+        ActiveLocation requestedAgain(ActiveLocation request) {
+            final Set<ForecastSection> requested = EnumSet.copyOf(sections);
+            requested.addAll(request.sections());
+            return new ActiveLocation(request.city(), request.coordinates(), Set.copyOf(requested),
+                    request.requestedAt());
         }
     }
 }
@@ -0,0 +1,97 @@
+package data_access.weather.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+import entity.weather.ConditionCodes;
+import entity.weather.WeatherColumnsView;
+
+/**
+ * Read-only view of the columns of an encoded snapshot. Values are read straight out of the buffer on each access
+ * rather than copied into arrays, so decoding a snapshot costs no more than locating its columns. The layout of the
+ * columns is described in SnapshotCodec.
+ */
+class EncodedWeatherColumns implements WeatherColumnsView {
+
+    // bytes per forecast across all columns
+    static final int ROW_BYTES = 4 * Short.BYTES + 4 * Byte.BYTES;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int conditionIds;
+    private final int temperatures;
+    private final int feelsLikeTemperatures;
+    private final int windSpeeds;
+    private final int uvIndexes;
+    private final int cloudCovers;
+    private final int precipitations;
+    private final int humidities;
+
+    /**
+     * Creates a view of the columns starting at the offset.
+     * @param buffer the encoded snapshot, which must not be modified while the view is in use
+     * @param offset the offset of the first column in the buffer
+     * @param count the number of forecasts in each column
+     */
+    EncodedWeatherColumns(ByteBuffer buffer, int offset, int count) {
+        this.buffer = buffer;
+        this.count = count;
+        this.conditionIds = offset;
+        this.temperatures = conditionIds + count * Short.BYTES;
+        this.feelsLikeTemperatures = temperatures + count * Short.BYTES;
+        this.windSpeeds = feelsLikeTemperatures + count * Short.BYTES;
+        this.uvIndexes = windSpeeds + count * Short.BYTES;
+        this.cloudCovers = uvIndexes + count;
+        this.precipitations = cloudCovers + count;
+        this.humidities = precipitations + count;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public byte getConditionCode(int index) {
+        return ConditionCodes.fromId(buffer.getShort(conditionIds + checkIndex(index) * Short.BYTES));
+    }
+
+    @Override
+    public int getTemperature(int index) {
+        return buffer.getShort(temperatures + checkIndex(index) * Short.BYTES);
+    }
+
+    @Override
+    public int getFeelsLikeTemperature(int index) {
+        return buffer.getShort(feelsLikeTemperatures + checkIndex(index) * Short.BYTES);
+    }
+
+    @Override
+    public int getWindSpeed(int index) {
+        return buffer.getShort(windSpeeds + checkIndex(index) * Short.BYTES);
+    }
+
+    @Override
+    public int getUvIndex(int index) {
+        return Byte.toUnsignedInt(buffer.get(uvIndexes + checkIndex(index)));
+    }
+
+    @Override
+    public int getCloudCover(int index) {
+        return Byte.toUnsignedInt(buffer.get(cloudCovers + checkIndex(index)));
+    }
+
+    @Override
+    public int getPrecipitation(int index) {
+        return Byte.toUnsignedInt(buffer.get(precipitations + checkIndex(index)));
+    }
+
+    @Override
+    public int getHumidity(int index) {
+        return Byte.toUnsignedInt(buffer.get(humidities + checkIndex(index)));
+    }
+
+    private int checkIndex(int index) {
+        return Objects.checkIndex(index, count);
+    }
+}
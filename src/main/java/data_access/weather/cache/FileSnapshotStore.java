@@ -0,0 +1,94 @@
+package data_access.weather.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import entity.weather.daily_weather.DailyWeatherDataFactory;
+import entity.weather.hourly_weather.HourlyWeatherDataFactory;
+
+/**
+ * Snapshot store that keeps one file per location in the binary format of SnapshotCodec. Restoring a snapshot reads
+ * the few hundred bytes of the file into memory and decodes the forecasts straight out of them instead of re-parsing
+ * a One Call JSON response. The file is not mapped, since a mapping keeps the file open until it is garbage collected
+ * and Windows refuses to replace a mapped file, which would fail the next save. Files written in an older format
+ * fail to decode and are treated as a miss until the next fetch overwrites them.
+ */
+public class FileSnapshotStore implements SnapshotStore {
+
+    public static final Path DEFAULT_DIRECTORY = Path.of("src", "main", "resources", "data", "snapshots");
+
+    private static final String EXTENSION = ".snapshot";
+
+    private final Path directory;
+    private final SnapshotCodec codec;
+
+    public FileSnapshotStore(DailyWeatherDataFactory dailyWeatherDataFactory,
+                               HourlyWeatherDataFactory hourlyWeatherDataFactory) {
+        this(DEFAULT_DIRECTORY, dailyWeatherDataFactory, hourlyWeatherDataFactory);
+    }
+
+    public FileSnapshotStore(Path directory, DailyWeatherDataFactory dailyWeatherDataFactory,
+                               HourlyWeatherDataFactory hourlyWeatherDataFactory) {
+        this.directory = directory;
+        this.codec = new SnapshotCodec(dailyWeatherDataFactory, hourlyWeatherDataFactory);
+    }
+
+    /**
+     * Writes the snapshot to a temporary file and moves it over the location's file, so a crash never leaves a half
+     * written snapshot behind. A failed write is logged and otherwise ignored, since the snapshot is still cached in
+     * memory.
+     * @param key the coordinate key
+     * @param snapshot the freshly fetched snapshot
+     */
+    @Override
+    public void save(String key, ForecastSnapshot snapshot) {
+        final ByteBuffer buffer = codec.encode(snapshot);
+        final Path path = pathOf(key);
+        try {
+            Files.createDirectories(directory);
+            final Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException exception) {
+            System.err.println("Failed To Write Forecast Snapshot: " + path + ". " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Reads the location's file and decodes it. The restored snapshot holds its own copy of the file, so the file is
+     * closed by the time it is returned. A missing file is a miss, and an unreadable one is logged and treated as a
+     * miss.
+     * @param key the coordinate key
+     * @return the restored snapshot, or null if there is none
+     */
+    @Override
+    public ForecastSnapshot load(String key) {
+        final Path path = pathOf(key);
+        try {
+            return codec.decode(ByteBuffer.wrap(Files.readAllBytes(path)), true);
+        }
+        catch (NoSuchFileException exception) {
+            return null;
+        }
+        catch (IOException exception) {
+            System.err.println("Ignoring Unreadable Forecast Snapshot: " + path + ". " + exception.getMessage());
+            return null;
+        }
+    }
+
+    private Path pathOf(String key) {
+        return directory.resolve(key.replace(',', '_') + EXTENSION);
+    }
+}
@@ -0,0 +1,258 @@
+package data_access.weather.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of parsed forecast snapshots keyed by geographic tile, so every location in a tile shares one snapshot.
+ * Snapshots are served as fresh until they are older than the freshness TTL, and may then be served as stale for a
+ * further window while a newer one is fetched in the background (stale-while-revalidate). Lookups are counted per
+ * tile so the hit ratio of the tiling can be checked. A snapshot covering only some sections is merged into the
+ * fresh snapshot already cached for its tile, so use cases needing different sections still share one snapshot.
+ * Only a bounded number of tiles is kept, the least recently used one being evicted once the capacity is reached,
+ * so a snapshot too old to serve does not outlive the locations still being looked up. Lookup counts are kept for
+ * as many tiles, and a tile's counts are dropped with its snapshot.
+ */
+public class ForecastCache {
+
+    // OpenWeather refreshes its forecast model roughly every 10 minutes
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+    // how long past the TTL a snapshot may still be shown while a refresh is in flight
+    public static final Duration DEFAULT_MAX_STALE = Duration.ofHours(1);
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final Map<String, ForecastSnapshot> snapshots;
+    private final Map<String, TileStats> tileStats;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final Duration ttl;
+    private final Duration maxStale;
+    private final ForecastTiling tiling;
+    private final Clock clock;
+
+    public ForecastCache() {
+        this(DEFAULT_TTL, DEFAULT_MAX_STALE, new GridTiling(), Clock.systemUTC());
+    }
+
+    /**
+     * Creates a cache that never serves a snapshot past its TTL.
+     * @param ttl how long a snapshot is fresh
+     * @param clock the clock snapshot ages are measured with
+     */
+    public ForecastCache(Duration ttl, Clock clock) {
+        this(ttl, Duration.ZERO, clock);
+    }
+
+    /**
+     * Creates a cache.
+     * @param ttl how long a snapshot is fresh
+     * @param maxStale how long past the TTL a snapshot may still be served as stale
+     * @param clock the clock snapshot ages are measured with
+     */
+    public ForecastCache(Duration ttl, Duration maxStale, Clock clock) {
+        this(ttl, maxStale, new GridTiling(), clock);
+    }
+
+    /**
+     * Creates a cache.
+     * @param ttl how long a snapshot is fresh
+     * @param maxStale how long past the TTL a snapshot may still be served as stale
+     * @param tiling the tiling that decides which locations share a snapshot
+     * @param clock the clock snapshot ages are measured with
+     */
+    public ForecastCache(Duration ttl, Duration maxStale, ForecastTiling tiling, Clock clock) {
+        this(ttl, maxStale, tiling, DEFAULT_CAPACITY, clock);
+    }
+
+    /**
+     * Creates a cache.
+     * @param ttl how long a snapshot is fresh
+     * @param maxStale how long past the TTL a snapshot may still be served as stale
+     * @param tiling the tiling that decides which locations share a snapshot
+     * @param capacity how many tiles' snapshots are kept before the least recently used one is evicted
+     * @param clock the clock snapshot ages are measured with
+     */
+    public ForecastCache(Duration ttl, Duration maxStale, ForecastTiling tiling, int capacity, Clock clock) {
+        this.ttl = ttl;
+        this.maxStale = maxStale;
+        this.tiling = tiling;
+        this.clock = clock;
+        // access ordered so the eldest entry is always the least recently used one
+        this.snapshots = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ForecastSnapshot> eldest) {
+                final boolean evict = size() > capacity;
+                if (evict) {
+                    evictions.incrementAndGet();
+                    synchronized (tileStats) {
+                        tileStats.remove(eldest.getKey());
+                    }
+                }
+                return evict;
+            }
+        };
+        // tiles that are only ever missed have no snapshot to be evicted with, so the counts are bounded on their own
+        this.tileStats = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TileStats> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Builds the cache key for a pair of resolved coordinates, which is the key of the tile containing them.
+     * @param coordinates the coordinates keyed by "latitude" and "longitude"
+     * @return the cache key for the coordinates
+     */
+    public String key(Map<String, Double> coordinates) {
+        return tiling.key(coordinates);
+    }
+
+    /**
+     * Counts a use case's lookup of a tile.
+     * @param key the tile key
+     * @param city the name the tile was looked up for
+     * @param hit whether the lookup was served from a cached snapshot
+     */
+    public void recordLookup(String key, String city, boolean hit) {
+        if (hit) {
+            hits.incrementAndGet();
+        }
+        else {
+            misses.incrementAndGet();
+        }
+        final TileStats stats;
+        synchronized (tileStats) {
+            stats = tileStats.computeIfAbsent(key, tile -> new TileStats());
+        }
+        stats.record(city, hit);
+    }
+
+    /**
+     * Returns the share of lookups across all tiles served from the cache.
+     * @return the hit ratio between 0 and 1, or 0 if nothing was looked up
+     */
+    public double getHitRatio() {
+        final long hitCount = hits.get();
+        final long total = hitCount + misses.get();
+        if (total == 0) {
+            return 0;
+        }
+        return (double) hitCount / total;
+    }
+
+    /**
+     * Returns the lookup counts of each tile looked up recently enough to still be kept.
+     * @return the counts keyed by tile key
+     */
+    public Map<String, TileStats> getTileStats() {
+        synchronized (tileStats) {
+            return Map.copyOf(tileStats);
+        }
+    }
+
+    /**
+     * Returns the snapshot for the key if it is still fresh.
+     * @param key the coordinate key
+     * @return the fresh snapshot, or null if there is none
+     */
+    public ForecastSnapshot get(String key) {
+        final ForecastSnapshot snapshot = peek(key);
+        if (snapshot == null || isExpired(snapshot)) {
+            return null;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the snapshot for the key if it has expired but is still within the stale window, so it can be served
+     * while a newer one is fetched.
+     * @param key the coordinate key
+     * @return the stale snapshot, or null if there is none or it is too old to serve
+     */
+    public ForecastSnapshot getStale(String key) {
+        final ForecastSnapshot snapshot = peek(key);
+        if (snapshot == null || !isExpired(snapshot) || getAge(snapshot) >= ttl.plus(maxStale).toMillis()) {
+            return null;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the snapshot for the key whatever its age.
+     * @param key the coordinate key
+     * @return the snapshot, or null if none was stored or it has been evicted
+     */
+    public ForecastSnapshot peek(String key) {
+        synchronized (snapshots) {
+            return snapshots.get(key);
+        }
+    }
+
+    /**
+     * Stores a snapshot for the key. Sections the snapshot does not cover are kept from the cached snapshot while it
+     * is fresh, and everything else of the cached snapshot is replaced.
+     * @param key the coordinate key
+     * @param snapshot the parsed forecast
+     * @return the snapshot now cached for the key
+     */
+    public ForecastSnapshot put(String key, ForecastSnapshot snapshot) {
+        synchronized (snapshots) {
+            return snapshots.merge(key, snapshot, (cached, fetched) -> {
+                if (isExpired(cached)) {
+                    return fetched;
+                }
+                return fetched.mergeWith(cached);
+            });
+        }
+    }
+
+    /**
+     * Returns the number of tiles whose snapshots are currently cached.
+     * @return the cached snapshot count
+     */
+    public int getSize() {
+        synchronized (snapshots) {
+            return snapshots.size();
+        }
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Returns whether the snapshot is older than the freshness TTL.
+     * @param snapshot the snapshot to check
+     * @return true if the snapshot has expired
+     */
+    public boolean isExpired(ForecastSnapshot snapshot) {
+        return getAge(snapshot) >= ttl.toMillis();
+    }
+
+    /**
+     * Returns the age of the snapshot.
+     * @param snapshot the snapshot
+     * @return the milliseconds since the snapshot was fetched
+     */
+    public long getAge(ForecastSnapshot snapshot) {
+        return clock.millis() - snapshot.getFetchedAt();
+    }
+
+    public ForecastTiling getTiling() {
+        return tiling;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+}
@@ -0,0 +1,118 @@
+package data_access.weather.cache;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import data_access.weather.open_weather.ForecastSection;
+import entity.weather.daily_weather.DailyWeatherData;
+import entity.weather.hourly_weather.HourlyWeatherData;
+
+/**
+ * A parsed One Call forecast for one location. The hourly and daily entities are built once from a single API
+ * response and shared by every use case until the snapshot expires. A snapshot restored from the SnapshotStore is
+ * a last-known forecast served while the API is unreachable, and is as old as its fetch time says. A snapshot may
+ * cover only some ForecastSections, in which case the entities of the others are null. A snapshot is shared by
+ * every city in its tile, so the city its entities carry is only the first one fetched and must not be displayed.
+ */
+public class ForecastSnapshot {
+
+    private final HourlyWeatherData hourlyWeatherData;
+    private final DailyWeatherData dailyWeatherData;
+    // epoch milliseconds when the forecast was fetched
+    private final long fetchedAt;
+    // whether the snapshot was read back from disk rather than fetched from the API
+    private final boolean restored;
+
+    public ForecastSnapshot(HourlyWeatherData hourlyWeatherData, DailyWeatherData dailyWeatherData,
+                            long fetchedAt) {
+        this(hourlyWeatherData, dailyWeatherData, fetchedAt, false);
+    }
+
+    /**
+     * Creates a snapshot. The entities of a restored snapshot are marked as restored with its fetch time, so a use
+     * case reading them can tell a last-known forecast from a live one.
+     * @param hourlyWeatherData the hourly entity, or null if the snapshot does not cover the hourly section
+     * @param dailyWeatherData the daily entity, or null if the snapshot does not cover the daily section
+     * @param fetchedAt the epoch milliseconds when the forecast was fetched
+     * @param restored whether the snapshot was read back from disk
+     */
+    public ForecastSnapshot(HourlyWeatherData hourlyWeatherData, DailyWeatherData dailyWeatherData,
+                            long fetchedAt, boolean restored) {
+        HourlyWeatherData hourly = hourlyWeatherData;
+        if (restored && hourly != null && !hourly.isRestored()) {
+            hourly = new RestoredHourlyWeatherData(hourly, fetchedAt);
+        }
+        DailyWeatherData daily = dailyWeatherData;
+        if (restored && daily != null && !daily.isRestored()) {
+            daily = new RestoredDailyWeatherData(daily, fetchedAt);
+        }
+        this.hourlyWeatherData = hourly;
+        this.dailyWeatherData = daily;
+        this.fetchedAt = fetchedAt;
+        this.restored = restored;
+    }
+
+    public HourlyWeatherData getHourlyWeatherData() {
+        return hourlyWeatherData;
+    }
+
+    public DailyWeatherData getDailyWeatherData() {
+        return dailyWeatherData;
+    }
+
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public boolean isRestored() {
+        return restored;
+    }
+
+    /**
+     * Returns the sections the snapshot has entities for.
+     * @return the covered sections
+     */
+    public Set<ForecastSection> getSections() {
+        final Set<ForecastSection> sections = EnumSet.noneOf(ForecastSection.class);
+        if (hourlyWeatherData != null) {
+            sections.add(ForecastSection.HOURLY);
+        }
+        if (dailyWeatherData != null) {
+            sections.add(ForecastSection.DAILY);
+        }
+        return sections;
+    }
+
+    /**
+     * Returns whether the snapshot has entities for all the sections.
+     * @param sections the sections a use case needs
+     * @return true if every section is covered
+     */
+    public boolean covers(Set<ForecastSection> sections) {
+        return getSections().containsAll(sections);
+    }
+
+    /**
+     * Fills the sections this snapshot does not cover from an older snapshot of the same location. The merged
+     * snapshot is as old as the oldest section it took, so it expires with it.
+     * @param older the older snapshot, or null if there is none
+     * @return the merged snapshot, or this snapshot if the older one adds nothing
+     */
+    public ForecastSnapshot mergeWith(ForecastSnapshot older) {
+        if (older == null) {
+            return this;
+        }
+        HourlyWeatherData hourly = hourlyWeatherData;
+        if (hourly == null) {
+            hourly = older.hourlyWeatherData;
+        }
+        DailyWeatherData daily = dailyWeatherData;
+        if (daily == null) {
+            daily = older.dailyWeatherData;
+        }
+        if (hourly == hourlyWeatherData && daily == dailyWeatherData) {
+            return this;
+        }
+        return new ForecastSnapshot(hourly, daily, Math.min(fetchedAt, older.fetchedAt), restored);
+    }
+}
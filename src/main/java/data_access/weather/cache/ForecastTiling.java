@@ -0,0 +1,26 @@
+package data_access.weather.cache;
+
+import java.util.Map;
+
+/**
+ * Divides the globe into tiles that share one forecast. Every location that falls into a tile is served the forecast
+ * fetched for the tile's center, so differently spelled names and neighbouring cities cost a single One Call request
+ * and a single parsed snapshot.
+ */
+public interface ForecastTiling {
+
+    /**
+     * Returns the key of the tile containing the coordinates. Keys contain no path separators, so they can name
+     * snapshot files.
+     * @param coordinates the coordinates keyed by "latitude" and "longitude"
+     * @return the tile key
+     */
+    String key(Map<String, Double> coordinates);
+
+    /**
+     * Returns the center of the tile containing the coordinates, which is where the tile's forecast is fetched for.
+     * @param coordinates the coordinates keyed by "latitude" and "longitude"
+     * @return the center of the tile, keyed by "latitude" and "longitude"
+     */
+    Map<String, Double> center(Map<String, Double> coordinates);
+}
@@ -0,0 +1,95 @@
+package data_access.weather.cache;
+
+import java.util.Map;
+
+import data_access.weather.geocoding.Geocoder;
+
+/**
+ * Tiling into geohash cells. A tile's key is the geohash of the coordinates cut to the precision, so tiles nest: each
+ * tile of one precision is split into 32 tiles of the next. Precision 3 cells are about 156 by 156 km at the equator
+ * and precision 4 cells about 39 by 20 km.
+ */
+public class GeohashTiling implements ForecastTiling {
+
+    private static final String BASE_32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final int BITS_PER_CHARACTER = 5;
+    private static final int MAX_PRECISION = 12;
+
+    private final int precision;
+
+    /**
+     * Creates a geohash tiling.
+     * @param precision the number of geohash characters in each key, from 1 to 12
+     */
+    public GeohashTiling(int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Geohash Precision Must Be Between 1 And " + MAX_PRECISION + ": "
+                    + precision + ".");
+        }
+        this.precision = precision;
+    }
+
+    @Override
+    public String key(Map<String, Double> coordinates) {
+        final double[] latitudeRange = {-90, 90};
+        final double[] longitudeRange = {-180, 180};
+        return encode(coordinates.get(Geocoder.LATITUDE), coordinates.get(Geocoder.LONGITUDE), latitudeRange,
+                longitudeRange);
+    }
+
+    @Override
+    public Map<String, Double> center(Map<String, Double> coordinates) {
+        final double[] latitudeRange = {-90, 90};
+        final double[] longitudeRange = {-180, 180};
+        encode(coordinates.get(Geocoder.LATITUDE), coordinates.get(Geocoder.LONGITUDE), latitudeRange,
+                longitudeRange);
+        return Map.of(Geocoder.LATITUDE, (latitudeRange[0] + latitudeRange[1]) / 2,
+                Geocoder.LONGITUDE, (longitudeRange[0] + longitudeRange[1]) / 2);
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Encodes the coordinates, narrowing the ranges down to the bounds of the resulting cell.
+     * @param latitude the latitude to encode
+     * @param longitude the longitude to encode
+     * @param latitudeRange the south and north bounds, narrowed in place
+     * @param longitudeRange the west and east bounds, narrowed in place
+     * @return the geohash of the coordinates
+     */
+    private String encode(double latitude, double longitude, double[] latitudeRange, double[] longitudeRange) {
+        final StringBuilder geohash = new StringBuilder(precision);
+        // geohash bits alternate between longitude and latitude, starting with longitude
+        boolean longitudeBit = true;
+        int character = 0;
+        for (int bit = 0; bit < precision * BITS_PER_CHARACTER; bit++) {
+            final double[] range;
+            final double value;
+            if (longitudeBit) {
+                range = longitudeRange;
+                value = longitude;
+            }
+            else {
+                range = latitudeRange;
+                value = latitude;
+            }
+            final double middle = (range[0] + range[1]) / 2;
+            character <<= 1;
+            if (value >= middle) {
+                character |= 1;
+                range[0] = middle;
+            }
+            else {
+                range[1] = middle;
+            }
+            longitudeBit = !longitudeBit;
+            if (bit % BITS_PER_CHARACTER == BITS_PER_CHARACTER - 1) {
+                geohash.append(BASE_32.charAt(character));
+                character = 0;
+            }
+        }
+        return geohash.toString();
+    }
+}
@@ -0,0 +1,52 @@
+package data_access.weather.cache;
+
+import java.util.Locale;
+import java.util.Map;
+
+import data_access.weather.geocoding.Geocoder;
+
+/**
+ * Tiling into cells of equal size in degrees of latitude and longitude. A tile's key is its south-west corner.
+ */
+public class GridTiling implements ForecastTiling {
+
+    // one degree is roughly 111 km north to south, about the resolution the One Call forecast varies over
+    public static final double DEFAULT_CELL_DEGREES = 1.0;
+
+    private final double cellDegrees;
+
+    public GridTiling() {
+        this(DEFAULT_CELL_DEGREES);
+    }
+
+    /**
+     * Creates a grid tiling.
+     * @param cellDegrees the size of each cell in degrees
+     */
+    public GridTiling(double cellDegrees) {
+        if (!(cellDegrees > 0)) {
+            throw new IllegalArgumentException("Cell Size Must Be Positive: " + cellDegrees + ".");
+        }
+        this.cellDegrees = cellDegrees;
+    }
+
+    @Override
+    public String key(Map<String, Double> coordinates) {
+        return String.format(Locale.ROOT, "%.4f,%.4f", corner(coordinates.get(Geocoder.LATITUDE)),
+                corner(coordinates.get(Geocoder.LONGITUDE)));
+    }
+
+    @Override
+    public Map<String, Double> center(Map<String, Double> coordinates) {
+        return Map.of(Geocoder.LATITUDE, corner(coordinates.get(Geocoder.LATITUDE)) + cellDegrees / 2,
+                Geocoder.LONGITUDE, corner(coordinates.get(Geocoder.LONGITUDE)) + cellDegrees / 2);
+    }
+
+    public double getCellDegrees() {
+        return cellDegrees;
+    }
+
+    private double corner(double degrees) {
+        return Math.floor(degrees / cellDegrees) * cellDegrees;
+    }
+}
@@ -0,0 +1,46 @@
+package data_access.weather.cache;
+
+import java.util.List;
+
+import entity.weather.daily_weather.DailyWeatherData;
+import entity.weather.day_weather.DayWeatherData;
+
+/**
+ * Daily weather data of a snapshot restored from the SnapshotStore, marked as restored and carrying the time it was
+ * fetched so the use cases can show how old it is. Every other call goes straight to the decoded entity.
+ */
+final class RestoredDailyWeatherData implements DailyWeatherData {
+
+    private final DailyWeatherData dailyWeatherData;
+    private final long fetchedAt;
+
+    RestoredDailyWeatherData(DailyWeatherData dailyWeatherData, long fetchedAt) {
+        this.dailyWeatherData = dailyWeatherData;
+        this.fetchedAt = fetchedAt;
+    }
+
+    @Override
+    public List<DayWeatherData> getDayWeatherDataList() {
+        return dailyWeatherData.getDayWeatherDataList();
+    }
+
+    @Override
+    public String getCity() {
+        return dailyWeatherData.getCity();
+    }
+
+    @Override
+    public String getTimezone() {
+        return dailyWeatherData.getTimezone();
+    }
+
+    @Override
+    public boolean isRestored() {
+        return true;
+    }
+
+    @Override
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+}
@@ -0,0 +1,87 @@
+package data_access.weather.cache;
+
+import java.util.List;
+
+import entity.weather.ConditionGroup;
+import entity.weather.hour_weather.HourWeatherData;
+import entity.weather.hourly_weather.HourlyWeatherData;
+
+/**
+ * Hourly weather data of a snapshot restored from the SnapshotStore, marked as restored and carrying the time it was
+ * fetched so the use cases can show how old it is. Every other call goes straight to the decoded entity.
+ */
+final class RestoredHourlyWeatherData implements HourlyWeatherData {
+
+    private final HourlyWeatherData hourlyWeatherData;
+    private final long fetchedAt;
+
+    RestoredHourlyWeatherData(HourlyWeatherData hourlyWeatherData, long fetchedAt) {
+        this.hourlyWeatherData = hourlyWeatherData;
+        this.fetchedAt = fetchedAt;
+    }
+
+    @Override
+    public List<HourWeatherData> getHourWeatherDataList() {
+        return hourlyWeatherData.getHourWeatherDataList();
+    }
+
+    @Override
+    public int getHourCount() {
+        return hourlyWeatherData.getHourCount();
+    }
+
+    @Override
+    public byte getConditionCode(int hour) {
+        return hourlyWeatherData.getConditionCode(hour);
+    }
+
+    @Override
+    public String getCondition(int hour) {
+        return hourlyWeatherData.getCondition(hour);
+    }
+
+    @Override
+    public String getConditionDescription(int hour) {
+        return hourlyWeatherData.getConditionDescription(hour);
+    }
+
+    @Override
+    public boolean hasCondition(ConditionGroup group, int fromHour, int windowHours) {
+        return hourlyWeatherData.hasCondition(group, fromHour, windowHours);
+    }
+
+    @Override
+    public int getTemperature(int hour) {
+        return hourlyWeatherData.getTemperature(hour);
+    }
+
+    @Override
+    public int getLowTemperature() {
+        return hourlyWeatherData.getLowTemperature();
+    }
+
+    @Override
+    public int getHighTemperature() {
+        return hourlyWeatherData.getHighTemperature();
+    }
+
+    @Override
+    public String getCity() {
+        return hourlyWeatherData.getCity();
+    }
+
+    @Override
+    public String getTimezone() {
+        return hourlyWeatherData.getTimezone();
+    }
+
+    @Override
+    public boolean isRestored() {
+        return true;
+    }
+
+    @Override
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+}
@@ -0,0 +1,274 @@
+package data_access.weather.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.zip.CRC32C;
+
+import entity.weather.ConditionCodes;
+import entity.weather.daily_weather.DailyWeatherData;
+import entity.weather.daily_weather.DailyWeatherDataFactory;
+import entity.weather.day_weather.DayWeatherData;
+import entity.weather.hour_weather.HourWeatherData;
+import entity.weather.hourly_weather.HourlyWeatherData;
+import entity.weather.hourly_weather.HourlyWeatherDataFactory;
+
+/**
+ * Versioned binary encoding of a forecast snapshot, a few hundred bytes where the One Call JSON it was parsed from is
+ * tens of kilobytes. Decoding is zero-copy: the decoded entities read their values straight out of the buffer.
+ * <p>
+ * Layout, big-endian:
+ * <pre>
+ * int    magic "FCST"
+ * short  version
+ * short  string count
+ * long   fetched at, epoch milliseconds
+ * short  city, index into the string table
+ * short  timezone, index into the string table
+ * short  low temperature
+ * short  high temperature
+ * int    hour count
+ * int    day count
+ * string table, each string a short length followed by its UTF-8 bytes
+ * hour columns
+ * day columns
+ * int    CRC32C of everything before it
+ * </pre>
+ * Each set of columns holds, one column after another, the condition ids, temperatures, feels like temperatures and
+ * wind speeds as shorts, then the UV indexes, cloud covers, precipitation chances and humidities as unsigned bytes.
+ * Conditions are stored as OpenWeather condition ids, since condition codes only have meaning in memory. Values
+ * outside the range of their column are clamped. A section the snapshot does not cover is stored without rows, and
+ * a One Call section is never empty, so it decodes back to a missing section.
+ */
+public class SnapshotCodec {
+
+    // "FCST"
+    public static final int MAGIC = 0x46435354;
+    // version 1 stored the strings inline and every column as ints, without a checksum
+    public static final short VERSION = 2;
+
+    private static final int HEADER_BYTES = 32;
+    private static final int STRING_TABLE = HEADER_BYTES;
+    private static final int VERSION_OFFSET = 4;
+    private static final int STRING_COUNT_OFFSET = 6;
+    private static final int FETCHED_AT_OFFSET = 8;
+    private static final int CITY_OFFSET = 16;
+    private static final int TIMEZONE_OFFSET = 18;
+    private static final int LOW_OFFSET = 20;
+    private static final int HIGH_OFFSET = 22;
+    private static final int HOUR_COUNT_OFFSET = 24;
+    private static final int DAY_COUNT_OFFSET = 28;
+    private static final int UNSIGNED_BYTE_MAX = 0xFF;
+
+    private final DailyWeatherDataFactory dailyWeatherDataFactory;
+    private final HourlyWeatherDataFactory hourlyWeatherDataFactory;
+
+    public SnapshotCodec(DailyWeatherDataFactory dailyWeatherDataFactory,
+                         HourlyWeatherDataFactory hourlyWeatherDataFactory) {
+        this.dailyWeatherDataFactory = dailyWeatherDataFactory;
+        this.hourlyWeatherDataFactory = hourlyWeatherDataFactory;
+    }
+
+    /**
+     * Encodes the snapshot.
+     * @param snapshot the snapshot to encode
+     * @return a buffer holding the encoded snapshot, positioned at its start
+     */
+    public ByteBuffer encode(ForecastSnapshot snapshot) {
+        final HourlyWeatherData hourlyWeatherData = snapshot.getHourlyWeatherData();
+        final DailyWeatherData dailyWeatherData = snapshot.getDailyWeatherData();
+        List<HourWeatherData> hours = List.of();
+        int lowTemperature = 0;
+        int highTemperature = 0;
+        if (hourlyWeatherData != null) {
+            hours = hourlyWeatherData.getHourWeatherDataList();
+            lowTemperature = hourlyWeatherData.getLowTemperature();
+            highTemperature = hourlyWeatherData.getHighTemperature();
+        }
+        List<DayWeatherData> days = List.of();
+        if (dailyWeatherData != null) {
+            days = dailyWeatherData.getDayWeatherDataList();
+        }
+
+        final List<byte[]> strings = new ArrayList<>();
+        final short city;
+        final short timezone;
+        if (hourlyWeatherData != null) {
+            city = intern(strings, hourlyWeatherData.getCity());
+            timezone = intern(strings, hourlyWeatherData.getTimezone());
+        }
+        else {
+            city = intern(strings, dailyWeatherData.getCity());
+            timezone = intern(strings, dailyWeatherData.getTimezone());
+        }
+        int stringTableBytes = 0;
+        for (byte[] string : strings) {
+            stringTableBytes += Short.BYTES + string.length;
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + stringTableBytes
+                + (hours.size() + days.size()) * EncodedWeatherColumns.ROW_BYTES + Integer.BYTES);
+        buffer.putInt(MAGIC)
+                .putShort(VERSION)
+                .putShort((short) strings.size())
+                .putLong(snapshot.getFetchedAt())
+                .putShort(city)
+                .putShort(timezone)
+                .putShort(toShort(lowTemperature))
+                .putShort(toShort(highTemperature))
+                .putInt(hours.size())
+                .putInt(days.size());
+        for (byte[] string : strings) {
+            buffer.putShort((short) string.length).put(string);
+        }
+
+        putColumns(buffer, hours, HourWeatherData::getConditionCode,
+                List.of(HourWeatherData::getTemperature, HourWeatherData::getFeelsLikeTemperature,
+                        HourWeatherData::getWindSpeed),
+                List.of(HourWeatherData::getUvIndex, HourWeatherData::getCloudCover,
+                        HourWeatherData::getPrecipitation, HourWeatherData::getHumidity));
+        putColumns(buffer, days, DayWeatherData::getConditionCode,
+                List.of(DayWeatherData::getTemperature, DayWeatherData::getFeelsLikeTemperature,
+                        DayWeatherData::getWindSpeed),
+                List.of(DayWeatherData::getUvIndex, DayWeatherData::getCloudCover,
+                        DayWeatherData::getPrecipitation, DayWeatherData::getHumidity));
+
+        buffer.putInt(checksum(buffer, buffer.position()));
+        return buffer.flip();
+    }
+
+    /**
+     * Decodes a snapshot from the remaining bytes of the buffer without copying its columns. The buffer's position
+     * is left unchanged, and the buffer must not be modified while the snapshot is in use.
+     * @param buffer the encoded snapshot
+     * @param restored whether the snapshot is being read back from disk
+     * @return the decoded snapshot
+     * @throws IOException if the buffer does not hold a complete snapshot of this version or fails its checksum
+     */
+    public ForecastSnapshot decode(ByteBuffer buffer, boolean restored) throws IOException {
+        final ByteBuffer encoded = buffer.slice();
+        final int length = encoded.limit();
+        if (length < HEADER_BYTES + Integer.BYTES || encoded.getInt(0) != MAGIC) {
+            throw new IOException("Not A Forecast Snapshot.");
+        }
+        if (encoded.getShort(VERSION_OFFSET) != VERSION) {
+            throw new IOException("Unsupported Snapshot Version " + encoded.getShort(VERSION_OFFSET) + ".");
+        }
+        if (checksum(encoded, length - Integer.BYTES) != encoded.getInt(length - Integer.BYTES)) {
+            throw new IOException("Snapshot Checksum Mismatch.");
+        }
+
+        final String[] strings = readStrings(encoded, Short.toUnsignedInt(encoded.getShort(STRING_COUNT_OFFSET)));
+        final int hourCount = encoded.getInt(HOUR_COUNT_OFFSET);
+        final int dayCount = encoded.getInt(DAY_COUNT_OFFSET);
+        final int hourColumns = encoded.position();
+        final int dayColumns = hourColumns + hourCount * EncodedWeatherColumns.ROW_BYTES;
+        if (hourCount < 0 || dayCount < 0
+                || dayColumns + (long) dayCount * EncodedWeatherColumns.ROW_BYTES != length - Integer.BYTES) {
+            throw new IOException("Snapshot Columns Do Not Match Their Counts.");
+        }
+
+        final String city = stringAt(strings, encoded.getShort(CITY_OFFSET));
+        final String timezone = stringAt(strings, encoded.getShort(TIMEZONE_OFFSET));
+        HourlyWeatherData hourlyWeatherData = null;
+        if (hourCount > 0) {
+            hourlyWeatherData = hourlyWeatherDataFactory.create(
+                    new EncodedWeatherColumns(encoded, hourColumns, hourCount), timezone, city,
+                    encoded.getShort(LOW_OFFSET), encoded.getShort(HIGH_OFFSET));
+        }
+        DailyWeatherData dailyWeatherData = null;
+        if (dayCount > 0) {
+            dailyWeatherData = dailyWeatherDataFactory.create(
+                    new EncodedWeatherColumns(encoded, dayColumns, dayCount), timezone, city);
+        }
+        return new ForecastSnapshot(hourlyWeatherData, dailyWeatherData, encoded.getLong(FETCHED_AT_OFFSET),
+                restored);
+    }
+
+    private static short intern(List<byte[]> strings, String string) {
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        int index = 0;
+        while (index < strings.size() && !Arrays.equals(strings.get(index), bytes)) {
+            index++;
+        }
+        if (index == strings.size()) {
+            strings.add(bytes);
+        }
+        return (short) index;
+    }
+
+    private static String stringAt(String[] strings, short index) throws IOException {
+        if (index < 0 || index >= strings.length) {
+            throw new IOException("Snapshot String Index " + index + " Is Out Of Range.");
+        }
+        return strings[index];
+    }
+
+    /**
+     * Reads the string table, leaving the buffer positioned just after it.
+     * @param buffer the encoded snapshot
+     * @param count the number of strings in the table
+     * @return the strings, indexed by their position in the table
+     * @throws IOException if a string runs past the end of the buffer
+     */
+    private static String[] readStrings(ByteBuffer buffer, int count) throws IOException {
+        final String[] strings = new String[count];
+        int offset = STRING_TABLE;
+        for (int i = 0; i < count; i++) {
+            if (offset + Short.BYTES > buffer.limit()) {
+                throw new IOException("Snapshot String Table Is Truncated.");
+            }
+            final int stringLength = Short.toUnsignedInt(buffer.getShort(offset));
+            offset += Short.BYTES;
+            if (offset + stringLength > buffer.limit()) {
+                throw new IOException("Snapshot String Table Is Truncated.");
+            }
+            final byte[] bytes = new byte[stringLength];
+            buffer.get(offset, bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            offset += stringLength;
+        }
+        buffer.position(offset);
+        return strings;
+    }
+
+    /**
+     * Writes the forecasts column by column in the order WeatherColumns.add takes them.
+     * @param buffer the buffer to write to
+     * @param forecasts the hour or day forecasts
+     * @param conditionCode reads the condition code of a forecast
+     * @param shortColumns read the values stored as shorts, one per column
+     * @param byteColumns read the values stored as unsigned bytes, one per column
+     * @param <T> the type of forecast
+     */
+    private static <T> void putColumns(ByteBuffer buffer, List<T> forecasts, ToIntFunction<T> conditionCode,
+                                       List<ToIntFunction<T>> shortColumns, List<ToIntFunction<T>> byteColumns) {
+        for (T forecast : forecasts) {
+            buffer.putShort((short) ConditionCodes.getId((byte) conditionCode.applyAsInt(forecast)));
+        }
+        for (ToIntFunction<T> column : shortColumns) {
+            for (T forecast : forecasts) {
+                buffer.putShort(toShort(column.applyAsInt(forecast)));
+            }
+        }
+        for (ToIntFunction<T> column : byteColumns) {
+            for (T forecast : forecasts) {
+                buffer.put((byte) Math.clamp(column.applyAsInt(forecast), 0, UNSIGNED_BYTE_MAX));
+            }
+        }
+    }
+
+    private static short toShort(int value) {
+        return (short) Math.clamp(value, Short.MIN_VALUE, Short.MAX_VALUE);
+    }
+
+    private static int checksum(ByteBuffer buffer, int length) {
+        final CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(0, length));
+        return (int) crc.getValue();
+    }
+}
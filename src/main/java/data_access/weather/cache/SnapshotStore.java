@@ -0,0 +1,35 @@
+package data_access.weather.cache;
+
+/**
+ * Persistent store of the last forecast snapshot fetched for each location, read back when the API cannot be
+ * reached.
+ */
+public interface SnapshotStore {
+
+    // a store that keeps nothing
+    SnapshotStore NONE = new SnapshotStore() {
+        @Override
+        public void save(String key, ForecastSnapshot snapshot) {
+            // nothing is kept
+        }
+
+        @Override
+        public ForecastSnapshot load(String key) {
+            return null;
+        }
+    };
+
+    /**
+     * Stores the snapshot as the last-known forecast for the key, replacing any older one.
+     * @param key the coordinate key
+     * @param snapshot the freshly fetched snapshot
+     */
+    void save(String key, ForecastSnapshot snapshot);
+
+    /**
+     * Reads back the last-known forecast for the key.
+     * @param key the coordinate key
+     * @return the restored snapshot, or null if none was stored or it cannot be read
+     */
+    ForecastSnapshot load(String key);
+}
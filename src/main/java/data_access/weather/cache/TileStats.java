@@ -0,0 +1,64 @@
+package data_access.weather.cache;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lookup counts for one forecast tile. A hit is any request served from the tile's cached snapshot, fresh or stale;
+ * a miss is one that had to wait for a One Call request. Only the first MAX_CITIES distinct names are recorded.
+ */
+public class TileStats {
+
+    // enough to tell a tile shared by a few nearby cities from one looked up under a single name
+    public static final int MAX_CITIES = 16;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    // the names that resolved into the tile, normalized
+    private final Set<String> cities = ConcurrentHashMap.newKeySet();
+
+    void record(String city, boolean hit) {
+        if (hit) {
+            hits.incrementAndGet();
+        }
+        else {
+            misses.incrementAndGet();
+        }
+        // concurrent first lookups may overshoot the cap by a name or two, which only costs a few bytes
+        if (cities.size() < MAX_CITIES) {
+            cities.add(city.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the share of lookups served from the cache.
+     * @return the hit ratio between 0 and 1, or 0 if the tile was never looked up
+     */
+    public double getHitRatio() {
+        final long hitCount = hits.get();
+        final long total = hitCount + misses.get();
+        if (total == 0) {
+            return 0;
+        }
+        return (double) hitCount / total;
+    }
+
+    /**
+     * Returns the names that resolved into the tile, up to MAX_CITIES of them. More than one means the tile saved a
+     * fetch.
+     * @return the normalized city names
+     */
+    public Set<String> getCities() {
+        return Set.copyOf(cities);
+    }
+}
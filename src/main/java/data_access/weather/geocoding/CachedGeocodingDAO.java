@@ -0,0 +1,282 @@
+package data_access.weather.geocoding;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import exception.ApiCallException;
+
+/**
+ * Two tier cache in front of a Geocoder. The first tier is an in-memory LRU map with a time to live, the second is
+ * a directory on disk that survives restarts, holding one small JSON file per city. Only the LRU map is kept in
+ * memory: a city's file is read when the map misses and written only when the city is resolved, so neither memory
+ * nor writes grow with the number of cities cached. The wrapped Geocoder is only called when both tiers miss.
+ */
+public class CachedGeocodingDAO implements Geocoder {
+
+    public static final Path DEFAULT_DIRECTORY = Path.of("src", "main", "resources", "data", "geocoding");
+    public static final int DEFAULT_CAPACITY = 256;
+    // cities do not move, so the TTL only guards against a bad first resolution lingering forever
+    public static final Duration DEFAULT_TTL = Duration.ofDays(30);
+
+    private static final String NAME = "name";
+    private static final String RESOLVED_AT = "resolvedAt";
+    private static final String EXTENSION = ".json";
+
+    private final Geocoder geocoder;
+    private final Path directory;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<String, CachedCoordinates> memoryCache;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CachedGeocodingDAO(Geocoder geocoder) {
+        this(geocoder, DEFAULT_DIRECTORY, DEFAULT_CAPACITY, DEFAULT_TTL, Clock.systemUTC());
+    }
+
+    public CachedGeocodingDAO(Geocoder geocoder, Path directory, int capacity, Duration ttl, Clock clock) {
+        this.geocoder = geocoder;
+        this.directory = directory;
+        this.ttl = ttl;
+        this.clock = clock;
+        // access ordered so the eldest entry is always the least recently used one
+        this.memoryCache = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedCoordinates> eldest) {
+                final boolean evict = size() > capacity;
+                if (evict) {
+                    evictions.incrementAndGet();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Get the geo-coordinates of a city, checking memory, then disk, then the wrapped Geocoder.
+     * @param city the name of the city
+     * @return the coordinates of the city
+     * @throws ApiCallException if the city is not cached and the wrapped Geocoder fails
+     */
+    @Override
+    public Map<String, Double> getCoordinates(String city) throws ApiCallException {
+        final String key = normalize(city);
+        final long now = clock.millis();
+
+        final CachedCoordinates cached = getCached(key, now);
+        if (cached != null) {
+            return cached.toMap();
+        }
+
+        misses.incrementAndGet();
+        return store(key, city, geocoder.getCoordinates(city), now);
+    }
+
+    /**
+     * Get the geo-coordinates of a city, completing straight away on a memory or disk hit and otherwise resolving
+     * them through the wrapped Geocoder without blocking the calling thread.
+     * @param city the name of the city
+     * @return a future of the coordinates of the city
+     */
+    @Override
+    public CompletableFuture<Map<String, Double>> getCoordinatesAsync(String city) {
+        final String key = normalize(city);
+        final long now = clock.millis();
+
+        final CachedCoordinates cached = getCached(key, now);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached.toMap());
+        }
+
+        misses.incrementAndGet();
+        return geocoder.getCoordinatesAsync(city).thenApply(coordinates -> store(key, city, coordinates, now));
+    }
+
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Returns the cities resolved so far, each under the name it was first resolved by. This reads every file of the
+     * disk tier, so it is meant to run once at startup.
+     * @return the cached city names
+     */
+    public List<String> getCachedCities() {
+        final List<String> cities = new ArrayList<>();
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path path : paths) {
+                final CachedCoordinates coordinates = read(path);
+                if (coordinates != null) {
+                    cities.add(coordinates.name());
+                }
+            }
+        }
+        catch (NoSuchFileException exception) {
+            // nothing has been resolved yet
+        }
+        catch (IOException exception) {
+            System.err.println("Failed To List Geocoding Cache: " + directory + ". " + exception.getMessage());
+        }
+        return cities;
+    }
+
+    /**
+     * Returns the number of entries currently held by the in-memory tier.
+     * @return the in-memory entry count
+     */
+    public int getMemorySize() {
+        synchronized (memoryCache) {
+            return memoryCache.size();
+        }
+    }
+
+    /**
+     * Returns the fresh coordinates cached for the key in memory or on disk, counting the hit.
+     * @param key the normalized city name
+     * @param now the current epoch milliseconds
+     * @return the cached coordinates, or null on a miss
+     */
+    private CachedCoordinates getCached(String key, long now) {
+        CachedCoordinates cached;
+        synchronized (memoryCache) {
+            cached = memoryCache.get(key);
+        }
+        if (cached != null && isFresh(cached, now)) {
+            memoryHits.incrementAndGet();
+            return cached;
+        }
+
+        cached = read(pathOf(key));
+        if (cached != null && isFresh(cached, now)) {
+            diskHits.incrementAndGet();
+            putInMemory(key, cached);
+            return cached;
+        }
+        return null;
+    }
+
+    private Map<String, Double> store(String key, String city, Map<String, Double> coordinates, long now) {
+        // a re-resolved city keeps the name it was first resolved by, however it was typed this time
+        final Path path = pathOf(key);
+        String name = city.trim();
+        final CachedCoordinates expired = read(path);
+        if (expired != null) {
+            name = expired.name();
+        }
+        final CachedCoordinates resolved = new CachedCoordinates(name, coordinates.get(LATITUDE),
+                coordinates.get(LONGITUDE), now);
+        putInMemory(key, resolved);
+        write(path, resolved);
+        return resolved.toMap();
+    }
+
+    private void putInMemory(String key, CachedCoordinates coordinates) {
+        synchronized (memoryCache) {
+            memoryCache.put(key, coordinates);
+        }
+    }
+
+    private boolean isFresh(CachedCoordinates cached, long now) {
+        return now - cached.resolvedAt() < ttl.toMillis();
+    }
+
+    private static String normalize(String city) {
+        return city.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the file of the disk tier holding a city. The normalized name is URL encoded, and the asterisk it
+     * leaves as is escaped too, so any name makes a valid file name on every platform.
+     */
+    private Path pathOf(String key) {
+        return directory.resolve(URLEncoder.encode(key, StandardCharsets.UTF_8).replace("*", "%2A") + EXTENSION);
+    }
+
+    /**
+     * Reads a file of the disk tier. A missing file is a miss, and an unreadable one is logged and treated as a miss
+     * until the city is resolved again and the file overwritten.
+     */
+    private static CachedCoordinates read(Path path) {
+        try {
+            final JSONObject entry = new JSONObject(Files.readString(path));
+            return new CachedCoordinates(entry.getString(NAME), entry.getDouble(LATITUDE),
+                    entry.getDouble(LONGITUDE), entry.getLong(RESOLVED_AT));
+        }
+        catch (NoSuchFileException exception) {
+            return null;
+        }
+        catch (IOException | JSONException exception) {
+            System.err.println("Ignoring Unreadable Geocoding Cache Entry: " + path + ". " + exception.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes a city's file to a temporary file and moves it over the city's file, so a crash never leaves a half
+     * written entry behind. Concurrent writes of the same city each use their own temporary file.
+     */
+    private void write(Path path, CachedCoordinates coordinates) {
+        final JSONObject entry = new JSONObject()
+                .put(NAME, coordinates.name())
+                .put(LATITUDE, coordinates.latitude())
+                .put(LONGITUDE, coordinates.longitude())
+                .put(RESOLVED_AT, coordinates.resolvedAt());
+        try {
+            Files.createDirectories(directory);
+            final Path temporaryPath = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            Files.writeString(temporaryPath, entry.toString());
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException exception) {
+            // the memory tier still holds the result, so a failed write only costs a lookup after restart
+            System.err.println("Failed To Write Geocoding Cache Entry: " + path + ". " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Coordinates resolved for a city along with the time they were resolved.
+     * @param name the name the city was first resolved by
+     * @param latitude the latitude of the city
+     * @param longitude the longitude of the city
+     * @param resolvedAt the epoch milliseconds when the coordinates were resolved
+     */
+    private record CachedCoordinates(String name, double latitude, double longitude, long resolvedAt) {
+
+        Map<String, Double> toMap() {
+            return Map.of(LATITUDE, latitude, LONGITUDE, longitude);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package data_access.weather.geocoding;
+
+import java.util.Collection;
+import java.util.List;
+
+import use_case.display_home.DisplayHomeCityNameDAI;
+
+/**
+ * DAO for the names of the cities the app knows, so names can be suggested as they are typed and misspelled names
+ * corrected without a geocoding request. Cities come from the offline gazetteer, the geocoding cache and the recently
+ * viewed cities, with recently viewed cities suggested first and gazetteer cities last.
+ */
+public class CityNameDAO implements DisplayHomeCityNameDAI {
+
+    public static final int GAZETTEER_WEIGHT = 0;
+    public static final int GEOCODED_WEIGHT = 1;
+    public static final int RECENT_WEIGHT = 2;
+
+    private final CityNameIndex cityNameIndex;
+
+    public CityNameDAO() {
+        this(new CityNameIndex());
+    }
+
+    public CityNameDAO(CityNameIndex cityNameIndex) {
+        this.cityNameIndex = cityNameIndex;
+    }
+
+    /**
+     * Adds cities to the known cities.
+     * @param cities the city names
+     * @param weight the weight of the names, such as RECENT_WEIGHT
+     */
+    public void addCities(Collection<String> cities, int weight) {
+        for (String city : cities) {
+            cityNameIndex.add(city, weight);
+        }
+    }
+
+    @Override
+    public List<String> suggestCities(String prefix, int limit) {
+        return cityNameIndex.suggest(prefix, limit);
+    }
+
+    @Override
+    public String findCity(String city) {
+        final String found = cityNameIndex.find(city);
+        if (found == null) {
+            return city;
+        }
+        return found;
+    }
+
+    @Override
+    public String correctCity(String city) {
+        final String corrected = cityNameIndex.correct(city);
+        if (corrected == null) {
+            return city;
+        }
+        return corrected;
+    }
+}
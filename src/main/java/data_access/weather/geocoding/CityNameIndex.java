@@ -0,0 +1,269 @@
+package data_access.weather.geocoding;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Prefix trie of city names for type-ahead suggestions and local typo correction. Names are matched ignoring case,
+ * accents and extra whitespace, and each name has a weight, so suggestions for a prefix come best first. Every node
+ * keeps the highest weight below it, so finding the best suggestions only visits the branches that hold them rather
+ * than every name under the prefix. Corrections walk the trie with one row of an edit distance table per node,
+ * pruning every branch that can no longer come within the allowed distance.
+ */
+public class CityNameIndex {
+
+    // names shorter than this are too ambiguous to correct
+    public static final int MIN_CORRECTED_LENGTH = 3;
+    // names up to this long are corrected by one edit, longer names by two
+    public static final int ONE_EDIT_LENGTH = 5;
+
+    private static final int ASCII_LIMIT = 0x80;
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator.comparingInt(Candidate::weight).reversed()
+            .thenComparing(Candidate::key);
+
+    private final Node root = new Node();
+    private int size;
+    // the length of the longest normalized name
+    private int height;
+
+    /**
+     * Adds a city name, or raises the weight of a name already in the index. The name shown for a city is the one
+     * it was added with at its highest weight, except that a name in all lower case never replaces a capitalized
+     * one, since it is most likely the name as someone typed it.
+     * @param city the city name
+     * @param weight the weight of the name, higher names are suggested first
+     */
+    public synchronized void add(String city, int weight) {
+        final String key = normalize(city);
+        if (key.isEmpty()) {
+            return;
+        }
+        Node node = root;
+        node.bestWeight = Math.max(node.bestWeight, weight);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), character -> new Node());
+            node.bestWeight = Math.max(node.bestWeight, weight);
+        }
+        if (node.name == null) {
+            size++;
+            height = Math.max(height, key.length());
+        }
+        if (node.name == null || weight > node.weight) {
+            final String name = city.trim();
+            if (node.name == null || !isLowerCase(name) || isLowerCase(node.name)) {
+                node.name = name;
+            }
+            node.weight = weight;
+        }
+    }
+
+    /**
+     * Returns the city name indexed for a name, ignoring case, accents and extra whitespace.
+     * @param city the name to look up
+     * @return the indexed name, or null if the city is not indexed
+     */
+    public synchronized String find(String city) {
+        final Node node = walk(normalize(city));
+        if (node == null) {
+            return null;
+        }
+        return node.name;
+    }
+
+    /**
+     * Returns the highest weighted names starting with a prefix, names of equal weight in alphabetical order.
+     * @param prefix the start of the name typed so far
+     * @param limit the most names to return
+     * @return the names, best first
+     */
+    public synchronized List<String> suggest(String prefix, int limit) {
+        final List<String> suggestions = new ArrayList<>(limit);
+        final String key = normalize(prefix);
+        final Node start = walk(key);
+        if (key.isEmpty() || start == null) {
+            return suggestions;
+        }
+        // a branch is queued at the best weight below it, and a name at its own weight, so names come off the
+        // queue best first
+        final PriorityQueue<Candidate> queue = new PriorityQueue<>(BEST_FIRST);
+        queue.add(new Candidate(start, key, start.bestWeight, false));
+        while (!queue.isEmpty() && suggestions.size() < limit) {
+            final Candidate candidate = queue.poll();
+            final Node node = candidate.node();
+            if (candidate.named()) {
+                suggestions.add(node.name);
+            }
+            else {
+                if (node.name != null) {
+                    queue.add(new Candidate(node, candidate.key(), node.weight, true));
+                }
+                for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+                    queue.add(new Candidate(child.getValue(), candidate.key() + child.getKey(),
+                            child.getValue().bestWeight, false));
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Returns the indexed name closest to a possibly misspelled name. Insertions, deletions, substitutions and swaps
+     * of neighbouring letters each count as one edit, and names are only corrected within ONE_EDIT_LENGTH one edit,
+     * beyond it two. Of equally close names the highest weighted is returned.
+     * @param city the name to correct
+     * @return the indexed name itself if the city is indexed, the closest name within the allowed edits, or null if
+     *     there is none
+     */
+    public synchronized String correct(String city) {
+        final String key = normalize(city);
+        final Node exact = walk(key);
+        if (exact != null && exact.name != null) {
+            return exact.name;
+        }
+        if (key.length() < MIN_CORRECTED_LENGTH) {
+            return null;
+        }
+        int maxEdits = 2;
+        if (key.length() <= ONE_EDIT_LENGTH) {
+            maxEdits = 1;
+        }
+        // rows are reused by depth, and fewer edits are tried first since most typos are one edit and the search
+        // grows quickly with each edit allowed
+        final int[][] rows = new int[height + 1][key.length() + 1];
+        for (int i = 0; i < rows[0].length; i++) {
+            rows[0][i] = i;
+        }
+        final Correction correction = new Correction();
+        for (int edits = 1; edits <= maxEdits && correction.name == null; edits++) {
+            correction.maxEdits = edits;
+            for (Map.Entry<Character, Node> child : root.children.entrySet()) {
+                search(child.getValue(), child.getKey(), (char) 0, key, rows, 1, correction);
+            }
+        }
+        return correction.name;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Normalizes a name for matching: lower case, without accents and with single spaces between words.
+     * @param city the name
+     * @return the normalized name
+     */
+    public static String normalize(String city) {
+        String decomposed = city;
+        // plain ASCII names, most of them, have no accents to strip
+        if (!city.chars().allMatch(character -> character < ASCII_LIMIT)) {
+            decomposed = Normalizer.normalize(city, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        }
+        final StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean space = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            final char character = decomposed.charAt(i);
+            if (Character.isWhitespace(character)) {
+                space = !normalized.isEmpty();
+            }
+            else {
+                if (space) {
+                    normalized.append(' ');
+                    space = false;
+                }
+                normalized.append(character);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isLowerCase(String name) {
+        return name.equals(name.toLowerCase(Locale.ROOT));
+    }
+
+    private Node walk(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * Fills in the edit distance row for a node from its parent's rows, and descends while the row can still lead
+     * to a name closer than the best found so far.
+     */
+    private static void search(Node node, char character, char previousCharacter, String key, int[][] rows,
+                               int depth, Correction correction) {
+        final int[] row = rows[depth];
+        final int[] previousRow = rows[depth - 1];
+        row[0] = depth;
+        int rowMinimum = row[0];
+        for (int i = 1; i < row.length; i++) {
+            int substitution = previousRow[i - 1];
+            if (key.charAt(i - 1) != character) {
+                substitution++;
+            }
+            row[i] = Math.min(Math.min(row[i - 1] + 1, previousRow[i] + 1), substitution);
+            if (depth > 1 && i > 1 && key.charAt(i - 1) == previousCharacter && key.charAt(i - 2) == character) {
+                row[i] = Math.min(row[i], rows[depth - 2][i - 2] + 1);
+            }
+            rowMinimum = Math.min(rowMinimum, row[i]);
+        }
+
+        if (node.name != null) {
+            correction.offer(node, row[row.length - 1]);
+        }
+        if (rowMinimum <= Math.min(correction.maxEdits, correction.edits)) {
+            for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+                search(child.getValue(), child.getKey(), character, key, rows, depth + 1, correction);
+            }
+        }
+    }
+
+    private static final class Node {
+
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private String name;
+        private int weight;
+        private int bestWeight = Integer.MIN_VALUE;
+    }
+
+    /**
+     * A branch or name waiting to be suggested.
+     * @param node the node of the branch or name
+     * @param key the normalized name up to the node
+     * @param weight the best weight in the branch, or the weight of the name
+     * @param named true for the name at the node, false for the branch below it
+     */
+    private record Candidate(Node node, String key, int weight, boolean named) {
+    }
+
+    /**
+     * The closest name found so far.
+     */
+    private static final class Correction {
+
+        private int maxEdits;
+        private String name;
+        private int edits = Integer.MAX_VALUE;
+        private int weight;
+
+        private void offer(Node node, int nodeEdits) {
+            final boolean closer = nodeEdits < edits;
+            final boolean heavier = nodeEdits == edits && node.weight > weight;
+            final boolean earlier = nodeEdits == edits && node.weight == weight && node.name.compareTo(name) < 0;
+            if (nodeEdits <= maxEdits && (closer || heavier || earlier)) {
+                name = node.name;
+                edits = nodeEdits;
+                weight = node.weight;
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package data_access.weather.geocoding;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import data_access.concurrent.SingleFlight;
+import exception.ApiCallException;
+
+/**
+ * Geocoder that shares one in-flight lookup between concurrent callers asking for the same city.
+ */
+public class CoalescingGeocodingDAO implements Geocoder {
+
+    private final Geocoder geocoder;
+    private final SingleFlight<String, Map<String, Double>> lookups = new SingleFlight<>();
+
+    public CoalescingGeocodingDAO(Geocoder geocoder) {
+        this.geocoder = geocoder;
+    }
+
+    @Override
+    public Map<String, Double> getCoordinates(String city) throws ApiCallException {
+        return lookups.execute(normalize(city), () -> geocoder.getCoordinates(city));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Double>> getCoordinatesAsync(String city) {
+        return lookups.executeAsync(normalize(city), () -> geocoder.getCoordinatesAsync(city));
+    }
+
+    private static String normalize(String city) {
+        return city.trim().toLowerCase(Locale.ROOT);
+    }
+}
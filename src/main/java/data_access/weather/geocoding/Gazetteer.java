@@ -0,0 +1,252 @@
+package data_access.weather.geocoding;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Read-only gazetteer of cities, mapped from a file built by GazetteerBuilder. Names are found by a binary search of
+ * the sorted name table straight out of the mapping, so opening the gazetteer reads nothing but its checksum and a
+ * lookup touches a handful of pages, whatever the size of the file.
+ * <p>
+ * Layout, big-endian:
+ * <pre>
+ * int    magic "FGAZ"
+ * short  version
+ * int    place count
+ * int    name count
+ * places, each
+ *   double latitude
+ *   double longitude
+ *   int    name, offset of the string
+ *   int    timezone, offset of the string
+ *   2 byte ISO 3166 country code
+ * names, each
+ *   int    normalized name or alternate name, offset of the string
+ *   int    place index
+ * strings, each a short length followed by its UTF-8 bytes
+ * int    CRC32C of everything before it
+ * </pre>
+ * Names are normalized with CityNameIndex.normalize and sorted by their UTF-8 bytes, and places sharing a name by
+ * descending population, so the first place of a name is the one a bare name means.
+ */
+public class Gazetteer {
+
+    // "FGAZ"
+    public static final int MAGIC = 0x4647415A;
+    public static final short VERSION = 1;
+    // where the build writes the gazetteer on the classpath
+    public static final String BUNDLED_RESOURCE = "/data/Gazetteer.bin";
+
+    static final int HEADER_BYTES = 14;
+    static final int PLACE_BYTES = 26;
+    static final int NAME_BYTES = 8;
+
+    private static final int VERSION_OFFSET = 4;
+    private static final int PLACE_COUNT_OFFSET = 6;
+    private static final int NAME_COUNT_OFFSET = 10;
+    private static final int LONGITUDE_OFFSET = 8;
+    private static final int PLACE_NAME_OFFSET = 16;
+    private static final int TIMEZONE_OFFSET = 20;
+    private static final int COUNTRY_OFFSET = 24;
+    private static final int COUNTRY_LENGTH = 2;
+
+    private final ByteBuffer buffer;
+    private final int placeCount;
+    private final int nameCount;
+    private final int namesStart;
+
+    private Gazetteer(ByteBuffer buffer) throws IOException {
+        final int length = buffer.limit();
+        if (length < HEADER_BYTES + Integer.BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not A Gazetteer.");
+        }
+        if (buffer.getShort(VERSION_OFFSET) != VERSION) {
+            throw new IOException("Unsupported Gazetteer Version " + buffer.getShort(VERSION_OFFSET) + ".");
+        }
+        final CRC32C checksum = new CRC32C();
+        checksum.update(buffer.slice(0, length - Integer.BYTES));
+        if ((int) checksum.getValue() != buffer.getInt(length - Integer.BYTES)) {
+            throw new IOException("Gazetteer Checksum Mismatch.");
+        }
+        this.buffer = buffer;
+        this.placeCount = buffer.getInt(PLACE_COUNT_OFFSET);
+        this.nameCount = buffer.getInt(NAME_COUNT_OFFSET);
+        this.namesStart = HEADER_BYTES + placeCount * PLACE_BYTES;
+        if (placeCount < 0 || nameCount < 0 || (long) namesStart + (long) nameCount * NAME_BYTES > length) {
+            throw new IOException("Gazetteer Tables Do Not Match Their Counts.");
+        }
+    }
+
+    /**
+     * Maps a gazetteer file. The mapping outlives the channel, so the gazetteer keeps reading from it.
+     * @param path the gazetteer file
+     * @return the gazetteer
+     * @throws IOException if the file cannot be read or is not a gazetteer of this version
+     */
+    public static Gazetteer open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new Gazetteer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Maps the gazetteer the build bundled on the classpath. Only files can be mapped, so a gazetteer packed into a
+     * jar is first copied out to a temporary file.
+     * @return the bundled gazetteer
+     * @throws IOException if the build did not bundle a gazetteer or it cannot be read
+     */
+    public static Gazetteer openBundled() throws IOException {
+        final URL resource = Gazetteer.class.getResource(BUNDLED_RESOURCE);
+        if (resource == null) {
+            throw new NoSuchFileException(BUNDLED_RESOURCE);
+        }
+        if ("file".equals(resource.getProtocol())) {
+            try {
+                return open(Path.of(resource.toURI()));
+            }
+            catch (URISyntaxException exception) {
+                throw new IOException(exception);
+            }
+        }
+        final Path copy = Files.createTempFile("Gazetteer", ".bin");
+        copy.toFile().deleteOnExit();
+        try (InputStream inputStream = resource.openStream()) {
+            Files.copy(inputStream, copy, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return open(copy);
+    }
+
+    /**
+     * Finds the place a city name means: the most populous place with the name or an alternate name, matched
+     * ignoring case, accents and extra whitespace. A name may end in a comma and a two letter country code, such
+     * as "London, CA", to find the place in that country instead.
+     * @param city the name of the city
+     * @return the place, or null if the gazetteer has no place of the name
+     */
+    public Place find(String city) {
+        String name = city;
+        String country = null;
+        final int comma = city.lastIndexOf(',');
+        if (comma >= 0 && city.substring(comma + 1).trim().length() == COUNTRY_LENGTH) {
+            name = city.substring(0, comma);
+            country = city.substring(comma + 1).trim().toUpperCase(Locale.ROOT);
+        }
+        final byte[] key = CityNameIndex.normalize(name).getBytes(StandardCharsets.UTF_8);
+        if (key.length == 0) {
+            return null;
+        }
+
+        // the first name not sorted before the key
+        int low = 0;
+        int high = nameCount;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (compareName(middle, key) < 0) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        for (int index = low; index < nameCount && compareName(index, key) == 0; index++) {
+            final int place = buffer.getInt(namesStart + index * NAME_BYTES + Integer.BYTES);
+            if (country == null || country.equals(countryOf(place))) {
+                return placeAt(place);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the names of all places, without their alternate names.
+     * @return the place names
+     */
+    public List<String> getNames() {
+        final List<String> names = new ArrayList<>(placeCount);
+        for (int place = 0; place < placeCount; place++) {
+            names.add(stringAt(buffer.getInt(placeStart(place) + PLACE_NAME_OFFSET)));
+        }
+        return names;
+    }
+
+    public int getPlaceCount() {
+        return placeCount;
+    }
+
+    public int getNameCount() {
+        return nameCount;
+    }
+
+    /**
+     * Compares the name at an index of the name table with a key, byte by byte as unsigned values, the order the
+     * table is sorted in.
+     */
+    private int compareName(int index, byte[] key) {
+        final int offset = buffer.getInt(namesStart + index * NAME_BYTES);
+        final int length = Short.toUnsignedInt(buffer.getShort(offset));
+        final int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            final int difference = Byte.toUnsignedInt(buffer.get(offset + Short.BYTES + i))
+                    - Byte.toUnsignedInt(key[i]);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return length - key.length;
+    }
+
+    private Place placeAt(int place) {
+        final int start = placeStart(place);
+        return new Place(stringAt(buffer.getInt(start + PLACE_NAME_OFFSET)), countryOf(place), buffer.getDouble(start),
+                buffer.getDouble(start + LONGITUDE_OFFSET), stringAt(buffer.getInt(start + TIMEZONE_OFFSET)));
+    }
+
+    private String countryOf(int place) {
+        final int start = placeStart(place) + COUNTRY_OFFSET;
+        return new String(new char[] {(char) buffer.get(start), (char) buffer.get(start + 1)});
+    }
+
+    private String stringAt(int offset) {
+        final byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort(offset))];
+        buffer.get(offset + Short.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int placeStart(int place) {
+        return HEADER_BYTES + place * PLACE_BYTES;
+    }
+
+    /**
+     * A city in the gazetteer.
+     * @param name the name of the city
+     * @param country the ISO 3166 code of the city's country
+     * @param latitude the latitude of the city
+     * @param longitude the longitude of the city
+     * @param timezone the IANA timezone of the city
+     */
+    public record Place(String name, String country, double latitude, double longitude, String timezone) {
+
+        /**
+         * Returns the coordinates of the city as a Geocoder does.
+         * @return the coordinates keyed by "latitude" and "longitude"
+         */
+        public Map<String, Double> toCoordinates() {
+            return Map.of(Geocoder.LATITUDE, latitude, Geocoder.LONGITUDE, longitude);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package data_access.weather.geocoding;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32C;
+
+/**
+ * Builds the gazetteer file read by Gazetteer from a CSV of cities. The build runs it on src/main/gazetteer/Cities.csv
+ * after compiling, so the gazetteer is bundled on the classpath.
+ * <p>
+ * The CSV starts with a header naming its columns, in any order: name, country, population, latitude, longitude,
+ * timezone and, optionally, alternate_names, separated by "|". Fields holding commas are quoted. Other columns are
+ * ignored, so an extract of a larger gazetteer such as GeoNames can be used as is once its columns are named.
+ */
+public final class GazetteerBuilder {
+
+    private static final String NAME = "name";
+    private static final String COUNTRY = "country";
+    private static final String POPULATION = "population";
+    private static final String LATITUDE = "latitude";
+    private static final String LONGITUDE = "longitude";
+    private static final String TIMEZONE = "timezone";
+    private static final String ALTERNATE_NAMES = "alternate_names";
+    private static final List<String> REQUIRED_COLUMNS = List.of(NAME, COUNTRY, POPULATION, LATITUDE, LONGITUDE,
+            TIMEZONE);
+    private static final double MAX_LATITUDE = 90;
+    private static final double MAX_LONGITUDE = 180;
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+
+    private static final Comparator<NameEntry> NAME_ORDER = Comparator
+            .comparing(NameEntry::key, Arrays::compareUnsigned)
+            .thenComparing(Comparator.comparingLong(NameEntry::population).reversed())
+            .thenComparingInt(NameEntry::place);
+
+    private GazetteerBuilder() {
+    }
+
+    /**
+     * Builds the gazetteer file from the command line.
+     * @param args the CSV of cities, then the gazetteer file to write
+     * @throws IOException if the CSV cannot be read or is malformed, or the gazetteer cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: GazetteerBuilder <cities.csv> <gazetteer.bin>");
+        }
+        final Gazetteer gazetteer = build(Path.of(args[0]), Path.of(args[1]));
+        System.out.println("Built Gazetteer Of " + gazetteer.getPlaceCount() + " Places And "
+                + gazetteer.getNameCount() + " Names: " + args[1]);
+    }
+
+    /**
+     * Builds a gazetteer file from a CSV of cities, writing it to a temporary file and moving it over the gazetteer
+     * file so a failed build never leaves a half written gazetteer behind.
+     * @param csvPath the CSV of cities
+     * @param gazetteerPath the gazetteer file to write
+     * @return the built gazetteer
+     * @throws IOException if the CSV cannot be read or is malformed, or the gazetteer cannot be written
+     */
+    public static Gazetteer build(Path csvPath, Path gazetteerPath) throws IOException {
+        final ByteBuffer buffer = encode(readPlaces(csvPath));
+        final Path parent = gazetteerPath.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        final Path temporaryPath = parent.resolve(gazetteerPath.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temporaryPath, gazetteerPath, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        return Gazetteer.open(gazetteerPath);
+    }
+
+    private static List<CsvPlace> readPlaces(Path csvPath) throws IOException {
+        final List<String> lines = Files.readAllLines(csvPath, StandardCharsets.UTF_8);
+        if (lines.isEmpty()) {
+            throw new IOException("Gazetteer CSV Has No Header: " + csvPath + ".");
+        }
+        final Map<String, Integer> columns = new HashMap<>();
+        final List<String> header = fields(lines.get(0));
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new IOException("Gazetteer CSV Has No " + column + " Column: " + csvPath + ".");
+            }
+        }
+
+        final List<CsvPlace> places = new ArrayList<>(lines.size() - 1);
+        for (int lineNumber = 2; lineNumber <= lines.size(); lineNumber++) {
+            final String line = lines.get(lineNumber - 1);
+            if (!line.isBlank()) {
+                try {
+                    places.add(parsePlace(fields(line), columns));
+                }
+                catch (IllegalArgumentException | DateTimeException | IndexOutOfBoundsException exception) {
+                    throw new IOException("Malformed Gazetteer Row: " + csvPath + ":" + lineNumber + ". "
+                            + exception.getMessage(), exception);
+                }
+            }
+        }
+        return places;
+    }
+
+    private static CsvPlace parsePlace(List<String> fields, Map<String, Integer> columns) {
+        final String name = fields.get(columns.get(NAME)).trim();
+        final String country = fields.get(columns.get(COUNTRY)).trim();
+        final double latitude = Double.parseDouble(fields.get(columns.get(LATITUDE)).trim());
+        final double longitude = Double.parseDouble(fields.get(columns.get(LONGITUDE)).trim());
+        final String timezone = ZoneId.of(fields.get(columns.get(TIMEZONE)).trim()).getId();
+        long population = 0;
+        final String populationField = fields.get(columns.get(POPULATION)).trim();
+        if (!populationField.isEmpty()) {
+            population = Long.parseLong(populationField);
+        }
+        final List<String> alternateNames = new ArrayList<>();
+        final Integer alternateNamesColumn = columns.get(ALTERNATE_NAMES);
+        if (alternateNamesColumn != null && alternateNamesColumn < fields.size()) {
+            for (String alternateName : fields.get(alternateNamesColumn).split("\\|")) {
+                if (!alternateName.isBlank()) {
+                    alternateNames.add(alternateName.trim());
+                }
+            }
+        }
+
+        if (CityNameIndex.normalize(name).isEmpty()) {
+            throw new IllegalArgumentException("Name Is Empty.");
+        }
+        if (!country.matches("[A-Z]{2}")) {
+            throw new IllegalArgumentException("Country Is Not A Two Letter Code: " + country + ".");
+        }
+        if (Math.abs(latitude) > MAX_LATITUDE || Math.abs(longitude) > MAX_LONGITUDE) {
+            throw new IllegalArgumentException("Coordinates Out Of Range: " + latitude + ", " + longitude + ".");
+        }
+        return new CsvPlace(name, country, population, latitude, longitude, timezone, alternateNames);
+    }
+
+    /**
+     * Splits a CSV line into its fields. Quoted fields may hold commas, and doubled quotes inside them stand for one.
+     */
+    private static List<String> fields(String line) {
+        final List<String> fields = new ArrayList<>();
+        final StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (i < line.length()) {
+            final char character = line.charAt(i);
+            if (quoted && character == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                field.append('"');
+                i++;
+            }
+            else if (character == '"') {
+                quoted = !quoted;
+            }
+            else if (character == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            }
+            else {
+                field.append(character);
+            }
+            i++;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static ByteBuffer encode(List<CsvPlace> places) {
+        // every place is found by its own name and its alternate names, each once
+        final List<NameEntry> names = new ArrayList<>();
+        for (int place = 0; place < places.size(); place++) {
+            final Set<String> keys = new LinkedHashSet<>();
+            keys.add(CityNameIndex.normalize(places.get(place).name()));
+            for (String alternateName : places.get(place).alternateNames()) {
+                keys.add(CityNameIndex.normalize(alternateName));
+            }
+            for (String key : keys) {
+                if (!key.isEmpty()) {
+                    names.add(new NameEntry(key, key.getBytes(StandardCharsets.UTF_8), place,
+                            places.get(place).population()));
+                }
+            }
+        }
+        names.sort(NAME_ORDER);
+
+        final int stringsStart = Gazetteer.HEADER_BYTES + places.size() * Gazetteer.PLACE_BYTES
+                + names.size() * Gazetteer.NAME_BYTES;
+        final StringPool strings = new StringPool(stringsStart);
+        final int[] placeNames = new int[places.size()];
+        final int[] placeTimezones = new int[places.size()];
+        for (int place = 0; place < places.size(); place++) {
+            placeNames[place] = strings.offsetOf(places.get(place).name());
+            placeTimezones[place] = strings.offsetOf(places.get(place).timezone());
+        }
+        final int[] nameKeys = new int[names.size()];
+        for (int i = 0; i < names.size(); i++) {
+            nameKeys[i] = strings.offsetOf(names.get(i).normalized());
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(strings.end() + Integer.BYTES);
+        buffer.putInt(Gazetteer.MAGIC)
+                .putShort(Gazetteer.VERSION)
+                .putInt(places.size())
+                .putInt(names.size());
+        for (int place = 0; place < places.size(); place++) {
+            final CsvPlace csvPlace = places.get(place);
+            buffer.putDouble(csvPlace.latitude())
+                    .putDouble(csvPlace.longitude())
+                    .putInt(placeNames[place])
+                    .putInt(placeTimezones[place])
+                    .put((byte) csvPlace.country().charAt(0))
+                    .put((byte) csvPlace.country().charAt(1));
+        }
+        for (int i = 0; i < names.size(); i++) {
+            buffer.putInt(nameKeys[i]).putInt(names.get(i).place());
+        }
+        for (byte[] string : strings.strings()) {
+            buffer.putShort((short) string.length).put(string);
+        }
+
+        final CRC32C checksum = new CRC32C();
+        checksum.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) checksum.getValue());
+        return buffer.flip();
+    }
+
+    /**
+     * A row of the CSV.
+     * @param name the name of the city
+     * @param country the ISO 3166 code of the city's country
+     * @param population the population of the city, 0 if unknown
+     * @param latitude the latitude of the city
+     * @param longitude the longitude of the city
+     * @param timezone the IANA timezone of the city
+     * @param alternateNames other names the city is found by
+     */
+    private record CsvPlace(String name, String country, long population, double latitude, double longitude,
+                            String timezone, List<String> alternateNames) {
+    }
+
+    /**
+     * A name a place is found by, with what it is sorted by.
+     * @param normalized the normalized name
+     * @param key the UTF-8 bytes of the normalized name
+     * @param place the index of the place
+     * @param population the population of the place
+     */
+    private record NameEntry(String normalized, byte[] key, int place, long population) {
+    }
+
+    /**
+     * The string table, holding each distinct string once.
+     */
+    private static final class StringPool {
+
+        private final Map<String, Integer> offsets = new LinkedHashMap<>();
+        private final List<byte[]> strings = new ArrayList<>();
+        private int end;
+
+        private StringPool(int start) {
+            this.end = start;
+        }
+
+        private int offsetOf(String string) {
+            final Integer offset = offsets.get(string);
+            if (offset != null) {
+                return offset;
+            }
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > MAX_STRING_BYTES) {
+                throw new IllegalArgumentException("Gazetteer String Is Too Long: " + string + ".");
+            }
+            offsets.put(string, end);
+            strings.add(bytes);
+            final int stringOffset = end;
+            end += Short.BYTES + bytes.length;
+            return stringOffset;
+        }
+
+        private List<byte[]> strings() {
+            return strings;
+        }
+
+        private int end() {
+            return end;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package data_access.weather.geocoding;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import exception.ApiCallException;
+
+/**
+ * Resolves a city name to geo-coordinates.
+ */
+public interface Geocoder {
+
+    String LATITUDE = "latitude";
+    String LONGITUDE = "longitude";
+
+    /**
+     * Get the geo-coordinates of a city.
+     * @param city the name of the city
+     * @return the coordinates of the city keyed by "latitude" and "longitude"
+     * @throws ApiCallException if the city cannot be resolved
+     */
+    Map<String, Double> getCoordinates(String city) throws ApiCallException;
+
+    /**
+     * Get the geo-coordinates of a city without blocking the calling thread. Geocoders backed by a remote API
+     * override this to send the request asynchronously; by default the blocking lookup is run on the calling thread.
+     * @param city the name of the city
+     * @return a future of the coordinates of the city, failing with an ApiCallException if it cannot be resolved
+     */
+    default CompletableFuture<Map<String, Double>> getCoordinatesAsync(String city) {
+        try {
+            return CompletableFuture.completedFuture(getCoordinates(city));
+        }
+        catch (ApiCallException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package data_access.weather.geocoding;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import exception.ApiCallException;
+
+/**
+ * Geocoder that resolves the cities of a gazetteer locally, without the network. Only names the gazetteer does not
+ * know are passed on to the wrapped Geocoder.
+ */
+public class OfflineGeocodingDAO implements Geocoder {
+
+    private final Gazetteer gazetteer;
+    private final Geocoder geocoder;
+
+    private final AtomicLong offlineHits = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    public OfflineGeocodingDAO(Gazetteer gazetteer, Geocoder geocoder) {
+        this.gazetteer = gazetteer;
+        this.geocoder = geocoder;
+    }
+
+    /**
+     * Get the geo-coordinates of a city from the gazetteer, or from the wrapped Geocoder if the gazetteer does not
+     * know the city.
+     * @param city the name of the city
+     * @return the coordinates of the city
+     * @throws ApiCallException if the gazetteer does not know the city and the wrapped Geocoder fails
+     */
+    @Override
+    public Map<String, Double> getCoordinates(String city) throws ApiCallException {
+        final Gazetteer.Place place = gazetteer.find(city);
+        if (place != null) {
+            offlineHits.incrementAndGet();
+            return place.toCoordinates();
+        }
+        fallbacks.incrementAndGet();
+        return geocoder.getCoordinates(city);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Double>> getCoordinatesAsync(String city) {
+        final Gazetteer.Place place = gazetteer.find(city);
+        if (place != null) {
+            offlineHits.incrementAndGet();
+            return CompletableFuture.completedFuture(place.toCoordinates());
+        }
+        fallbacks.incrementAndGet();
+        return geocoder.getCoordinatesAsync(city);
+    }
+
+    public long getOfflineHits() {
+        return offlineHits.get();
+    }
+
+    public long getFallbacks() {
+        return fallbacks.get();
+    }
+}
@@ -0,0 +1,33 @@
+package data_access.weather.open_weather;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A section of a One Call response that a use case can ask for. Requests and parses are narrowed to the sections a
+ * use case needs, so the daily view never downloads or parses the 48 hourly forecasts.
+ */
+public enum ForecastSection {
+
+    // the hourly forecast, along with today's low and high from the first day of the daily section
+    HOURLY("hourly"),
+    // the daily forecast
+    DAILY("daily");
+
+    public static final Set<ForecastSection> ALL = Collections.unmodifiableSet(EnumSet.allOf(ForecastSection.class));
+
+    private final String field;
+
+    ForecastSection(String field) {
+        this.field = field;
+    }
+
+    /**
+     * Returns the name of the section in a One Call response and its exclude parameter.
+     * @return the field name
+     */
+    public String getField() {
+        return field;
+    }
+}
@@ -0,0 +1,249 @@
+package data_access.weather.open_weather;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import data_access.weather.cache.ForecastSnapshot;
+import entity.weather.ConditionCodes;
+import entity.weather.WeatherColumns;
+import entity.weather.daily_weather.DailyWeatherDataFactory;
+import entity.weather.hourly_weather.HourlyWeatherData;
+import entity.weather.hourly_weather.HourlyWeatherDataFactory;
+
+/**
+ * Streaming parser for OpenWeather One Call responses. The response is read token by token in a single pass, only
+ * the fields used by the weather entities are kept, and everything else (minutely, moon phase, pressure, etc.) is
+ * skipped without being materialized. Hours and days are appended straight into the columns of the entities. A
+ * response requested without the hourly section parses into a snapshot covering only the daily section.
+ */
+public class OneCallParser {
+
+    // JsonFactory is thread safe and expensive to create, so one instance is shared
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String TIME_ZONE = "timezone";
+    private static final String TEMP = "temp";
+    private static final String FEELS_LIKE = "feels_like";
+    private static final String HUMIDITY = "humidity";
+    // One Call returns 48 hours and 8 days
+    private static final int HOURS = 48;
+    private static final int DAYS = 8;
+    // condition id of a row whose weather array has no id
+    private static final int NO_CONDITION_ID = -1;
+
+    private final DailyWeatherDataFactory dailyWeatherDataFactory;
+    private final HourlyWeatherDataFactory hourlyWeatherDataFactory;
+
+    public OneCallParser(DailyWeatherDataFactory dailyWeatherDataFactory,
+                         HourlyWeatherDataFactory hourlyWeatherDataFactory) {
+        this.dailyWeatherDataFactory = dailyWeatherDataFactory;
+        this.hourlyWeatherDataFactory = hourlyWeatherDataFactory;
+    }
+
+    /**
+     * Parses a One Call response into a ForecastSnapshot.
+     * @param city the city the forecast was requested for
+     * @param body the One Call response body
+     * @param fetchedAt epoch milliseconds when the forecast was fetched
+     * @return the parsed forecast snapshot
+     * @throws IOException if the body cannot be read or is not a complete One Call response
+     */
+    public ForecastSnapshot parse(String city, InputStream body, long fetchedAt) throws IOException {
+        String timezone = null;
+        final WeatherColumns hourColumns = new WeatherColumns(HOURS);
+        final WeatherColumns dayColumns = new WeatherColumns(DAYS);
+        ForecastRow today = null;
+        boolean hourly = false;
+
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case TIME_ZONE -> timezone = parser.getText();
+                    case "hourly" -> {
+                        readRows(parser, hourColumns, false);
+                        hourly = true;
+                    }
+                    case "daily" -> today = readRows(parser, dayColumns, true);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        if (timezone == null || today == null) {
+            throw new IOException("Incomplete One Call Response.");
+        }
+
+        HourlyWeatherData hourlyWeatherData = null;
+        if (hourly) {
+            // the low and high for the hourly forecast are the min and max temperature of today
+            hourlyWeatherData = hourlyWeatherDataFactory.create(hourColumns, timezone, city,
+                    (int) today.minTemperature, (int) today.maxTemperature);
+        }
+        return new ForecastSnapshot(hourlyWeatherData, dailyWeatherDataFactory.create(dayColumns, timezone, city),
+                fetchedAt);
+    }
+
+    /**
+     * Reads an array of hour or day forecasts into columns.
+     * @param parser the parser positioned on the start of the array
+     * @param columns the columns to append the forecasts to
+     * @param daily whether the array holds day forecasts, where temperatures are objects rather than numbers
+     * @return the first forecast in the array, or null if the array is empty
+     * @throws IOException if the array cannot be read
+     */
+    private static ForecastRow readRows(JsonParser parser, WeatherColumns columns, boolean daily)
+            throws IOException {
+        expect(parser.currentToken(), JsonToken.START_ARRAY);
+        ForecastRow first = null;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            final ForecastRow row = new ForecastRow();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.currentName();
+                parser.nextToken();
+                readField(parser, row, field, daily);
+            }
+            columns.add(conditionCode(row), (int) row.temperature, (int) row.feelsLikeTemperature,
+                    (int) row.windSpeed, (int) row.uvIndex, (int) row.cloudCover, (int) (row.precipitation * 100),
+                    (int) row.humidity);
+            if (first == null) {
+                first = row;
+            }
+        }
+        return first;
+    }
+
+    private static void readField(JsonParser parser, ForecastRow row, String field, boolean daily)
+            throws IOException {
+        switch (field) {
+            case "weather" -> readCondition(parser, row);
+            case TEMP -> {
+                if (daily) {
+                    readDayTemperature(parser, row);
+                }
+                else {
+                    row.temperature = parser.getValueAsDouble();
+                }
+            }
+            case FEELS_LIKE -> {
+                if (daily) {
+                    row.feelsLikeTemperature = readDayValue(parser);
+                }
+                else {
+                    row.feelsLikeTemperature = parser.getValueAsDouble();
+                }
+            }
+            case "wind_speed" -> row.windSpeed = parser.getValueAsDouble();
+            case "uvi" -> row.uvIndex = parser.getValueAsDouble();
+            case "clouds" -> row.cloudCover = parser.getValueAsDouble();
+            case "pop" -> row.precipitation = parser.getValueAsDouble();
+            case HUMIDITY -> row.humidity = parser.getValueAsDouble();
+            default -> parser.skipChildren();
+        }
+    }
+
+    /**
+     * Reads the condition id (500 for light rain) and main condition ("Rain") of the first entry of a weather array.
+     * @param parser the parser positioned on the start of the weather array
+     * @param row the row to read the condition into
+     * @throws IOException if the array cannot be read
+     */
+    private static void readCondition(JsonParser parser, ForecastRow row) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_ARRAY);
+        boolean first = true;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.currentName();
+                parser.nextToken();
+                if (first && "id".equals(field)) {
+                    row.conditionId = parser.getValueAsInt(NO_CONDITION_ID);
+                }
+                else if (first && "main".equals(field)) {
+                    row.condition = parser.getText();
+                }
+                else {
+                    parser.skipChildren();
+                }
+            }
+            first = false;
+        }
+    }
+
+    /**
+     * Returns the condition code of a row, from its condition id if it has one and from its main condition otherwise.
+     * @param row the row that has been read
+     * @return the condition code as defined by ConditionCodes
+     * @throws IOException if the row has no weather condition
+     */
+    private static byte conditionCode(ForecastRow row) throws IOException {
+        final byte conditionCode;
+        if (row.conditionId != NO_CONDITION_ID) {
+            conditionCode = ConditionCodes.fromId(row.conditionId);
+        }
+        else if (row.condition != null) {
+            conditionCode = ConditionCodes.fromMain(row.condition);
+        }
+        else {
+            throw new IOException("Missing Weather Condition.");
+        }
+        return conditionCode;
+    }
+
+    private static void readDayTemperature(JsonParser parser, ForecastRow row) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                // "day" means temperature in the middle of the day
+                case "day" -> row.temperature = parser.getValueAsDouble();
+                case "min" -> row.minTemperature = parser.getValueAsDouble();
+                case "max" -> row.maxTemperature = parser.getValueAsDouble();
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static double readDayValue(JsonParser parser) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT);
+        double value = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            parser.nextToken();
+            if ("day".equals(field)) {
+                value = parser.getValueAsDouble();
+            }
+            else {
+                parser.skipChildren();
+            }
+        }
+        return value;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Malformed One Call Response. Expected " + expected + " But Found " + actual + ".");
+        }
+    }
+
+    /**
+     * The raw values of one hour or day forecast while it is being read.
+     */
+    private static final class ForecastRow {
+        private int conditionId = NO_CONDITION_ID;
+        private String condition;
+        private double temperature;
+        private double feelsLikeTemperature;
+        private double windSpeed;
+        private double uvIndex;
+        private double cloudCover;
+        private double precipitation;
+        private double humidity;
+        private double minTemperature;
+        private double maxTemperature;
+    }
+}
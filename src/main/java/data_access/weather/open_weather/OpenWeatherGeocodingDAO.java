@@ -3,13 +3,18 @@ package data_access.weather.open_weather;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import data_access.http.HttpTransport;
+import data_access.http.ResilientCaller;
+import data_access.weather.geocoding.Geocoder;
 import exception.ApiCallException;
+import exception.CityNotFoundException;
 import io.github.cdimascio.dotenv.Dotenv;
-import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 
@@ -17,62 +22,138 @@ import okhttp3.Response;
  * Finds geo-coordinates of a city given a String name using the OpenWeather
  * Geocoding API.
  */
-public class OpenWeatherGeocodingDAO {
+public class OpenWeatherGeocodingDAO implements Geocoder {
 
     // limit indicates the number of matching queries that will be returned by
     // the API
-    private static final Dotenv DOTENV = Dotenv.load();
+    private static final Dotenv DOTENV = Dotenv.configure().ignoreIfMissing().load();
     private static final Integer LIMIT = 1;
-    private static final String GEOCODING_API_URL = "http://api"
-            + ".openweathermap.org/geo/1"
-            + ".0/direct?q={city name}&limit={limit}&appid={API key}";
+    private static final String GEOCODING_API_PATH = "/geo/1.0/direct?q={city name}&limit={limit}&appid={API key}";
     private static final String API_KEY = DOTENV.get("OPEN_WEATHER_API_KEY");
 
+    private final ResilientCaller resilientCaller;
+    private final String baseUrl;
+    private final String apiKey;
+
+    public OpenWeatherGeocodingDAO(HttpTransport httpTransport) {
+        this(new ResilientCaller(httpTransport));
+    }
+
+    /**
+     * Creates a DAO whose requests are retried, hedged and guarded by the circuit breaker of the caller.
+     * @param resilientCaller the caller requests are sent through
+     */
+    public OpenWeatherGeocodingDAO(ResilientCaller resilientCaller) {
+        this(resilientCaller, OpenWeatherWeatherDAO.DEFAULT_BASE_URL, API_KEY);
+    }
+
+    /**
+     * Creates a DAO that sends its requests to another server speaking the Geocoding API, such as a local stand-in.
+     * @param resilientCaller the caller requests are sent through
+     * @param baseUrl the scheme and host of the server, without a trailing slash
+     * @param apiKey the API key sent with every request, or null if none is set
+     */
+    public OpenWeatherGeocodingDAO(ResilientCaller resilientCaller, String baseUrl, String apiKey) {
+        this.resilientCaller = resilientCaller;
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+    }
+
     /**
      * Get the geo-coordinates of a city using the OpenWeather Geocoding API.
      * @param city the name of the city
      * @return coordinates of the city
      * @throws ApiCallException if API call fails.
      */
-    public static Map<String, Double> getCoordinates(String city) throws ApiCallException {
-        final String url = buildUrl(city);
+    @Override
+    public Map<String, Double> getCoordinates(String city) throws ApiCallException {
+        if (apiKey == null) {
+            throw new ApiCallException("API Key Not Set.");
+        }
 
-        // Build http request
-        final OkHttpClient client = new OkHttpClient();
-        final Request request = new Request.Builder()
-                .url(url)
-                .build();
         // Execute request
-        try (Response response = client.newCall(request).execute()) {
-
-            if (!response.isSuccessful()) {
-                throw new IOException("API Call Unsuccessful.");
-            }
-            if (response.body() == null) {
-                throw new IOException("API Returned No Response.");
-            }
+        try {
+            return resilientCaller.execute(buildRequest(city), OpenWeatherGeocodingDAO::readCoordinates);
+        }
+        catch (IOException exception) {
+            throw failure(city, exception);
+        }
+    }
 
-            final JSONArray responseBody = new JSONArray(response.body().string());
-            if (responseBody.isEmpty()) {
-                throw new IOException("API Returned Empty Response.");
-            }
-            // grab the top result
-            final JSONObject firstResult = responseBody.getJSONObject(0);
+    /**
+     * Get the geo-coordinates of a city using the OpenWeather Geocoding API, sending the request on the OkHttp
+     * dispatcher instead of blocking the calling thread.
+     * @param city the name of the city
+     * @return a future of the coordinates of the city, failing with an ApiCallException if the API call fails
+     */
+    @Override
+    public CompletableFuture<Map<String, Double>> getCoordinatesAsync(String city) {
+        if (apiKey == null) {
+            return CompletableFuture.failedFuture(new ApiCallException("API Key Not Set."));
+        }
 
-            final double latitude = firstResult.getDouble("lat");
-            final double longitude = firstResult.getDouble("lon");
+        return resilientCaller.call(buildRequest(city), OpenWeatherGeocodingDAO::readCoordinates)
+                .exceptionallyCompose(exception -> CompletableFuture.failedFuture(failure(city, exception)));
+    }
 
-            final Map<String, Double> coordinates = new HashMap<>();
-            coordinates.put("latitude", latitude);
-            coordinates.put("longitude", longitude);
+    /**
+     * Turns a failed lookup into the exception callers see: a CityNotFoundException if the API answered with no
+     * results, so callers can tell a name that matches nothing from a lookup that could not be made.
+     * @param city the city that was looked up
+     * @param exception the failure
+     * @return the exception to fail the lookup with
+     */
+    private static ApiCallException failure(String city, Throwable exception) {
+        Throwable cause = exception;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof NoResultsException) {
+            return new CityNotFoundException("City Not Found: " + city + ".");
+        }
+        return new ApiCallException("Failed To Get Geo-Coordinates For " + city + ". " + cause.getMessage(), cause);
+    }
 
-            return coordinates;
+    /**
+     * Builds the http request for the geo-coordinates of the city.
+     * @param city the city that geo-coordinates will be requested for.
+     * @return the request
+     */
+    private Request buildRequest(String city) {
+        return new Request.Builder()
+                .url(buildUrl(city))
+                .build();
+    }
 
+    /**
+     * Reads the coordinates of the top result out of a Geocoding API response.
+     * @param response the response
+     * @return coordinates of the city
+     * @throws IOException if the call was unsuccessful or returned no results
+     */
+    private static Map<String, Double> readCoordinates(Response response) throws IOException {
+        if (!response.isSuccessful()) {
+            throw new IOException("API Call Unsuccessful.");
         }
-        catch (IOException exception) {
-            throw new ApiCallException("Failed To Get Geo-Coordinates For " + city + ". " + exception.getMessage(),
-                    exception);
+        if (response.body() == null) {
+            throw new IOException("API Returned No Response.");
+        }
+
+        final JSONArray responseBody = new JSONArray(response.body().string());
+        if (responseBody.isEmpty()) {
+            throw new NoResultsException();
         }
+        // grab the top result
+        final JSONObject firstResult = responseBody.getJSONObject(0);
+
+        final double latitude = firstResult.getDouble("lat");
+        final double longitude = firstResult.getDouble("lon");
+
+        final Map<String, Double> coordinates = new HashMap<>();
+        coordinates.put("latitude", latitude);
+        coordinates.put("longitude", longitude);
+
+        return coordinates;
     }
 
     /**
@@ -80,10 +161,20 @@ public class OpenWeatherGeocodingDAO {
      * @param city the city that geo-coordinates will be requested for.
      * @return the OpenWeather Geocoding API URL for requesting
      */
-    private static String buildUrl(String city) {
-        return GEOCODING_API_URL
+    private String buildUrl(String city) {
+        return baseUrl + GEOCODING_API_PATH
                 .replaceFirst("\\{city name}", city)
                 .replaceFirst("\\{limit}", LIMIT.toString())
-                .replaceFirst("\\{API key}", API_KEY);
+                .replaceFirst("\\{API key}", apiKey);
+    }
+
+    /**
+     * Failure of a lookup the API answered without any matching location.
+     */
+    private static final class NoResultsException extends IOException {
+
+        private NoResultsException() {
+            super("API Returned Empty Response.");
+        }
     }
 }
@@ -1,13 +1,18 @@
 package data_access.weather.open_weather;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import exception.ApiCallException;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 
+import data_access.http.HttpTransport;
+import data_access.http.ResilientCaller;
 import io.github.cdimascio.dotenv.Dotenv;
-import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 
@@ -15,72 +20,212 @@ import okhttp3.Response;
  * This class makes API calls to request weather data from OpenWeather.
  */
 public class OpenWeatherWeatherDAO {
+    // the server of both the One Call and Geocoding APIs
+    public static final String DEFAULT_BASE_URL = "https://api.openweathermap.org";
     // load environment variables file
-    private static final Dotenv DOTENV = Dotenv.load();
+    private static final Dotenv DOTENV = Dotenv.configure().ignoreIfMissing().load();
     // standard, metric, imperial
     private static final String UNITS = "metric";
-    // weather data to be excluded from API response (current,minutely,
-    // hourly,daily,alerts)
+    // weather data always excluded from API response (current,minutely,
+    // hourly,daily,alerts); hourly is excluded too unless it is requested
     private static final String EXCLUDE = "current,minutely,alerts";
     private static final String API_KEY = DOTENV.get("OPEN_WEATHER_API_KEY");
-    private static final String API_URL = "https://api.openweathermap.org/data/3.0/onecall?lat={lat}&lon={lon}"
+    private static final String API_PATH = "/data/3.0/onecall?lat={lat}&lon={lon}"
             + "&exclude={part}&appid={API key}&units={units}";
 
+    private final ResilientCaller resilientCaller;
+    private final String baseUrl;
+    private final String apiKey;
+
+    public OpenWeatherWeatherDAO(HttpTransport httpTransport) {
+        this(new ResilientCaller(httpTransport));
+    }
+
+    /**
+     * Creates a DAO whose requests are retried, hedged and guarded by the circuit breaker of the caller.
+     * @param resilientCaller the caller requests are sent through
+     */
+    public OpenWeatherWeatherDAO(ResilientCaller resilientCaller) {
+        this(resilientCaller, DEFAULT_BASE_URL, API_KEY);
+    }
+
+    /**
+     * Creates a DAO that sends its requests to another server speaking the One Call API, such as a local stand-in.
+     * @param resilientCaller the caller requests are sent through
+     * @param baseUrl the scheme and host of the server, without a trailing slash
+     * @param apiKey the API key sent with every request, or null if none is set
+     */
+    public OpenWeatherWeatherDAO(ResilientCaller resilientCaller, String baseUrl, String apiKey) {
+        this.resilientCaller = resilientCaller;
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+    }
+
     /**
      * Requests the weather data from the API.
-     * @param city the city to request the weather data for
-     * @return the weather data for the city in a JSONObject
+     * @param coordinates the resolved coordinates to request the weather data for
+     * @return the weather data for the coordinates in a JSONObject
      * @throws ApiCallException if the request fails or the API Key is not set
      */
-    public static JSONObject apiRequest(String city) throws ApiCallException {
-        final Map<String, Double> coordinates =
-                OpenWeatherGeocodingDAO.getCoordinates(city);
+    public JSONObject apiRequest(Map<String, Double> coordinates) throws ApiCallException {
+        return apiRequest(coordinates, body -> new JSONObject(new JSONTokener(body)));
+    }
 
-        if (API_KEY == null) {
+    /**
+     * Requests every section of the weather data from the API and hands the response body to the parser as it is
+     * read from the connection, without buffering it into a String first.
+     * @param coordinates the resolved coordinates to request the weather data for
+     * @param parser the parser for the response body
+     * @param <T> the type the response is parsed into
+     * @return the parsed weather data for the coordinates
+     * @throws ApiCallException if the request fails, the response cannot be parsed, or the API Key is not set
+     */
+    public <T> T apiRequest(Map<String, Double> coordinates, ResponseParser<T> parser) throws ApiCallException {
+        return apiRequest(coordinates, ForecastSection.ALL, parser);
+    }
+
+    /**
+     * Requests the sections of the weather data from the API, excluding every other section, and hands the response
+     * body to the parser as it is read from the connection.
+     * @param coordinates the resolved coordinates to request the weather data for
+     * @param sections the sections to request
+     * @param parser the parser for the response body
+     * @param <T> the type the response is parsed into
+     * @return the parsed weather data for the coordinates
+     * @throws ApiCallException if the request fails, the response cannot be parsed, or the API Key is not set
+     */
+    public <T> T apiRequest(Map<String, Double> coordinates, Set<ForecastSection> sections,
+                            ResponseParser<T> parser) throws ApiCallException {
+        if (apiKey == null) {
             throw new ApiCallException("API Key Not Set.");
         }
 
-        final String url = buildUrl(coordinates);
-
-        // build http request
-        final OkHttpClient client = new OkHttpClient();
-        final Request request = new Request.Builder()
-                .url(url)
-                .build();
         // executeDisplayHome request
-        try (Response response = client.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                throw new IOException("API Call Unsuccessful.");
-            }
-            if (response.body() == null) {
-                throw new IOException("API Returned No Response.");
-            }
+        try {
+            return resilientCaller.execute(buildRequest(coordinates, sections),
+                    response -> readResponse(response, parser));
+        }
+        catch (IOException exception) {
+            throw new ApiCallException("Failed To Get Weather For: " + coordinates + ". " + exception.getMessage(),
+                    exception);
+        }
+    }
 
-            return new JSONObject(response.body().string());
+    /**
+     * Requests every section of the weather data from the API on the OkHttp dispatcher instead of blocking the
+     * calling thread.
+     * @param coordinates the resolved coordinates to request the weather data for
+     * @param parser the parser for the response body
+     * @param <T> the type the response is parsed into
+     * @return a future of the parsed weather data, failing with an ApiCallException if the request fails, the
+     *         response cannot be parsed, or the API Key is not set
+     */
+    public <T> CompletableFuture<T> apiRequestAsync(Map<String, Double> coordinates, ResponseParser<T> parser) {
+        return apiRequestAsync(coordinates, ForecastSection.ALL, parser);
+    }
 
+    /**
+     * Requests the sections of the weather data from the API on the OkHttp dispatcher instead of blocking the
+     * calling thread. The parser runs on the dispatcher thread as the response body streams in, so stages chained
+     * onto the returned future start as soon as the response is parsed.
+     * @param coordinates the resolved coordinates to request the weather data for
+     * @param sections the sections to request
+     * @param parser the parser for the response body
+     * @param <T> the type the response is parsed into
+     * @return a future of the parsed weather data, failing with an ApiCallException if the request fails, the
+     *         response cannot be parsed, or the API Key is not set
+     */
+    public <T> CompletableFuture<T> apiRequestAsync(Map<String, Double> coordinates, Set<ForecastSection> sections,
+                                                    ResponseParser<T> parser) {
+        if (apiKey == null) {
+            return CompletableFuture.failedFuture(new ApiCallException("API Key Not Set."));
         }
-        catch (IOException exception) {
-            throw new ApiCallException("Failed To Get Weather For: " + city + ". " + exception.getMessage(), exception);
+
+        return resilientCaller.call(buildRequest(coordinates, sections), response -> readResponse(response, parser))
+                .exceptionallyCompose(exception -> CompletableFuture.failedFuture(new ApiCallException(
+                        "Failed To Get Weather For: " + coordinates + ". " + exception.getMessage(), exception)));
+    }
+
+    /**
+     * Returns whether so little of the One Call quota is left that forecasts should be served from the cache
+     * whatever their age, and refreshed less often.
+     * @return true if the quota is running low
+     */
+    public boolean isQuotaTight() {
+        return resilientCaller.getQuota().isTight();
+    }
+
+    /**
+     * Builds the http request for the weather at the coordinates.
+     * @param coordinates the coordinates of the city that weather data will be requested for
+     * @param sections the sections to request
+     * @return the request
+     */
+    private Request buildRequest(Map<String, Double> coordinates, Set<ForecastSection> sections) {
+        return new Request.Builder()
+                .url(buildUrl(coordinates, sections))
+                .build();
+    }
+
+    private static <T> T readResponse(Response response, ResponseParser<T> parser) throws IOException {
+        if (!response.isSuccessful()) {
+            throw new IOException("API Call Unsuccessful.");
         }
+        if (response.body() == null) {
+            throw new IOException("API Returned No Response.");
+        }
+
+        return parser.parse(response.body().byteStream());
     }
 
     /**
      * Builds the API URL for grabbing the weather in the city.
      * @param coordinates the coordinates of the city that weather data
      *                    will be requested for.
+     * @param sections the sections to request
      * @return the OpenWeather Weather API URL for requesting
      *         weather for the city.
      */
-    private static String buildUrl(Map<String, Double> coordinates) {
-        final int latitude = coordinates.get("latitude").intValue();
-        final int longitude = coordinates.get("longitude").intValue();
+    private String buildUrl(Map<String, Double> coordinates, Set<ForecastSection> sections) {
+        // WeatherDAO already snaps the coordinates to the center of their forecast tile
+        final double latitude = coordinates.get("latitude");
+        final double longitude = coordinates.get("longitude");
 
-        return API_URL
+        return baseUrl + API_PATH
                 .replaceFirst("\\{lat}", String.valueOf(latitude))
                 .replaceFirst("\\{lon}", String.valueOf(longitude))
-                .replaceFirst("\\{part}", EXCLUDE)
-                .replaceFirst("\\{API key}", API_KEY)
+                .replaceFirst("\\{part}", exclude(sections))
+                .replaceFirst("\\{API key}", apiKey)
                 .replaceFirst("\\{units}", UNITS);
     }
 
+    /**
+     * Returns the narrowest exclude parameter for the sections. The daily section is never excluded, since the
+     * hourly forecast takes today's low and high from it.
+     * @param sections the sections to request
+     * @return the comma separated sections to exclude
+     */
+    static String exclude(Set<ForecastSection> sections) {
+        if (sections.contains(ForecastSection.HOURLY)) {
+            return EXCLUDE;
+        }
+        return EXCLUDE + "," + ForecastSection.HOURLY.getField();
+    }
+
+    /**
+     * Parses a One Call response body.
+     *
+     * @param <T> the type the response is parsed into
+     */
+    @FunctionalInterface
+    public interface ResponseParser<T> {
+
+        /**
+         * Parses the response body.
+         * @param body the response body
+         * @return the parsed response
+         * @throws IOException if the body cannot be read or parsed
+         */
+        T parse(InputStream body) throws IOException;
+    }
 }
@@ -0,0 +1,164 @@
+package entity.weather;
+
+/**
+ * Dictionary of the OpenWeather weather condition ids (the weather[0].id of a forecast, e.g. 500 for light rain and
+ * 502 for heavy intensity rain). Each id is stored as a compact byte code, from which its id, description and main
+ * condition group can be looked up without any string comparisons. Codes are indexes into this dictionary and only
+ * meaningful in memory; anything persisted should store the id.
+ */
+public final class ConditionCodes {
+
+    // code for any condition that is not in the dictionary
+    public static final byte UNKNOWN = 0;
+
+    // OpenWeather condition ids, indexed by code
+    private static final int[] IDS = {
+        0,
+        200, 201, 202, 210, 211, 212, 221, 230, 231, 232,
+        300, 301, 302, 310, 311, 312, 313, 314, 321,
+        500, 501, 502, 503, 504, 511, 520, 521, 522, 531,
+        600, 601, 602, 611, 612, 613, 615, 616, 620, 621, 622,
+        701, 711, 721, 731, 741, 751, 761, 762, 771, 781,
+        800, 801, 802, 803, 804,
+    };
+    // OpenWeather condition descriptions, indexed by code
+    private static final String[] DESCRIPTIONS = {
+        "unknown",
+        "thunderstorm with light rain", "thunderstorm with rain", "thunderstorm with heavy rain",
+        "light thunderstorm", "thunderstorm", "heavy thunderstorm", "ragged thunderstorm",
+        "thunderstorm with light drizzle", "thunderstorm with drizzle", "thunderstorm with heavy drizzle",
+        "light intensity drizzle", "drizzle", "heavy intensity drizzle", "light intensity drizzle rain",
+        "drizzle rain", "heavy intensity drizzle rain", "shower rain and drizzle", "heavy shower rain and drizzle",
+        "shower drizzle",
+        "light rain", "moderate rain", "heavy intensity rain", "very heavy rain", "extreme rain", "freezing rain",
+        "light intensity shower rain", "shower rain", "heavy intensity shower rain", "ragged shower rain",
+        "light snow", "snow", "heavy snow", "sleet", "light shower sleet", "shower sleet", "light rain and snow",
+        "rain and snow", "light shower snow", "shower snow", "heavy shower snow",
+        "mist", "smoke", "haze", "sand/dust whirls", "fog", "sand", "dust", "volcanic ash", "squalls", "tornado",
+        "clear sky", "few clouds", "scattered clouds", "broken clouds", "overcast clouds",
+    };
+    // the highest OpenWeather condition id is 804
+    private static final int MAX_ID = 900;
+
+    private static final ConditionGroup[] GROUPS = new ConditionGroup[IDS.length];
+    private static final byte[] CODES_BY_ID = new byte[MAX_ID];
+    // the first code of each group, indexed by group ordinal
+    private static final byte[] CODES_BY_GROUP = new byte[ConditionGroup.values().length];
+
+    static {
+        GROUPS[UNKNOWN] = ConditionGroup.UNKNOWN;
+        for (int code = 1; code < IDS.length; code++) {
+            final ConditionGroup group = groupOfId(IDS[code]);
+            GROUPS[code] = group;
+            CODES_BY_ID[IDS[code]] = (byte) code;
+            if (CODES_BY_GROUP[group.ordinal()] == UNKNOWN) {
+                CODES_BY_GROUP[group.ordinal()] = (byte) code;
+            }
+        }
+    }
+
+    private ConditionCodes() {
+    }
+
+    /**
+     * Returns the group of an OpenWeather condition id, following OpenWeather's grouping of the id space.
+     * @param id the condition id
+     * @return the group of the id
+     */
+    private static ConditionGroup groupOfId(int id) {
+        return switch (id / 100) {
+            case 2 -> ConditionGroup.THUNDERSTORM;
+            case 3 -> ConditionGroup.DRIZZLE;
+            case 5 -> ConditionGroup.RAIN;
+            case 6 -> ConditionGroup.SNOW;
+            case 7 -> groupOfAtmosphereId(id);
+            case 8 -> groupOfSkyId(id);
+            default -> ConditionGroup.UNKNOWN;
+        };
+    }
+
+    private static ConditionGroup groupOfAtmosphereId(int id) {
+        return switch (id) {
+            case 701 -> ConditionGroup.MIST;
+            case 711 -> ConditionGroup.SMOKE;
+            case 721 -> ConditionGroup.HAZE;
+            case 731, 761 -> ConditionGroup.DUST;
+            case 741 -> ConditionGroup.FOG;
+            case 751 -> ConditionGroup.SAND;
+            case 762 -> ConditionGroup.ASH;
+            case 771 -> ConditionGroup.SQUALL;
+            case 781 -> ConditionGroup.TORNADO;
+            default -> ConditionGroup.UNKNOWN;
+        };
+    }
+
+    private static ConditionGroup groupOfSkyId(int id) {
+        final ConditionGroup group;
+        if (id == 800) {
+            group = ConditionGroup.CLEAR;
+        }
+        else {
+            group = ConditionGroup.CLOUDS;
+        }
+        return group;
+    }
+
+    /**
+     * Returns the code of an OpenWeather condition id.
+     * @param id the condition id (weather[0].id)
+     * @return the code of the id, or UNKNOWN if it is not an OpenWeather condition id
+     */
+    public static byte fromId(int id) {
+        byte code = UNKNOWN;
+        if (id >= 0 && id < MAX_ID) {
+            code = CODES_BY_ID[id];
+        }
+        return code;
+    }
+
+    /**
+     * Returns a code for a main weather condition, for sources that only know the main condition. The code is the
+     * first condition of the group (e.g. light rain for "Rain").
+     * @param main the main weather condition ("Rain", "Clouds", "Snow")
+     * @return a code in the group of the main condition, or UNKNOWN if it is not an OpenWeather main condition
+     */
+    public static byte fromMain(String main) {
+        return CODES_BY_GROUP[ConditionGroup.fromMain(main).ordinal()];
+    }
+
+    /**
+     * Returns the OpenWeather condition id of a code.
+     * @param code the condition code
+     * @return the condition id, or 0 for UNKNOWN
+     */
+    public static int getId(byte code) {
+        return IDS[code];
+    }
+
+    /**
+     * Returns the main condition group of a code.
+     * @param code the condition code
+     * @return the condition group
+     */
+    public static ConditionGroup getGroup(byte code) {
+        return GROUPS[code];
+    }
+
+    /**
+     * Returns the main weather condition of a code.
+     * @param code the condition code
+     * @return the main weather condition ("Rain", "Clouds", "Snow")
+     */
+    public static String getMain(byte code) {
+        return GROUPS[code].getMain();
+    }
+
+    /**
+     * Returns the OpenWeather description of a code.
+     * @param code the condition code
+     * @return the description of the condition (e.g. "light rain", "overcast clouds")
+     */
+    public static String getDescription(byte code) {
+        return DESCRIPTIONS[code];
+    }
+}
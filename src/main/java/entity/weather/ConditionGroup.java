@@ -0,0 +1,52 @@
+package entity.weather;
+
+/**
+ * The OpenWeather main weather conditions ("Rain", "Clouds", "Snow"). Every condition code belongs to one group.
+ */
+public enum ConditionGroup {
+    UNKNOWN("Unknown"),
+    THUNDERSTORM("Thunderstorm"),
+    DRIZZLE("Drizzle"),
+    RAIN("Rain"),
+    SNOW("Snow"),
+    MIST("Mist"),
+    SMOKE("Smoke"),
+    HAZE("Haze"),
+    DUST("Dust"),
+    FOG("Fog"),
+    SAND("Sand"),
+    ASH("Ash"),
+    SQUALL("Squall"),
+    TORNADO("Tornado"),
+    CLEAR("Clear"),
+    CLOUDS("Clouds");
+
+    private final String main;
+
+    ConditionGroup(String main) {
+        this.main = main;
+    }
+
+    /**
+     * Returns the OpenWeather main condition of the group.
+     * @return the main condition ("Rain", "Clouds", "Snow")
+     */
+    public String getMain() {
+        return main;
+    }
+
+    /**
+     * Returns the group of an OpenWeather main condition.
+     * @param main the main condition ("Rain", "Clouds", "Snow")
+     * @return the group of the condition, or UNKNOWN if it is not an OpenWeather main condition
+     */
+    public static ConditionGroup fromMain(String main) {
+        ConditionGroup group = UNKNOWN;
+        for (ConditionGroup candidate : values()) {
+            if (candidate.main.equals(main)) {
+                group = candidate;
+            }
+        }
+        return group;
+    }
+}
@@ -0,0 +1,60 @@
+package entity.weather;
+
+/**
+ * Occupancy bitmasks of the condition groups of a forecast. Bit i of a group's mask is set when hour i of the
+ * forecast is in that group, so asking whether a condition occurs in a window of hours is a mask and test instead of a
+ * walk over the hours. A 48 hour One Call forecast fits in a single 64-bit mask per group.
+ */
+public final class ConditionIndex {
+
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_MASK = Long.SIZE - 1;
+
+    private final int hourCount;
+    // occupancy words of each group, indexed by group ordinal
+    private final long[][] masks;
+
+    /**
+     * Builds the index over the condition codes of the given columns.
+     * @param columns the hour columns of a forecast
+     */
+    public ConditionIndex(WeatherColumnsView columns) {
+        this.hourCount = columns.size();
+        final int words = (hourCount + WORD_MASK) >>> WORD_SHIFT;
+        this.masks = new long[ConditionGroup.values().length][words];
+        for (int hour = 0; hour < hourCount; hour++) {
+            final ConditionGroup group = ConditionCodes.getGroup(columns.getConditionCode(hour));
+            masks[group.ordinal()][hour >>> WORD_SHIFT] |= 1L << (hour & WORD_MASK);
+        }
+    }
+
+    /**
+     * Returns whether any hour in the window is in the condition group. Hours past the end of the forecast are never
+     * in any group.
+     * @param group the condition group to look for
+     * @param fromHour the index of the first hour of the window
+     * @param windowHours the number of hours in the window
+     * @return true if the condition occurs in the window
+     */
+    public boolean occurs(ConditionGroup group, int fromHour, int windowHours) {
+        final int start = Math.max(fromHour, 0);
+        final int end = (int) Math.min((long) fromHour + windowHours, hourCount);
+        boolean occurs = false;
+        if (start < end) {
+            final long[] groupMasks = masks[group.ordinal()];
+            final int firstWord = start >>> WORD_SHIFT;
+            final int lastWord = (end - 1) >>> WORD_SHIFT;
+            for (int word = firstWord; word <= lastWord && !occurs; word++) {
+                long window = -1L;
+                if (word == firstWord) {
+                    window &= -1L << (start & WORD_MASK);
+                }
+                if (word == lastWord) {
+                    window &= -1L >>> (WORD_MASK - ((end - 1) & WORD_MASK));
+                }
+                occurs = (groupMasks[word] & window) != 0;
+            }
+        }
+        return occurs;
+    }
+}
@@ -0,0 +1,129 @@
+package entity.weather;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Column storage for a sequence of hour or day forecasts. Each forecast value is kept in its own primitive array, so
+ * a forecast costs a handful of array slots instead of an object with repeated city and timezone references, and
+ * scans over a single value read one contiguous array. Columns are filled by the data access layer and are not
+ * modified once handed to an entity, which reads them only through WeatherColumnsView.
+ */
+public class WeatherColumns implements WeatherColumnsView {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private int size;
+    private byte[] conditionCodes;
+    private int[] temperatures;
+    private int[] feelsLikeTemperatures;
+    private int[] windSpeeds;
+    private int[] uvIndexes;
+    private int[] cloudCovers;
+    private int[] precipitations;
+    private int[] humidities;
+
+    public WeatherColumns() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public WeatherColumns(int initialCapacity) {
+        conditionCodes = new byte[initialCapacity];
+        temperatures = new int[initialCapacity];
+        feelsLikeTemperatures = new int[initialCapacity];
+        windSpeeds = new int[initialCapacity];
+        uvIndexes = new int[initialCapacity];
+        cloudCovers = new int[initialCapacity];
+        precipitations = new int[initialCapacity];
+        humidities = new int[initialCapacity];
+    }
+
+    /**
+     * Appends the values of one hour or day forecast.
+     * @param conditionCode the code of the main weather condition
+     * @param temperature the temperature in degrees Celsius
+     * @param feelsLikeTemperature the feels like temperature in degrees Celsius
+     * @param windSpeed the wind speed
+     * @param uvIndex the UV index
+     * @param cloudCover the cloud cover as a percentage
+     * @param precipitation the probability of precipitation as a percentage
+     * @param humidity the humidity as a percentage
+     */
+    public void add(byte conditionCode, int temperature, int feelsLikeTemperature, int windSpeed, int uvIndex,
+                    int cloudCover, int precipitation, int humidity) {
+        if (size == temperatures.length) {
+            grow();
+        }
+        conditionCodes[size] = conditionCode;
+        temperatures[size] = temperature;
+        feelsLikeTemperatures[size] = feelsLikeTemperature;
+        windSpeeds[size] = windSpeed;
+        uvIndexes[size] = uvIndex;
+        cloudCovers[size] = cloudCover;
+        precipitations[size] = precipitation;
+        humidities[size] = humidity;
+        size++;
+    }
+
+    private void grow() {
+        final int capacity = Math.max(DEFAULT_CAPACITY, temperatures.length * 2);
+        conditionCodes = Arrays.copyOf(conditionCodes, capacity);
+        temperatures = Arrays.copyOf(temperatures, capacity);
+        feelsLikeTemperatures = Arrays.copyOf(feelsLikeTemperatures, capacity);
+        windSpeeds = Arrays.copyOf(windSpeeds, capacity);
+        uvIndexes = Arrays.copyOf(uvIndexes, capacity);
+        cloudCovers = Arrays.copyOf(cloudCovers, capacity);
+        precipitations = Arrays.copyOf(precipitations, capacity);
+        humidities = Arrays.copyOf(humidities, capacity);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public byte getConditionCode(int index) {
+        return conditionCodes[checkIndex(index)];
+    }
+
+    @Override
+    public int getTemperature(int index) {
+        return temperatures[checkIndex(index)];
+    }
+
+    @Override
+    public int getFeelsLikeTemperature(int index) {
+        return feelsLikeTemperatures[checkIndex(index)];
+    }
+
+    @Override
+    public int getWindSpeed(int index) {
+        return windSpeeds[checkIndex(index)];
+    }
+
+    @Override
+    public int getUvIndex(int index) {
+        return uvIndexes[checkIndex(index)];
+    }
+
+    @Override
+    public int getCloudCover(int index) {
+        return cloudCovers[checkIndex(index)];
+    }
+
+    @Override
+    public int getPrecipitation(int index) {
+        return precipitations[checkIndex(index)];
+    }
+
+    @Override
+    public int getHumidity(int index) {
+        return humidities[checkIndex(index)];
+    }
+
+    private int checkIndex(int index) {
+        // the arrays can be longer than size, so bounds are checked against size rather than left to the array
+        return Objects.checkIndex(index, size);
+    }
+}
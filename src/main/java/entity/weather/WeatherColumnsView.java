@@ -0,0 +1,70 @@
+package entity.weather;
+
+/**
+ * Read-only columns of a sequence of hour or day forecasts, one value per forecast in each column. Entities read
+ * their forecasts through this view, whether the columns are held in arrays or read out of an encoded snapshot.
+ */
+public interface WeatherColumnsView {
+
+    /**
+     * Returns the number of forecasts in each column.
+     * @return the forecast count
+     */
+    int size();
+
+    /**
+     * Returns the code of the main weather condition of a forecast.
+     * @param index the index of the forecast
+     * @return the condition code
+     */
+    byte getConditionCode(int index);
+
+    /**
+     * Returns the temperature of a forecast.
+     * @param index the index of the forecast
+     * @return the temperature in degrees Celsius
+     */
+    int getTemperature(int index);
+
+    /**
+     * Returns the feels like temperature of a forecast.
+     * @param index the index of the forecast
+     * @return the feels like temperature in degrees Celsius
+     */
+    int getFeelsLikeTemperature(int index);
+
+    /**
+     * Returns the wind speed of a forecast.
+     * @param index the index of the forecast
+     * @return the wind speed
+     */
+    int getWindSpeed(int index);
+
+    /**
+     * Returns the UV index of a forecast.
+     * @param index the index of the forecast
+     * @return the UV index
+     */
+    int getUvIndex(int index);
+
+    /**
+     * Returns the cloud cover of a forecast.
+     * @param index the index of the forecast
+     * @return the cloud cover as a percentage
+     */
+    int getCloudCover(int index);
+
+    /**
+     * Returns the probability of precipitation of a forecast.
+     * @param index the index of the forecast
+     * @return the probability of precipitation as a percentage
+     */
+    int getPrecipitation(int index);
+
+    /**
+     * Returns the humidity of a forecast.
+     * @param index the index of the forecast
+     * @return the humidity as a percentage
+     */
+    int getHumidity(int index);
+}
@@ -0,0 +1,130 @@
+package entity.weather.daily_weather;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+
+import entity.weather.ConditionCodes;
+import entity.weather.WeatherColumnsView;
+import entity.weather.day_weather.DayWeatherData;
+
+/**
+ * Entity for the daily weather forecasts backed by primitive columns. The city and timezone are stored once, and
+ * getDayWeatherDataList returns lightweight views that read their values out of the columns.
+ */
+public class ColumnarDailyWeatherData implements DailyWeatherData {
+
+    private final WeatherColumnsView dayColumns;
+    private final String timezone;
+    private final String city;
+    private final List<DayWeatherData> dayWeatherDataList = new DayViews();
+
+    public ColumnarDailyWeatherData(WeatherColumnsView dayColumns, String timezone, String city) {
+        this.dayColumns = dayColumns;
+        this.timezone = timezone;
+        this.city = city;
+    }
+
+    @Override
+    public List<DayWeatherData> getDayWeatherDataList() {
+        return dayWeatherDataList;
+    }
+
+    @Override
+    public String getCity() {
+        return city;
+    }
+
+    @Override
+    public String getTimezone() {
+        return timezone;
+    }
+
+    /**
+     * Read only list of views over the day columns.
+     */
+    private final class DayViews extends AbstractList<DayWeatherData> {
+
+        @Override
+        public DayWeatherData get(int index) {
+            return new DayView(Objects.checkIndex(index, dayColumns.size()));
+        }
+
+        @Override
+        public int size() {
+            return dayColumns.size();
+        }
+    }
+
+    /**
+     * A DayWeatherData that reads one day out of the columns.
+     */
+    private final class DayView implements DayWeatherData {
+
+        private final int day;
+
+        private DayView(int day) {
+            this.day = day;
+        }
+
+        @Override
+        public String getCity() {
+            return city;
+        }
+
+        @Override
+        public String getCondition() {
+            return ConditionCodes.getMain(dayColumns.getConditionCode(day));
+        }
+
+        @Override
+        public byte getConditionCode() {
+            return dayColumns.getConditionCode(day);
+        }
+
+        @Override
+        public String getConditionDescription() {
+            return ConditionCodes.getDescription(dayColumns.getConditionCode(day));
+        }
+
+        @Override
+        public int getTemperature() {
+            return dayColumns.getTemperature(day);
+        }
+
+        @Override
+        public int getFeelsLikeTemperature() {
+            return dayColumns.getFeelsLikeTemperature(day);
+        }
+
+        @Override
+        public int getWindSpeed() {
+            return dayColumns.getWindSpeed(day);
+        }
+
+        @Override
+        public int getUvIndex() {
+            return dayColumns.getUvIndex(day);
+        }
+
+        @Override
+        public int getCloudCover() {
+            return dayColumns.getCloudCover(day);
+        }
+
+        @Override
+        public int getPrecipitation() {
+            return dayColumns.getPrecipitation(day);
+        }
+
+        @Override
+        public int getHumidity() {
+            return dayColumns.getHumidity(day);
+        }
+
+        @Override
+        public String getTimezone() {
+            return timezone;
+        }
+    }
+}
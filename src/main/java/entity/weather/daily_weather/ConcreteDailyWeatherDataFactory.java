@@ -2,6 +2,7 @@ package entity.weather.daily_weather;
 
 import java.util.List;
 
+import entity.weather.WeatherColumnsView;
 import entity.weather.day_weather.DayWeatherData;
 
 /**
@@ -14,4 +15,9 @@ public class ConcreteDailyWeatherDataFactory implements DailyWeatherDataFactory
         return new ConcreteDailyWeatherData(dayWeatherDataList, timezone, city);
     }
 
+    @Override
+    public DailyWeatherData create(WeatherColumnsView dayColumns, String timezone, String city) {
+        return new ColumnarDailyWeatherData(dayColumns, timezone, city);
+    }
+
 }
@@ -27,4 +27,21 @@ public interface DailyWeatherData {
      */
     String getTimezone();
 
+    /**
+     * Checks whether the forecast is a last-known one read back from disk because the weather service could not be
+     * reached.
+     * @return true if the forecast was restored rather than freshly fetched.
+     */
+    default boolean isRestored() {
+        return false;
+    }
+
+    /**
+     * Retrieves when the forecast was fetched from the weather service.
+     * @return the epoch milliseconds the forecast was fetched at, or 0 if unknown.
+     */
+    default long getFetchedAt() {
+        return 0;
+    }
+
 }
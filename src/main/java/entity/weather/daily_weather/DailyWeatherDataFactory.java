@@ -2,6 +2,7 @@ package entity.weather.daily_weather;
 
 import java.util.List;
 
+import entity.weather.WeatherColumnsView;
 import entity.weather.day_weather.DayWeatherData;
 
 /**
@@ -18,4 +19,13 @@ public interface DailyWeatherDataFactory {
      */
     DailyWeatherData create(List<DayWeatherData> dayWeatherDataList, String timezone, String city);
 
+    /**
+     * Creates a DailyWeatherData object backed by columns of day forecast values.
+     * @param dayColumns the values of every day in the forecast
+     * @param timezone the timezone string for the daily weather data
+     * @param city the name of the city for which the weather data is applicable
+     * @return a DailyWeatherData object constructed with the provided daily forecasts, timezone, and city information
+     */
+    DailyWeatherData create(WeatherColumnsView dayColumns, String timezone, String city);
+
 }
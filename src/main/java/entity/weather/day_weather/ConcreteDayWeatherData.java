@@ -2,6 +2,8 @@ package entity.weather.day_weather;
 
 import org.json.JSONObject;
 
+import entity.weather.ConditionCodes;
+
 /**
  * Entity for the day weather forecast (i.e. summarized weather forecast for a single day).
  */
@@ -9,8 +11,8 @@ public class ConcreteDayWeatherData implements DayWeatherData {
 
     private final String city;
     private final String timezone;
-    // the weather condition (i.e. sunny, rainy, etc)
-    private final String condition;
+    // the weather condition as defined by ConditionCodes (i.e. light rain, overcast clouds, etc)
+    private final byte conditionCode;
     private final int temperature;
     private final int feelsLikeTemperature;
     private final int windSpeed;
@@ -20,16 +22,42 @@ public class ConcreteDayWeatherData implements DayWeatherData {
     private final int humidity;
 
     public ConcreteDayWeatherData(JSONObject weatherData) {
-        this.city = weatherData.getString("city");
-        this.timezone = weatherData.getString("timezone");
-        this.condition = weatherData.getString("condition");
-        this.temperature = weatherData.getInt("temperature");
-        this.feelsLikeTemperature = weatherData.getInt("feelsLikeTemperature");
-        this.windSpeed = weatherData.getInt("windSpeed");
-        this.uvIndex = weatherData.getInt("uvIndex");
-        this.cloudCover = weatherData.getInt("cloudCover");
-        this.precipitation = weatherData.getInt("precipitation");
-        this.humidity = weatherData.getInt("humidity");
+        this(weatherData.getString("city"), weatherData.getString("timezone"), conditionCode(weatherData),
+                weatherData.getInt("temperature"), weatherData.getInt("feelsLikeTemperature"),
+                weatherData.getInt("windSpeed"), weatherData.getInt("uvIndex"), weatherData.getInt("cloudCover"),
+                weatherData.getInt("precipitation"), weatherData.getInt("humidity"));
+    }
+
+    public ConcreteDayWeatherData(String city, String timezone, byte conditionCode, int temperature,
+                                  int feelsLikeTemperature, int windSpeed, int uvIndex, int cloudCover,
+                                  int precipitation, int humidity) {
+        this.city = city;
+        this.timezone = timezone;
+        this.conditionCode = conditionCode;
+        this.temperature = temperature;
+        this.feelsLikeTemperature = feelsLikeTemperature;
+        this.windSpeed = windSpeed;
+        this.uvIndex = uvIndex;
+        this.cloudCover = cloudCover;
+        this.precipitation = precipitation;
+        this.humidity = humidity;
+    }
+
+    /**
+     * Reads the condition code of the weather data, from its OpenWeather condition id if it has one and from its main
+     * condition otherwise.
+     * @param weatherData the weather data
+     * @return the condition code as defined by ConditionCodes
+     */
+    private static byte conditionCode(JSONObject weatherData) {
+        final byte conditionCode;
+        if (weatherData.has("conditionId")) {
+            conditionCode = ConditionCodes.fromId(weatherData.getInt("conditionId"));
+        }
+        else {
+            conditionCode = ConditionCodes.fromMain(weatherData.getString("condition"));
+        }
+        return conditionCode;
     }
 
     @Override
@@ -39,7 +67,17 @@ public class ConcreteDayWeatherData implements DayWeatherData {
 
     @Override
     public String getCondition() {
-        return condition;
+        return ConditionCodes.getMain(conditionCode);
+    }
+
+    @Override
+    public byte getConditionCode() {
+        return conditionCode;
+    }
+
+    @Override
+    public String getConditionDescription() {
+        return ConditionCodes.getDescription(conditionCode);
     }
 
     @Override
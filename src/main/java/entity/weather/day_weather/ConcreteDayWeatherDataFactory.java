@@ -11,4 +11,12 @@ public class ConcreteDayWeatherDataFactory implements DayWeatherDataFactory {
     public DayWeatherData create(JSONObject weatherData) {
         return new ConcreteDayWeatherData(weatherData);
     }
+
+    @Override
+    public DayWeatherData create(String city, String timezone, byte conditionCode, int temperature,
+                                  int feelsLikeTemperature, int windSpeed, int uvIndex, int cloudCover,
+                                  int precipitation, int humidity) {
+        return new ConcreteDayWeatherData(city, timezone, conditionCode, temperature, feelsLikeTemperature, windSpeed,
+                uvIndex, cloudCover, precipitation, humidity);
+    }
 }
@@ -1,5 +1,7 @@
 package entity.weather.day_weather;
 
+import entity.weather.ConditionCodes;
+
 /**
  * Entity interface for DayWeatherData objects.
  */
@@ -17,6 +19,23 @@ public interface DayWeatherData {
      */
     String getCondition();
 
+    /**
+     * Retrieves the code of the weather condition for the day.
+     * @return the condition code as defined by ConditionCodes
+     */
+    default byte getConditionCode() {
+        return ConditionCodes.fromMain(getCondition());
+    }
+
+    /**
+     * Retrieves the description of the weather condition for the day.
+     * @return the condition description as a String, such as "light rain" or "overcast clouds", or the main
+     *     weather condition if the day has no finer grained condition
+     */
+    default String getConditionDescription() {
+        return getCondition();
+    }
+
     /**
      * Retrieves the temperature for the day.
      * @return the temperature as an integer in degrees Celsius
@@ -16,4 +16,20 @@ public interface DayWeatherDataFactory {
      */
     DayWeatherData create(JSONObject weatherData);
 
+    /**
+     * Creates a DayWeatherData object directly from its values, without packaging them into a JSON object first.
+     * @param city the name of the city the forecast is for
+     * @param timezone the timezone of the city
+     * @param conditionCode the weather condition as defined by ConditionCodes
+     * @param temperature the temperature in degrees Celsius
+     * @param feelsLikeTemperature the feels like temperature in degrees Celsius
+     * @param windSpeed the wind speed in metres per second
+     * @param uvIndex the UV index
+     * @param cloudCover the cloud cover as a percentage
+     * @param precipitation the probability of precipitation as a percentage
+     * @param humidity the humidity as a percentage
+     * @return a DayWeatherData object populated with the provided values
+     */
+    DayWeatherData create(String city, String timezone, byte conditionCode, int temperature, int feelsLikeTemperature,
+                          int windSpeed, int uvIndex, int cloudCover, int precipitation, int humidity);
 }
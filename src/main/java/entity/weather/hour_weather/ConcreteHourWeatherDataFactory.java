@@ -11,4 +11,12 @@ public class ConcreteHourWeatherDataFactory implements HourWeatherDataFactory {
     public HourWeatherData create(JSONObject weatherData) {
         return new ConcreteHourWeatherData(weatherData);
     }
+
+    @Override
+    public HourWeatherData create(String city, String timezone, byte conditionCode, int temperature,
+                                   int feelsLikeTemperature, int windSpeed, int uvIndex, int cloudCover,
+                                   int precipitation, int humidity) {
+        return new ConcreteHourWeatherData(city, timezone, conditionCode, temperature, feelsLikeTemperature, windSpeed,
+                uvIndex, cloudCover, precipitation, humidity);
+    }
 }
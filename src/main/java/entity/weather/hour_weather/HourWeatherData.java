@@ -1,5 +1,7 @@
 package entity.weather.hour_weather;
 
+import entity.weather.ConditionCodes;
+
 /**
  * Entity interface for hour weather data.
  */
@@ -53,6 +55,23 @@ public interface HourWeatherData {
      */
     String getCondition();
 
+    /**
+     * Retrieves the code of the weather condition for the specific hour of weather data.
+     * @return the condition code as defined by ConditionCodes.
+     */
+    default byte getConditionCode() {
+        return ConditionCodes.fromMain(getCondition());
+    }
+
+    /**
+     * Retrieves the description of the weather condition for the specific hour of weather data.
+     * @return the condition description as a String, such as "light rain" or "overcast clouds", or the main
+     *     weather condition if the hour of weather data has no finer grained condition.
+     */
+    default String getConditionDescription() {
+        return getCondition();
+    }
+
     /**
      * Retrieves the city name for the specific hour of weather data.
      * @return the city name as a String.
@@ -0,0 +1,180 @@
+package entity.weather.hourly_weather;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+
+import entity.weather.ConditionCodes;
+import entity.weather.ConditionGroup;
+import entity.weather.ConditionIndex;
+import entity.weather.WeatherColumnsView;
+import entity.weather.hour_weather.HourWeatherData;
+
+/**
+ * Entity for the hourly weather forecasts backed by primitive columns. The city and timezone are stored once, and
+ * getHourWeatherDataList returns lightweight views that read their values out of the columns. The condition index is
+ * built once with the forecast, so window queries on a cached forecast never walk the hours.
+ */
+public class ColumnarHourlyWeatherData implements HourlyWeatherData {
+
+    private final WeatherColumnsView hourColumns;
+    private final String timezone;
+    private final String city;
+    private final int lowTemperature;
+    private final int highTemperature;
+    private final List<HourWeatherData> hourWeatherDataList = new HourViews();
+    private final ConditionIndex conditionIndex;
+
+    public ColumnarHourlyWeatherData(WeatherColumnsView hourColumns, String timezone, String city, int lowTemperature,
+                                     int highTemperature) {
+        this.hourColumns = hourColumns;
+        this.timezone = timezone;
+        this.city = city;
+        this.lowTemperature = lowTemperature;
+        this.highTemperature = highTemperature;
+        this.conditionIndex = new ConditionIndex(hourColumns);
+    }
+
+    @Override
+    public List<HourWeatherData> getHourWeatherDataList() {
+        return hourWeatherDataList;
+    }
+
+    @Override
+    public int getHourCount() {
+        return hourColumns.size();
+    }
+
+    @Override
+    public byte getConditionCode(int hour) {
+        return hourColumns.getConditionCode(hour);
+    }
+
+    @Override
+    public String getCondition(int hour) {
+        return ConditionCodes.getMain(hourColumns.getConditionCode(hour));
+    }
+
+    @Override
+    public String getConditionDescription(int hour) {
+        return ConditionCodes.getDescription(hourColumns.getConditionCode(hour));
+    }
+
+    @Override
+    public boolean hasCondition(ConditionGroup group, int fromHour, int windowHours) {
+        return conditionIndex.occurs(group, fromHour, windowHours);
+    }
+
+    @Override
+    public int getTemperature(int hour) {
+        return hourColumns.getTemperature(hour);
+    }
+
+    @Override
+    public int getLowTemperature() {
+        return lowTemperature;
+    }
+
+    @Override
+    public int getHighTemperature() {
+        return highTemperature;
+    }
+
+    @Override
+    public String getCity() {
+        return city;
+    }
+
+    @Override
+    public String getTimezone() {
+        return timezone;
+    }
+
+    /**
+     * Read only list of views over the hour columns.
+     */
+    private final class HourViews extends AbstractList<HourWeatherData> {
+
+        @Override
+        public HourWeatherData get(int index) {
+            return new HourView(Objects.checkIndex(index, hourColumns.size()));
+        }
+
+        @Override
+        public int size() {
+            return hourColumns.size();
+        }
+    }
+
+    /**
+     * An HourWeatherData that reads one hour out of the columns.
+     */
+    private final class HourView implements HourWeatherData {
+
+        private final int hour;
+
+        private HourView(int hour) {
+            this.hour = hour;
+        }
+
+        @Override
+        public int getTemperature() {
+            return hourColumns.getTemperature(hour);
+        }
+
+        @Override
+        public int getFeelsLikeTemperature() {
+            return hourColumns.getFeelsLikeTemperature(hour);
+        }
+
+        @Override
+        public int getWindSpeed() {
+            return hourColumns.getWindSpeed(hour);
+        }
+
+        @Override
+        public int getUvIndex() {
+            return hourColumns.getUvIndex(hour);
+        }
+
+        @Override
+        public int getCloudCover() {
+            return hourColumns.getCloudCover(hour);
+        }
+
+        @Override
+        public int getHumidity() {
+            return hourColumns.getHumidity(hour);
+        }
+
+        @Override
+        public int getPrecipitation() {
+            return hourColumns.getPrecipitation(hour);
+        }
+
+        @Override
+        public String getCondition() {
+            return ConditionCodes.getMain(hourColumns.getConditionCode(hour));
+        }
+
+        @Override
+        public byte getConditionCode() {
+            return hourColumns.getConditionCode(hour);
+        }
+
+        @Override
+        public String getConditionDescription() {
+            return ConditionCodes.getDescription(hourColumns.getConditionCode(hour));
+        }
+
+        @Override
+        public String getCity() {
+            return city;
+        }
+
+        @Override
+        public String getTimezone() {
+            return timezone;
+        }
+    }
+}
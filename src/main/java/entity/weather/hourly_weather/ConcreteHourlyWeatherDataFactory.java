@@ -2,6 +2,7 @@ package entity.weather.hourly_weather;
 
 import java.util.List;
 
+import entity.weather.WeatherColumnsView;
 import entity.weather.hour_weather.HourWeatherData;
 
 /**
@@ -24,4 +25,10 @@ public class ConcreteHourlyWeatherDataFactory implements HourlyWeatherDataFactor
                                     int lowTemperature, int highTemperature) {
         return new ConcreteHourlyWeatherData(hourWeatherDataList, timezone, city, lowTemperature, highTemperature);
     }
+
+    @Override
+    public HourlyWeatherData create(WeatherColumnsView hourColumns, String timezone, String city, int lowTemperature,
+                                    int highTemperature) {
+        return new ColumnarHourlyWeatherData(hourColumns, timezone, city, lowTemperature, highTemperature);
+    }
 }
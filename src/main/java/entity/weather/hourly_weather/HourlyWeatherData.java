@@ -2,6 +2,8 @@ package entity.weather.hourly_weather;
 
 import java.util.List;
 
+import entity.weather.ConditionCodes;
+import entity.weather.ConditionGroup;
 import entity.weather.hour_weather.HourWeatherData;
 
 /**
@@ -15,6 +17,71 @@ public interface HourlyWeatherData {
      */
     List<HourWeatherData> getHourWeatherDataList();
 
+    /**
+     * Retrieves the number of hours in the forecast.
+     * @return the number of hours, or 0 if there is no hourly forecast.
+     */
+    default int getHourCount() {
+        final List<HourWeatherData> hourWeatherDataList = getHourWeatherDataList();
+        int hourCount = 0;
+        if (hourWeatherDataList != null) {
+            hourCount = hourWeatherDataList.size();
+        }
+        return hourCount;
+    }
+
+    /**
+     * Retrieves the code of the weather condition for an hour, without creating an HourWeatherData for it.
+     * @param hour the index of the hour in the forecast.
+     * @return the condition code as defined by ConditionCodes.
+     */
+    default byte getConditionCode(int hour) {
+        return getHourWeatherDataList().get(hour).getConditionCode();
+    }
+
+    /**
+     * Retrieves the main weather condition for an hour, without creating an HourWeatherData for it.
+     * @param hour the index of the hour in the forecast.
+     * @return the main weather condition ("Rain", "Clouds", "Snow").
+     */
+    default String getCondition(int hour) {
+        return ConditionCodes.getMain(getConditionCode(hour));
+    }
+
+    /**
+     * Retrieves the description of the weather condition for an hour, without creating an HourWeatherData for it.
+     * @param hour the index of the hour in the forecast.
+     * @return the condition description ("light rain", "overcast clouds").
+     */
+    default String getConditionDescription(int hour) {
+        return getHourWeatherDataList().get(hour).getConditionDescription();
+    }
+
+    /**
+     * Checks whether a condition occurs in a window of hours. Hours past the end of the forecast never match.
+     * @param group the condition group to look for.
+     * @param fromHour the index of the first hour of the window.
+     * @param windowHours the number of hours in the window.
+     * @return true if any hour in the window is in the condition group.
+     */
+    default boolean hasCondition(ConditionGroup group, int fromHour, int windowHours) {
+        final int end = (int) Math.min((long) fromHour + windowHours, getHourCount());
+        boolean hasCondition = false;
+        for (int i = Math.max(fromHour, 0); i < end && !hasCondition; i++) {
+            hasCondition = ConditionCodes.getGroup(getConditionCode(i)) == group;
+        }
+        return hasCondition;
+    }
+
+    /**
+     * Retrieves the temperature for an hour, without creating an HourWeatherData for it.
+     * @param hour the index of the hour in the forecast.
+     * @return the temperature in degrees Celsius.
+     */
+    default int getTemperature(int hour) {
+        return getHourWeatherDataList().get(hour).getTemperature();
+    }
+
     /**
      * Retrieves the lowest temperature recorded or forecasted in the specified period.
      * @return the lowest temperature in degrees.
@@ -39,4 +106,21 @@ public interface HourlyWeatherData {
      */
     String getTimezone();
 
+    /**
+     * Checks whether the forecast is a last-known one read back from disk because the weather service could not be
+     * reached.
+     * @return true if the forecast was restored rather than freshly fetched.
+     */
+    default boolean isRestored() {
+        return false;
+    }
+
+    /**
+     * Retrieves when the forecast was fetched from the weather service.
+     * @return the epoch milliseconds the forecast was fetched at, or 0 if unknown.
+     */
+    default long getFetchedAt() {
+        return 0;
+    }
+
 }
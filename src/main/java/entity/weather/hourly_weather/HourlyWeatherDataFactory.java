@@ -2,6 +2,7 @@ package entity.weather.hourly_weather;
 
 import java.util.List;
 
+import entity.weather.WeatherColumnsView;
 import entity.weather.hour_weather.HourWeatherData;
 
 /**
@@ -24,4 +25,17 @@ public interface HourlyWeatherDataFactory {
     HourlyWeatherData create(List<HourWeatherData> hourWeatherDataList, String timezone, String city,
                              int lowTemperature, int highTemperature);
 
+    /**
+     * Creates an instance of HourlyWeatherData backed by columns of hour forecast values.
+     *
+     * @param hourColumns the values of every hour in the forecast.
+     * @param timezone the timezone of the location for which the weather data is relevant.
+     * @param city the name of the city to which the weather data belongs.
+     * @param lowTemperature the lowest temperature recorded or forecasted in the specified period.
+     * @param highTemperature the highest temperature recorded or forecasted in the specified period.
+     * @return a new instance of HourlyWeatherData populated with the provided data.
+     */
+    HourlyWeatherData create(WeatherColumnsView hourColumns, String timezone, String city, int lowTemperature,
+                             int highTemperature);
+
 }
@@ -0,0 +1,14 @@
+package exception;
+
+import java.io.IOException;
+
+/**
+ * Exception for when a request is refused without being sent because the circuit breaker for its API is open.
+ */
+public class CircuitOpenException extends IOException {
+
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,11 @@
+package exception;
+
+/**
+ * Exception for when a city name resolves to no location, as opposed to the lookup itself failing.
+ */
+public class CityNotFoundException extends ApiCallException {
+
+    public CityNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package exception;
+
+import java.io.IOException;
+
+/**
+ * Exception for when a request is refused without being sent because the client-side quota for its API has run out.
+ */
+public class QuotaExceededException extends IOException {
+
+    public QuotaExceededException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,41 @@
+package interface_adapter;
+
+import java.time.Duration;
+
+/**
+ * Formats the note shown with a last-known forecast, restored while the weather service could not be reached, such
+ * as "Offline, 2h Old". A live forecast has no note.
+ */
+public final class OfflineLabel {
+
+    private static final int HOURS_SHOWN_AS_HOURS = 48;
+
+    private OfflineLabel() {
+    }
+
+    /**
+     * Describes how old a forecast is if it was restored rather than freshly fetched.
+     * @param restored whether the forecast was restored
+     * @param fetchedAt the epoch milliseconds when the forecast was fetched, or 0 if unknown
+     * @param now the current epoch milliseconds
+     * @return the note to show, or an empty string for a live forecast
+     */
+    public static String describe(boolean restored, long fetchedAt, long now) {
+        String label = "";
+        if (restored && fetchedAt <= 0) {
+            label = "Offline";
+        }
+        else if (restored) {
+            final Duration age = Duration.ofMillis(Math.max(0, now - fetchedAt));
+            String ageText = age.toDays() + "d";
+            if (age.toHours() < 1) {
+                ageText = age.toMinutes() + "m";
+            }
+            else if (age.toHours() < HOURS_SHOWN_AS_HOURS) {
+                ageText = age.toHours() + "h";
+            }
+            label = "Offline, " + ageText + " Old";
+        }
+        return label;
+    }
+}
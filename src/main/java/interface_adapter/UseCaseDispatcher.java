@@ -0,0 +1,174 @@
+package interface_adapter;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Runs use cases off the Swing Event Dispatch Thread and delivers their output back on it. Requests are grouped by
+ * use case: submitting a new request cancels the one still pending for the same use case, and any output a
+ * superseded request still produces is dropped instead of overwriting the newer one.
+ * A superseded request that is already running is not interrupted. Its HTTP call is left to finish so the response
+ * still lands in the forecast cache, and so callers sharing that call through SingleFlight do not see it fail.
+ * An exception thrown by an interactor is rethrown on the UI executor, where it reaches the Event Dispatch Thread's
+ * uncaught exception handler as it did when interactors ran on it.
+ */
+public class UseCaseDispatcher {
+
+    private final Executor executor;
+    private final Executor uiExecutor;
+    private final Map<String, Request> pendingRequests = new ConcurrentHashMap<>();
+    // the request the current worker thread is running, so output can be traced back to it
+    private final ThreadLocal<Request> runningRequest = new ThreadLocal<>();
+
+    /**
+     * Creates a dispatcher.
+     * @param executor the executor the interactors run on
+     * @param uiExecutor the executor presenters are called on (SwingUtilities::invokeLater for the Swing views)
+     */
+    public UseCaseDispatcher(Executor executor, Executor uiExecutor) {
+        this.executor = executor;
+        this.uiExecutor = uiExecutor;
+    }
+
+    /**
+     * Runs a use case on the executor, superseding the previous request for the same use case.
+     * @param useCase the name of the use case, requests with the same name supersede each other
+     * @param interactorCall the call into the interactor
+     */
+    public void submit(String useCase, Runnable interactorCall) {
+        final Request request = new Request(useCase, interactorCall);
+        final Request superseded = pendingRequests.put(useCase, request);
+        if (superseded != null) {
+            superseded.supersede();
+        }
+        executor.execute(request.task);
+    }
+
+    /**
+     * Wraps a presenter so that output produced by a submitted use case is delivered on the UI executor, and dropped
+     * if the request has been superseded. Calls made outside a submitted use case (such as switching views straight
+     * from the view) go to the presenter directly.
+     * @param <T> the type of the output boundary
+     * @param outputBoundary the output boundary interface the presenter implements
+     * @param presenter the presenter
+     * @return an output boundary that forwards to the presenter
+     */
+    public <T> T onUiThread(Class<T> outputBoundary, T presenter) {
+        final Object proxy = Proxy.newProxyInstance(outputBoundary.getClassLoader(), new Class<?>[] {outputBoundary},
+                (self, method, args) -> {
+                    Object result = null;
+                    if (method.getDeclaringClass() == Object.class) {
+                        result = invoke(presenter, method, args);
+                    }
+                    else {
+                        deliver(presenter, method, args);
+                    }
+                    return result;
+                });
+        return outputBoundary.cast(proxy);
+    }
+
+    private void deliver(Object presenter, Method method, Object[] args) {
+        final Request request = runningRequest.get();
+        if (request == null) {
+            invoke(presenter, method, args);
+        }
+        else {
+            uiExecutor.execute(() -> {
+                if (!request.isSuperseded()) {
+                    invoke(presenter, method, args);
+                }
+            });
+        }
+    }
+
+    private static Object invoke(Object presenter, Method method, Object[] args) {
+        try {
+            return method.invoke(presenter, args);
+        }
+        catch (InvocationTargetException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (exception.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(exception.getCause());
+        }
+        catch (IllegalAccessException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static void rethrow(Throwable failure) {
+        if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        throw new IllegalStateException(failure);
+    }
+
+    /**
+     * One submitted call into an interactor.
+     */
+    private final class Request {
+
+        private final String useCase;
+        private final FutureTask<Void> task;
+        private volatile boolean superseded;
+
+        private Request(String useCase, Runnable interactorCall) {
+            this.useCase = useCase;
+            this.task = new FutureTask<>(() -> run(interactorCall), null) {
+                @Override
+                protected void done() {
+                    if (!isCancelled()) {
+                        reportFailure(this);
+                    }
+                }
+            };
+        }
+
+        private void run(Runnable interactorCall) {
+            runningRequest.set(this);
+            try {
+                interactorCall.run();
+            }
+            finally {
+                runningRequest.remove();
+                pendingRequests.remove(useCase, this);
+            }
+        }
+
+        private void reportFailure(FutureTask<Void> completedTask) {
+            try {
+                completedTask.get();
+            }
+            catch (ExecutionException exception) {
+                final Throwable failure = exception.getCause();
+                uiExecutor.execute(() -> rethrow(failure));
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void supersede() {
+            superseded = true;
+            // a request that has not started yet never runs
+            task.cancel(false);
+        }
+
+        private boolean isSuperseded() {
+            return superseded;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package interface_adapter.display_checker;
 
+import interface_adapter.UseCaseDispatcher;
 import use_case.display_checker.DisplayCheckerInputBoundary;
 import use_case.display_checker.DisplayCheckerInputData;
 
@@ -8,10 +9,15 @@ import use_case.display_checker.DisplayCheckerInputData;
  */
 public class DisplayCheckerController {
 
+    private static final String USE_CASE = "display_checker";
+
     private final DisplayCheckerInputBoundary checkerInteractor;
+    private final UseCaseDispatcher useCaseDispatcher;
 
-    public DisplayCheckerController(DisplayCheckerInputBoundary checkerInteractor) {
+    public DisplayCheckerController(DisplayCheckerInputBoundary checkerInteractor,
+                                    UseCaseDispatcher useCaseDispatcher) {
         this.checkerInteractor = checkerInteractor;
+        this.useCaseDispatcher = useCaseDispatcher;
     }
 
     /**
@@ -26,7 +32,7 @@ public class DisplayCheckerController {
         final DisplayCheckerInputData displayCheckerInputData = new DisplayCheckerInputData(location,
                 weatherConditionOptions, startChecking, stopChecking);
 
-        checkerInteractor.execute(displayCheckerInputData);
+        useCaseDispatcher.submit(USE_CASE, () -> checkerInteractor.execute(displayCheckerInputData));
     }
 
     /**
@@ -1,5 +1,6 @@
 package interface_adapter.display_daily;
 
+import interface_adapter.UseCaseDispatcher;
 import use_case.display_daily.DisplayDailyInputBoundary;
 import use_case.display_daily.DisplayDailyInputData;
 
@@ -8,10 +9,15 @@ import use_case.display_daily.DisplayDailyInputData;
  */
 public class DisplayDailyController {
 
+    private static final String USE_CASE = "display_daily";
+
     private final DisplayDailyInputBoundary displayDailyInteractor;
+    private final UseCaseDispatcher useCaseDispatcher;
 
-    public DisplayDailyController(DisplayDailyInputBoundary displayDailyInteractor) {
+    public DisplayDailyController(DisplayDailyInputBoundary displayDailyInteractor,
+                                  UseCaseDispatcher useCaseDispatcher) {
         this.displayDailyInteractor = displayDailyInteractor;
+        this.useCaseDispatcher = useCaseDispatcher;
     }
 
     /**
@@ -21,14 +27,14 @@ public class DisplayDailyController {
     public void execute(String selectedWeekday) {
         final DisplayDailyInputData displayDailyInputData = new DisplayDailyInputData(selectedWeekday);
 
-        this.displayDailyInteractor.execute(displayDailyInputData);
+        this.useCaseDispatcher.submit(USE_CASE, () -> this.displayDailyInteractor.execute(displayDailyInputData));
     }
 
     /**
      * Executes the Display Daily Use Case without a selected weekday.
      */
     public void execute() {
-        this.displayDailyInteractor.execute();
+        this.useCaseDispatcher.submit(USE_CASE, this.displayDailyInteractor::execute);
     }
 
     /**
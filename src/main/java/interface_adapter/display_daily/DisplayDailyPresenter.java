@@ -5,6 +5,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import constants.Constants;
+import entity.weather.ConditionCodes;
+import interface_adapter.OfflineLabel;
 import interface_adapter.ViewManagerModel;
 import interface_adapter.display_home.DisplayHomeViewModel;
 import use_case.display_daily.DisplayDailyOutputBoundary;
@@ -33,13 +35,15 @@ public class DisplayDailyPresenter implements DisplayDailyOutputBoundary {
         displayDailyState.setCity(displayDailyOutputData.getCity());
         displayDailyState.setWeekdays(displayDailyOutputData.getWeekdays());
         displayDailyState.setTemperatures(displayDailyOutputData.getTemperatures());
-        displayDailyState.setConditions(displayDailyOutputData.getConditions());
+        displayDailyState.setConditionCodes(displayDailyOutputData.getConditionCodes());
         displayDailyState.setFeelsLikeTemperature(displayDailyOutputData.getFeelsLikeTemperature());
         displayDailyState.setUvIndex(displayDailyOutputData.getUvIndex());
         displayDailyState.setWindSpeed(displayDailyOutputData.getWindSpeed());
         displayDailyState.setCloudCover(displayDailyOutputData.getCloudCover());
         displayDailyState.setPrecipitation(displayDailyOutputData.getPrecipitation());
         displayDailyState.setHumidity(displayDailyOutputData.getHumidity());
+        displayDailyState.setOffline(OfflineLabel.describe(displayDailyOutputData.isRestored(),
+                displayDailyOutputData.getFetchedAt(), System.currentTimeMillis()));
 
         this.displayDailyViewModel.setState(displayDailyState);
         this.displayDailyViewModel.firePropertyChanged();
@@ -52,11 +56,11 @@ public class DisplayDailyPresenter implements DisplayDailyOutputBoundary {
         // prepare default view
         final List<String> weekdays = new ArrayList<>(Constants.WEEK_SIZE);
         final List<String> temperatures = new ArrayList<>(Constants.WEEK_SIZE);
-        final List<String> conditions = new ArrayList<>(Constants.WEEK_SIZE);
+        final List<Byte> conditionCodes = new ArrayList<>(Constants.WEEK_SIZE);
         for (int i = 0; i < Constants.WEEK_SIZE; i++) {
             weekdays.add(DayOfWeek.of(i + 1).toString());
             temperatures.add("---");
-            conditions.add("----");
+            conditionCodes.add(ConditionCodes.UNKNOWN);
         }
         final String feelsLikeTemperature = "---";
         final String uvIndex = "-";
@@ -66,13 +70,14 @@ public class DisplayDailyPresenter implements DisplayDailyOutputBoundary {
         final String humidity = "--";
         displayDailyState.setWeekdays(weekdays);
         displayDailyState.setTemperatures(temperatures);
-        displayDailyState.setConditions(conditions);
+        displayDailyState.setConditionCodes(conditionCodes);
         displayDailyState.setFeelsLikeTemperature(feelsLikeTemperature);
         displayDailyState.setUvIndex(uvIndex);
         displayDailyState.setWindSpeed(windSpeed);
         displayDailyState.setCloudCover(cloudCover);
         displayDailyState.setPrecipitation(precipitation);
         displayDailyState.setHumidity(humidity);
+        displayDailyState.setOffline("");
 
         this.displayDailyViewModel.setState(displayDailyState);
         this.displayDailyViewModel.firePropertyChanged();
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import constants.Constants;
+import entity.weather.ConditionCodes;
 
 /**
  * The state for the Display Daily View Model.
@@ -16,8 +17,8 @@ public class DisplayDailyState {
     private List<String> weekdays;
     // list of the temperatures in order of their corresponding weekdays
     private List<String> temperatures;
-    // list of conditions in order of their corresponding weekdays
-    private List<String> conditions;
+    // list of condition codes in order of their corresponding weekdays
+    private List<Byte> conditionCodes;
     // selected weather details for the particular weekday
     private String feelsLikeTemperature;
     private String uvIndex;
@@ -25,17 +26,19 @@ public class DisplayDailyState {
     private String cloudCover;
     private String precipitation;
     private String humidity;
+    // how old a last-known forecast is, such as "Offline, 2h Old", or empty for a live forecast
+    private String offline;
 
     public DisplayDailyState() {
         this.city = "";
 
         this.weekdays = new ArrayList<>(Constants.WEEK_SIZE);
         this.temperatures = new ArrayList<>(Constants.WEEK_SIZE);
-        this.conditions = new ArrayList<>(Constants.WEEK_SIZE);
+        this.conditionCodes = new ArrayList<>(Constants.WEEK_SIZE);
         for (int i = 0; i < Constants.WEEK_SIZE; i++) {
             this.weekdays.add(DayOfWeek.of(i + 1).toString());
             this.temperatures.add("---");
-            this.conditions.add("----");
+            this.conditionCodes.add(ConditionCodes.UNKNOWN);
         }
 
         this.feelsLikeTemperature = "---";
@@ -44,6 +47,7 @@ public class DisplayDailyState {
         this.cloudCover = "--";
         this.precipitation = "--";
         this.humidity = "--";
+        this.offline = "";
     }
 
     public String getCity() {
@@ -70,12 +74,12 @@ public class DisplayDailyState {
         this.temperatures = temperatures;
     }
 
-    public List<String> getConditions() {
-        return conditions;
+    public List<Byte> getConditionCodes() {
+        return conditionCodes;
     }
 
-    public void setConditions(List<String> conditions) {
-        this.conditions = conditions;
+    public void setConditionCodes(List<Byte> conditionCodes) {
+        this.conditionCodes = conditionCodes;
     }
 
     public String getFeelsLikeTemperature() {
@@ -126,4 +130,12 @@ public class DisplayDailyState {
         this.humidity = humidity;
     }
 
+    public String getOffline() {
+        return offline;
+    }
+
+    public void setOffline(String offline) {
+        this.offline = offline;
+    }
+
 }
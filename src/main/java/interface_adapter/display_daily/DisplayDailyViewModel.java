@@ -12,14 +12,6 @@ import interface_adapter.ViewModel;
  */
 public class DisplayDailyViewModel extends ViewModel<DisplayDailyState> {
 
-    public static final String CLEAR = "Clear";
-    public static final String CLOUDS = "Clouds";
-    public static final String RAIN = "Rain";
-    public static final String DRIZZLE = "Drizzle";
-    public static final String THUNDERSTORM = "Thunderstorm";
-    public static final String SNOW = "Snow";
-    public static final String MIST = "Mist";
-
     public static final ImageIcon CLOUDS_IMAGE;
     public static final ImageIcon RAIN_IMAGE;
     public static final ImageIcon SNOW_IMAGE;
@@ -27,11 +27,15 @@ public class DisplayHistoryPresenter implements DisplayHistoryOutputBoundary {
     }
 
     /**
-     * Prepare view to display history.
+     * Prepare view to display history. The view is only updated if the cities have changed since they were last
+     * presented.
      */
     @Override
     public void prepareSuccessView(DisplayHistoryOutputData cities) {
         final DisplayHistoryState displayHistoryState = displayHistoryViewModel.getState();
+        if (cities.getCities().equals(displayHistoryState.getCities())) {
+            return;
+        }
         displayHistoryState.setCities(cities.getCities());
 
         displayHistoryViewModel.setState(displayHistoryState);
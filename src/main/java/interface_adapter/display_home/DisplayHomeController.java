@@ -1,5 +1,6 @@
 package interface_adapter.display_home;
 
+import interface_adapter.UseCaseDispatcher;
 import use_case.display_home.DisplayHomeInputBoundary;
 import use_case.display_home.DisplayHomeInputData;
 
@@ -8,10 +9,14 @@ import use_case.display_home.DisplayHomeInputData;
  */
 public class DisplayHomeController {
 
+    private static final String USE_CASE = "display_home";
+
     private final DisplayHomeInputBoundary displayHomeInteractor;
+    private final UseCaseDispatcher useCaseDispatcher;
 
-    public DisplayHomeController(DisplayHomeInputBoundary displayHomeInteractor) {
+    public DisplayHomeController(DisplayHomeInputBoundary displayHomeInteractor, UseCaseDispatcher useCaseDispatcher) {
         this.displayHomeInteractor = displayHomeInteractor;
+        this.useCaseDispatcher = useCaseDispatcher;
     }
 
     /**
@@ -22,14 +27,23 @@ public class DisplayHomeController {
         // Create the input data for the use case
         final DisplayHomeInputData displayHomeInputData = new DisplayHomeInputData(cityName);
 
-        displayHomeInteractor.execute(displayHomeInputData);
+        useCaseDispatcher.submit(USE_CASE, () -> displayHomeInteractor.execute(displayHomeInputData));
     }
 
     /**
      * Executes the Display Home Use Case.
      */
     public void execute() {
-        displayHomeInteractor.execute();
+        useCaseDispatcher.submit(USE_CASE, displayHomeInteractor::execute);
+    }
+
+    /**
+     * Suggests cities for the name typed so far. Suggestions are served from memory, so they are prepared straight
+     * away on the calling thread.
+     * @param prefix the start of the city name
+     */
+    public void suggest(String prefix) {
+        displayHomeInteractor.suggest(new DisplayHomeInputData(prefix));
     }
 
     /**
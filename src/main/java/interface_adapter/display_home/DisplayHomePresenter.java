@@ -1,5 +1,9 @@
 package interface_adapter.display_home;
 
+import java.util.List;
+
+import entity.weather.ConditionCodes;
+import interface_adapter.OfflineLabel;
 import interface_adapter.ViewManagerModel;
 import interface_adapter.display_checker.DisplayCheckerViewModel;
 import interface_adapter.display_daily.DisplayDailyViewModel;
@@ -15,6 +19,7 @@ import use_case.display_home.DisplayHomeOutputData;
 public class DisplayHomePresenter implements DisplayHomeOutputBoundary {
 
     private static final String UPDATE_DATA = "update_data";
+    private static final String SUGGESTIONS = "suggestions";
 
     private final ViewManagerModel viewManagerModel;
     private final DisplayHomeViewModel displayHomeViewModel;
@@ -45,11 +50,13 @@ public class DisplayHomePresenter implements DisplayHomeOutputBoundary {
         final DisplayHomeState state = displayHomeViewModel.getState();
 
         state.setCity(displayHomeOutputData.getCity());
-        state.setCondition(displayHomeOutputData.getCondition());
+        state.setConditionCode(displayHomeOutputData.getConditionCode());
         state.setTemperature(displayHomeOutputData.getTemperature());
         state.setHighTemperature(displayHomeOutputData.getHighTemperature());
         state.setLowTemperature(displayHomeOutputData.getLowTemperature());
         state.setDate(displayHomeOutputData.getDate());
+        state.setOffline(OfflineLabel.describe(displayHomeOutputData.isRestored(),
+                displayHomeOutputData.getFetchedAt(), System.currentTimeMillis()));
 
         this.displayHomeViewModel.setState(state);
         this.displayHomeViewModel.firePropertyChanged();
@@ -61,16 +68,26 @@ public class DisplayHomePresenter implements DisplayHomeOutputBoundary {
         final DisplayHomeState state = this.displayHomeViewModel.getState();
 
         state.setCity(error);
-        state.setCondition("-");
+        state.setConditionCode(ConditionCodes.UNKNOWN);
         state.setTemperature("-°C");
         state.setLowTemperature("-°C");
         state.setHighTemperature("-°C");
         state.setDate("-, - -");
+        state.setOffline("");
 
         this.displayHomeViewModel.setState(state);
         displayHomeViewModel.firePropertyChanged();
     }
 
+    @Override
+    public void prepareSuggestions(List<String> suggestions) {
+        final DisplayHomeState state = this.displayHomeViewModel.getState();
+        state.setSuggestions(suggestions);
+
+        this.displayHomeViewModel.setState(state);
+        displayHomeViewModel.firePropertyChanged(SUGGESTIONS);
+    }
+
     @Override
     public void switchToDailyView() {
         // execute the Display Daily Weather Use Case
@@ -1,5 +1,10 @@
 package interface_adapter.display_home;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import entity.weather.ConditionCodes;
+
 /**
  * The state for the Display Home Use Case.
  */
@@ -9,8 +14,11 @@ public class DisplayHomeState {
     private String lowTemperature = "-°C";
     private String highTemperature = "-°C";
     private String temperature = "-°C";
-    private String condition = "-";
+    private byte conditionCode = ConditionCodes.UNKNOWN;
     private String date = "-, - -";
+    private List<String> suggestions = new ArrayList<>();
+    // how old a last-known forecast is, such as "Offline, 2h Old", or empty for a live forecast
+    private String offline = "";
 
     public String getCity() {
         return this.city;
@@ -28,8 +36,8 @@ public class DisplayHomeState {
         return this.lowTemperature;
     }
 
-    public String getCondition() {
-        return this.condition;
+    public byte getConditionCode() {
+        return this.conditionCode;
     }
 
     public void setCity(String city) {
@@ -48,8 +56,8 @@ public class DisplayHomeState {
         this.lowTemperature = lowTemperature;
     }
 
-    public void setCondition(String condition) {
-        this.condition = condition;
+    public void setConditionCode(byte conditionCode) {
+        this.conditionCode = conditionCode;
     }
 
     public String getDate() {
@@ -59,4 +67,20 @@ public class DisplayHomeState {
     public void setDate(String date) {
         this.date = date;
     }
+
+    public List<String> getSuggestions() {
+        return suggestions;
+    }
+
+    public void setSuggestions(List<String> suggestions) {
+        this.suggestions = suggestions;
+    }
+
+    public String getOffline() {
+        return offline;
+    }
+
+    public void setOffline(String offline) {
+        this.offline = offline;
+    }
 }
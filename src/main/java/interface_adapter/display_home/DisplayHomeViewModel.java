@@ -12,14 +12,6 @@ import interface_adapter.ViewModel;
  */
 public class DisplayHomeViewModel extends ViewModel<DisplayHomeState> {
 
-    public static final String CLEAR = "Clear";
-    public static final String CLOUDS = "Clouds";
-    public static final String RAIN = "Rain";
-    public static final String DRIZZLE = "Drizzle";
-    public static final String THUNDERSTORM = "Thunderstorm";
-    public static final String SNOW = "Snow";
-    public static final String MIST = "Mist";
-
     public static final String HIGHLABEL = "H: ";
     public static final String LOWLABEL = "L: ";
     // infoLabelSplitter splits the displayed low and high temperatures
@@ -1,5 +1,6 @@
 package interface_adapter.display_hourly;
 
+import interface_adapter.UseCaseDispatcher;
 import use_case.display_hourly.DisplayHourlyInputBoundary;
 import use_case.display_hourly.DisplayHourlyInputData;
 
@@ -8,14 +9,20 @@ import use_case.display_hourly.DisplayHourlyInputData;
  * It acts as the interface between the user input and the use case interactor.
  */
 public class DisplayHourlyController {
+    private static final String USE_CASE = "display_hourly";
+
     private final DisplayHourlyInputBoundary displayHourlyInputBoundary;
+    private final UseCaseDispatcher useCaseDispatcher;
 
     /**
      * Constructs a DisplayHourlyController with a specific interactor.
      * @param displayHourlyInputBoundary the interactor to handle use case logic
+     * @param useCaseDispatcher the dispatcher that runs the interactor off the Event Dispatch Thread
      */
-    public DisplayHourlyController(DisplayHourlyInputBoundary displayHourlyInputBoundary) {
+    public DisplayHourlyController(DisplayHourlyInputBoundary displayHourlyInputBoundary,
+                                   UseCaseDispatcher useCaseDispatcher) {
         this.displayHourlyInputBoundary = displayHourlyInputBoundary;
+        this.useCaseDispatcher = useCaseDispatcher;
     }
 
     /**
@@ -24,7 +31,7 @@ public class DisplayHourlyController {
      */
     public void execute(String selectTime) {
         final DisplayHourlyInputData displayHourlyInputData = new DisplayHourlyInputData(selectTime);
-        this.displayHourlyInputBoundary.execute(displayHourlyInputData);
+        this.useCaseDispatcher.submit(USE_CASE, () -> this.displayHourlyInputBoundary.execute(displayHourlyInputData));
     }
 
     /**
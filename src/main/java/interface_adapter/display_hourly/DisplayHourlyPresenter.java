@@ -1,5 +1,6 @@
 package interface_adapter.display_hourly;
 
+import interface_adapter.OfflineLabel;
 import interface_adapter.ViewManagerModel;
 import interface_adapter.display_home.DisplayHomeViewModel;
 import use_case.display_hourly.DisplayHourlyOutputBoundary;
@@ -37,7 +38,7 @@ public class DisplayHourlyPresenter implements DisplayHourlyOutputBoundary {
         displayHourlyState.setLowTemperature(displayHourlyOutputData.getLowTemperature());
         displayHourlyState.setHighTemperature(displayHourlyOutputData.getHighTemperature());
         displayHourlyState.setTime(displayHourlyOutputData.getTime());
-        displayHourlyState.setCondition(displayHourlyOutputData.getCondition());
+        displayHourlyState.setConditionCodes(displayHourlyOutputData.getConditionCodes());
         displayHourlyState.setTemperature(displayHourlyOutputData.getTemperature());
         displayHourlyState.setFeelsLike(displayHourlyOutputData.getFeelsLike());
         displayHourlyState.setWindSpeed(displayHourlyOutputData.getWindSpeed());
@@ -45,6 +46,8 @@ public class DisplayHourlyPresenter implements DisplayHourlyOutputBoundary {
         displayHourlyState.setUvIndex(displayHourlyOutputData.getUvIndex());
         displayHourlyState.setCloudCover(displayHourlyOutputData.getCloudCover());
         displayHourlyState.setHumidity(displayHourlyOutputData.getHumidity());
+        displayHourlyState.setOffline(OfflineLabel.describe(displayHourlyOutputData.isRestored(),
+                displayHourlyOutputData.getFetchedAt(), System.currentTimeMillis()));
 
         this.displayHourlyViewModel.setState(displayHourlyState);
         this.displayHourlyViewModel.firePropertyChanged();
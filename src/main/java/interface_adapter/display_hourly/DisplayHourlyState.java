@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import constants.Constants;
+import entity.weather.ConditionCodes;
 
 /**
  * State model for representing hourly weather data in the view.
@@ -12,6 +13,7 @@ import constants.Constants;
 public class DisplayHourlyState {
 
     private static final String ZERO_PERCENT = "0%";
+    private static final byte CLEAR_SKY = ConditionCodes.fromId(800);
 
     // City Variables
     private String city;
@@ -20,7 +22,7 @@ public class DisplayHourlyState {
 
     // Weather Variables
     private List<String> time;
-    private List<String> condition;
+    private List<Byte> conditionCodes;
     private List<String> temperature;
     private String feelsLike;
     private String windSpeed;
@@ -28,6 +30,8 @@ public class DisplayHourlyState {
     private String uvIndex;
     private String cloudCover;
     private String humidity;
+    // how old a last-known forecast is, such as "Offline, 2h Old", or empty for a live forecast
+    private String offline;
 
     /**
      * Constructs an empty DisplayHourlyState with default values.
@@ -37,11 +41,11 @@ public class DisplayHourlyState {
 
         this.time = new ArrayList<>(Constants.TIME_SIZE);
         this.temperature = new ArrayList<>(Constants.TIME_SIZE);
-        this.condition = new ArrayList<>(Constants.TIME_SIZE);
+        this.conditionCodes = new ArrayList<>(Constants.TIME_SIZE);
         for (int i = 0; i < Constants.TIME_SIZE; i++) {
             this.time.add(LocalTime.of(i + 1, 0).toString());
             this.temperature.add("0°C");
-            this.condition.add("Clear");
+            this.conditionCodes.add(CLEAR_SKY);
         }
 
         this.feelsLike = "0°C";
@@ -50,6 +54,7 @@ public class DisplayHourlyState {
         this.uvIndex = "0";
         this.cloudCover = ZERO_PERCENT;
         this.humidity = ZERO_PERCENT;
+        this.offline = "";
     }
 
     // Getters
@@ -69,8 +74,8 @@ public class DisplayHourlyState {
         return time;
     }
 
-    public List<String> getCondition() {
-        return condition;
+    public List<Byte> getConditionCodes() {
+        return conditionCodes;
     }
 
     public List<String> getTemperature() {
@@ -101,6 +106,10 @@ public class DisplayHourlyState {
         return humidity;
     }
 
+    public String getOffline() {
+        return offline;
+    }
+
     // Setters
     public void setCity(String city) {
         this.city = city;
@@ -118,8 +127,8 @@ public class DisplayHourlyState {
         this.time = time;
     }
 
-    public void setCondition(List<String> condition) {
-        this.condition = condition;
+    public void setConditionCodes(List<Byte> conditionCodes) {
+        this.conditionCodes = conditionCodes;
     }
 
     public void setTemperature(List<String> temperature) {
@@ -149,4 +158,8 @@ public class DisplayHourlyState {
     public void setHumidity(String humidity) {
         this.humidity = humidity;
     }
+
+    public void setOffline(String offline) {
+        this.offline = offline;
+    }
 }
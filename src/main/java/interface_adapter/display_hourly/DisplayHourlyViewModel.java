@@ -15,14 +15,6 @@ public class DisplayHourlyViewModel extends ViewModel<DisplayHourlyState> {
     /**
      * Constructs a DisplayHourlyViewModel with an initial state for the hourly forecast.
      */
-    public static final String CLEAR = "Clear";
-    public static final String CLOUDS = "Clouds";
-    public static final String RAIN = "Rain";
-    public static final String DRIZZLE = "Drizzle";
-    public static final String THUNDERSTORM = "Thunderstorm";
-    public static final String SNOW = "Snow";
-    public static final String MIST = "Mist";
-
     public static final ImageIcon CLOUDS_IMAGE;
     public static final ImageIcon RAIN_IMAGE;
     public static final ImageIcon SNOW_IMAGE;
@@ -1,5 +1,6 @@
 package interface_adapter.display_summarization;
 
+import interface_adapter.UseCaseDispatcher;
 import use_case.display_summarization.DisplaySummarizationInputBoundary;
 
 /**
@@ -7,17 +8,22 @@ import use_case.display_summarization.DisplaySummarizationInputBoundary;
  */
 public class DisplaySummarizationController {
 
+    private static final String USE_CASE = "display_summarization";
+
     private final DisplaySummarizationInputBoundary summarizationInteractor;
+    private final UseCaseDispatcher useCaseDispatcher;
 
-    public DisplaySummarizationController(DisplaySummarizationInputBoundary summarizationInteractor) {
+    public DisplaySummarizationController(DisplaySummarizationInputBoundary summarizationInteractor,
+                                          UseCaseDispatcher useCaseDispatcher) {
         this.summarizationInteractor = summarizationInteractor;
+        this.useCaseDispatcher = useCaseDispatcher;
     }
 
     /**
      * Executes the Summarization Use Case.
      */
     public void execute() {
-        summarizationInteractor.execute();
+        useCaseDispatcher.submit(USE_CASE, summarizationInteractor::execute);
     }
 
     /**
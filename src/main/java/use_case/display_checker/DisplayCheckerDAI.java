@@ -1,5 +1,7 @@
 package use_case.display_checker;
 
+import java.util.concurrent.CompletableFuture;
+
 import entity.weather.hourly_weather.HourlyWeatherData;
 import exception.ApiCallException;
 
@@ -16,5 +18,19 @@ public interface DisplayCheckerDAI {
      * @throws ApiCallException if there is an error during the API call to fetch the weather data.
      */
     HourlyWeatherData getHourlyWeatherData(String location) throws ApiCallException;
-}
 
+    /**
+     * Get Hourly Weather data without blocking the calling thread, so that later stages can be chained onto
+     * the response as soon as it is parsed. By default the blocking request is made on the calling thread.
+     * @param location the name of the location for which to retrieve the weather data.
+     * @return a future of the weather data, failing with an ApiCallException if the request fails.
+     */
+    default CompletableFuture<HourlyWeatherData> getHourlyWeatherDataAsync(String location) {
+        try {
+            return CompletableFuture.completedFuture(getHourlyWeatherData(location));
+        }
+        catch (ApiCallException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+}
@@ -1,8 +1,6 @@
 package use_case.display_checker;
 
-import java.util.List;
-
-import entity.weather.hour_weather.HourWeatherData;
+import entity.weather.ConditionGroup;
 import entity.weather.hourly_weather.HourlyWeatherData;
 import exception.ApiCallException;
 import exception.InvalidLocationException;
@@ -71,17 +69,13 @@ public class DisplayCheckerInteractor implements DisplayCheckerInputBoundary {
                 throw new InvalidLocationException("Failed to retrieve hourly weather data for " + location);
             }
 
-            final List<HourWeatherData> hourlyForecast = hourlyWeatherData.getHourWeatherDataList();
-
-            // loop through the hourly data between the start time until the (stop time + start time)
-            for (int i = startChecking; i < (stopChecking + startChecking); i++) {
-                final HourWeatherData hourData = hourlyForecast.get(i);
-                final String weatherCondition = hourData.getCondition();
+            // match on condition groups, so that any rain (light or heavy) matches "Rain"
+            final ConditionGroup conditionGroup = ConditionGroup.fromMain(weatherConditionOptions);
 
-                // check if the weather condition at that hour matches the desired condition
-                if (weatherCondition.equals(weatherConditionOptions)) {
-                    return true;
-                }
+            // check the hours from the start time until the (stop time + start time) against the condition index
+            if (conditionGroup != ConditionGroup.UNKNOWN
+                    && hourlyWeatherData.hasCondition(conditionGroup, startChecking, stopChecking)) {
+                return true;
             }
         }
         catch (ApiCallException exception) {
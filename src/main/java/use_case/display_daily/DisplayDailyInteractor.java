@@ -98,8 +98,8 @@ public class DisplayDailyInteractor implements DisplayDailyInputBoundary {
     private JSONObject packageOutputData(DailyWeatherData dailyWeatherData, DayOfWeek selectedWeekday, String city) {
         final List<String> weekdays = new ArrayList<>(Constants.WEEK_SIZE);
         final List<String> temperatures = new ArrayList<>(Constants.WEEK_SIZE);
-        final List<String> conditions = new ArrayList<>(Constants.WEEK_SIZE);
-        // create weekdays, temperatures, and conditions
+        final List<Byte> conditionCodes = new ArrayList<>(Constants.WEEK_SIZE);
+        // create weekdays, temperatures, and condition codes
         final ZonedDateTime zonedDateTime = ZonedDateTime.now(ZoneId.of(dailyWeatherData.getTimezone()));
         final DayOfWeek currentWeekday = zonedDateTime.getDayOfWeek();
         final List<DayWeatherData> dayWeatherDataList = dailyWeatherData.getDayWeatherDataList();
@@ -110,7 +110,7 @@ public class DisplayDailyInteractor implements DisplayDailyInputBoundary {
             final DayWeatherData dayWeatherData = dayWeatherDataList.get(i);
 
             temperatures.add(dayWeatherData.getTemperature() + "°C");
-            conditions.add(dayWeatherData.getCondition());
+            conditionCodes.add(dayWeatherData.getConditionCode());
         }
 
         final int selectedWeekdayIndex;
@@ -135,13 +135,15 @@ public class DisplayDailyInteractor implements DisplayDailyInputBoundary {
         outputDataPackage.put("city", city);
         outputDataPackage.put("weekdays", weekdays);
         outputDataPackage.put("temperatures", temperatures);
-        outputDataPackage.put("conditions", conditions);
+        outputDataPackage.put("conditionCodes", conditionCodes);
         outputDataPackage.put("feelsLikeTemperature", feelsLikeTemperature);
         outputDataPackage.put("uvIndex", uvIndex);
         outputDataPackage.put("windSpeed", windSpeed);
         outputDataPackage.put("cloudCover", cloudCover);
         outputDataPackage.put("precipitation", precipitation);
         outputDataPackage.put("humidity", humidity);
+        outputDataPackage.put("restored", dailyWeatherData.isRestored());
+        outputDataPackage.put("fetchedAt", dailyWeatherData.getFetchedAt());
 
         return outputDataPackage;
     }
@@ -6,6 +6,8 @@ import java.util.List;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import entity.weather.ConditionCodes;
+
 /**
  * Output Data for the Display Daily use-case.
  */
@@ -16,7 +18,8 @@ public class DisplayDailyOutputData {
     private final List<String> weekdays;
     // list of the temperatures in order of the weekdays
     private final List<String> temperatures;
-    private final List<String> conditions;
+    // list of the condition codes in order of the weekdays
+    private final List<Byte> conditionCodes;
     // selected weather details for the particular weekday
     private final String feelsLikeTemperature;
     private final String uvIndex;
@@ -24,6 +27,10 @@ public class DisplayDailyOutputData {
     private final String cloudCover;
     private final String precipitation;
     private final String humidity;
+    // whether the forecast is a last-known one restored while the weather service was unreachable
+    private final boolean restored;
+    // epoch milliseconds when the forecast was fetched, or 0 if unknown
+    private final long fetchedAt;
 
     public DisplayDailyOutputData(JSONObject outputDataPackage) {
         this.city = outputDataPackage.getString("city");
@@ -34,8 +41,8 @@ public class DisplayDailyOutputData {
         final JSONArray temperaturesArray = outputDataPackage.getJSONArray("temperatures");
         this.temperatures = parseJSONArray(temperaturesArray, String.class);
 
-        final JSONArray conditionsArray = outputDataPackage.getJSONArray("conditions");
-        this.conditions = parseJSONArray(conditionsArray, String.class);
+        final JSONArray conditionCodesArray = outputDataPackage.getJSONArray("conditionCodes");
+        this.conditionCodes = parseConditionCodes(conditionCodesArray);
 
         this.feelsLikeTemperature = outputDataPackage.getString("feelsLikeTemperature");
         this.uvIndex = outputDataPackage.getString("uvIndex");
@@ -43,6 +50,8 @@ public class DisplayDailyOutputData {
         this.cloudCover = outputDataPackage.getString("cloudCover");
         this.precipitation = outputDataPackage.getString("precipitation");
         this.humidity = outputDataPackage.getString("humidity");
+        this.restored = outputDataPackage.getBoolean("restored");
+        this.fetchedAt = outputDataPackage.getLong("fetchedAt");
     }
 
     /**
@@ -67,6 +76,19 @@ public class DisplayDailyOutputData {
         return dataValues;
     }
 
+    /**
+     * Parses a JSONArray of condition codes.
+     * @param jsonArray the JSONArray to be parsed
+     * @return a list of the condition codes as defined by ConditionCodes
+     */
+    private List<Byte> parseConditionCodes(JSONArray jsonArray) {
+        final List<Byte> conditionCodes = new ArrayList<>(jsonArray.length());
+        for (int i = 0; i < jsonArray.length(); i++) {
+            conditionCodes.add((byte) jsonArray.getInt(i));
+        }
+        return conditionCodes;
+    }
+
     public String getCity() {
         return city;
     }
@@ -79,7 +101,19 @@ public class DisplayDailyOutputData {
         return temperatures;
     }
 
+    public List<Byte> getConditionCodes() {
+        return conditionCodes;
+    }
+
+    /**
+     * Returns the main weather conditions ("Rain", "Clouds", "Snow") in order of the weekdays.
+     * @return the main weather conditions
+     */
     public List<String> getConditions() {
+        final List<String> conditions = new ArrayList<>(conditionCodes.size());
+        for (byte conditionCode : conditionCodes) {
+            conditions.add(ConditionCodes.getMain(conditionCode));
+        }
         return conditions;
     }
 
@@ -107,4 +141,12 @@ public class DisplayDailyOutputData {
         return humidity;
     }
 
+    public boolean isRestored() {
+        return restored;
+    }
+
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+
 }
@@ -1,5 +1,7 @@
 package use_case.display_daily;
 
+import java.util.concurrent.CompletableFuture;
+
 import entity.weather.daily_weather.DailyWeatherData;
 import exception.ApiCallException;
 
@@ -15,4 +17,19 @@ public interface DisplayDailyWeatherDAI {
      * @throws ApiCallException if the API request fails or the API Key is not set.
      */
     DailyWeatherData getDailyWeatherData(String city) throws ApiCallException;
+
+    /**
+     * Get Daily Weather data without blocking the calling thread, so that later stages can be chained onto
+     * the response as soon as it is parsed. By default the blocking request is made on the calling thread.
+     * @param city the name of the city to get the forecast for
+     * @return a future of the weather data, failing with an ApiCallException if the request fails.
+     */
+    default CompletableFuture<DailyWeatherData> getDailyWeatherDataAsync(String city) {
+        try {
+            return CompletableFuture.completedFuture(getDailyWeatherData(city));
+        }
+        catch (ApiCallException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
 }
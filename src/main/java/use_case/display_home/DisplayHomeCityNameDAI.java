@@ -0,0 +1,50 @@
+package use_case.display_home;
+
+import java.util.List;
+
+/**
+ * The data access interface for city names in the Display Home use-case, used for suggestions and correcting typos
+ * before a city is looked up.
+ */
+public interface DisplayHomeCityNameDAI {
+
+    // knows no city names, so nothing is suggested or corrected
+    DisplayHomeCityNameDAI NONE = new DisplayHomeCityNameDAI() {
+        @Override
+        public List<String> suggestCities(String prefix, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public String findCity(String city) {
+            return city;
+        }
+
+        @Override
+        public String correctCity(String city) {
+            return city;
+        }
+    };
+
+    /**
+     * Suggests known cities starting with the name typed so far.
+     * @param prefix the start of the city name
+     * @param limit the most cities to suggest
+     * @return the suggested cities, best first
+     */
+    List<String> suggestCities(String prefix, int limit);
+
+    /**
+     * Returns the name a known city is shown under, for a name typed with other case, accents or spacing.
+     * @param city the city name as typed
+     * @return the known city's name, or the name unchanged if it is not a known city
+     */
+    String findCity(String city);
+
+    /**
+     * Corrects the spelling of a city name against the known cities.
+     * @param city the city name as typed
+     * @return the known city closest to the name, or the name unchanged if no known city is close enough
+     */
+    String correctCity(String city);
+}
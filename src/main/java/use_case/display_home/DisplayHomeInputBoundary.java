@@ -15,6 +15,12 @@ public interface DisplayHomeInputBoundary {
      */
     void execute();
 
+    /**
+     * Suggests cities for the city name typed so far.
+     * @param displayHomeInputData the input data holding the start of the city name
+     */
+    void suggest(DisplayHomeInputData displayHomeInputData);
+
     /**
      * Switches the view to the Daily View.
      */
@@ -3,11 +3,13 @@ package use_case.display_home;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 import entity.recent_city.RecentCityData;
 import entity.weather.hour_weather.HourWeatherData;
 import entity.weather.hourly_weather.HourlyWeatherData;
 import exception.ApiCallException;
+import exception.CityNotFoundException;
 import exception.RecentCitiesDataException;
 
 /**
@@ -16,30 +18,57 @@ import exception.RecentCitiesDataException;
 public class DisplayHomeInteractor implements DisplayHomeInputBoundary {
 
     private static final String DEGREES_CELSIUS = "°C";
+    private static final int SUGGESTION_LIMIT = 5;
 
     private final DisplayHomeWeatherDAI weatherDataAccessObject;
     private final DisplayHomeRecentCitiesDAI recentCitiesDataAccessObject;
+    private final DisplayHomeCityNameDAI cityNameDataAccessObject;
     private final DisplayHomeOutputBoundary displayHomePresenter;
 
     public DisplayHomeInteractor(DisplayHomeWeatherDAI weatherDataAccessObject,
                                  DisplayHomeOutputBoundary displayHomePresenter,
                                  DisplayHomeRecentCitiesDAI recentCitiesDataAccessObject) {
+        this(weatherDataAccessObject, displayHomePresenter, recentCitiesDataAccessObject,
+                DisplayHomeCityNameDAI.NONE);
+    }
+
+    public DisplayHomeInteractor(DisplayHomeWeatherDAI weatherDataAccessObject,
+                                 DisplayHomeOutputBoundary displayHomePresenter,
+                                 DisplayHomeRecentCitiesDAI recentCitiesDataAccessObject,
+                                 DisplayHomeCityNameDAI cityNameDataAccessObject) {
         this.weatherDataAccessObject = weatherDataAccessObject;
         this.displayHomePresenter = displayHomePresenter;
         this.recentCitiesDataAccessObject = recentCitiesDataAccessObject;
+        this.cityNameDataAccessObject = cityNameDataAccessObject;
     }
 
+    /**
+     * Executes the DisplayHome use case for a city. The name is looked up as typed, and only if no location has that
+     * name is it corrected to the closest known city, so a real city the app does not know yet is never swapped for
+     * a similarly spelled one. The city is only added to the recent cities once its weather has been found.
+     * @param displayHomeInputData the input data
+     */
     @Override
     public void execute(DisplayHomeInputData displayHomeInputData) {
         try {
-            final String city = displayHomeInputData.getCityName();
-            if (city == null) {
+            if (displayHomeInputData.getCityName() == null) {
                 throw new ApiCallException("No City Name Provided.");
             }
+            String city = cityNameDataAccessObject.findCity(displayHomeInputData.getCityName());
 
+            DisplayHomeOutputData displayHomeOutputData;
+            try {
+                displayHomeOutputData = getOutputData(city);
+            }
+            catch (CityNotFoundException exception) {
+                final String corrected = cityNameDataAccessObject.correctCity(city);
+                if (corrected.equals(city)) {
+                    throw exception;
+                }
+                city = corrected;
+                displayHomeOutputData = getOutputData(city);
+            }
             recentCitiesDataAccessObject.addCity(city);
-
-            final DisplayHomeOutputData displayHomeOutputData = getOutputData(city);
             this.displayHomePresenter.prepareSuccessView(displayHomeOutputData);
         }
         catch (ApiCallException | RecentCitiesDataException exception) {
@@ -68,6 +97,21 @@ public class DisplayHomeInteractor implements DisplayHomeInputBoundary {
         }
     }
 
+    /**
+     * Suggests known cities starting with the name typed so far. Suggestions come from memory, so this is fast
+     * enough to run on every keystroke.
+     * @param displayHomeInputData the input data holding the start of the city name
+     */
+    @Override
+    public void suggest(DisplayHomeInputData displayHomeInputData) {
+        List<String> suggestions = List.of();
+        final String prefix = displayHomeInputData.getCityName();
+        if (prefix != null && !prefix.isBlank()) {
+            suggestions = cityNameDataAccessObject.suggestCities(prefix, SUGGESTION_LIMIT);
+        }
+        displayHomePresenter.prepareSuggestions(suggestions);
+    }
+
     private DisplayHomeOutputData getOutputData(String city) throws ApiCallException {
         final HourlyWeatherData hourlyWeatherData = weatherDataAccessObject
                 .getHourlyWeatherData(city);
@@ -79,7 +123,7 @@ public class DisplayHomeInteractor implements DisplayHomeInputBoundary {
         // weather data for the most recent hour
         final HourWeatherData hourWeatherData = hourlyWeatherData.getHourWeatherDataList().getFirst();
         final String temperature = hourWeatherData.getTemperature() + DEGREES_CELSIUS;
-        final String condition = hourWeatherData.getCondition();
+        final byte conditionCode = hourWeatherData.getConditionCode();
 
         // get the date
         final ZonedDateTime zonedDateTime = ZonedDateTime.now(ZoneId.of(timezone));
@@ -88,7 +132,7 @@ public class DisplayHomeInteractor implements DisplayHomeInputBoundary {
         final String date = zonedDateTime.format(formatter);
 
         return new DisplayHomeOutputData(city, lowTemperature, highTemperature,
-                temperature, condition, date);
+                temperature, conditionCode, date, hourlyWeatherData.isRestored(), hourlyWeatherData.getFetchedAt());
     }
 
     @Override
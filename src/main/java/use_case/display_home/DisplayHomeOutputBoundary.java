@@ -1,5 +1,7 @@
 package use_case.display_home;
 
+import java.util.List;
+
 /**
  * The output boundary for the DisplayHome Use Case.
  */
@@ -16,6 +18,12 @@ public interface DisplayHomeOutputBoundary {
      */
     void prepareFailView(String errorMessage);
 
+    /**
+     * Prepares the city suggestions for the name typed so far.
+     * @param suggestions the suggested cities, best first
+     */
+    void prepareSuggestions(List<String> suggestions);
+
     /**
      * Switches the view to the Daily View.
      */
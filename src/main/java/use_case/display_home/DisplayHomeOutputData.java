@@ -9,17 +9,24 @@ public class DisplayHomeOutputData {
     private final String lowTemperature;
     private final String highTemperature;
     private final String temperature;
-    private final String condition;
+    // the weather condition as defined by ConditionCodes
+    private final byte conditionCode;
     private final String date;
+    // whether the forecast is a last-known one restored while the weather service was unreachable
+    private final boolean restored;
+    // epoch milliseconds when the forecast was fetched, or 0 if unknown
+    private final long fetchedAt;
 
     public DisplayHomeOutputData(String city, String lowTemperature, String highTemperature, String temperature,
-                                 String condition, String date) {
+                                 byte conditionCode, String date, boolean restored, long fetchedAt) {
         this.city = city;
         this.lowTemperature = lowTemperature;
         this.highTemperature = highTemperature;
         this.temperature = temperature;
-        this.condition = condition;
+        this.conditionCode = conditionCode;
         this.date = date;
+        this.restored = restored;
+        this.fetchedAt = fetchedAt;
     }
 
     public String getLowTemperature() {
@@ -34,8 +41,8 @@ public class DisplayHomeOutputData {
         return temperature;
     }
 
-    public String getCondition() {
-        return condition;
+    public byte getConditionCode() {
+        return conditionCode;
     }
 
     public String getDate() {
@@ -45,4 +52,12 @@ public class DisplayHomeOutputData {
     public String getCity() {
         return city;
     }
+
+    public boolean isRestored() {
+        return restored;
+    }
+
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
 }
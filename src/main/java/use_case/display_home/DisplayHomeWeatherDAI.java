@@ -1,5 +1,7 @@
 package use_case.display_home;
 
+import java.util.concurrent.CompletableFuture;
+
 import entity.weather.hourly_weather.HourlyWeatherData;
 import exception.ApiCallException;
 
@@ -16,4 +18,18 @@ public interface DisplayHomeWeatherDAI {
      */
     HourlyWeatherData getHourlyWeatherData(String location) throws ApiCallException;
 
+    /**
+     * Get Hourly Weather data without blocking the calling thread, so that later stages can be chained onto
+     * the response as soon as it is parsed. By default the blocking request is made on the calling thread.
+     * @param location the name of the location.
+     * @return a future of the weather data, failing with an ApiCallException if the request fails.
+     */
+    default CompletableFuture<HourlyWeatherData> getHourlyWeatherDataAsync(String location) {
+        try {
+            return CompletableFuture.completedFuture(getHourlyWeatherData(location));
+        }
+        catch (ApiCallException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
 }
@@ -68,7 +68,7 @@ public class DisplayHourlyInteractor implements DisplayHourlyInputBoundary {
     private JSONObject packageOutputData(HourlyWeatherData hourlyWeatherData, LocalTime selectedTime, String city) {
         final List<Integer> times = new ArrayList<>(Constants.TIME_SIZE);
         final List<Integer> temperatures = new ArrayList<>(Constants.TIME_SIZE);
-        final List<String> conditions = new ArrayList<>(Constants.TIME_SIZE);
+        final List<Byte> conditionCodes = new ArrayList<>(Constants.TIME_SIZE);
         final ZonedDateTime zonedDateTime = ZonedDateTime.now(ZoneId.of(hourlyWeatherData.getTimezone()));
         final LocalTime currentTime = zonedDateTime.toLocalTime();
         final List<HourWeatherData> hourWeatherDataList = hourlyWeatherData.getHourWeatherDataList();
@@ -78,7 +78,7 @@ public class DisplayHourlyInteractor implements DisplayHourlyInputBoundary {
             times.add(dateTime.getHour());
             final HourWeatherData hourWeatherData = hourWeatherDataList.get(i);
             temperatures.add(hourWeatherData.getTemperature());
-            conditions.add(hourWeatherData.getCondition());
+            conditionCodes.add(hourWeatherData.getConditionCode());
         }
 
         final int totalSteps = Constants.TIME_SIZE;
@@ -99,13 +99,15 @@ public class DisplayHourlyInteractor implements DisplayHourlyInputBoundary {
         outputDataPackage.put("highTemperature", hourlyWeatherData.getHighTemperature());
         outputDataPackage.put("time", times);
         outputDataPackage.put("temperatures", temperatures);
-        outputDataPackage.put("conditions", conditions);
+        outputDataPackage.put("conditionCodes", conditionCodes);
         outputDataPackage.put("feelsLikeTemperature", feelsLikeTemperature);
         outputDataPackage.put("uvIndex", uvIndex);
         outputDataPackage.put("windSpeed", windSpeed);
         outputDataPackage.put("cloudCover", cloudCover);
         outputDataPackage.put("precipitation", precipitation);
         outputDataPackage.put("humidity", humidity);
+        outputDataPackage.put("restored", hourlyWeatherData.isRestored());
+        outputDataPackage.put("fetchedAt", hourlyWeatherData.getFetchedAt());
 
         return outputDataPackage;
     }
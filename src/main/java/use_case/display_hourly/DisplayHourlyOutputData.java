@@ -18,7 +18,7 @@ public class DisplayHourlyOutputData {
 
     // Weather Variables
     private final List<String> time;
-    private final List<String> condition;
+    private final List<Byte> conditionCodes;
     private final List<String> temperature;
     private final String feelsLike;
     private final String windSpeed;
@@ -26,6 +26,10 @@ public class DisplayHourlyOutputData {
     private final String uvIndex;
     private final String cloudCover;
     private final String humidity;
+    // whether the forecast is a last-known one restored while the weather service was unreachable
+    private final boolean restored;
+    // epoch milliseconds when the forecast was fetched, or 0 if unknown
+    private final long fetchedAt;
 
     /**
      * Constructs DisplayHourlyOutputData from a JSON object.
@@ -40,8 +44,8 @@ public class DisplayHourlyOutputData {
         final JSONArray timeArray = outputDataPackage.getJSONArray("time");
         this.time = parseJSONArray(timeArray, String.class);
 
-        final JSONArray conditionArray = outputDataPackage.getJSONArray("condition");
-        this.condition = parseJSONArray(conditionArray, String.class);
+        final JSONArray conditionCodesArray = outputDataPackage.getJSONArray("conditionCodes");
+        this.conditionCodes = parseConditionCodes(conditionCodesArray);
 
         final JSONArray temperatureArray = outputDataPackage.getJSONArray("temperature");
         this.temperature = parseJSONArray(temperatureArray, String.class);
@@ -52,6 +56,8 @@ public class DisplayHourlyOutputData {
         this.uvIndex = outputDataPackage.getString("uvIndex");
         this.cloudCover = outputDataPackage.getString("cloudCover");
         this.humidity = outputDataPackage.getString("humidity");
+        this.restored = outputDataPackage.getBoolean("restored");
+        this.fetchedAt = outputDataPackage.getLong("fetchedAt");
     }
 
     /**
@@ -77,6 +83,19 @@ public class DisplayHourlyOutputData {
         return dataValues;
     }
 
+    /**
+     * Parses a JSONArray of condition codes.
+     * @param jsonArray the JSONArray to be parsed
+     * @return a list of the condition codes as defined by ConditionCodes
+     */
+    private List<Byte> parseConditionCodes(JSONArray jsonArray) {
+        final List<Byte> conditionCodes = new ArrayList<>(jsonArray.length());
+        for (int i = 0; i < jsonArray.length(); i++) {
+            conditionCodes.add((byte) jsonArray.getInt(i));
+        }
+        return conditionCodes;
+    }
+
     // Getters
     public String getCity() {
         return city;
@@ -94,8 +113,8 @@ public class DisplayHourlyOutputData {
         return time;
     }
 
-    public List<String> getCondition() {
-        return condition;
+    public List<Byte> getConditionCodes() {
+        return conditionCodes;
     }
 
     public List<String> getTemperature() {
@@ -125,4 +144,12 @@ public class DisplayHourlyOutputData {
     public String getHumidity() {
         return humidity;
     }
+
+    public boolean isRestored() {
+        return restored;
+    }
+
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
 }
@@ -1,5 +1,7 @@
 package use_case.display_hourly;
 
+import java.util.concurrent.CompletableFuture;
+
 import entity.weather.hourly_weather.HourlyWeatherData;
 import exception.ApiCallException;
 
@@ -15,4 +17,19 @@ public interface DisplayHourlyWeatherDAI {
      * @throws ApiCallException if the API request fails or the API Key is not set.
      */
     HourlyWeatherData getHourlyWeatherData(String city) throws ApiCallException;
+
+    /**
+     * Get Hourly Weather data without blocking the calling thread, so that later stages can be chained onto
+     * the response as soon as it is parsed. By default the blocking request is made on the calling thread.
+     * @param city the name of the city to get the forecast for
+     * @return a future of the weather data, failing with an ApiCallException if the request fails.
+     */
+    default CompletableFuture<HourlyWeatherData> getHourlyWeatherDataAsync(String city) {
+        try {
+            return CompletableFuture.completedFuture(getHourlyWeatherData(city));
+        }
+        catch (ApiCallException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
 }
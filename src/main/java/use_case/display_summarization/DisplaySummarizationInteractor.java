@@ -1,10 +1,12 @@
 package use_case.display_summarization;
 
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import entity.recent_city.RecentCityData;
 import entity.summarization.Summarization;
-import entity.weather.hour_weather.HourWeatherData;
 import entity.weather.hourly_weather.HourlyWeatherData;
-import exception.ApiCallException;
 import exception.RecentCitiesDataException;
 
 /**
@@ -29,7 +31,6 @@ public class DisplaySummarizationInteractor implements DisplaySummarizationInput
     @Override
     public void execute() {
         final String city;
-        final HourlyWeatherData hourlyWeatherData;
         final Summarization summarization;
 
         try {
@@ -46,21 +47,23 @@ public class DisplaySummarizationInteractor implements DisplaySummarizationInput
             return;
         }
 
-        try {
-            // Fetch hourly weather data
-            hourlyWeatherData = weatherDAO.getHourlyWeatherData(city);
-        }
-        catch (ApiCallException weatherException) {
-            displaySummarizationPresenter.prepareFailureView("Weather Data Unavailable.");
-            return;
-        }
+        // build the prompt as soon as the hourly forecast is parsed, then send it straight on to the summary
+        // service without waiting on this thread in between
+        final CompletableFuture<String> prompt = weatherDAO.getHourlyWeatherDataAsync(city)
+                .thenApply(hourlyWeatherData -> promptGenerator(city, hourlyWeatherData));
+        final CompletableFuture<Summarization> pendingSummarization = prompt
+                .thenCompose(text -> summaryDAO.getSummarizationAsync(text));
 
         try {
-            // Fetch summarization data
-            summarization = summaryDAO.getSummarization(promptGenerator(hourlyWeatherData));
+            summarization = pendingSummarization.join();
         }
-        catch (ApiCallException summaryException) {
-            displaySummarizationPresenter.prepareFailureView("Summarization Service Unavailable.");
+        catch (CompletionException | CancellationException exception) {
+            if (prompt.isCompletedExceptionally()) {
+                displaySummarizationPresenter.prepareFailureView("Weather Data Unavailable.");
+            }
+            else {
+                displaySummarizationPresenter.prepareFailureView("Summarization Service Unavailable.");
+            }
             return;
         }
 
@@ -82,14 +85,16 @@ public class DisplaySummarizationInteractor implements DisplaySummarizationInput
      * Generates a prompt string based on given hourly weather data. The prompt
      * includes instructions for generating a weather summary, outfit suggestion,
      * and travel advice, and is formatted for JSON output. It also provides
-     * location and weather information.
+     * location and weather information. The city is named as requested rather than read from the entity, since a
+     * forecast shared by nearby cities carries the name of whichever of them was fetched first.
      *
+     * @param city the name of the city the forecast was requested for
      * @param hourlyWeatherData the hourly weather data containing temperature
      *                          information and a list of weather conditions
      *                          by the hour
      * @return a string containing a structured prompt based on the provided weather data
      */
-    public String promptGenerator(HourlyWeatherData hourlyWeatherData) {
+    public String promptGenerator(String city, HourlyWeatherData hourlyWeatherData) {
         final StringBuilder promptBuilder = new StringBuilder();
 
         // Add general instructions
@@ -101,7 +106,7 @@ public class DisplaySummarizationInteractor implements DisplaySummarizationInput
 
         // Add location information
         promptBuilder.append("Weather data:\n")
-                .append("City: ").append(hourlyWeatherData.getCity()).append("\n");
+                .append("City: ").append(city).append("\n");
 
         // Add temperature information
         promptBuilder.append("Temperature:\n")
@@ -109,17 +114,17 @@ public class DisplaySummarizationInteractor implements DisplaySummarizationInput
                 .append("High: ").append(hourlyWeatherData.getHighTemperature()).append("\n");
 
         // Add hourly weather data
-        if (hourlyWeatherData.getHourWeatherDataList() != null && !hourlyWeatherData
-                .getHourWeatherDataList().isEmpty()) {
+        final int hourCount = hourlyWeatherData.getHourCount();
+        if (hourCount > 0) {
             promptBuilder.append("Hourly Forecast:\n");
 
             // Limit to a few hours for concise prompts
             final int maxHoursToInclude = 6;
-            for (int i = 0; i < Math.min(maxHoursToInclude, hourlyWeatherData.getHourWeatherDataList().size()); i++) {
-                final HourWeatherData hourData = hourlyWeatherData.getHourWeatherDataList().get(i);
+            for (int i = 0; i < Math.min(maxHoursToInclude, hourCount); i++) {
                 promptBuilder.append("- Hour ").append(i + 1).append(": ")
-                        .append("Temperature: ").append(hourData.getTemperature()).append(" degrees Celsius, ")
-                        .append("Conditions: ").append(hourData.getCondition()).append("\n");
+                        .append("Temperature: ").append(hourlyWeatherData.getTemperature(i))
+                        .append(" degrees Celsius, ")
+                        .append("Conditions: ").append(hourlyWeatherData.getConditionDescription(i)).append("\n");
             }
         }
         else {
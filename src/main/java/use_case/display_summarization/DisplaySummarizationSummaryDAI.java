@@ -1,5 +1,7 @@
 package use_case.display_summarization;
 
+import java.util.concurrent.CompletableFuture;
+
 import entity.summarization.Summarization;
 import exception.ApiCallException;
 
@@ -15,4 +17,19 @@ public interface DisplaySummarizationSummaryDAI {
      * @throws ApiCallException if the request fails.
      */
     Summarization getSummarization(String prompt) throws ApiCallException;
+
+    /**
+     * Get the summarization from the OpenAI API without blocking the calling thread. By default the blocking
+     * request is made on the calling thread.
+     * @param prompt the prompt to use for the summarization which includes weather data.
+     * @return a future of the summarization, failing with an ApiCallException if the request fails.
+     */
+    default CompletableFuture<Summarization> getSummarizationAsync(String prompt) {
+        try {
+            return CompletableFuture.completedFuture(getSummarization(prompt));
+        }
+        catch (ApiCallException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
 }
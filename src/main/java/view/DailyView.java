@@ -23,6 +23,7 @@ import javax.swing.JPanel;
 import org.jetbrains.annotations.NotNull;
 
 import constants.Constants;
+import entity.weather.ConditionCodes;
 import interface_adapter.display_daily.DisplayDailyController;
 import interface_adapter.display_daily.DisplayDailyState;
 import interface_adapter.display_daily.DisplayDailyViewModel;
@@ -52,6 +53,8 @@ public class DailyView extends JPanel implements PropertyChangeListener, ActionL
 
     // data to be displayed
     private final JLabel city = new JLabel();
+    // how old the forecast is when it is a last-known one, empty otherwise
+    private final JLabel offline = new JLabel();
     private final List<JButton> temperatures = new ArrayList<>(Constants.WEEK_SIZE);
     private final List<JButton> conditions = new ArrayList<>(Constants.WEEK_SIZE);
     private final JLabel feelsLikeTemperature = new JLabel();
@@ -136,6 +139,7 @@ public class DailyView extends JPanel implements PropertyChangeListener, ActionL
         final Box box = Box.createVerticalBox();
         box.add(backButtonPanel);
         box.add(city);
+        box.add(offline);
         box.add(forecastBox);
         box.add(detailsBox);
         add(box);
@@ -235,6 +239,8 @@ public class DailyView extends JPanel implements PropertyChangeListener, ActionL
     private void setCityLabel() {
         city.setFont(CRIMSON_TEXT_70);
         city.setAlignmentX(Component.CENTER_ALIGNMENT);
+        offline.setFont(INTER_TEXT_BOLD_18);
+        offline.setAlignmentX(Component.CENTER_ALIGNMENT);
     }
 
     /**
@@ -319,9 +325,10 @@ public class DailyView extends JPanel implements PropertyChangeListener, ActionL
 
     private void setLabels(DisplayDailyState state) {
         city.setText(state.getCity());
+        offline.setText(state.getOffline());
         for (int i = 0; i < Constants.WEEK_SIZE; i++) {
             temperatures.get(i).setText(state.getTemperatures().get(i));
-            conditions.get(i).setIcon(chooseWeatherIcon(state.getConditions().get(i)));
+            conditions.get(i).setIcon(chooseWeatherIcon(state.getConditionCodes().get(i)));
             weekdays.get(i).setText(state.getWeekdays().get(i));
         }
         feelsLikeTemperature.setText(state.getFeelsLikeTemperature());
@@ -341,17 +348,16 @@ public class DailyView extends JPanel implements PropertyChangeListener, ActionL
     }
 
     /**
-     * Chooses the corresponding weather icon based on the String code.
-     * @param condition the weather condition
+     * Chooses the corresponding weather icon based on the condition code.
+     * @param conditionCode the weather condition as defined by ConditionCodes
      * @return the corresponding weather image icon
      */
-    private ImageIcon chooseWeatherIcon(String condition) {
-        return switch (condition) {
-            case DisplayDailyViewModel.CLOUDS -> DisplayDailyViewModel.CLOUDS_IMAGE;
-            case DisplayDailyViewModel.CLEAR -> DisplayDailyViewModel.CLEAR_IMAGE;
-            case DisplayDailyViewModel.DRIZZLE, DisplayDailyViewModel.THUNDERSTORM, DisplayDailyViewModel.RAIN,
-                 DisplayDailyViewModel.MIST -> DisplayDailyViewModel.RAIN_IMAGE;
-            case DisplayDailyViewModel.SNOW -> DisplayDailyViewModel.SNOW_IMAGE;
+    private ImageIcon chooseWeatherIcon(byte conditionCode) {
+        return switch (ConditionCodes.getGroup(conditionCode)) {
+            case CLOUDS -> DisplayDailyViewModel.CLOUDS_IMAGE;
+            case CLEAR -> DisplayDailyViewModel.CLEAR_IMAGE;
+            case DRIZZLE, THUNDERSTORM, RAIN, MIST -> DisplayDailyViewModel.RAIN_IMAGE;
+            case SNOW -> DisplayDailyViewModel.SNOW_IMAGE;
             default -> DisplayDailyViewModel.CLEAR_IMAGE;
         };
     }
@@ -107,11 +107,14 @@ public class HistoryView extends JPanel implements PropertyChangeListener {
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         if (evt.getPropertyName().equals("update_data")) {
-            // execute the Display History Use Case with no city specified
+            // execute the Display History Use Case with no city specified, which fires a state change only if the
+            // cities have changed
             displayHistoryController.execute();
         }
-        final DisplayHistoryState currentState = (DisplayHistoryState) evt.getNewValue();
-        setCityLabels(currentState);
+        else {
+            final DisplayHistoryState currentState = (DisplayHistoryState) evt.getNewValue();
+            setCityLabels(currentState);
+        }
     }
 
     public String getViewName() {
@@ -7,19 +7,23 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
 import javax.swing.JLabel;
+import javax.swing.JMenuItem;
 import javax.swing.JPanel;
+import javax.swing.JPopupMenu;
 import javax.swing.JTextField;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 
 import org.jetbrains.annotations.NotNull;
 
+import entity.weather.ConditionCodes;
 import interface_adapter.display_home.DisplayHomeController;
 import interface_adapter.display_home.DisplayHomeState;
 import interface_adapter.display_home.DisplayHomeViewModel;
@@ -38,13 +42,19 @@ public class HomeView extends JPanel implements ActionListener, PropertyChangeLi
 
     private final DisplayHomeViewModel displayHomeViewModel;
     private DisplayHomeController displayHomeController;
+    // the location field shows the city of the next result after the home data is reloaded
+    private boolean locationRefreshPending;
 
     private final JTextField locationField = new JTextField(10);
+    // suggestions for the city being typed, shown below the location field without taking focus from it
+    private final JPopupMenu suggestionMenu = new JPopupMenu();
 
     private final JLabel dateLabel = new JLabel();
     private final JLabel temperatureLabel = new JLabel();
     // the info label displays high temperature, low temperature, and condition
     private final JLabel infoLabel = new JLabel();
+    // the offline label shows how old the forecast is when it is a last-known one, and is empty otherwise
+    private final JLabel offlineLabel = new JLabel();
 
     private final JButton hourlyButton = new JButton();
     private final JButton dailyButton = new JButton();
@@ -72,6 +82,7 @@ public class HomeView extends JPanel implements ActionListener, PropertyChangeLi
         box.add(dateLabel);
         box.add(temperatureLabel);
         box.add(infoLabel);
+        box.add(offlineLabel);
         box.add(Box.createVerticalStrut(NUM_50));
         box.add(buttonPanel);
         box.add(Box.createVerticalStrut(NUM_50));
@@ -134,6 +145,7 @@ public class HomeView extends JPanel implements ActionListener, PropertyChangeLi
         locationField.setText("Enter Location");
         locationField.setBorder(BorderFactory.createEmptyBorder());
         locationField.setHorizontalAlignment(JTextField.CENTER);
+        suggestionMenu.setFocusable(false);
 
         dateLabel.setFont(CRIMSONTEXTBOLD35);
         dateLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
@@ -143,6 +155,9 @@ public class HomeView extends JPanel implements ActionListener, PropertyChangeLi
 
         infoLabel.setFont(CRIMSONTEXTBOLD35);
         infoLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        offlineLabel.setFont(CRIMSONTEXTBOLD35);
+        offlineLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
     }
 
     private void addActionListeners() {
@@ -182,17 +197,24 @@ public class HomeView extends JPanel implements ActionListener, PropertyChangeLi
                 evt -> {
                     if (evt.getSource().equals(refreshButton)) {
                         final DisplayHomeState displayHomeState = this.displayHomeViewModel.getState();
-                        this.displayHomeController.execute(displayHomeState.getCity());
+                        showCity(displayHomeState.getCity());
                     }
                 }
         );
 
+        // pressing enter in the location field shows the typed city
+        locationField.addActionListener(evt -> showCity(locationField.getText()));
+
         // add document listeners to the location field
         locationField.getDocument().addDocumentListener(new DocumentListener() {
             private void documentListenerHelper() {
                 final DisplayHomeState currentState = displayHomeViewModel.getState();
                 currentState.setCity(locationField.getText());
                 displayHomeViewModel.setState(currentState);
+                // only suggest while the user is typing, not when a result sets the field
+                if (locationField.isFocusOwner()) {
+                    displayHomeController.suggest(locationField.getText());
+                }
             }
 
             @Override
@@ -216,28 +238,71 @@ public class HomeView extends JPanel implements ActionListener, PropertyChangeLi
         return viewName;
     }
 
+    /**
+     * Shows the weather of a city. The location field is set to the city of the result, which may be the typed
+     * name with its spelling corrected.
+     * @param city the city name
+     */
+    private void showCity(String city) {
+        suggestionMenu.setVisible(false);
+        locationRefreshPending = true;
+        displayHomeController.execute(city);
+    }
+
+    private void setSuggestions(List<String> suggestions) {
+        suggestionMenu.removeAll();
+        for (String suggestion : suggestions) {
+            // the city already typed in full needs no suggestion
+            if (!suggestion.equalsIgnoreCase(locationField.getText().trim())) {
+                final JMenuItem suggestionItem = new JMenuItem(suggestion);
+                suggestionItem.setFont(CRIMSONTEXTBOLD35);
+                suggestionItem.addActionListener(evt -> showCity(suggestion));
+                suggestionMenu.add(suggestionItem);
+            }
+        }
+
+        if (suggestionMenu.getComponentCount() == 0) {
+            suggestionMenu.setVisible(false);
+        }
+        else if (suggestionMenu.isVisible()) {
+            suggestionMenu.pack();
+        }
+        else {
+            suggestionMenu.show(locationField, 0, locationField.getHeight());
+        }
+    }
+
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         if (evt.getPropertyName().equals("update_data")) {
+            // the use case runs in the background, so the location field is set once its result arrives
+            locationRefreshPending = true;
             displayHomeController.execute();
-            final DisplayHomeState currentState = displayHomeViewModel.getState();
-            locationField.setText(currentState.getCity());
+        }
+        else if (evt.getPropertyName().equals("suggestions")) {
+            final DisplayHomeState currentState = (DisplayHomeState) evt.getNewValue();
+            setSuggestions(currentState.getSuggestions());
         }
         else {
             final DisplayHomeState currentState = (DisplayHomeState) evt.getNewValue();
 
             setLabels(currentState);
+            if (locationRefreshPending) {
+                locationRefreshPending = false;
+                locationField.setText(currentState.getCity());
+            }
         }
     }
 
     private void setLabels(DisplayHomeState currentState) {
         temperatureLabel.setText(currentState.getTemperature());
         // set the info label
-        final String infoLabelString = getWeatherString(currentState.getCondition() + " "
+        final String infoLabelString = getWeatherString(currentState.getConditionCode()) + " "
                 + DisplayHomeViewModel.HIGHLABEL + currentState.getHighTemperature() + DisplayHomeViewModel.DIVIDER
-                + DisplayHomeViewModel.LOWLABEL + currentState.getLowTemperature());
+                + DisplayHomeViewModel.LOWLABEL + currentState.getLowTemperature();
         infoLabel.setText(infoLabelString);
         dateLabel.setText(currentState.getDate());
+        offlineLabel.setText(currentState.getOffline());
     }
 
     /**
@@ -254,16 +319,16 @@ public class HomeView extends JPanel implements ActionListener, PropertyChangeLi
     }
 
     /**
-     * Chooses the corresponding condition String based on the String code.
-     * @param condition the weather condition
+     * Chooses the corresponding condition String based on the condition code.
+     * @param conditionCode the weather condition as defined by ConditionCodes
      * @return the corresponding weather condition String
      */
-    private String getWeatherString(String condition) {
-        return switch (condition) {
-            case DisplayHomeViewModel.CLEAR -> "Sunny";
-            case DisplayHomeViewModel.DRIZZLE, DisplayHomeViewModel.THUNDERSTORM, DisplayHomeViewModel.RAIN,
-                 DisplayHomeViewModel.MIST -> "Rainy";
-            case DisplayHomeViewModel.SNOW -> "Snowy";
+    private String getWeatherString(byte conditionCode) {
+        return switch (ConditionCodes.getGroup(conditionCode)) {
+            case UNKNOWN -> "-";
+            case CLEAR -> "Sunny";
+            case DRIZZLE, THUNDERSTORM, RAIN, MIST -> "Rainy";
+            case SNOW -> "Snowy";
             default -> "Cloudy";
         };
     }
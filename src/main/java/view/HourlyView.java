@@ -23,6 +23,7 @@ import javax.swing.JPanel;
 import org.jetbrains.annotations.NotNull;
 
 import constants.Constants;
+import entity.weather.ConditionCodes;
 import interface_adapter.display_hourly.DisplayHourlyController;
 import interface_adapter.display_hourly.DisplayHourlyState;
 import interface_adapter.display_hourly.DisplayHourlyViewModel;
@@ -55,6 +56,8 @@ public class HourlyView extends JPanel implements PropertyChangeListener, Action
 
     // City Labels
     private final JLabel city = new JLabel();
+    // how old the forecast is when it is a last-known one, empty otherwise
+    private final JLabel offline = new JLabel();
 
     // Weather Labels
     private final List<JButton> condition = new ArrayList<>(Constants.TIME_SIZE);
@@ -147,6 +150,7 @@ public class HourlyView extends JPanel implements PropertyChangeListener, Action
         final Box box = Box.createVerticalBox();
         box.add(backButtonPanel);
         box.add(city);
+        box.add(offline);
         box.add(forecastBox);
         box.add(detailsBox);
         this.add(box);
@@ -252,6 +256,8 @@ public class HourlyView extends JPanel implements PropertyChangeListener, Action
     private void setCityLabel() {
         city.setFont(CRIMSOMTEXTBOLD70);
         city.setAlignmentX(Component.CENTER_ALIGNMENT);
+        offline.setFont(CRIMSOMTEXTBOLD18);
+        offline.setAlignmentX(Component.CENTER_ALIGNMENT);
     }
 
     /**
@@ -346,9 +352,10 @@ public class HourlyView extends JPanel implements PropertyChangeListener, Action
 
     private void setLabels(DisplayHourlyState state) {
         city.setText(state.getCity());
+        offline.setText(state.getOffline());
         for (int i = 0; i < Constants.TIME_SIZE; i++) {
             temperature.get(i).setText(state.getTemperature().get(i));
-            condition.get(i).setIcon(chooseWeatherIcon(state.getCondition().get(i)));
+            condition.get(i).setIcon(chooseWeatherIcon(state.getConditionCodes().get(i)));
             times.get(i).setText(state.getTime().get(i));
         }
         feelsLike.setText(state.getFeelsLike());
@@ -368,16 +375,15 @@ public class HourlyView extends JPanel implements PropertyChangeListener, Action
     }
 
     /**
-     * Chooses the corresponding weather icon based on the String code.
-     * @param cond the weather condition
+     * Chooses the corresponding weather icon based on the condition code.
+     * @param conditionCode the weather condition as defined by ConditionCodes
      * @return the corresponding weather image icon
      */
-    private ImageIcon chooseWeatherIcon(String cond) {
-        return switch (cond) {
-            case DisplayHourlyViewModel.CLOUDS -> DisplayHourlyViewModel.CLOUDS_IMAGE;
-            case DisplayHourlyViewModel.DRIZZLE, DisplayHourlyViewModel.THUNDERSTORM, DisplayHourlyViewModel.RAIN,
-                 DisplayHourlyViewModel.MIST -> DisplayHourlyViewModel.RAIN_IMAGE;
-            case DisplayHourlyViewModel.SNOW -> DisplayHourlyViewModel.SNOW_IMAGE;
+    private ImageIcon chooseWeatherIcon(byte conditionCode) {
+        return switch (ConditionCodes.getGroup(conditionCode)) {
+            case CLOUDS -> DisplayHourlyViewModel.CLOUDS_IMAGE;
+            case DRIZZLE, THUNDERSTORM, RAIN, MIST -> DisplayHourlyViewModel.RAIN_IMAGE;
+            case SNOW -> DisplayHourlyViewModel.SNOW_IMAGE;
             default -> DisplayHourlyViewModel.CLEAR_IMAGE;
         };
     }
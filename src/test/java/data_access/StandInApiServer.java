@@ -0,0 +1,278 @@
+package data_access;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.net.ServerSocketFactory;
+
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Local stand-in for the OpenWeather Geocoding and One Call 3.0 APIs and the OpenAI chat completions API, so the
+ * real DAOs can be load and latency tested through the whole network stack without spending API quota. Geocoding
+ * resolves the cities of InMemoryWeatherData.json, One Call serves the forecast of the nearest of them with the
+ * excluded sections removed, and chat completions answer with InMemorySummarizationData.json. The latency, jitter,
+ * error rate and size of the hourly section can be changed while the server runs.
+ */
+public class StandInApiServer implements AutoCloseable {
+
+    // the key the DAOs must send, as the appid parameter or a bearer token
+    public static final String API_KEY = "stand-in";
+    public static final String GEOCODING_PATH = "/geo/1.0/direct";
+    public static final String ONE_CALL_PATH = "/data/3.0/onecall";
+    public static final String CHAT_PATH = "/v1/chat/completions";
+
+    private static final String HOURLY = "hourly";
+    private static final String LATITUDE = "lat";
+    private static final String LONGITUDE = "lon";
+    private static final int SERVICE_UNAVAILABLE = 503;
+    private static final long SECONDS_PER_HOUR = 3600;
+
+    private final MockWebServer mockWebServer = new MockWebServer();
+    private final Map<String, JSONObject> forecasts = new HashMap<>();
+    private final String completion;
+    // One Call bodies by city, excluded sections and hourly size, since building them is not what is measured
+    private final Map<String, String> oneCallBodies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> requestCounts = new ConcurrentHashMap<>();
+
+    private volatile long latencyMillis;
+    private volatile long jitterMillis;
+    private volatile double errorRate;
+    private volatile int hourlyEntries;
+
+    /**
+     * Loads the fixtures and starts the server on a free local port.
+     * @throws IOException if the fixtures cannot be read or the server cannot start
+     */
+    public StandInApiServer() throws IOException {
+        final JSONObject weatherData = new JSONObject(readFixture("/data/InMemoryWeatherData.json"));
+        for (String city : weatherData.keySet()) {
+            forecasts.put(city, weatherData.getJSONObject(city));
+        }
+        completion = readFixture("/data/InMemorySummarizationData.json");
+
+        mockWebServer.setServerSocketFactory(new NoDelayServerSocketFactory());
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return delay(respond(request));
+            }
+        });
+        mockWebServer.start();
+    }
+
+    /**
+     * Returns the base URL to hand the DAOs in place of the real API servers.
+     * @return the scheme, host and port of the server, without a trailing slash
+     */
+    public String getBaseUrl() {
+        final String url = mockWebServer.url("/").toString();
+        return url.substring(0, url.length() - 1);
+    }
+
+    /**
+     * Delays every response.
+     * @param latency the delay before the response headers are sent
+     * @param jitter the largest random delay added to the latency
+     */
+    public void setLatency(Duration latency, Duration jitter) {
+        this.latencyMillis = latency.toMillis();
+        this.jitterMillis = jitter.toMillis();
+    }
+
+    /**
+     * Fails a share of the requests with a 503.
+     * @param errorRate the share of requests to fail, between 0 and 1
+     */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * Resizes the hourly section of One Call responses, repeating the fixture's hours an hour apart to grow it.
+     * @param hourlyEntries the hours to serve, or 0 to serve the fixture's hours as they are
+     */
+    public void setHourlyEntries(int hourlyEntries) {
+        this.hourlyEntries = hourlyEntries;
+    }
+
+    /**
+     * Returns the requests received for an endpoint, including the ones failed on purpose.
+     * @param path the path of the endpoint, such as ONE_CALL_PATH
+     * @return the requests received for the path
+     */
+    public long getRequestCount(String path) {
+        final AtomicLong count = requestCounts.get(path);
+        if (count == null) {
+            return 0;
+        }
+        return count.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    private MockResponse respond(RecordedRequest request) {
+        final HttpUrl url = request.getRequestUrl();
+        final String path = url.encodedPath();
+        requestCounts.computeIfAbsent(path, key -> new AtomicLong()).incrementAndGet();
+
+        if (!API_KEY.equals(url.queryParameter("appid"))
+                && !("Bearer " + API_KEY).equals(request.getHeader("Authorization"))) {
+            return json(401, "{\"cod\":401,\"message\":\"Invalid API key.\"}");
+        }
+        if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+            return json(SERVICE_UNAVAILABLE, "{\"cod\":503,\"message\":\"Injected failure.\"}");
+        }
+        return switch (path) {
+            case GEOCODING_PATH -> json(200, geocode(url.queryParameter("q")));
+            case ONE_CALL_PATH -> json(200, oneCall(Double.parseDouble(url.queryParameter(LATITUDE)),
+                    Double.parseDouble(url.queryParameter(LONGITUDE)), url.queryParameter("exclude")));
+            case CHAT_PATH -> json(200, completion);
+            default -> json(404, "{\"cod\":404,\"message\":\"Not found.\"}");
+        };
+    }
+
+    private MockResponse delay(MockResponse response) {
+        final long delay = latencyMillis + ThreadLocalRandom.current().nextLong(jitterMillis + 1);
+        return response.setHeadersDelay(delay, TimeUnit.MILLISECONDS);
+    }
+
+    private String geocode(String query) {
+        final String name = query.split(",")[0].trim();
+        final JSONArray results = new JSONArray();
+        for (Map.Entry<String, JSONObject> forecast : forecasts.entrySet()) {
+            if (forecast.getKey().equalsIgnoreCase(name)) {
+                results.put(new JSONObject()
+                        .put("name", forecast.getKey())
+                        .put(LATITUDE, forecast.getValue().getDouble(LATITUDE))
+                        .put(LONGITUDE, forecast.getValue().getDouble(LONGITUDE)));
+            }
+        }
+        return results.toString();
+    }
+
+    /**
+     * Returns the forecast of the fixture city nearest the coordinates, since the DAOs request the center of a
+     * forecast tile rather than the city's own coordinates.
+     */
+    private String oneCall(double latitude, double longitude, String exclude) {
+        String nearest = null;
+        double nearestDistance = Double.MAX_VALUE;
+        for (Map.Entry<String, JSONObject> forecast : forecasts.entrySet()) {
+            final double distance = Math.pow(forecast.getValue().getDouble(LATITUDE) - latitude, 2)
+                    + Math.pow(forecast.getValue().getDouble(LONGITUDE) - longitude, 2);
+            if (distance < nearestDistance) {
+                nearest = forecast.getKey();
+                nearestDistance = distance;
+            }
+        }
+        final String city = nearest;
+        final int hours = hourlyEntries;
+        return oneCallBodies.computeIfAbsent(city + "|" + exclude + "|" + hours,
+                key -> buildOneCall(forecasts.get(city), exclude, hours));
+    }
+
+    private static String buildOneCall(JSONObject forecast, String exclude, int hours) {
+        final JSONObject response = new JSONObject(forecast.toString());
+        if (exclude != null) {
+            for (String section : exclude.split(",")) {
+                response.remove(section.trim());
+            }
+        }
+        if (hours > 0 && response.has(HOURLY)) {
+            final JSONArray fixtureHours = response.getJSONArray(HOURLY);
+            final long start = fixtureHours.getJSONObject(0).getLong("dt");
+            final JSONArray resized = new JSONArray();
+            for (int i = 0; i < hours; i++) {
+                resized.put(new JSONObject(fixtureHours.getJSONObject(i % fixtureHours.length()).toString())
+                        .put("dt", start + i * SECONDS_PER_HOUR));
+            }
+            response.put(HOURLY, resized);
+        }
+        return response.toString();
+    }
+
+    private static MockResponse json(int code, String body) {
+        return new MockResponse()
+                .setResponseCode(code)
+                .setHeader("Content-Type", "application/json")
+                .setBody(body);
+    }
+
+    private static String readFixture(String resource) throws IOException {
+        try (InputStream inputStream = StandInApiServer.class.getResourceAsStream(resource)) {
+            if (inputStream == null) {
+                throw new IOException("Missing Fixture: " + resource + ".");
+            }
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Creates server sockets whose connections have Nagle's algorithm turned off. The server writes the headers and
+     * body of a response separately, and otherwise the body waits out the client's delayed ACK of the headers, which
+     * adds about 40 ms to every request.
+     */
+    private static final class NoDelayServerSocketFactory extends ServerSocketFactory {
+
+        @Override
+        public ServerSocket createServerSocket() throws IOException {
+            return new NoDelayServerSocket();
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port) throws IOException {
+            return new NoDelayServerSocket(port, 0, null);
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog) throws IOException {
+            return new NoDelayServerSocket(port, backlog, null);
+        }
+
+        @Override
+        public ServerSocket createServerSocket(int port, int backlog, InetAddress address) throws IOException {
+            return new NoDelayServerSocket(port, backlog, address);
+        }
+    }
+
+    /**
+     * Server socket that turns off Nagle's algorithm on every socket it accepts.
+     */
+    private static final class NoDelayServerSocket extends ServerSocket {
+
+        private NoDelayServerSocket() throws IOException {
+            super();
+        }
+
+        private NoDelayServerSocket(int port, int backlog, InetAddress address) throws IOException {
+            super(port, backlog, address);
+        }
+
+        @Override
+        public Socket accept() throws IOException {
+            final Socket socket = super.accept();
+            socket.setTcpNoDelay(true);
+            return socket;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package data_access;
+
+import data_access.http.CircuitBreaker;
+import data_access.http.HttpTransport;
+import data_access.http.ResilientCaller;
+import data_access.summarization.SummarizationSummaryDAO;
+import data_access.weather.WeatherDAO;
+import data_access.weather.cache.ForecastCache;
+import data_access.weather.open_weather.OpenWeatherGeocodingDAO;
+import data_access.weather.open_weather.OpenWeatherWeatherDAO;
+import entity.summarization.ConcreteSummarizationFactory;
+import entity.summarization.Summarization;
+import entity.weather.daily_weather.ConcreteDailyWeatherDataFactory;
+import entity.weather.daily_weather.DailyWeatherData;
+import entity.weather.hourly_weather.ConcreteHourlyWeatherDataFactory;
+import entity.weather.hourly_weather.HourlyWeatherData;
+import exception.ApiCallException;
+import exception.CityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StandInApiServerTest {
+
+    private StandInApiServer standInApiServer;
+    private HttpTransport httpTransport;
+    private ResilientCaller resilientCaller;
+    private WeatherDAO weatherDAO;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        standInApiServer = new StandInApiServer();
+        httpTransport = new HttpTransport();
+        resilientCaller = new ResilientCaller(httpTransport, new CircuitBreaker(), 3, Duration.ofMillis(10),
+                Duration.ofMillis(10), false);
+        weatherDAO = new WeatherDAO(new ConcreteDailyWeatherDataFactory(), new ConcreteHourlyWeatherDataFactory(),
+                new OpenWeatherGeocodingDAO(resilientCaller, standInApiServer.getBaseUrl(), StandInApiServer.API_KEY),
+                new OpenWeatherWeatherDAO(resilientCaller, standInApiServer.getBaseUrl(), StandInApiServer.API_KEY),
+                new ForecastCache());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpTransport.shutdown();
+        standInApiServer.close();
+    }
+
+    @Test
+    void weatherDAOIsServedByStandInTest() throws ApiCallException {
+        final HourlyWeatherData hourly = weatherDAO.getHourlyWeatherData("Toronto");
+        final DailyWeatherData daily = weatherDAO.getDailyWeatherData("Vancouver");
+
+        assertEquals(48, hourly.getHourCount());
+        assertEquals("America/New_York", hourly.getTimezone());
+        assertEquals(8, daily.getDayWeatherDataList().size());
+        assertEquals("America/Los_Angeles", daily.getTimezone());
+        assertEquals(2, standInApiServer.getRequestCount(StandInApiServer.GEOCODING_PATH));
+        assertEquals(2, standInApiServer.getRequestCount(StandInApiServer.ONE_CALL_PATH));
+    }
+
+    @Test
+    void summarizationDAOIsServedByStandInTest() throws ApiCallException {
+        final SummarizationSummaryDAO summarizationSummaryDAO = new SummarizationSummaryDAO(
+                new ConcreteSummarizationFactory(), resilientCaller, standInApiServer.getBaseUrl(),
+                StandInApiServer.API_KEY);
+
+        final Summarization summarization = summarizationSummaryDAO.getSummarization("Toronto");
+        assertTrue(summarization.getWeatherSummary().contains("Toronto"));
+        assertEquals(1, standInApiServer.getRequestCount(StandInApiServer.CHAT_PATH));
+    }
+
+    @Test
+    void hourlySectionCanBeResizedTest() throws ApiCallException {
+        standInApiServer.setHourlyEntries(120);
+
+        assertEquals(120, weatherDAO.getHourlyWeatherData("Edmonton").getHourCount());
+    }
+
+    @Test
+    void latencyAndErrorsAreInjectedTest() {
+        standInApiServer.setLatency(Duration.ofMillis(50), Duration.ofMillis(10));
+        standInApiServer.setErrorRate(1);
+        final long start = System.nanoTime();
+
+        assertThrows(ApiCallException.class, () -> weatherDAO.getHourlyWeatherData("Toronto"));
+        // every attempt of the geocoding request waited out the latency and was failed
+        assertEquals(3, standInApiServer.getRequestCount(StandInApiServer.GEOCODING_PATH));
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(150).toNanos());
+    }
+
+    @Test
+    void wrongApiKeyIsRejectedTest() {
+        final OpenWeatherGeocodingDAO geocodingDAO = new OpenWeatherGeocodingDAO(resilientCaller,
+                standInApiServer.getBaseUrl(), "wrong");
+
+        final ApiCallException exception = assertThrows(ApiCallException.class,
+                () -> geocodingDAO.getCoordinates("Toronto"));
+        assertFalse(exception instanceof CityNotFoundException);
+    }
+
+    @Test
+    void unknownCityIsNotFoundTest() {
+        final OpenWeatherGeocodingDAO geocodingDAO = new OpenWeatherGeocodingDAO(resilientCaller,
+                standInApiServer.getBaseUrl(), StandInApiServer.API_KEY);
+
+        assertThrows(CityNotFoundException.class, () -> geocodingDAO.getCoordinates("Atlantis"));
+        final CompletionException exception = assertThrows(CompletionException.class,
+                () -> geocodingDAO.getCoordinatesAsync("Atlantis").join());
+        assertInstanceOf(CityNotFoundException.class, exception.getCause());
+    }
+}
@@ -0,0 +1,156 @@
+package data_access.concurrent;
+
+import exception.ApiCallException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void concurrentCallersShareOneLoadTest() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Future<String>> results = runConcurrently("Toronto", () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "coordinates";
+        }, release);
+
+        for (Future<String> result : results) {
+            assertEquals("coordinates", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    @Test
+    void concurrentCallersShareOneFailureTest() throws Exception {
+        final ApiCallException failure = new ApiCallException("Failed To Get Coordinates For: Toronto");
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Future<String>> results = runConcurrently("Toronto", () -> {
+            loads.incrementAndGet();
+            await(release);
+            throw failure;
+        }, release);
+
+        for (Future<String> result : results) {
+            final ExecutionException exception =
+                    assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, exception.getCause());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    @Test
+    void sequentialCallsLoadAgainTest() throws ApiCallException {
+        singleFlight.execute("Toronto", () -> String.valueOf(loads.incrementAndGet()));
+        final String second = singleFlight.execute("Toronto", () -> String.valueOf(loads.incrementAndGet()));
+
+        assertEquals("2", second);
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    @Test
+    void differentKeysLoadIndependentlyTest() throws ApiCallException {
+        assertEquals("Toronto", singleFlight.execute("Toronto", () -> "Toronto"));
+        assertEquals("Paris", singleFlight.execute("Paris", () -> "Paris"));
+    }
+
+    @Test
+    void asyncCallersShareOneLoadTest() {
+        final CompletableFuture<String> load = new CompletableFuture<>();
+        final CompletableFuture<String> first = singleFlight.executeAsync("Toronto", () -> {
+            loads.incrementAndGet();
+            return load;
+        });
+        final CompletableFuture<String> second = singleFlight.executeAsync("Toronto", () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+
+        // cancelling one caller's copy leaves the shared call running for the others
+        first.cancel(false);
+        assertEquals(1, singleFlight.getInFlightCount());
+        load.complete("coordinates");
+
+        assertEquals("coordinates", second.join());
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    @Test
+    void blockingCallerJoinsAsyncLoadTest() throws Exception {
+        final ApiCallException failure = new ApiCallException("Failed To Get Coordinates For: Toronto");
+        final CompletableFuture<String> load = new CompletableFuture<>();
+        final CompletableFuture<String> asyncResult = singleFlight.executeAsync("Toronto", () -> load);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<String> blockingResult = executor.submit(() -> singleFlight.execute("Toronto", () -> {
+                loads.incrementAndGet();
+                return "other";
+            }));
+            Thread.sleep(100);
+            load.completeExceptionally(failure);
+
+            final ExecutionException exception =
+                    assertThrows(ExecutionException.class, () -> blockingResult.get(5, TimeUnit.SECONDS));
+            assertSame(failure, exception.getCause());
+            assertSame(failure, assertThrows(CompletionException.class, asyncResult::join).getCause());
+            assertEquals(0, loads.get());
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    private List<Future<String>> runConcurrently(String key, SingleFlight.Loader<String> loader,
+                                                 CountDownLatch release) throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        final CountDownLatch started = new CountDownLatch(CALLERS);
+        final List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> {
+                started.countDown();
+                return singleFlight.execute(key, loader);
+            }));
+        }
+
+        // wait for every caller to join the in-flight load before letting it finish
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (loads.get() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(200);
+        release.countDown();
+        executor.shutdown();
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) throws ApiCallException {
+        try {
+            latch.await();
+        }
+        catch (InterruptedException exception) {
+            throw new ApiCallException(exception);
+        }
+    }
+}
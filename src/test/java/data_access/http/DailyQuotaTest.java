@@ -0,0 +1,132 @@
+package data_access.http;
+
+import data_access.TestClock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DailyQuotaTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final TestClock clock = new TestClock();
+
+    @Test
+    void dailyLimitIsEnforcedTest() {
+        final DailyQuota quota = quota(3);
+
+        assertTrue(quota.tryAcquire());
+        assertTrue(quota.tryAcquire());
+        assertTrue(quota.tryAcquire());
+        assertFalse(quota.tryAcquire());
+        assertEquals(0, quota.getRemaining());
+        assertEquals(1, quota.getRejectionCount());
+    }
+
+    @Test
+    void usageSurvivesRestartTest() {
+        final DailyQuota quota = quota(10);
+        quota.tryAcquire();
+        quota.tryAcquire();
+        quota.flush();
+
+        final DailyQuota restarted = quota(10);
+        assertEquals(2, restarted.getUsedToday());
+        assertEquals(8, restarted.getRemaining());
+    }
+
+    @Test
+    void requestsAreWrittenTogetherTest() {
+        final DailyQuota quota = quota(10);
+        for (int i = 0; i < 5; i++) {
+            quota.tryAcquire();
+        }
+        assertFalse(Files.exists(tempDir.resolve("quota.json")));
+        assertEquals(0, quota.getFlushCount());
+
+        quota.flush();
+        quota.flush();
+        assertEquals(1, quota.getFlushCount());
+        assertEquals(5, quota(10).getUsedToday());
+    }
+
+    @Test
+    void turningTightIsWrittenStraightAwayTest() {
+        final DailyQuota quota = quota(10);
+        for (int i = 0; i < 8; i++) {
+            quota.tryAcquire();
+        }
+
+        assertTrue(quota.isTight());
+        assertEquals(1, quota.getFlushCount());
+        assertEquals(8, quota(10).getUsedToday());
+    }
+
+    @Test
+    void budgetResetsAtMidnightTest() {
+        final DailyQuota quota = quota(1);
+        quota.tryAcquire();
+        assertFalse(quota.tryAcquire());
+
+        clock.advance(Duration.ofHours(12));
+        assertTrue(quota.tryAcquire());
+        quota.flush();
+        // usage written yesterday is not picked up today
+        clock.advance(Duration.ofDays(1));
+        assertEquals(0, quota(1).getUsedToday());
+    }
+
+    @Test
+    void quotaIsTightWithinReserveTest() {
+        final DailyQuota quota = quota(10);
+        for (int i = 0; i < 7; i++) {
+            quota.tryAcquire();
+        }
+        assertFalse(quota.isTight());
+
+        quota.tryAcquire();
+        assertTrue(quota.isTight());
+    }
+
+    @Test
+    void exhaustionIsProjectedFromTodaysRateTest() {
+        // the test clock starts at noon, so 10 requests took 12 hours
+        final DailyQuota quota = quota(15);
+        for (int i = 0; i < 10; i++) {
+            quota.tryAcquire();
+        }
+        assertEquals(Instant.parse("2024-12-01T18:00:00Z"), quota.getProjectedExhaustion());
+
+        // at the same rate a larger budget lasts past midnight
+        assertNull(quota(40).getProjectedExhaustion());
+    }
+
+    @Test
+    void tokenBucketLimitsBurstsTest() {
+        final TokenBucket tokenBucket = new TokenBucket(2, 1, Duration.ofSeconds(10), clock);
+        final DailyQuota quota = new DailyQuota("Test", 100, tokenBucket, tempDir.resolve("quota.json"), clock);
+
+        assertTrue(quota.tryAcquire());
+        assertTrue(quota.tryAcquire());
+        assertFalse(quota.tryAcquire());
+        assertEquals(2, quota.getUsedToday());
+
+        clock.advance(Duration.ofSeconds(10));
+        assertTrue(quota.tryAcquire());
+        assertFalse(quota.tryAcquire());
+    }
+
+    private DailyQuota quota(long dailyLimit) {
+        // nothing is written in the background during a test, only by flush or by turning tight
+        return new DailyQuota("Test", dailyLimit, DailyQuota.DEFAULT_RESERVE,
+                new TokenBucket(100, 100, Duration.ofSeconds(1), clock), tempDir.resolve("quota.json"),
+                Duration.ofHours(1), clock);
+    }
+}
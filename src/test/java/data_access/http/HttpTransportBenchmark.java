@@ -0,0 +1,167 @@
+package data_access.http;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.tls.HandshakeCertificates;
+import okhttp3.tls.HeldCertificate;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares a request through the shared HttpTransport with the old pattern of building a new OkHttpClient for every
+ * call. Both clients talk to a local HTTPS MockWebServer that negotiates HTTP/2, so the difference is the cost of
+ * the extra TCP connection and TLS handshake. The handshakes counter reports how many handshakes each request paid.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpTransportBenchmark {
+
+    private static final AtomicLong HANDSHAKES = new AtomicLong();
+    private static final String BODY = "[{\"name\":\"Toronto\",\"lat\":43.65,\"lon\":-79.38}]";
+
+    /**
+     * Local TLS server and the clients that call it.
+     */
+    @State(Scope.Benchmark)
+    public static class Server {
+        private MockWebServer mockWebServer;
+        private HandshakeCertificates clientCertificates;
+        private HttpTransport httpTransport;
+        private OkHttpClient sharedClient;
+        private String url;
+
+        @Setup(Level.Trial)
+        public void start() throws IOException {
+            final String localhost = InetAddress.getByName("localhost").getCanonicalHostName();
+            final HeldCertificate certificate = new HeldCertificate.Builder()
+                    .addSubjectAlternativeName(localhost)
+                    .build();
+            final HandshakeCertificates serverCertificates = new HandshakeCertificates.Builder()
+                    .heldCertificate(certificate)
+                    .build();
+            clientCertificates = new HandshakeCertificates.Builder()
+                    .addTrustedCertificate(certificate.certificate())
+                    .build();
+
+            mockWebServer = new MockWebServer();
+            mockWebServer.useHttps(serverCertificates.sslSocketFactory(), false);
+            mockWebServer.setProtocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1));
+            mockWebServer.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest recordedRequest) {
+                    return new MockResponse().setBody(BODY);
+                }
+            });
+            mockWebServer.start();
+            url = mockWebServer.url("/geo/1.0/direct").toString();
+
+            httpTransport = new HttpTransport();
+            sharedClient = trusting(httpTransport.getClient().newBuilder()).build();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() throws IOException {
+            httpTransport.shutdown();
+            mockWebServer.shutdown();
+        }
+
+        private OkHttpClient.Builder trusting(OkHttpClient.Builder builder) {
+            return builder
+                    .sslSocketFactory(clientCertificates.sslSocketFactory(), clientCertificates.trustManager())
+                    .eventListener(new EventListener() {
+                        @Override
+                        public void secureConnectEnd(Call call, Handshake handshake) {
+                            HANDSHAKES.incrementAndGet();
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Reports the TLS handshakes performed during an iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Handshakes {
+        private long handshakes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            HANDSHAKES.set(0);
+        }
+
+        @TearDown(Level.Iteration)
+        public void collect() {
+            handshakes = HANDSHAKES.get();
+        }
+
+        public long handshakes() {
+            return handshakes;
+        }
+    }
+
+    @Benchmark
+    public String sharedTransport(Server server, Handshakes handshakes) throws IOException {
+        return execute(server.sharedClient, server.url);
+    }
+
+    @Benchmark
+    public String clientPerRequest(Server server, Handshakes handshakes) throws IOException {
+        final OkHttpClient client = server.trusting(new OkHttpClient.Builder()).build();
+        try {
+            return execute(client, server.url);
+        }
+        finally {
+            client.dispatcher().executorService().shutdown();
+            client.connectionPool().evictAll();
+        }
+    }
+
+    private static String execute(OkHttpClient client, String url) throws IOException {
+        final Request request = new Request.Builder().url(url).build();
+        try (Response response = client.newCall(request).execute()) {
+            return response.body().string();
+        }
+    }
+
+    /**
+     * Runs the benchmark from the IDE.
+     * @param args unused arguments
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(HttpTransportBenchmark.class.getSimpleName()).build()).run();
+    }
+}
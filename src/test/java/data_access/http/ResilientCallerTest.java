@@ -0,0 +1,192 @@
+package data_access.http;
+
+import data_access.TestClock;
+import exception.CircuitOpenException;
+import exception.QuotaExceededException;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientCallerTest {
+
+    private static final Duration BACKOFF = Duration.ofMillis(10);
+    private static final HttpTransport.ResponseReader<String> READER = response -> {
+        if (!response.isSuccessful()) {
+            throw new IOException("API Call Unsuccessful.");
+        }
+        return response.body().string();
+    };
+
+    @TempDir
+    Path tempDir;
+
+    private final TestClock clock = new TestClock();
+    private MockWebServer mockWebServer;
+    private HttpTransport httpTransport;
+    private Request request;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        // OkHttp's own silent retry would hide the faults injected by the server
+        httpTransport = new HttpTransport(new OkHttpClient.Builder().retryOnConnectionFailure(false).build());
+        request = new Request.Builder().url(mockWebServer.url("/data/3.0/onecall")).build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpTransport.shutdown();
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void serverErrorsAreRetriedTest() throws IOException {
+        final ResilientCaller resilientCaller = caller(new CircuitBreaker(), 3);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(429));
+        mockWebServer.enqueue(new MockResponse().setBody("forecast"));
+
+        assertEquals("forecast", resilientCaller.execute(request, READER));
+        assertEquals(3, mockWebServer.getRequestCount());
+        assertEquals(2, resilientCaller.getRetryCount());
+    }
+
+    @Test
+    void droppedConnectionIsRetriedTest() throws IOException {
+        final ResilientCaller resilientCaller = caller(new CircuitBreaker(), 3);
+        mockWebServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        mockWebServer.enqueue(new MockResponse().setBody("forecast"));
+
+        assertEquals("forecast", resilientCaller.call(request, READER).join());
+        assertEquals(1, resilientCaller.getRetryCount());
+    }
+
+    @Test
+    void clientErrorIsNotRetriedTest() {
+        final ResilientCaller resilientCaller = caller(new CircuitBreaker(), 3);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404));
+
+        final IOException exception = assertThrows(IOException.class, () -> resilientCaller.execute(request, READER));
+        assertEquals("API Call Unsuccessful.", exception.getMessage());
+        assertEquals(1, mockWebServer.getRequestCount());
+        assertEquals(CircuitBreaker.State.CLOSED, resilientCaller.getCircuitBreaker().getState());
+    }
+
+    @Test
+    void postIsNotRetriedTest() {
+        final ResilientCaller resilientCaller = caller(new CircuitBreaker(), 3);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        final Request post = request.newBuilder()
+                .post(RequestBody.create("{}", MediaType.get("application/json")))
+                .build();
+
+        final IOException exception = assertThrows(IOException.class, () -> resilientCaller.execute(post, READER));
+        assertEquals("Server Returned 503.", exception.getMessage());
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void openCircuitFailsFastAndRecoversTest() throws IOException {
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(2, Duration.ofSeconds(30), clock);
+        final ResilientCaller resilientCaller = caller(circuitBreaker, 1);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+
+        assertThrows(IOException.class, () -> resilientCaller.execute(request, READER));
+        assertThrows(IOException.class, () -> resilientCaller.execute(request, READER));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        // the server is not contacted while the circuit is open
+        assertThrows(CircuitOpenException.class, () -> resilientCaller.execute(request, READER));
+        assertEquals(2, mockWebServer.getRequestCount());
+        assertEquals(1, resilientCaller.getRejectionCount());
+
+        // a single trial is let through once the open duration has passed, and closes the circuit
+        clock.advance(Duration.ofSeconds(30));
+        mockWebServer.enqueue(new MockResponse().setBody("forecast"));
+        assertEquals("forecast", resilientCaller.execute(request, READER));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void failedTrialReopensCircuitTest() {
+        final CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ofSeconds(30), clock);
+        final ResilientCaller resilientCaller = caller(circuitBreaker, 1);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(502));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(502));
+
+        assertThrows(IOException.class, () -> resilientCaller.execute(request, READER));
+        clock.advance(Duration.ofSeconds(30));
+        assertThrows(IOException.class, () -> resilientCaller.execute(request, READER));
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(Duration.ofSeconds(30), circuitBreaker.getRemainingOpenDuration());
+        assertThrows(CircuitOpenException.class, () -> resilientCaller.execute(request, READER));
+    }
+
+    @Test
+    void exhaustedQuotaFailsFastTest() throws IOException {
+        final TokenBucket tokenBucket = new TokenBucket(1, 1, Duration.ofMinutes(1), clock);
+        final ResilientCaller resilientCaller = new ResilientCaller(httpTransport, new CircuitBreaker(), tokenBucket,
+                3, BACKOFF, BACKOFF, true);
+        mockWebServer.enqueue(new MockResponse().setBody("forecast"));
+
+        assertEquals("forecast", resilientCaller.execute(request, READER));
+        assertThrows(QuotaExceededException.class, () -> resilientCaller.execute(request, READER));
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void tightQuotaIsNotSpentOnRetriesTest() {
+        final DailyQuota quota = new DailyQuota("Test", 10, new TokenBucket(10, 10, Duration.ofSeconds(1), clock),
+                tempDir.resolve("quota.json"), clock);
+        for (int i = 0; i < 8; i++) {
+            quota.tryAcquire();
+        }
+        final ResilientCaller resilientCaller = new ResilientCaller(httpTransport, new CircuitBreaker(), quota,
+                3, BACKOFF, BACKOFF, true);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+
+        assertThrows(IOException.class, () -> resilientCaller.execute(request, READER));
+        assertEquals(1, mockWebServer.getRequestCount());
+        assertEquals(1, quota.getRemaining());
+    }
+
+    @Test
+    void slowRequestIsHedgedTest() throws IOException {
+        final ResilientCaller resilientCaller = caller(new CircuitBreaker(), 1);
+        for (int i = 0; i < ResilientCaller.MIN_HEDGE_SAMPLES; i++) {
+            mockWebServer.enqueue(new MockResponse().setBody("warm up"));
+            resilientCaller.execute(request, READER);
+        }
+        assertEquals(0, resilientCaller.getHedgeCount());
+
+        mockWebServer.enqueue(new MockResponse().setBody("slow").setHeadersDelay(2, TimeUnit.SECONDS));
+        mockWebServer.enqueue(new MockResponse().setBody("hedged"));
+        final long start = System.nanoTime();
+
+        assertEquals("hedged", resilientCaller.execute(request, READER));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, resilientCaller.getHedgeCount());
+    }
+
+    private ResilientCaller caller(CircuitBreaker circuitBreaker, int maxAttempts) {
+        return new ResilientCaller(httpTransport, circuitBreaker, maxAttempts, BACKOFF, BACKOFF, true);
+    }
+}
@@ -0,0 +1,134 @@
+package data_access.recent_city;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import entity.recent_city.ConcreteRecentCityDataFactory;
+import entity.recent_city.RecentCityData;
+import exception.RecentCitiesDataException;
+
+/**
+ * Measures adding and reading recent cities as the history of viewed cities grows. The DAO starts from a snapshot
+ * holding the whole history, as RecentCities.json did before it was bounded, plus a journal one line short of
+ * compaction, so compactions are part of what is measured. addCity is written to disk in the background, while
+ * addCityAndFlush writes every city before returning. legacyAddCity repeats the read, rebuild and rewrite of
+ * the whole file that addCity did before the journal, for comparison; unlike addCityAndFlush it never syncs to disk.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecentCitiesDAOBenchmark {
+
+    private static final int VIEWED_CITIES = 50;
+
+    @Param({"1000", "10000", "100000"})
+    private int historySize;
+
+    private Path directory;
+    private Path legacyPath;
+    private RecentCitiesDAO recentCitiesDAO;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void writeHistory() throws IOException, RecentCitiesDataException {
+        directory = Files.createTempDirectory("recent-cities");
+        final List<String> history = new ArrayList<>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            history.add("City " + i);
+        }
+        final Path snapshotPath = directory.resolve("RecentCities.json");
+        Files.writeString(snapshotPath, new JSONArray(history).toString());
+        final StringBuilder journal = new StringBuilder();
+        for (int i = 1; i < RecentCitiesJournal.DEFAULT_COMPACTION_THRESHOLD; i++) {
+            journal.append(JSONObject.quote(history.get(i % historySize))).append('\n');
+        }
+        Files.writeString(directory.resolve("RecentCities.journal"), journal);
+        legacyPath = directory.resolve("Legacy.json");
+        Files.writeString(legacyPath, new JSONArray(history).toString());
+
+        recentCitiesDAO = new RecentCitiesDAO(new ConcreteRecentCityDataFactory(), snapshotPath);
+        recentCitiesDAO.getRecentCityData();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteHistory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void addCity() throws RecentCitiesDataException {
+        recentCitiesDAO.addCity(nextCity());
+    }
+
+    @Benchmark
+    public void addCityAndFlush() throws RecentCitiesDataException {
+        recentCitiesDAO.addCity(nextCity());
+        recentCitiesDAO.flush();
+    }
+
+    @Benchmark
+    public RecentCityData getRecentCityData() throws RecentCitiesDataException {
+        return recentCitiesDAO.getRecentCityData();
+    }
+
+    @Benchmark
+    public void legacyAddCity() throws IOException {
+        final String city = nextCity();
+        final JSONArray recentCitiesArray = new JSONArray(Files.readString(legacyPath));
+        final List<String> recentCitiesList = new ArrayList<>();
+        recentCitiesList.add(city);
+        for (int i = 0; i < recentCitiesArray.length(); i++) {
+            final String existingCity = recentCitiesArray.getString(i);
+            if (!existingCity.equals(city)) {
+                recentCitiesList.add(existingCity);
+            }
+        }
+        Files.writeString(legacyPath, new JSONArray(recentCitiesList).toString());
+    }
+
+    private String nextCity() {
+        next = (next + 1) % VIEWED_CITIES;
+        return "City " + next;
+    }
+
+    /**
+     * Runs the benchmark from the IDE.
+     * @param args unused arguments
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RecentCitiesDAOBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,160 @@
+package data_access.recent_city;
+
+import exception.RecentCitiesDataException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Views the same recent cities from many threads and from several JVMs at once, with a compaction threshold low
+ * enough that writers keep compacting under each other, and checks that no view is lost, every writer's views keep
+ * their order, and the journal lock is never held for long.
+ */
+class RecentCitiesJournalStressTest {
+
+    private static final int CAPACITY = 100_000;
+    private static final int COMPACTION_THRESHOLD = 50;
+    private static final Duration MAX_LOCK_HOLD = Duration.ofSeconds(2);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void threadsLoseNoViewsTest() throws Exception {
+        final Path snapshotPath = tempDir.resolve("RecentCities.json");
+        final RecentCitiesJournal journal = new RecentCitiesJournal(snapshotPath, CAPACITY, COMPACTION_THRESHOLD,
+                Duration.ofMillis(1));
+        final int threads = 8;
+        final int views = 250;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> writers = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                final String writer = "T" + thread;
+                final boolean flushing = thread % 2 == 0;
+                writers.add(executor.submit(() -> {
+                    for (int view = 0; view < views; view++) {
+                        journal.add(writer + "-" + view);
+                        // half the writers wait for every view to be written, the rest leave it to the background
+                        if (flushing) {
+                            journal.flush();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(1, TimeUnit.MINUTES);
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+        journal.flush();
+
+        final List<String> reloaded = new RecentCitiesJournal(snapshotPath, CAPACITY, COMPACTION_THRESHOLD,
+                Duration.ofHours(1)).list();
+        assertNoLostViews(reloaded, "T", threads, views);
+        assertEquals(reloaded, journal.list());
+        assertTrue(journal.getMaxLockHold().compareTo(MAX_LOCK_HOLD) < 0, journal.getMaxLockHold().toString());
+    }
+
+    @Test
+    void processesLoseNoViewsTest() throws IOException, InterruptedException, RecentCitiesDataException {
+        final Path snapshotPath = tempDir.resolve("RecentCities.json");
+        final Path start = tempDir.resolve("start");
+        final int processes = 4;
+        final int views = 150;
+        final String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+        final List<Process> writers = new ArrayList<>();
+        final List<BufferedReader> outputs = new ArrayList<>();
+        for (int process = 0; process < processes; process++) {
+            final Process writer = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    Writer.class.getName(), snapshotPath.toString(), start.toString(), "P" + process,
+                    String.valueOf(views))
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            writers.add(writer);
+            outputs.add(new BufferedReader(new InputStreamReader(writer.getInputStream(), StandardCharsets.UTF_8)));
+        }
+        // start every writer at once, once they have all started up
+        for (BufferedReader output : outputs) {
+            assertEquals("ready", output.readLine());
+        }
+        Files.createFile(start);
+
+        for (int process = 0; process < processes; process++) {
+            final Process writer = writers.get(process);
+            assertTrue(writer.waitFor(2, TimeUnit.MINUTES));
+            assertEquals(0, writer.exitValue());
+            final Duration maxLockHold = Duration.ofNanos(Long.parseLong(outputs.get(process).readLine()));
+            assertTrue(maxLockHold.compareTo(MAX_LOCK_HOLD) < 0, maxLockHold.toString());
+        }
+
+        assertNoLostViews(new RecentCitiesJournal(snapshotPath, CAPACITY, COMPACTION_THRESHOLD,
+                Duration.ofHours(1)).list(), "P", processes, views);
+    }
+
+    /**
+     * Checks that every writer's views are in the list, the later of them more recent.
+     */
+    private static void assertNoLostViews(List<String> recentCities, String prefix, int writers, int views) {
+        assertEquals(writers * views, recentCities.size());
+        for (int writer = 0; writer < writers; writer++) {
+            final String name = prefix + writer + "-";
+            final List<String> written = recentCities.stream().filter(city -> city.startsWith(name)).toList();
+            assertEquals(views, written.size());
+            for (int view = 0; view < views; view++) {
+                assertEquals(name + (views - 1 - view), written.get(view));
+            }
+        }
+    }
+
+    /**
+     * A writer process: views its own cities one at a time, writing each before the next, and prints the longest it
+     * held the journal lock.
+     */
+    static final class Writer {
+
+        private Writer() {
+        }
+
+        /**
+         * Runs the writer.
+         * @param args the snapshot file, the file whose creation starts the writer, the writer's name and the
+         *     number of views
+         * @throws Exception if the views cannot be written
+         */
+        public static void main(String[] args) throws Exception {
+            final RecentCitiesJournal journal = new RecentCitiesJournal(Path.of(args[0]), CAPACITY,
+                    COMPACTION_THRESHOLD, Duration.ofHours(1));
+            final Path start = Path.of(args[1]);
+            System.out.println("ready");
+            System.out.flush();
+            while (!Files.exists(start)) {
+                Thread.sleep(1);
+            }
+            for (int view = 0; view < Integer.parseInt(args[3]); view++) {
+                journal.add(args[2] + "-" + view);
+                journal.flush();
+            }
+            System.out.println(journal.getMaxLockHold().toNanos());
+        }
+    }
+}
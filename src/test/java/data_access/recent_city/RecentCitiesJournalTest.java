@@ -0,0 +1,172 @@
+package data_access.recent_city;
+
+import exception.RecentCitiesDataException;
+import org.json.JSONArray;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentCitiesJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path snapshotPath;
+    private Path journalPath;
+
+    @BeforeEach
+    void setUp() {
+        snapshotPath = tempDir.resolve("RecentCities.json");
+        journalPath = tempDir.resolve("RecentCities.journal");
+    }
+
+    @Test
+    void addAppendsWithoutRewritingSnapshotTest() throws IOException, RecentCitiesDataException {
+        Files.writeString(snapshotPath, "[\"Toronto\",\"Vancouver\"]");
+        final RecentCitiesJournal journal = journal(10, 100);
+
+        journal.add("Waterloo");
+        journal.add("Vancouver");
+        assertEquals(0, Files.size(journalPath));
+        journal.flush();
+
+        assertEquals(List.of("Vancouver", "Waterloo", "Toronto"), journal.list());
+        assertEquals("[\"Toronto\",\"Vancouver\"]", Files.readString(snapshotPath));
+        assertEquals("\"Waterloo\"\n\"Vancouver\"\n", Files.readString(journalPath));
+        assertEquals(2, journal.getJournalEntries());
+    }
+
+    @Test
+    void journalIsReplayedAfterReopeningTest() throws RecentCitiesDataException {
+        final RecentCitiesJournal journal = journal(10, 100);
+        journal.add("Toronto");
+        journal.add("Vancouver");
+        journal.add("Toronto");
+        journal.flush();
+
+        final RecentCitiesJournal reopened = journal(10, 100);
+        assertEquals(List.of("Toronto", "Vancouver"), reopened.list());
+        assertEquals(3, reopened.getJournalEntries());
+    }
+
+    @Test
+    void compactionWritesBoundedSnapshotTest() throws IOException, RecentCitiesDataException {
+        final RecentCitiesJournal journal = journal(3, 5);
+        for (String city : List.of("Toronto", "Vancouver", "Waterloo", "Edmonton", "Calgary")) {
+            journal.add(city);
+        }
+        journal.flush();
+
+        assertEquals(0, journal.getJournalEntries());
+        // the compacted journal holds only its new version
+        assertEquals("1\n", Files.readString(journalPath));
+        assertEquals(List.of("Calgary", "Edmonton", "Waterloo"),
+                new JSONArray(Files.readString(snapshotPath)).toList());
+        assertFalse(Files.exists(tempDir.resolve("RecentCities.json.tmp")));
+
+        journal.add("Toronto");
+        journal.flush();
+        assertEquals(List.of("Toronto", "Calgary", "Edmonton"), journal(3, 5).list());
+    }
+
+    @Test
+    void tornLineIsDroppedTest() throws IOException, RecentCitiesDataException {
+        Files.writeString(snapshotPath, "[\"Toronto\"]");
+        Files.writeString(journalPath, "\"Vancouver\"\n\"Water", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE);
+        final RecentCitiesJournal journal = journal(10, 100);
+
+        assertEquals(List.of("Vancouver", "Toronto"), journal.list());
+        // the torn line was cut off, so the next line is not appended after it
+        assertEquals("\"Vancouver\"\n", Files.readString(journalPath));
+        journal.add("Waterloo");
+        journal.flush();
+        assertEquals(List.of("Waterloo", "Vancouver", "Toronto"), journal(10, 100).list());
+    }
+
+    @Test
+    void viewsAreWrittenBehindTogetherTest() throws IOException, RecentCitiesDataException, InterruptedException {
+        final RecentCitiesJournal journal = new RecentCitiesJournal(snapshotPath, 10, 100, Duration.ofMillis(100));
+        journal.add("Toronto");
+        journal.add("Vancouver");
+        journal.add("Waterloo");
+        assertEquals(0, Files.size(journalPath));
+
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (journal.getJournalEntries() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, journal.getFlushCount());
+        assertEquals("\"Toronto\"\n\"Vancouver\"\n\"Waterloo\"\n", Files.readString(journalPath));
+    }
+
+    @Test
+    void listenersAreToldOnlyAboutChangesTest() throws RecentCitiesDataException {
+        final RecentCitiesJournal journal = journal(10, 100);
+        final List<List<String>> changes = new ArrayList<>();
+        journal.addListener(changes::add);
+
+        journal.add("Toronto");
+        journal.add("Vancouver");
+        journal.add("Vancouver");
+        journal.add("Toronto");
+        journal.flush();
+
+        assertEquals(List.of(List.of("Toronto"), List.of("Vancouver", "Toronto"), List.of("Toronto", "Vancouver")),
+                changes);
+        // viewing the most recent city again writes nothing
+        assertEquals(3, journal.getJournalEntries());
+    }
+
+    @Test
+    void writersOfTheSameFilesMergeTest() throws RecentCitiesDataException {
+        // two journals of the same files stand in for two processes
+        final RecentCitiesJournal first = journal(10, 3);
+        final RecentCitiesJournal second = journal(10, 3);
+        first.add("Toronto");
+        second.add("Vancouver");
+        first.flush();
+        second.flush();
+        assertEquals(List.of("Vancouver", "Toronto"), second.list());
+        assertEquals(List.of("Vancouver", "Toronto"), first.list());
+
+        // the first compacts, and the second reloads from the new snapshot before writing after it
+        first.add("Waterloo");
+        second.add("Edmonton");
+        first.flush();
+        second.flush();
+        assertEquals(List.of("Edmonton", "Waterloo", "Vancouver", "Toronto"), second.list());
+        assertEquals(List.of("Edmonton", "Waterloo", "Vancouver", "Toronto"), first.list());
+        assertEquals(List.of("Edmonton", "Waterloo", "Vancouver", "Toronto"), journal(10, 3).list());
+    }
+
+    @Test
+    void unreadableSnapshotThrowsTest() throws IOException {
+        Files.writeString(snapshotPath, "not json");
+        final RecentCitiesJournal journal = journal(10, 100);
+
+        assertThrows(RecentCitiesDataException.class, journal::list);
+    }
+
+    @Test
+    void daosOfTheSameFileShareTheJournalTest() {
+        assertSame(RecentCitiesJournal.open(snapshotPath),
+                RecentCitiesJournal.open(tempDir.resolve(".").resolve("RecentCities.json")));
+    }
+
+    // flushes are left to the test, so what is on disk is known
+    private RecentCitiesJournal journal(int capacity, int compactionThreshold) {
+        return new RecentCitiesJournal(snapshotPath, capacity, compactionThreshold, Duration.ofHours(1));
+    }
+}
@@ -0,0 +1,139 @@
+package data_access.weather;
+
+import data_access.TestClock;
+import data_access.http.HttpTransport;
+import data_access.recent_city.RecentCitiesDAO;
+import data_access.weather.cache.ForecastCache;
+import data_access.weather.geocoding.Geocoder;
+import data_access.weather.open_weather.ForecastSection;
+import data_access.weather.open_weather.OpenWeatherWeatherDAO;
+import entity.recent_city.ConcreteRecentCityDataFactory;
+import entity.weather.daily_weather.ConcreteDailyWeatherDataFactory;
+import entity.weather.hourly_weather.ConcreteHourlyWeatherDataFactory;
+import exception.ApiCallException;
+import exception.RecentCitiesDataException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ForecastPrefetcherTest {
+
+    private final AtomicInteger apiRequests = new AtomicInteger();
+    private final Set<String> warmedCities = ConcurrentHashMap.newKeySet();
+    private final Set<String> failedCities = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger finishedWarmed = new AtomicInteger(-1);
+    private final AtomicInteger finishedFailed = new AtomicInteger(-1);
+    private final ForecastPrefetcher.Listener listener = new ForecastPrefetcher.Listener() {
+        @Override
+        public void onCityWarmed(String city, Duration elapsed) {
+            warmedCities.add(city);
+        }
+
+        @Override
+        public void onCityFailed(String city, Throwable cause, Duration elapsed) {
+            assertInstanceOf(ApiCallException.class, cause);
+            failedCities.add(city);
+        }
+
+        @Override
+        public void onFinished(int warmed, int failed, Duration elapsed) {
+            finishedWarmed.set(warmed);
+            finishedFailed.set(failed);
+        }
+    };
+
+    @TempDir
+    Path tempDir;
+
+    private RecentCitiesDAO recentCitiesDAO;
+    private List<String> recentCities;
+    private volatile String unknownCity = "";
+    private WeatherDAO weatherDAO;
+
+    @BeforeEach
+    void setUp() throws IOException, RecentCitiesDataException {
+        final byte[] toronto;
+        try (InputStream inputStream = getClass().getResourceAsStream("/data/InMemoryWeatherData.json")) {
+            toronto = new JSONObject(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8))
+                    .getJSONObject("Toronto").toString().getBytes(StandardCharsets.UTF_8);
+        }
+        recentCitiesDAO = new RecentCitiesDAO(new ConcreteRecentCityDataFactory(),
+                tempDir.resolve("RecentCities.json"));
+        for (String city : List.of("Calgary", "Waterloo", "Vancouver", "Toronto")) {
+            recentCitiesDAO.addCity(city);
+        }
+        recentCities = recentCitiesDAO.getRecentCityData().getRecentCityList();
+        assertEquals(List.of("Toronto", "Vancouver", "Waterloo", "Calgary"), recentCities);
+
+        // every city gets its own coordinates, so each warmed city is its own One Call request
+        final Geocoder geocoder = city -> {
+            if (city.equals(unknownCity)) {
+                throw new ApiCallException("Failed To Get Geo-Coordinates For " + city + ".");
+            }
+            return Map.of(Geocoder.LATITUDE, (double) recentCities.indexOf(city), Geocoder.LONGITUDE, 0.0);
+        };
+        final OpenWeatherWeatherDAO openWeatherWeatherDAO = new OpenWeatherWeatherDAO(new HttpTransport()) {
+            @Override
+            public <T> CompletableFuture<T> apiRequestAsync(Map<String, Double> coordinates,
+                                                            Set<ForecastSection> sections,
+                                                            ResponseParser<T> parser) {
+                apiRequests.incrementAndGet();
+                return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return parser.parse(new ByteArrayInputStream(toronto));
+                    }
+                    catch (IOException exception) {
+                        throw new IllegalStateException(exception);
+                    }
+                });
+            }
+        };
+
+        weatherDAO = new WeatherDAO(new ConcreteDailyWeatherDataFactory(), new ConcreteHourlyWeatherDataFactory(),
+                geocoder, openWeatherWeatherDAO, new ForecastCache(Duration.ofMinutes(10), new TestClock()));
+    }
+
+    @Test
+    void warmsTopCitiesTest() throws Exception {
+        final int cityCount = 3;
+        new ForecastPrefetcher(recentCitiesDAO, weatherDAO, cityCount, listener).prefetch().get(5, TimeUnit.SECONDS);
+
+        assertEquals(Set.copyOf(recentCities.subList(0, cityCount)), warmedCities);
+        assertEquals(cityCount, finishedWarmed.get());
+        assertEquals(0, finishedFailed.get());
+        assertEquals(cityCount, apiRequests.get());
+
+        // opening a warmed city is served from the cache
+        weatherDAO.getHourlyWeatherData(recentCities.getFirst());
+        weatherDAO.getDailyWeatherData(recentCities.getFirst());
+        assertEquals(cityCount, apiRequests.get());
+    }
+
+    @Test
+    void failedCityIsReportedTest() throws Exception {
+        unknownCity = recentCities.getFirst();
+        new ForecastPrefetcher(recentCitiesDAO, weatherDAO, recentCities.size(), listener)
+                .prefetch().get(5, TimeUnit.SECONDS);
+
+        assertEquals(Set.of(unknownCity), failedCities);
+        assertEquals(recentCities.size() - 1, finishedWarmed.get());
+        assertEquals(1, finishedFailed.get());
+    }
+}
@@ -0,0 +1,106 @@
+package data_access.weather;
+
+import data_access.http.HttpTransport;
+import data_access.weather.cache.ForecastCache;
+import data_access.weather.geocoding.Geocoder;
+import data_access.weather.open_weather.ForecastSection;
+import data_access.weather.open_weather.OpenWeatherWeatherDAO;
+import entity.weather.daily_weather.ConcreteDailyWeatherDataFactory;
+import entity.weather.hourly_weather.ConcreteHourlyWeatherDataFactory;
+import exception.ApiCallException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ForecastRefreshSchedulerTest {
+
+    private final AtomicInteger apiRequests = new AtomicInteger();
+    private WeatherDAO weatherDAO;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final byte[] toronto;
+        try (InputStream inputStream = getClass().getResourceAsStream("/data/InMemoryWeatherData.json")) {
+            toronto = new JSONObject(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8))
+                    .getJSONObject("Toronto").toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        final Geocoder geocoder = city -> Map.of(Geocoder.LATITUDE, 43.6532, Geocoder.LONGITUDE, -79.3832);
+        final OpenWeatherWeatherDAO openWeatherWeatherDAO = new OpenWeatherWeatherDAO(new HttpTransport()) {
+            @Override
+            public <T> T apiRequest(Map<String, Double> coordinates, Set<ForecastSection> sections,
+                                    ResponseParser<T> parser)
+                    throws ApiCallException {
+                apiRequests.incrementAndGet();
+                try {
+                    return parser.parse(new ByteArrayInputStream(toronto));
+                }
+                catch (IOException exception) {
+                    throw new ApiCallException(exception);
+                }
+            }
+
+            @Override
+            public <T> CompletableFuture<T> apiRequestAsync(Map<String, Double> coordinates,
+                                                            Set<ForecastSection> sections,
+                                                            ResponseParser<T> parser) {
+                try {
+                    return CompletableFuture.completedFuture(apiRequest(coordinates, sections, parser));
+                }
+                catch (ApiCallException exception) {
+                    return CompletableFuture.failedFuture(exception);
+                }
+            }
+        };
+
+        weatherDAO = new WeatherDAO(new ConcreteDailyWeatherDataFactory(), new ConcreteHourlyWeatherDataFactory(),
+                geocoder, openWeatherWeatherDAO, new ForecastCache(Duration.ofMinutes(10), Clock.systemUTC()));
+    }
+
+    @Test
+    void activeLocationsRefreshedUntilStoppedTest() throws Exception {
+        final ForecastRefreshScheduler scheduler = new ForecastRefreshScheduler(weatherDAO, Duration.ofMillis(50),
+                Duration.ofMillis(20), Duration.ofMinutes(1));
+        scheduler.start();
+        weatherDAO.getHourlyWeatherData("Toronto");
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (apiRequests.get() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(apiRequests.get() >= 3);
+
+        scheduler.stop();
+        assertTrue(scheduler.isStopped());
+        // wait out any refresh that was already running when the scheduler stopped
+        Thread.sleep(100);
+        final int requestsAtStop = apiRequests.get();
+        Thread.sleep(200);
+        assertEquals(requestsAtStop, apiRequests.get());
+    }
+
+    @Test
+    void nothingRefreshedWithoutActiveLocationsTest() throws InterruptedException {
+        final ForecastRefreshScheduler scheduler = new ForecastRefreshScheduler(weatherDAO, Duration.ofMillis(20),
+                Duration.ofMillis(5), Duration.ofMinutes(1));
+        scheduler.start();
+        Thread.sleep(200);
+        scheduler.stop();
+
+        assertEquals(0, apiRequests.get());
+    }
+}
@@ -0,0 +1,109 @@
+package data_access.weather;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import data_access.StandInApiServer;
+import data_access.http.CircuitBreaker;
+import data_access.http.HttpTransport;
+import data_access.http.ResilientCaller;
+import data_access.weather.cache.ForecastCache;
+import data_access.weather.open_weather.OpenWeatherGeocodingDAO;
+import data_access.weather.open_weather.OpenWeatherWeatherDAO;
+import entity.weather.daily_weather.ConcreteDailyWeatherDataFactory;
+import entity.weather.hourly_weather.ConcreteHourlyWeatherDataFactory;
+import entity.weather.hourly_weather.HourlyWeatherData;
+import exception.ApiCallException;
+
+/**
+ * Measures a forecast lookup through the whole network stack, against the local StandInApiServer instead of
+ * OpenWeather: geocoding and One Call requests through ResilientCaller and the shared HttpTransport, streaming
+ * parsing and caching. The cache TTL is zero, so every lookup goes to the server. The server's latency and the size
+ * of its hourly section are parameters, so the fixed cost of the stack can be told apart from network and payload
+ * costs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WeatherDAOBenchmark {
+
+    private static final List<String> CITIES = List.of("Toronto", "Vancouver", "Edmonton");
+
+    @Param({"0", "20"})
+    private int latencyMillis;
+
+    @Param({"48", "168"})
+    private int hourlyEntries;
+
+    private StandInApiServer standInApiServer;
+    private HttpTransport httpTransport;
+    private WeatherDAO weatherDAO;
+
+    @Setup(Level.Trial)
+    public void startServer() throws IOException {
+        standInApiServer = new StandInApiServer();
+        standInApiServer.setLatency(Duration.ofMillis(latencyMillis), Duration.ZERO);
+        standInApiServer.setHourlyEntries(hourlyEntries);
+        httpTransport = new HttpTransport();
+        // hedging would race a second request against the injected latency
+        final ResilientCaller resilientCaller = new ResilientCaller(httpTransport, new CircuitBreaker(),
+                ResilientCaller.DEFAULT_MAX_ATTEMPTS, ResilientCaller.DEFAULT_BASE_DELAY,
+                ResilientCaller.DEFAULT_MAX_DELAY, false);
+        weatherDAO = new WeatherDAO(new ConcreteDailyWeatherDataFactory(), new ConcreteHourlyWeatherDataFactory(),
+                new OpenWeatherGeocodingDAO(resilientCaller, standInApiServer.getBaseUrl(), StandInApiServer.API_KEY),
+                new OpenWeatherWeatherDAO(resilientCaller, standInApiServer.getBaseUrl(), StandInApiServer.API_KEY),
+                new ForecastCache(Duration.ZERO, Clock.systemUTC()));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() throws IOException {
+        httpTransport.shutdown();
+        standInApiServer.close();
+    }
+
+    @Benchmark
+    public HourlyWeatherData blocking() throws ApiCallException {
+        return weatherDAO.getHourlyWeatherData("Toronto");
+    }
+
+    @Benchmark
+    public List<HourlyWeatherData> asyncThreeCities() {
+        final List<CompletableFuture<HourlyWeatherData>> futures = CITIES.stream()
+                .map(weatherDAO::getHourlyWeatherDataAsync)
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * Runs the benchmark from the IDE.
+     * @param args unused arguments
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WeatherDAOBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,399 @@
+package data_access.weather;
+
+import data_access.TestClock;
+import data_access.http.HttpTransport;
+import data_access.weather.cache.FileSnapshotStore;
+import data_access.weather.cache.ForecastCache;
+import data_access.weather.cache.GeohashTiling;
+import data_access.weather.cache.TileStats;
+import data_access.weather.geocoding.Geocoder;
+import data_access.weather.open_weather.ForecastSection;
+import data_access.weather.open_weather.OpenWeatherWeatherDAO;
+import entity.recent_city.ConcreteRecentCityData;
+import entity.summarization.ConcreteSummarization;
+import entity.weather.daily_weather.ConcreteDailyWeatherDataFactory;
+import entity.weather.daily_weather.DailyWeatherData;
+import entity.weather.hourly_weather.ConcreteHourlyWeatherDataFactory;
+import entity.weather.hourly_weather.HourlyWeatherData;
+import exception.ApiCallException;
+import use_case.display_summarization.DisplaySummarizationInteractor;
+import use_case.display_summarization.DisplaySummarizationOutputBoundary;
+import use_case.display_summarization.DisplaySummarizationOutputData;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeatherDAOTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicInteger apiRequests = new AtomicInteger();
+    private final List<Set<ForecastSection>> requestedSections = new CopyOnWriteArrayList<>();
+    private final TestClock clock = new TestClock();
+    // lets a test hold the One Call request open while other callers pile up behind it
+    private volatile CountDownLatch requestGate = new CountDownLatch(0);
+    // simulates the network being down
+    private volatile boolean apiDown;
+    // simulates the One Call quota running low
+    private volatile boolean quotaTight;
+    private Geocoder geocoder;
+    private OpenWeatherWeatherDAO openWeatherWeatherDAO;
+    private WeatherDAO weatherDAO;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final JSONObject torontoObject;
+        try (InputStream inputStream = getClass().getResourceAsStream("/data/InMemoryWeatherData.json")) {
+            torontoObject = new JSONObject(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8))
+                    .getJSONObject("Toronto");
+        }
+        final byte[] toronto = torontoObject.toString().getBytes(StandardCharsets.UTF_8);
+        // what OpenWeather returns when the hourly section is excluded
+        torontoObject.remove("hourly");
+        final byte[] torontoDaily = torontoObject.toString().getBytes(StandardCharsets.UTF_8);
+
+        // every city resolves to Toronto, which lets the test count One Call requests per location
+        geocoder = city -> Map.of(Geocoder.LATITUDE, 43.6532, Geocoder.LONGITUDE, -79.3832);
+        openWeatherWeatherDAO = new OpenWeatherWeatherDAO(new HttpTransport()) {
+            @Override
+            public <T> T apiRequest(Map<String, Double> coordinates, Set<ForecastSection> sections,
+                                    ResponseParser<T> parser)
+                    throws ApiCallException {
+                apiRequests.incrementAndGet();
+                requestedSections.add(sections);
+                if (apiDown) {
+                    throw new ApiCallException("Failed To Get Weather For: " + coordinates + ".");
+                }
+                try {
+                    requestGate.await();
+                    if (sections.contains(ForecastSection.HOURLY)) {
+                        return parser.parse(new ByteArrayInputStream(toronto));
+                    }
+                    return parser.parse(new ByteArrayInputStream(torontoDaily));
+                }
+                catch (InterruptedException | IOException exception) {
+                    throw new ApiCallException(exception);
+                }
+            }
+
+            @Override
+            public <T> CompletableFuture<T> apiRequestAsync(Map<String, Double> coordinates,
+                                                            Set<ForecastSection> sections,
+                                                            ResponseParser<T> parser) {
+                return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return apiRequest(coordinates, sections, parser);
+                    }
+                    catch (ApiCallException exception) {
+                        throw new CompletionException(exception);
+                    }
+                });
+            }
+
+            @Override
+            public boolean isQuotaTight() {
+                return quotaTight;
+            }
+        };
+
+        weatherDAO = new WeatherDAO(new ConcreteDailyWeatherDataFactory(), new ConcreteHourlyWeatherDataFactory(),
+                geocoder, openWeatherWeatherDAO, new ForecastCache(Duration.ofMinutes(10), clock));
+    }
+
+    @Test
+    void hourlyAndDailyShareOneRequestTest() throws ApiCallException {
+        HourlyWeatherData home = weatherDAO.getHourlyWeatherData("Toronto");
+        HourlyWeatherData hourly = weatherDAO.getHourlyWeatherData("Toronto");
+        DailyWeatherData daily = weatherDAO.getDailyWeatherData("Toronto");
+
+        assertEquals(1, apiRequests.get());
+        assertSame(home, hourly);
+        assertEquals(48, hourly.getHourWeatherDataList().size());
+        assertEquals(8, daily.getDayWeatherDataList().size());
+        assertEquals("America/New_York", daily.getTimezone());
+    }
+
+    @Test
+    void namesResolvingToSameCoordinatesShareSnapshotTest() throws ApiCallException {
+        weatherDAO.getHourlyWeatherData("Toronto");
+        weatherDAO.getDailyWeatherData("toronto, ON");
+
+        assertEquals(1, apiRequests.get());
+    }
+
+    @Test
+    void dailyViewFetchesOnlyDailySectionTest() throws ApiCallException {
+        final DailyWeatherData daily = weatherDAO.getDailyWeatherData("Toronto");
+        assertEquals(List.of(Set.of(ForecastSection.DAILY)), requestedSections);
+        assertEquals(8, daily.getDayWeatherDataList().size());
+
+        // the hourly view still needs its own request, which also brings the daily section
+        final HourlyWeatherData hourly = weatherDAO.getHourlyWeatherData("Toronto");
+        assertEquals(48, hourly.getHourCount());
+        assertEquals(ForecastSection.ALL, requestedSections.get(1));
+
+        weatherDAO.getDailyWeatherData("Toronto");
+        assertSame(hourly, weatherDAO.getHourlyWeatherData("Toronto"));
+        assertEquals(2, apiRequests.get());
+    }
+
+    @Test
+    void citiesInOneTileShareSnapshotTest() throws ApiCallException {
+        final Map<String, Map<String, Double>> cities = Map.of(
+                "Toronto", Map.of(Geocoder.LATITUDE, 43.6532, Geocoder.LONGITUDE, -79.3832),
+                "Brampton", Map.of(Geocoder.LATITUDE, 43.7315, Geocoder.LONGITUDE, -79.7624),
+                "Ottawa", Map.of(Geocoder.LATITUDE, 45.4215, Geocoder.LONGITUDE, -75.6972));
+        final ForecastCache forecastCache = new ForecastCache(Duration.ofMinutes(10), Duration.ZERO,
+                new GeohashTiling(3), clock);
+        weatherDAO = new WeatherDAO(new ConcreteDailyWeatherDataFactory(), new ConcreteHourlyWeatherDataFactory(),
+                cities::get, openWeatherWeatherDAO, forecastCache);
+
+        final HourlyWeatherData toronto = weatherDAO.getHourlyWeatherData("Toronto");
+        assertSame(toronto, weatherDAO.getHourlyWeatherData("Brampton"));
+        weatherDAO.getHourlyWeatherData("Ottawa");
+
+        assertEquals(2, apiRequests.get());
+        assertEquals(1.0 / 3, forecastCache.getHitRatio(), 1e-9);
+        final TileStats torontoTile = forecastCache.getTileStats().get("dpz");
+        assertEquals(1, torontoTile.getHits());
+        assertEquals(0.5, torontoTile.getHitRatio(), 1e-9);
+        assertEquals(Set.of("toronto", "brampton"), torontoTile.getCities());
+    }
+
+    @Test
+    void summaryNamesRequestedCityInSharedTileTest() throws ApiCallException {
+        final Map<String, Map<String, Double>> cities = Map.of(
+                "Toronto", Map.of(Geocoder.LATITUDE, 43.6532, Geocoder.LONGITUDE, -79.3832),
+                "Brampton", Map.of(Geocoder.LATITUDE, 43.7315, Geocoder.LONGITUDE, -79.7624));
+        weatherDAO = new WeatherDAO(new ConcreteDailyWeatherDataFactory(), new ConcreteHourlyWeatherDataFactory(),
+                cities::get, openWeatherWeatherDAO, new ForecastCache(Duration.ofMinutes(10), Duration.ZERO,
+                new GeohashTiling(3), clock));
+        final List<String> prompts = new ArrayList<>();
+        final DisplaySummarizationOutputBoundary presenter = new DisplaySummarizationOutputBoundary() {
+            @Override
+            public void prepareSuccessView(DisplaySummarizationOutputData outputData) {
+            }
+
+            @Override
+            public void prepareFailureView(String errorMessage) {
+                fail(errorMessage);
+            }
+
+            @Override
+            public void switchToHomeView() {
+            }
+        };
+        final DisplaySummarizationInteractor interactor = new DisplaySummarizationInteractor(
+                () -> new ConcreteRecentCityData(List.of("Brampton")), weatherDAO, prompt -> {
+                    prompts.add(prompt);
+                    return new ConcreteSummarization("Summary", "Outfit", "Travel");
+                }, presenter);
+
+        // Toronto is fetched first, so the snapshot Brampton shares carries Toronto's name
+        weatherDAO.getHourlyWeatherData("Toronto");
+        interactor.execute();
+
+        assertEquals(1, apiRequests.get());
+        assertTrue(prompts.getFirst().contains("City: Brampton\n"));
+        assertFalse(prompts.getFirst().contains("Toronto"));
+    }
+
+    @Test
+    void expiredSnapshotIsFetchedAgainTest() throws ApiCallException {
+        weatherDAO.getHourlyWeatherData("Toronto");
+        clock.advance(Duration.ofMinutes(9));
+        weatherDAO.getHourlyWeatherData("Toronto");
+        assertEquals(1, apiRequests.get());
+
+        clock.advance(Duration.ofMinutes(1));
+        weatherDAO.getHourlyWeatherData("Toronto");
+        assertEquals(2, apiRequests.get());
+    }
+
+    @Test
+    void tightQuotaServesExpiredSnapshotTest() throws ApiCallException {
+        final HourlyWeatherData hourly = weatherDAO.getHourlyWeatherData("Toronto");
+        clock.advance(Duration.ofHours(2));
+        quotaTight = true;
+
+        assertSame(hourly, weatherDAO.getHourlyWeatherData("Toronto"));
+        assertEquals(1, apiRequests.get());
+
+        quotaTight = false;
+        assertNotSame(hourly, weatherDAO.getHourlyWeatherData("Toronto"));
+        assertEquals(2, apiRequests.get());
+    }
+
+    @Test
+    void concurrentMissesShareOneRequestTest() throws Exception {
+        final int callers = 8;
+        requestGate = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            final List<Future<HourlyWeatherData>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> weatherDAO.getHourlyWeatherData("Toronto")));
+            }
+
+            // give every caller time to reach the cache miss before the single request completes
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (apiRequests.get() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(200);
+            requestGate.countDown();
+
+            final HourlyWeatherData first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<HourlyWeatherData> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, apiRequests.get());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void asyncAndBlockingCallersShareOneRequestTest() throws Exception {
+        requestGate = new CountDownLatch(1);
+        final CompletableFuture<HourlyWeatherData> hourly = weatherDAO.getHourlyWeatherDataAsync("Toronto");
+        final CompletableFuture<DailyWeatherData> daily = weatherDAO.getDailyWeatherDataAsync("Toronto");
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<HourlyWeatherData> blocking =
+                    executor.submit(() -> weatherDAO.getHourlyWeatherData("Toronto"));
+            Thread.sleep(200);
+            requestGate.countDown();
+
+            assertSame(hourly.get(5, TimeUnit.SECONDS), blocking.get(5, TimeUnit.SECONDS));
+            assertEquals(8, daily.get(5, TimeUnit.SECONDS).getDayWeatherDataList().size());
+            assertEquals(1, apiRequests.get());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void asyncStagesComposeOnParsedForecastTest() {
+        final int hours = weatherDAO.getHourlyWeatherDataAsync("Toronto")
+                .thenApply(hourlyWeatherData -> hourlyWeatherData.getHourWeatherDataList().size())
+                .join();
+
+        assertEquals(48, hours);
+        assertSame(weatherDAO.getHourlyWeatherDataAsync("Toronto").join(),
+                weatherDAO.getHourlyWeatherDataAsync("Toronto").join());
+        assertEquals(1, apiRequests.get());
+    }
+
+    @Test
+    void staleSnapshotServedWhileRevalidatingTest() throws Exception {
+        weatherDAO = new WeatherDAO(new ConcreteDailyWeatherDataFactory(), new ConcreteHourlyWeatherDataFactory(),
+                geocoder, openWeatherWeatherDAO,
+                new ForecastCache(Duration.ofMinutes(10), Duration.ofHours(1), clock));
+        final HourlyWeatherData first = weatherDAO.getHourlyWeatherData("Toronto");
+
+        // the refresh is held open, yet the expired snapshot is returned without waiting for it
+        clock.advance(Duration.ofMinutes(11));
+        requestGate = new CountDownLatch(1);
+        assertSame(first, weatherDAO.getHourlyWeatherData("Toronto"));
+        assertSame(first, weatherDAO.getHourlyWeatherDataAsync("Toronto").get(5, TimeUnit.SECONDS));
+
+        requestGate.countDown();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        HourlyWeatherData refreshed = weatherDAO.getHourlyWeatherData("Toronto");
+        while (refreshed == first && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            refreshed = weatherDAO.getHourlyWeatherData("Toronto");
+        }
+        assertNotSame(first, refreshed);
+        assertEquals(2, apiRequests.get());
+
+        // past the stale window the caller waits for a new snapshot again
+        clock.advance(Duration.ofHours(2));
+        assertNotSame(refreshed, weatherDAO.getHourlyWeatherData("Toronto"));
+        assertEquals(3, apiRequests.get());
+    }
+
+    @Test
+    void refreshSkipsYoungSnapshotsTest() throws Exception {
+        assertNull(weatherDAO.refresh("43.0000,-80.0000", Duration.ZERO).get(5, TimeUnit.SECONDS));
+
+        final HourlyWeatherData first = weatherDAO.getHourlyWeatherData("Toronto");
+        final List<String> active = weatherDAO.getActiveLocations(Duration.ofMinutes(30));
+        assertEquals(List.of("43.0000,-80.0000"), active);
+
+        clock.advance(Duration.ofMinutes(2));
+        weatherDAO.refresh(active.getFirst(), Duration.ofMinutes(5)).get(5, TimeUnit.SECONDS);
+        assertEquals(1, apiRequests.get());
+
+        weatherDAO.refresh(active.getFirst(), Duration.ofMinutes(1)).get(5, TimeUnit.SECONDS);
+        assertEquals(2, apiRequests.get());
+        assertNotSame(first, weatherDAO.getHourlyWeatherData("Toronto"));
+
+        clock.advance(Duration.ofMinutes(31));
+        assertTrue(weatherDAO.getActiveLocations(Duration.ofMinutes(30)).isEmpty());
+    }
+
+    @Test
+    void lastKnownSnapshotServedWhenApiIsDownTest() throws Exception {
+        weatherDAO = new WeatherDAO(new ConcreteDailyWeatherDataFactory(), new ConcreteHourlyWeatherDataFactory(),
+                geocoder, openWeatherWeatherDAO, new ForecastCache(Duration.ofMinutes(10), clock),
+                new FileSnapshotStore(tempDir, new ConcreteDailyWeatherDataFactory(),
+                        new ConcreteHourlyWeatherDataFactory()));
+        final HourlyWeatherData live = weatherDAO.getHourlyWeatherData("Toronto");
+        final long fetchedAt = clock.millis();
+
+        clock.advance(Duration.ofHours(2));
+        apiDown = true;
+        final HourlyWeatherData lastKnown = weatherDAO.getHourlyWeatherData("Toronto");
+        final DailyWeatherData lastKnownDaily = weatherDAO.getDailyWeatherDataAsync("Toronto").get(5, TimeUnit.SECONDS);
+
+        assertNotSame(live, lastKnown);
+        assertEquals(live.getHourCount(), lastKnown.getHourCount());
+        assertEquals(live.getTemperature(0), lastKnown.getTemperature(0));
+        assertEquals(live.getConditionCode(47), lastKnown.getConditionCode(47));
+        assertEquals(8, lastKnownDaily.getDayWeatherDataList().size());
+        assertEquals(3, apiRequests.get());
+        // the last-known forecast is marked with the time it was fetched, so its age can be shown
+        assertFalse(live.isRestored());
+        assertTrue(lastKnown.isRestored());
+        assertTrue(lastKnownDaily.isRestored());
+        assertEquals(fetchedAt, lastKnown.getFetchedAt());
+        assertEquals(fetchedAt, lastKnownDaily.getFetchedAt());
+    }
+
+    @Test
+    void failureWithoutLastKnownSnapshotTest() {
+        apiDown = true;
+
+        assertThrows(ApiCallException.class, () -> weatherDAO.getHourlyWeatherData("Toronto"));
+        final CompletableFuture<HourlyWeatherData> hourly = weatherDAO.getHourlyWeatherDataAsync("Toronto");
+        assertInstanceOf(ApiCallException.class, assertThrows(CompletionException.class, hourly::join).getCause());
+    }
+}
@@ -0,0 +1,129 @@
+package data_access.weather.cache;
+
+import data_access.weather.open_weather.OneCallParser;
+import entity.weather.daily_weather.ConcreteDailyWeatherDataFactory;
+import entity.weather.day_weather.DayWeatherData;
+import entity.weather.hour_weather.HourWeatherData;
+import entity.weather.hourly_weather.ConcreteHourlyWeatherDataFactory;
+import entity.weather.hourly_weather.HourlyWeatherData;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSnapshotStoreTest {
+
+    private static final String KEY = "43.6532,-79.3832";
+    private static final long FETCHED_AT = 1_733_054_400_000L;
+
+    @TempDir
+    Path tempDir;
+
+    private FileSnapshotStore store;
+    private ForecastSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final byte[] toronto;
+        try (InputStream inputStream = getClass().getResourceAsStream("/data/InMemoryWeatherData.json")) {
+            toronto = new JSONObject(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8))
+                    .getJSONObject("Toronto").toString().getBytes(StandardCharsets.UTF_8);
+        }
+        final OneCallParser parser = new OneCallParser(new ConcreteDailyWeatherDataFactory(),
+                new ConcreteHourlyWeatherDataFactory());
+        snapshot = parser.parse("Toronto", new ByteArrayInputStream(toronto), FETCHED_AT);
+        store = new FileSnapshotStore(tempDir, new ConcreteDailyWeatherDataFactory(),
+                new ConcreteHourlyWeatherDataFactory());
+    }
+
+    @Test
+    void savedSnapshotIsRestoredTest() {
+        store.save(KEY, snapshot);
+        final ForecastSnapshot restored = store.load(KEY);
+
+        assertNotNull(restored);
+        assertTrue(restored.isRestored());
+        assertFalse(snapshot.isRestored());
+        assertEquals(FETCHED_AT, restored.getFetchedAt());
+        assertTrue(restored.getHourlyWeatherData().isRestored());
+        assertEquals(FETCHED_AT, restored.getDailyWeatherData().getFetchedAt());
+        assertFalse(snapshot.getHourlyWeatherData().isRestored());
+
+        final HourlyWeatherData hourly = restored.getHourlyWeatherData();
+        assertEquals("Toronto", hourly.getCity());
+        assertEquals(snapshot.getHourlyWeatherData().getTimezone(), hourly.getTimezone());
+        assertEquals(snapshot.getHourlyWeatherData().getLowTemperature(), hourly.getLowTemperature());
+        assertEquals(snapshot.getHourlyWeatherData().getHighTemperature(), hourly.getHighTemperature());
+        assertHoursEqual(snapshot.getHourlyWeatherData().getHourWeatherDataList(), hourly.getHourWeatherDataList());
+        assertDaysEqual(snapshot.getDailyWeatherData().getDayWeatherDataList(),
+                restored.getDailyWeatherData().getDayWeatherDataList());
+    }
+
+    @Test
+    void restoredSnapshotDoesNotHoldItsFileTest() throws IOException {
+        store.save(KEY, snapshot);
+        final ForecastSnapshot restored = store.load(KEY);
+        // a mapped snapshot would fault reading a truncated file, and keep Windows from replacing it
+        Files.write(tempDir.resolve("43.6532_-79.3832.snapshot"), new byte[0]);
+        store.save(KEY, snapshot);
+
+        assertHoursEqual(snapshot.getHourlyWeatherData().getHourWeatherDataList(),
+                restored.getHourlyWeatherData().getHourWeatherDataList());
+        assertNotNull(store.load(KEY));
+    }
+
+    @Test
+    void missingSnapshotIsNullTest() {
+        assertNull(store.load(KEY));
+    }
+
+    @Test
+    void unreadableSnapshotIsNullTest() throws IOException {
+        store.save(KEY, snapshot);
+        final Path path = tempDir.resolve("43.6532_-79.3832.snapshot");
+        final byte[] bytes = Files.readAllBytes(path);
+        // truncate the file partway through the hour columns
+        Files.write(path, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertNull(store.load(KEY));
+    }
+
+    private static void assertHoursEqual(List<HourWeatherData> expected, List<HourWeatherData> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getConditionCode(), actual.get(i).getConditionCode());
+            assertEquals(expected.get(i).getTemperature(), actual.get(i).getTemperature());
+            assertEquals(expected.get(i).getFeelsLikeTemperature(), actual.get(i).getFeelsLikeTemperature());
+            assertEquals(expected.get(i).getWindSpeed(), actual.get(i).getWindSpeed());
+            assertEquals(expected.get(i).getUvIndex(), actual.get(i).getUvIndex());
+            assertEquals(expected.get(i).getCloudCover(), actual.get(i).getCloudCover());
+            assertEquals(expected.get(i).getPrecipitation(), actual.get(i).getPrecipitation());
+            assertEquals(expected.get(i).getHumidity(), actual.get(i).getHumidity());
+        }
+    }
+
+    private static void assertDaysEqual(List<DayWeatherData> expected, List<DayWeatherData> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getConditionCode(), actual.get(i).getConditionCode());
+            assertEquals(expected.get(i).getTemperature(), actual.get(i).getTemperature());
+            assertEquals(expected.get(i).getFeelsLikeTemperature(), actual.get(i).getFeelsLikeTemperature());
+            assertEquals(expected.get(i).getWindSpeed(), actual.get(i).getWindSpeed());
+            assertEquals(expected.get(i).getUvIndex(), actual.get(i).getUvIndex());
+            assertEquals(expected.get(i).getCloudCover(), actual.get(i).getCloudCover());
+            assertEquals(expected.get(i).getPrecipitation(), actual.get(i).getPrecipitation());
+            assertEquals(expected.get(i).getHumidity(), actual.get(i).getHumidity());
+        }
+    }
+}
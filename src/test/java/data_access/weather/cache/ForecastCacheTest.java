@@ -0,0 +1,105 @@
+package data_access.weather.cache;
+
+import data_access.TestClock;
+import data_access.weather.open_weather.ForecastSection;
+import data_access.weather.open_weather.OneCallParser;
+import entity.weather.daily_weather.ConcreteDailyWeatherDataFactory;
+import entity.weather.hourly_weather.ConcreteHourlyWeatherDataFactory;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ForecastCacheTest {
+
+    private static final String KEY = "43.0000,-80.0000";
+
+    private final TestClock clock = new TestClock();
+    private final ForecastCache forecastCache = new ForecastCache(Duration.ofMinutes(10), clock);
+
+    private ForecastSnapshot hourlyOnly;
+    private ForecastSnapshot dailyOnly;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final byte[] toronto;
+        try (InputStream inputStream = getClass().getResourceAsStream("/data/InMemoryWeatherData.json")) {
+            toronto = new JSONObject(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8))
+                    .getJSONObject("Toronto").toString().getBytes(StandardCharsets.UTF_8);
+        }
+        final ForecastSnapshot snapshot = new OneCallParser(new ConcreteDailyWeatherDataFactory(),
+                new ConcreteHourlyWeatherDataFactory()).parse("Toronto", new ByteArrayInputStream(toronto),
+                clock.millis());
+        hourlyOnly = new ForecastSnapshot(snapshot.getHourlyWeatherData(), null, clock.millis());
+        dailyOnly = new ForecastSnapshot(null, snapshot.getDailyWeatherData(), clock.millis() + 1);
+    }
+
+    @Test
+    void partialSnapshotsMergeIntoOneTest() {
+        forecastCache.put(KEY, hourlyOnly);
+        final ForecastSnapshot merged = forecastCache.put(KEY, dailyOnly);
+
+        assertTrue(merged.covers(ForecastSection.ALL));
+        assertSame(hourlyOnly.getHourlyWeatherData(), merged.getHourlyWeatherData());
+        assertSame(dailyOnly.getDailyWeatherData(), merged.getDailyWeatherData());
+        // the merged snapshot expires with its oldest section
+        assertEquals(hourlyOnly.getFetchedAt(), merged.getFetchedAt());
+        assertSame(merged, forecastCache.get(KEY));
+    }
+
+    @Test
+    void expiredSectionsAreNotMergedTest() {
+        forecastCache.put(KEY, hourlyOnly);
+        clock.advance(Duration.ofMinutes(10));
+
+        assertSame(dailyOnly, forecastCache.put(KEY, dailyOnly));
+        assertFalse(forecastCache.peek(KEY).covers(ForecastSection.ALL));
+    }
+
+    @Test
+    void leastRecentlyUsedTileIsEvictedTest() {
+        final ForecastCache bounded = new ForecastCache(Duration.ofMinutes(10), Duration.ZERO, new GridTiling(), 2,
+                clock);
+        bounded.put("a", hourlyOnly);
+        bounded.put("b", hourlyOnly);
+        // a snapshot past its stale window is only kept while its tile is still looked up
+        clock.advance(Duration.ofHours(2));
+        bounded.peek("a");
+        bounded.put("c", dailyOnly);
+
+        assertEquals(2, bounded.getSize());
+        assertEquals(1, bounded.getEvictions());
+        assertNotNull(bounded.peek("a"));
+        assertNull(bounded.peek("b"));
+    }
+
+    @Test
+    void tileStatsAreBoundedTest() {
+        final ForecastCache bounded = new ForecastCache(Duration.ofMinutes(10), Duration.ZERO, new GridTiling(), 2,
+                clock);
+        bounded.put("a", hourlyOnly);
+        for (int i = 0; i < TileStats.MAX_CITIES + 10; i++) {
+            bounded.recordLookup("a", "City " + i, true);
+        }
+        assertEquals(TileStats.MAX_CITIES, bounded.getTileStats().get("a").getCities().size());
+        assertEquals(TileStats.MAX_CITIES + 10, bounded.getTileStats().get("a").getHits());
+
+        // evicting a tile's snapshot drops its counts
+        bounded.put("b", hourlyOnly);
+        bounded.put("c", hourlyOnly);
+        assertFalse(bounded.getTileStats().containsKey("a"));
+
+        // tiles that never got a snapshot are bounded too
+        bounded.recordLookup("x", "Atlantis", false);
+        bounded.recordLookup("y", "Lemuria", false);
+        bounded.recordLookup("z", "Mu", false);
+        assertEquals(2, bounded.getTileStats().size());
+    }
+}
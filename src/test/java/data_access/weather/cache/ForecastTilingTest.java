@@ -0,0 +1,61 @@
+package data_access.weather.cache;
+
+import data_access.weather.geocoding.Geocoder;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ForecastTilingTest {
+
+    private static final Map<String, Double> TORONTO = coordinates(43.6532, -79.3832);
+    private static final Map<String, Double> MISSISSAUGA = coordinates(43.5890, -79.6441);
+    private static final Map<String, Double> OTTAWA = coordinates(45.4215, -75.6972);
+
+    @Test
+    void gridCellsAreKeyedBySouthWestCornerTest() {
+        final GridTiling tiling = new GridTiling();
+
+        assertEquals("43.0000,-80.0000", tiling.key(TORONTO));
+        assertEquals(tiling.key(TORONTO), tiling.key(MISSISSAUGA));
+        assertNotEquals(tiling.key(TORONTO), tiling.key(OTTAWA));
+        assertEquals(coordinates(43.5, -79.5), tiling.center(MISSISSAUGA));
+    }
+
+    @Test
+    void finerGridSeparatesNeighboursTest() {
+        final GridTiling tiling = new GridTiling(0.25);
+
+        assertEquals("43.5000,-79.5000", tiling.key(TORONTO));
+        assertEquals("43.5000,-79.7500", tiling.key(MISSISSAUGA));
+        assertEquals(tiling.key(TORONTO), tiling.key(tiling.center(TORONTO)));
+    }
+
+    @Test
+    void geohashMatchesReferenceEncodingTest() {
+        // the worked example from the geohash specification
+        assertEquals("u4pruydqqvj", new GeohashTiling(11).key(coordinates(57.64911, 10.40744)));
+        assertEquals("dpz", new GeohashTiling(3).key(TORONTO));
+    }
+
+    @Test
+    void geohashCenterStaysInItsCellTest() {
+        final GeohashTiling tiling = new GeohashTiling(4);
+        final Map<String, Double> center = tiling.center(TORONTO);
+
+        assertEquals(tiling.key(TORONTO), tiling.key(center));
+        assertEquals(43.6532, center.get(Geocoder.LATITUDE), 0.1);
+        assertEquals(-79.3832, center.get(Geocoder.LONGITUDE), 0.2);
+    }
+
+    @Test
+    void invalidTilesAreRejectedTest() {
+        assertThrows(IllegalArgumentException.class, () -> new GridTiling(0));
+        assertThrows(IllegalArgumentException.class, () -> new GeohashTiling(13));
+    }
+
+    private static Map<String, Double> coordinates(double latitude, double longitude) {
+        return Map.of(Geocoder.LATITUDE, latitude, Geocoder.LONGITUDE, longitude);
+    }
+}
@@ -0,0 +1,116 @@
+package data_access.weather.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import data_access.weather.open_weather.OneCallParser;
+import entity.weather.daily_weather.ConcreteDailyWeatherDataFactory;
+import entity.weather.day_weather.DayWeatherData;
+import entity.weather.hour_weather.HourWeatherData;
+import entity.weather.hourly_weather.ConcreteHourlyWeatherDataFactory;
+
+/**
+ * Compares restoring the Toronto forecast from InMemoryWeatherData.json out of its binary encoding with parsing it
+ * from the One Call JSON. decode only locates the columns, so decodeAndReadAll reads every value back as well to
+ * show the full cost of the lazy reads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SnapshotCodecBenchmark {
+
+    private static final String CITY = "Toronto";
+
+    private final SnapshotCodec codec = new SnapshotCodec(new ConcreteDailyWeatherDataFactory(),
+            new ConcreteHourlyWeatherDataFactory());
+    private final OneCallParser oneCallParser = new OneCallParser(new ConcreteDailyWeatherDataFactory(),
+            new ConcreteHourlyWeatherDataFactory());
+
+    private byte[] body;
+    private ForecastSnapshot snapshot;
+    private ByteBuffer encoded;
+
+    @Setup(Level.Trial)
+    public void encodeSnapshot() throws IOException {
+        try (InputStream inputStream = getClass().getResourceAsStream("/data/InMemoryWeatherData.json")) {
+            body = new JSONObject(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8))
+                    .getJSONObject(CITY).toString().getBytes(StandardCharsets.UTF_8);
+        }
+        snapshot = oneCallParser.parse(CITY, new ByteArrayInputStream(body), 0L);
+        encoded = codec.encode(snapshot);
+        System.out.println("JSON: " + body.length + " bytes, encoded: " + encoded.remaining() + " bytes");
+    }
+
+    @Benchmark
+    public ByteBuffer encode() {
+        return codec.encode(snapshot);
+    }
+
+    @Benchmark
+    public ForecastSnapshot decode() throws IOException {
+        return codec.decode(encoded, true);
+    }
+
+    @Benchmark
+    public void decodeAndReadAll(Blackhole blackhole) throws IOException {
+        final ForecastSnapshot decoded = codec.decode(encoded, true);
+        for (HourWeatherData hour : decoded.getHourlyWeatherData().getHourWeatherDataList()) {
+            blackhole.consume(hour.getConditionCode());
+            blackhole.consume(hour.getTemperature());
+            blackhole.consume(hour.getFeelsLikeTemperature());
+            blackhole.consume(hour.getWindSpeed());
+            blackhole.consume(hour.getUvIndex());
+            blackhole.consume(hour.getCloudCover());
+            blackhole.consume(hour.getPrecipitation());
+            blackhole.consume(hour.getHumidity());
+        }
+        for (DayWeatherData day : decoded.getDailyWeatherData().getDayWeatherDataList()) {
+            blackhole.consume(day.getConditionCode());
+            blackhole.consume(day.getTemperature());
+            blackhole.consume(day.getFeelsLikeTemperature());
+            blackhole.consume(day.getWindSpeed());
+            blackhole.consume(day.getUvIndex());
+            blackhole.consume(day.getCloudCover());
+            blackhole.consume(day.getPrecipitation());
+            blackhole.consume(day.getHumidity());
+        }
+    }
+
+    @Benchmark
+    public ForecastSnapshot parseJson() throws IOException {
+        return oneCallParser.parse(CITY, new ByteArrayInputStream(body), 0L);
+    }
+
+    /**
+     * Runs the benchmark from the IDE.
+     * @param args unused arguments
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SnapshotCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
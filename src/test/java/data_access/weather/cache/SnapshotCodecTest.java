@@ -0,0 +1,96 @@
+package data_access.weather.cache;
+
+import data_access.weather.open_weather.OneCallParser;
+import entity.weather.daily_weather.ConcreteDailyWeatherDataFactory;
+import entity.weather.hour_weather.HourWeatherData;
+import entity.weather.hourly_weather.ConcreteHourlyWeatherDataFactory;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotCodecTest {
+
+    private static final long FETCHED_AT = 1_733_054_400_000L;
+
+    private final SnapshotCodec codec = new SnapshotCodec(new ConcreteDailyWeatherDataFactory(),
+            new ConcreteHourlyWeatherDataFactory());
+
+    private byte[] json;
+    private ForecastSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        try (InputStream inputStream = getClass().getResourceAsStream("/data/InMemoryWeatherData.json")) {
+            json = new JSONObject(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8))
+                    .getJSONObject("Toronto").toString().getBytes(StandardCharsets.UTF_8);
+        }
+        final OneCallParser parser = new OneCallParser(new ConcreteDailyWeatherDataFactory(),
+                new ConcreteHourlyWeatherDataFactory());
+        snapshot = parser.parse("Toronto", new ByteArrayInputStream(json), FETCHED_AT);
+    }
+
+    @Test
+    void encodedSnapshotDecodesToTheSameForecastTest() throws IOException {
+        final ByteBuffer encoded = codec.encode(snapshot);
+        final ForecastSnapshot decoded = codec.decode(encoded, false);
+
+        assertEquals(0, encoded.position());
+        assertFalse(decoded.isRestored());
+        assertEquals(FETCHED_AT, decoded.getFetchedAt());
+        assertEquals("Toronto", decoded.getHourlyWeatherData().getCity());
+        assertEquals(snapshot.getDailyWeatherData().getTimezone(), decoded.getDailyWeatherData().getTimezone());
+        final List<HourWeatherData> expected = snapshot.getHourlyWeatherData().getHourWeatherDataList();
+        final List<HourWeatherData> actual = decoded.getHourlyWeatherData().getHourWeatherDataList();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getConditionCode(), actual.get(i).getConditionCode());
+            assertEquals(expected.get(i).getTemperature(), actual.get(i).getTemperature());
+            assertEquals(expected.get(i).getPrecipitation(), actual.get(i).getPrecipitation());
+            assertEquals(expected.get(i).getHumidity(), actual.get(i).getHumidity());
+        }
+        assertEquals(snapshot.getDailyWeatherData().getDayWeatherDataList().size(),
+                decoded.getDailyWeatherData().getDayWeatherDataList().size());
+    }
+
+    @Test
+    void partialSnapshotDecodesWithoutMissingSectionTest() throws IOException {
+        final ForecastSnapshot daily = new ForecastSnapshot(null, snapshot.getDailyWeatherData(), FETCHED_AT);
+        final ForecastSnapshot decoded = codec.decode(codec.encode(daily), true);
+
+        assertNull(decoded.getHourlyWeatherData());
+        assertEquals("Toronto", decoded.getDailyWeatherData().getCity());
+        assertEquals(8, decoded.getDailyWeatherData().getDayWeatherDataList().size());
+    }
+
+    @Test
+    void encodedSnapshotIsFarSmallerThanJsonTest() {
+        // 48 hours and 8 days at 12 bytes each, plus the header, the strings and the checksum
+        assertTrue(codec.encode(snapshot).remaining() * 20 < json.length);
+    }
+
+    @Test
+    void corruptedSnapshotFailsChecksumTest() {
+        final ByteBuffer encoded = codec.encode(snapshot);
+        encoded.put(encoded.limit() / 2, (byte) (encoded.get(encoded.limit() / 2) ^ 1));
+
+        final IOException exception = assertThrows(IOException.class, () -> codec.decode(encoded, false));
+        assertEquals("Snapshot Checksum Mismatch.", exception.getMessage());
+    }
+
+    @Test
+    void unknownVersionIsRejectedTest() {
+        final ByteBuffer encoded = codec.encode(snapshot);
+        encoded.putShort(Integer.BYTES, (short) 1);
+
+        assertThrows(IOException.class, () -> codec.decode(encoded, false));
+    }
+}
@@ -0,0 +1,151 @@
+package data_access.weather.geocoding;
+
+import data_access.TestClock;
+import exception.ApiCallException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachedGeocodingDAOTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<String> upstreamCalls = new ArrayList<>();
+    private final TestClock clock = new TestClock();
+
+    // fake geocoder that records every lookup that reaches the "network"
+    private final Geocoder upstream = city -> {
+        upstreamCalls.add(city);
+        if (city.equals("Atlantis")) {
+            throw new ApiCallException("City Not Found.");
+        }
+        return Map.of(Geocoder.LATITUDE, 43.65, Geocoder.LONGITUDE, -79.38);
+    };
+
+    @Test
+    void repeatedLookupIsServedFromMemoryTest() throws ApiCallException {
+        CachedGeocodingDAO cache = newCache(10);
+
+        Map<String, Double> first = cache.getCoordinates("Toronto");
+        Map<String, Double> second = cache.getCoordinates(" toronto ");
+
+        assertEquals(first, second);
+        assertEquals(43.65, second.get(Geocoder.LATITUDE));
+        assertEquals(1, upstreamCalls.size());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getMemoryHits());
+    }
+
+    @Test
+    void diskTierSurvivesRestartTest() throws ApiCallException {
+        newCache(10).getCoordinates("Toronto");
+
+        CachedGeocodingDAO restarted = newCache(10);
+        restarted.getCoordinates("Toronto");
+        restarted.getCoordinates("Toronto");
+
+        assertEquals(1, upstreamCalls.size());
+        assertEquals(1, restarted.getDiskHits());
+        assertEquals(1, restarted.getMemoryHits());
+        assertEquals(0, restarted.getMisses());
+    }
+
+    @Test
+    void expiredEntryIsResolvedAgainTest() throws ApiCallException {
+        CachedGeocodingDAO cache = newCache(10);
+        cache.getCoordinates("Toronto");
+
+        clock.advance(Duration.ofDays(2));
+        cache.getCoordinates("Toronto");
+
+        assertEquals(2, upstreamCalls.size());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedTest() throws ApiCallException {
+        CachedGeocodingDAO cache = newCache(2);
+        cache.getCoordinates("Toronto");
+        cache.getCoordinates("Vancouver");
+        // touch Toronto so Vancouver becomes the eldest entry
+        cache.getCoordinates("Toronto");
+        cache.getCoordinates("Edmonton");
+
+        assertEquals(1, cache.getEvictions());
+        assertEquals(2, cache.getMemorySize());
+
+        // Vancouver left memory but is still on disk
+        cache.getCoordinates("Vancouver");
+        assertEquals(1, cache.getDiskHits());
+        assertEquals(3, upstreamCalls.size());
+    }
+
+    @Test
+    void failedLookupIsNotCachedTest() {
+        CachedGeocodingDAO cache = newCache(10);
+
+        assertThrows(ApiCallException.class, () -> cache.getCoordinates("Atlantis"));
+        assertThrows(ApiCallException.class, () -> cache.getCoordinates("Atlantis"));
+        assertEquals(2, upstreamCalls.size());
+    }
+
+    @Test
+    void citiesKeepTheNameTheyWereResolvedByTest() throws ApiCallException {
+        newCache(10).getCoordinates(" Toronto ");
+
+        CachedGeocodingDAO restarted = newCache(10);
+        clock.advance(Duration.ofDays(2));
+        restarted.getCoordinates("toronto");
+
+        assertEquals(List.of("Toronto"), restarted.getCachedCities());
+    }
+
+    @Test
+    void diskTierIsReadOnDemandTest() throws ApiCallException {
+        CachedGeocodingDAO cache = newCache(2);
+        cache.getCoordinates("Toronto");
+        cache.getCoordinates("Vancouver");
+        cache.getCoordinates("Edmonton");
+
+        // a restart reads nothing until a city is looked up, and then only that city
+        CachedGeocodingDAO restarted = newCache(2);
+        assertEquals(0, restarted.getMemorySize());
+        restarted.getCoordinates("Vancouver");
+        assertEquals(1, restarted.getMemorySize());
+        assertEquals(1, restarted.getDiskHits());
+        assertEquals(List.of("Edmonton", "Toronto", "Vancouver"),
+                restarted.getCachedCities().stream().sorted().toList());
+        assertEquals(3, upstreamCalls.size());
+    }
+
+    @Test
+    void unreadableEntryIsResolvedAgainTest() throws Exception {
+        newCache(10).getCoordinates("Toronto");
+        try (Stream<Path> entries = Files.list(tempDir.resolve("geocoding"))) {
+            for (Path entry : entries.toList()) {
+                Files.writeString(entry, "{\"latitude\":");
+            }
+        }
+
+        CachedGeocodingDAO restarted = newCache(10);
+        assertTrue(restarted.getCachedCities().isEmpty());
+        assertEquals(43.65, restarted.getCoordinates("Toronto").get(Geocoder.LATITUDE));
+        assertEquals(1, restarted.getMisses());
+        assertEquals(List.of("Toronto"), newCache(10).getCachedCities());
+    }
+
+    private CachedGeocodingDAO newCache(int capacity) {
+        return new CachedGeocodingDAO(upstream, tempDir.resolve("geocoding"), capacity,
+                Duration.ofDays(1), clock);
+    }
+}
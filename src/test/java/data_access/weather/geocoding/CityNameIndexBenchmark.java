@@ -0,0 +1,106 @@
+package data_access.weather.geocoding;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures suggestions and corrections as the number of indexed city names grows, against the one millisecond a
+ * keystroke can spend on them. The names are random but pronounceable, so they share prefixes the way real city
+ * names do. suggest looks up a two letter prefix, which matches the most names, and correct looks up an indexed
+ * name with as many letters changed as it may be corrected by.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CityNameIndexBenchmark {
+
+    private static final String CONSONANTS = "bcdfghklmnprstvz";
+    private static final String VOWELS = "aeiou";
+    private static final int LOOKUPS = 1024;
+
+    @Param({"10000", "100000"})
+    private int cities;
+
+    private CityNameIndex index;
+    private String[] prefixes;
+    private String[] typos;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void buildIndex() {
+        final Random random = new Random(42);
+        index = new CityNameIndex();
+        final String[] names = new String[cities];
+        for (int i = 0; i < cities; i++) {
+            names[i] = name(random);
+            index.add(names[i], random.nextInt(3));
+        }
+        prefixes = new String[LOOKUPS];
+        typos = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            final String name = names[random.nextInt(cities)];
+            prefixes[i] = name.substring(0, 2);
+            final char[] typo = name.toCharArray();
+            int edits = 1;
+            if (typo.length > CityNameIndex.ONE_EDIT_LENGTH) {
+                edits = 2;
+            }
+            for (int edit = 0; edit < edits; edit++) {
+                typo[random.nextInt(typo.length)] = VOWELS.charAt(random.nextInt(VOWELS.length()));
+            }
+            typos[i] = new String(typo);
+        }
+    }
+
+    @Benchmark
+    public List<String> suggest() {
+        next = (next + 1) % LOOKUPS;
+        return index.suggest(prefixes[next], 5);
+    }
+
+    @Benchmark
+    public String correct() {
+        next = (next + 1) % LOOKUPS;
+        return index.correct(typos[next]);
+    }
+
+    private static String name(Random random) {
+        final StringBuilder name = new StringBuilder();
+        final int syllables = 2 + random.nextInt(3);
+        for (int i = 0; i < syllables; i++) {
+            name.append(CONSONANTS.charAt(random.nextInt(CONSONANTS.length())));
+            name.append(VOWELS.charAt(random.nextInt(VOWELS.length())));
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    /**
+     * Runs the benchmark from the IDE.
+     * @param args unused arguments
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CityNameIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
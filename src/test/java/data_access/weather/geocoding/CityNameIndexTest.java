@@ -0,0 +1,106 @@
+package data_access.weather.geocoding;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CityNameIndexTest {
+
+    private CityNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CityNameIndex();
+        index.add("Toronto", 1);
+        index.add("Tokyo", 2);
+        index.add("Torino", 1);
+        index.add("Tours", 1);
+        index.add("Vancouver", 2);
+        index.add("Montréal", 1);
+    }
+
+    @Test
+    void suggestionsComeByWeightThenAlphabetTest() {
+        assertEquals(List.of("Tokyo", "Torino", "Toronto", "Tours"), index.suggest("to", 10));
+        assertEquals(List.of("Tokyo", "Torino"), index.suggest("To", 2));
+        assertEquals(List.of("Torino", "Toronto"), index.suggest("tor", 10));
+    }
+
+    @Test
+    void suggestionsIgnoreCaseAccentsAndSpacesTest() {
+        assertEquals(List.of("Montréal"), index.suggest("  MONTRE", 5));
+        assertEquals(List.of("Montréal"), index.suggest("montréa", 5));
+    }
+
+    @Test
+    void noSuggestionsForEmptyOrUnknownPrefixTest() {
+        assertTrue(index.suggest("", 5).isEmpty());
+        assertTrue(index.suggest("   ", 5).isEmpty());
+        assertTrue(index.suggest("x", 5).isEmpty());
+    }
+
+    @Test
+    void heavierNameIsSuggestedFirstAfterReweightingTest() {
+        index.add("Toronto", 3);
+
+        assertEquals(List.of("Toronto", "Tokyo"), index.suggest("to", 2));
+        assertEquals(6, index.size());
+    }
+
+    @Test
+    void lowerCaseNameKeepsCapitalizedNameTest() {
+        // a name typed in lower case raises the weight but does not replace how the city is shown
+        index.add("toronto", 3);
+
+        assertEquals(List.of("Toronto", "Tokyo"), index.suggest("to", 2));
+        assertEquals("Toronto", index.correct("Torotno"));
+        // a capitalized name still replaces a lower case one
+        index.add("paris", 1);
+        index.add("Paris", 2);
+        assertEquals("Paris", index.find("paris"));
+    }
+
+    @Test
+    void correctsTyposWithinAllowedEditsTest() {
+        // substitution, deletion, insertion and a swap of neighbouring letters
+        assertEquals("Toronto", index.correct("Toronfo"));
+        assertEquals("Toronto", index.correct("Torontoo"));
+        assertEquals("Vancouver", index.correct("Vancoouver"));
+        assertEquals("Vancouver", index.correct("Vnacouver"));
+        // two edits are allowed in longer names
+        assertEquals("Vancouver", index.correct("Vankuver"));
+        assertEquals("Montréal", index.correct("montreal"));
+    }
+
+    @Test
+    void correctionIsBoundedTest() {
+        // short names are corrected by at most one edit, and very short names not at all
+        assertEquals("Tokyo", index.correct("Tokio"));
+        assertNull(index.correct("Tkio"));
+        assertNull(index.correct("To"));
+        assertNull(index.correct("Vankvr"));
+        assertNull(index.correct("Paris"));
+    }
+
+    @Test
+    void closestThenHeaviestCorrectionWinsTest() {
+        // Toronto is one edit from Tornto, Torino two
+        assertEquals("Toronto", index.correct("Tornto"));
+        // of equally close and heavy names the alphabetically first wins
+        index.add("Tourq", 1);
+        assertEquals("Tourq", index.correct("Tourz"));
+        // of equally close names the heaviest wins
+        index.add("Toure", 2);
+        assertEquals("Toure", index.correct("Tourz"));
+    }
+
+    @Test
+    void indexedNamesAreFoundAsIsTest() {
+        assertEquals("Toronto", index.find(" toronto "));
+        assertEquals("Toronto", index.correct("TORONTO"));
+        assertNull(index.find("Toront"));
+    }
+}
@@ -0,0 +1,143 @@
+package data_access.weather.geocoding;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures looking up cities in a gazetteer built from a CSV of random places, each with an alternate name, and
+ * opening the gazetteer, which maps the file and verifies its checksum. find looks up a known name, findInCountry a
+ * known name qualified by its country, and findUnknown a name the gazetteer does not have, the case that falls back
+ * to the geocoding API.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GazetteerBenchmark {
+
+    private static final String CONSONANTS = "bcdfghklmnprstvz";
+    private static final String VOWELS = "aeiou";
+    private static final String[] COUNTRIES = {"CA", "US", "GB", "FR", "DE", "JP"};
+    private static final int LOOKUPS = 1024;
+
+    @Param({"10000", "100000"})
+    private int places;
+
+    private Path directory;
+    private Path gazetteerPath;
+    private Gazetteer gazetteer;
+    private String[] names;
+    private String[] qualifiedNames;
+    private String[] unknownNames;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void buildGazetteer() throws IOException {
+        final Random random = new Random(42);
+        directory = Files.createTempDirectory("gazetteer");
+        final StringBuilder csv = new StringBuilder("name,country,population,latitude,longitude,timezone,"
+                + "alternate_names\n");
+        final String[] placeNames = new String[places];
+        final String[] placeCountries = new String[places];
+        for (int i = 0; i < places; i++) {
+            placeNames[i] = name(random);
+            placeCountries[i] = COUNTRIES[random.nextInt(COUNTRIES.length)];
+            csv.append(placeNames[i]).append(',').append(placeCountries[i]).append(',')
+                    .append(random.nextInt(1_000_000)).append(',')
+                    .append(random.nextDouble() * 180 - 90).append(',')
+                    .append(random.nextDouble() * 360 - 180).append(",UTC,")
+                    .append(name(random)).append('\n');
+        }
+        final Path csvPath = directory.resolve("Cities.csv");
+        Files.writeString(csvPath, csv);
+        gazetteerPath = directory.resolve("Gazetteer.bin");
+        gazetteer = GazetteerBuilder.build(csvPath, gazetteerPath);
+
+        names = new String[LOOKUPS];
+        qualifiedNames = new String[LOOKUPS];
+        unknownNames = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            final int place = random.nextInt(places);
+            names[i] = placeNames[place];
+            qualifiedNames[i] = placeNames[place] + ", " + placeCountries[place];
+            // names of places are made of syllables, so a name with a double consonant is never one
+            unknownNames[i] = placeNames[place] + "xx";
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteGazetteer() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public Gazetteer.Place find() {
+        next = (next + 1) % LOOKUPS;
+        return gazetteer.find(names[next]);
+    }
+
+    @Benchmark
+    public Gazetteer.Place findInCountry() {
+        next = (next + 1) % LOOKUPS;
+        return gazetteer.find(qualifiedNames[next]);
+    }
+
+    @Benchmark
+    public Gazetteer.Place findUnknown() {
+        next = (next + 1) % LOOKUPS;
+        return gazetteer.find(unknownNames[next]);
+    }
+
+    @Benchmark
+    public Gazetteer open() throws IOException {
+        return Gazetteer.open(gazetteerPath);
+    }
+
+    private static String name(Random random) {
+        final StringBuilder name = new StringBuilder();
+        final int syllables = 2 + random.nextInt(3);
+        for (int i = 0; i < syllables; i++) {
+            name.append(CONSONANTS.charAt(random.nextInt(CONSONANTS.length())));
+            name.append(VOWELS.charAt(random.nextInt(VOWELS.length())));
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    /**
+     * Runs the benchmark from the IDE.
+     * @param args unused arguments
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(GazetteerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,135 @@
+package data_access.weather.geocoding;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GazetteerTest {
+
+    private static final String CSV = """
+            name,country,population,latitude,longitude,timezone,alternate_names
+            London,GB,8982000,51.5074,-0.1278,Europe/London,Londres
+            London,CA,422324,42.9849,-81.2453,America/Toronto,
+            Montréal,CA,1762949,45.5019,-73.5674,America/Toronto,
+            Munich,DE,1472000,48.1351,11.5820,Europe/Berlin,München
+            "Washington, D.C.",US,689545,38.9072,-77.0369,America/New_York,Washington|DC
+            Tokyo,JP,13960000,35.6762,139.6503,Asia/Tokyo,東京
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    private Path gazetteerPath;
+    private Gazetteer gazetteer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        gazetteerPath = tempDir.resolve("Gazetteer.bin");
+        gazetteer = build(CSV);
+    }
+
+    @Test
+    void findsPlaceByNameTest() {
+        final Gazetteer.Place tokyo = gazetteer.find("Tokyo");
+
+        assertEquals(new Gazetteer.Place("Tokyo", "JP", 35.6762, 139.6503, "Asia/Tokyo"), tokyo);
+        assertEquals(35.6762, tokyo.toCoordinates().get(Geocoder.LATITUDE));
+        assertEquals(139.6503, tokyo.toCoordinates().get(Geocoder.LONGITUDE));
+        assertEquals(6, gazetteer.getPlaceCount());
+        assertEquals(11, gazetteer.getNameCount());
+    }
+
+    @Test
+    void findsPlaceIgnoringCaseAccentsAndSpacesTest() {
+        assertEquals("Montréal", gazetteer.find("montreal").name());
+        assertEquals("Montréal", gazetteer.find("  MONTRÉAL ").name());
+        assertEquals("Washington, D.C.", gazetteer.find("washington,  d.c.").name());
+    }
+
+    @Test
+    void findsPlaceByAlternateNameTest() {
+        assertEquals("Munich", gazetteer.find("Munchen").name());
+        assertEquals("Tokyo", gazetteer.find("東京").name());
+        assertEquals("London", gazetteer.find("Londres").name());
+        assertEquals("Washington, D.C.", gazetteer.find("DC").name());
+    }
+
+    @Test
+    void mostPopulousPlaceOfANameIsFoundUnlessACountryIsGivenTest() {
+        assertEquals("GB", gazetteer.find("London").country());
+        assertEquals("CA", gazetteer.find("London, ca").country());
+        assertEquals("America/Toronto", gazetteer.find("London,CA").timezone());
+        assertNull(gazetteer.find("London, US"));
+    }
+
+    @Test
+    void unknownNamesAreNotFoundTest() {
+        assertNull(gazetteer.find("Atlantis"));
+        assertNull(gazetteer.find("Lond"));
+        assertNull(gazetteer.find("Londons"));
+        assertNull(gazetteer.find(""));
+    }
+
+    @Test
+    void namesExcludeAlternateNamesTest() {
+        assertEquals(List.of("London", "London", "Montréal", "Munich", "Washington, D.C.", "Tokyo"),
+                gazetteer.getNames());
+    }
+
+    @Test
+    void reopenedGazetteerReadsTheSameFileTest() throws IOException {
+        final Gazetteer reopened = Gazetteer.open(gazetteerPath);
+
+        assertEquals(gazetteer.find("München"), reopened.find("München"));
+        assertFalse(Files.exists(tempDir.resolve("Gazetteer.bin.tmp")));
+    }
+
+    @Test
+    void corruptedGazetteerIsRejectedTest() throws IOException {
+        final byte[] bytes = Files.readAllBytes(gazetteerPath);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(gazetteerPath, bytes);
+        assertThrows(IOException.class, () -> Gazetteer.open(gazetteerPath));
+
+        Files.writeString(gazetteerPath, "not a gazetteer");
+        assertThrows(IOException.class, () -> Gazetteer.open(gazetteerPath));
+    }
+
+    @Test
+    void malformedRowsFailTheBuildTest() {
+        assertThrows(IOException.class, () -> build("name,country,latitude,longitude,timezone\n"));
+        assertThrows(IOException.class, () -> build("""
+                name,country,population,latitude,longitude,timezone
+                Toronto,Canada,2794356,43.6532,-79.3832,America/Toronto
+                """));
+        assertThrows(IOException.class, () -> build("""
+                name,country,population,latitude,longitude,timezone
+                Toronto,CA,2794356,143.6532,-79.3832,America/Toronto
+                """));
+        assertThrows(IOException.class, () -> build("""
+                name,country,population,latitude,longitude,timezone
+                Toronto,CA,2794356,43.6532,-79.3832,America/Atlantis
+                """));
+    }
+
+    @Test
+    void bundledGazetteerIsBuiltFromTheCitiesCsvTest() throws IOException {
+        final Gazetteer bundled = Gazetteer.openBundled();
+
+        assertEquals("Toronto", bundled.find("Toronto").name());
+        assertEquals("CA", bundled.find("Waterloo").country());
+    }
+
+    private Gazetteer build(String csv) throws IOException {
+        final Path csvPath = tempDir.resolve("Cities.csv");
+        Files.writeString(csvPath, csv);
+        return GazetteerBuilder.build(csvPath, gazetteerPath);
+    }
+}
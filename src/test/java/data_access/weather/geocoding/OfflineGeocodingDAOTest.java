@@ -0,0 +1,70 @@
+package data_access.weather.geocoding;
+
+import exception.ApiCallException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OfflineGeocodingDAOTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<String> upstreamCalls = new ArrayList<>();
+
+    // fake geocoder that records every lookup that reaches the "network"
+    private final Geocoder upstream = city -> {
+        upstreamCalls.add(city);
+        if (city.equals("Atlantis")) {
+            throw new ApiCallException("City Not Found.");
+        }
+        return Map.of(Geocoder.LATITUDE, 43.46, Geocoder.LONGITUDE, -80.52);
+    };
+
+    private OfflineGeocodingDAO geocoder;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final Path csvPath = tempDir.resolve("Cities.csv");
+        Files.writeString(csvPath, """
+                name,country,population,latitude,longitude,timezone
+                Toronto,CA,2794356,43.6532,-79.3832,America/Toronto
+                """);
+        geocoder = new OfflineGeocodingDAO(GazetteerBuilder.build(csvPath, tempDir.resolve("Gazetteer.bin")),
+                upstream);
+    }
+
+    @Test
+    void knownCityIsResolvedWithoutTheNetworkTest() throws ApiCallException {
+        assertEquals(Map.of(Geocoder.LATITUDE, 43.6532, Geocoder.LONGITUDE, -79.3832),
+                geocoder.getCoordinates("toronto"));
+        assertEquals(Map.of(Geocoder.LATITUDE, 43.6532, Geocoder.LONGITUDE, -79.3832),
+                geocoder.getCoordinatesAsync("Toronto").join());
+
+        assertTrue(upstreamCalls.isEmpty());
+        assertEquals(2, geocoder.getOfflineHits());
+        assertEquals(0, geocoder.getFallbacks());
+    }
+
+    @Test
+    void unknownCityFallsBackToTheNetworkTest() throws ApiCallException {
+        assertEquals(43.46, geocoder.getCoordinates("Waterloo").get(Geocoder.LATITUDE));
+        assertThrows(ApiCallException.class, () -> geocoder.getCoordinates("Atlantis"));
+        final CompletionException exception = assertThrows(CompletionException.class,
+                () -> geocoder.getCoordinatesAsync("Atlantis").join());
+
+        assertInstanceOf(ApiCallException.class, exception.getCause());
+        assertEquals(List.of("Waterloo", "Atlantis", "Atlantis"), upstreamCalls);
+        assertEquals(3, geocoder.getFallbacks());
+    }
+}
@@ -0,0 +1,171 @@
+package data_access.weather.open_weather;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import data_access.weather.cache.ForecastSnapshot;
+import entity.weather.daily_weather.ConcreteDailyWeatherDataFactory;
+import entity.weather.daily_weather.DailyWeatherDataFactory;
+import entity.weather.day_weather.ConcreteDayWeatherDataFactory;
+import entity.weather.day_weather.DayWeatherData;
+import entity.weather.day_weather.DayWeatherDataFactory;
+import entity.weather.hour_weather.ConcreteHourWeatherDataFactory;
+import entity.weather.hour_weather.HourWeatherData;
+import entity.weather.hour_weather.HourWeatherDataFactory;
+import entity.weather.hourly_weather.ConcreteHourlyWeatherDataFactory;
+import entity.weather.hourly_weather.HourlyWeatherDataFactory;
+
+/**
+ * Compares the streaming OneCallParser with the org.json DOM path WeatherDAO used before it, on the Toronto forecast
+ * from InMemoryWeatherData.json. Both start from the raw response bytes and end with equivalent hourly and daily
+ * entities, so the difference is the cost of building and walking the full JSONObject tree. streamingDailyOnly
+ * parses the response the daily view now requests, with the hourly section excluded.
+ * Run with -prof gc to compare allocation per parse as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OneCallParserBenchmark {
+
+    private static final String CITY = "Toronto";
+    private static final String TIME_ZONE = "timezone";
+    private static final String TEMP = "temp";
+    private static final String HUMIDITY = "humidity";
+
+    private final DayWeatherDataFactory dayWeatherDataFactory = new ConcreteDayWeatherDataFactory();
+    private final DailyWeatherDataFactory dailyWeatherDataFactory = new ConcreteDailyWeatherDataFactory();
+    private final HourWeatherDataFactory hourWeatherDataFactory = new ConcreteHourWeatherDataFactory();
+    private final HourlyWeatherDataFactory hourlyWeatherDataFactory = new ConcreteHourlyWeatherDataFactory();
+    private final OneCallParser oneCallParser = new OneCallParser(dailyWeatherDataFactory,
+            hourlyWeatherDataFactory);
+
+    private byte[] body;
+    private byte[] dailyOnlyBody;
+
+    @Setup(Level.Trial)
+    public void loadResponse() throws IOException {
+        try (InputStream inputStream = getClass().getResourceAsStream("/data/InMemoryWeatherData.json")) {
+            final JSONObject response = new JSONObject(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8))
+                    .getJSONObject(CITY);
+            body = response.toString().getBytes(StandardCharsets.UTF_8);
+            response.remove("hourly");
+            dailyOnlyBody = response.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        System.out.println("Full response: " + body.length + " bytes, daily only: " + dailyOnlyBody.length + " bytes");
+    }
+
+    @Benchmark
+    public ForecastSnapshot streaming() throws IOException {
+        return oneCallParser.parse(CITY, new ByteArrayInputStream(body), 0L);
+    }
+
+    @Benchmark
+    public ForecastSnapshot streamingDailyOnly() throws IOException {
+        return oneCallParser.parse(CITY, new ByteArrayInputStream(dailyOnlyBody), 0L);
+    }
+
+    @Benchmark
+    public ForecastSnapshot dom() {
+        final JSONObject weatherData = new JSONObject(new JSONTokener(new ByteArrayInputStream(body)));
+        final String timezone = weatherData.getString(TIME_ZONE);
+        final JSONObject temperatureToday = weatherData.getJSONArray("daily").getJSONObject(0).getJSONObject(TEMP);
+
+        final JSONArray hourlyArray = weatherData.getJSONArray("hourly");
+        final List<HourWeatherData> hourWeatherDataList = new ArrayList<>(hourlyArray.length());
+        getHourWeatherDataList(timezone, hourlyArray, hourWeatherDataList);
+
+        final JSONArray dailyArray = weatherData.getJSONArray("daily");
+        final List<DayWeatherData> dayWeatherDataList = new ArrayList<>(dailyArray.length());
+        getDayWeatherDataList(timezone, dailyArray, dayWeatherDataList);
+
+        return new ForecastSnapshot(
+                hourlyWeatherDataFactory.create(hourWeatherDataList, timezone, CITY,
+                        (int) temperatureToday.getDouble("min"), (int) temperatureToday.getDouble("max")),
+                dailyWeatherDataFactory.create(dayWeatherDataList, timezone, CITY),
+                0L);
+    }
+
+    /**
+     * The DOM hour parsing WeatherDAO used before the streaming parser.
+     */
+    private void getHourWeatherDataList(String timezone, JSONArray hourlyArray,
+                                        List<HourWeatherData> hourWeatherDataList) {
+        for (int i = 0; i < hourlyArray.length(); i++) {
+            final JSONObject hourObject = hourlyArray.getJSONObject(i);
+            final String condition = hourObject.getJSONArray("weather").getJSONObject(0).getString("main");
+
+            final JSONObject hourWeatherDataValues = new JSONObject();
+            hourWeatherDataValues.put("city", CITY);
+            hourWeatherDataValues.put(TIME_ZONE, timezone);
+            hourWeatherDataValues.put("condition", condition);
+            hourWeatherDataValues.put("temperature", (int) hourObject.getDouble(TEMP));
+            hourWeatherDataValues.put("feelsLikeTemperature", (int) hourObject.getDouble("feels_like"));
+            hourWeatherDataValues.put("windSpeed", (int) hourObject.getDouble("wind_speed"));
+            hourWeatherDataValues.put("uvIndex", (int) hourObject.getDouble("uvi"));
+            hourWeatherDataValues.put("cloudCover", (int) hourObject.getDouble("clouds"));
+            hourWeatherDataValues.put("precipitation", (int) (hourObject.getDouble("pop") * 100));
+            hourWeatherDataValues.put(HUMIDITY, (int) hourObject.getDouble(HUMIDITY));
+            hourWeatherDataList.add(hourWeatherDataFactory.create(hourWeatherDataValues));
+        }
+    }
+
+    /**
+     * The DOM day parsing WeatherDAO used before the streaming parser.
+     */
+    private void getDayWeatherDataList(String timezone, JSONArray dailyArray,
+                                       List<DayWeatherData> dayWeatherDataList) {
+        for (int i = 0; i < dailyArray.length(); i++) {
+            final JSONObject dayObject = dailyArray.getJSONObject(i);
+            final String condition = dayObject.getJSONArray("weather").getJSONObject(0).getString("main");
+
+            final JSONObject dayWeatherDataValues = new JSONObject();
+            dayWeatherDataValues.put("city", CITY);
+            dayWeatherDataValues.put(TIME_ZONE, timezone);
+            dayWeatherDataValues.put("condition", condition);
+            dayWeatherDataValues.put("temperature", (int) dayObject.getJSONObject(TEMP).getDouble("day"));
+            dayWeatherDataValues.put("feelsLikeTemperature",
+                    (int) dayObject.getJSONObject("feels_like").getDouble("day"));
+            dayWeatherDataValues.put("windSpeed", (int) dayObject.getDouble("wind_speed"));
+            dayWeatherDataValues.put("uvIndex", (int) dayObject.getDouble("uvi"));
+            dayWeatherDataValues.put("cloudCover", (int) dayObject.getDouble("clouds"));
+            dayWeatherDataValues.put("precipitation", (int) (dayObject.getDouble("pop") * 100));
+            dayWeatherDataValues.put(HUMIDITY, (int) dayObject.getDouble(HUMIDITY));
+            dayWeatherDataList.add(dayWeatherDataFactory.create(dayWeatherDataValues));
+        }
+    }
+
+    /**
+     * Runs the benchmark from the IDE.
+     * @param args unused arguments
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(OneCallParserBenchmark.class.getSimpleName()).build()).run();
+    }
+}
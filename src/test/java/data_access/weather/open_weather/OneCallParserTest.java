@@ -0,0 +1,129 @@
+package data_access.weather.open_weather;
+
+import data_access.weather.InMemoryWeatherDAO;
+import data_access.weather.cache.ForecastSnapshot;
+import entity.weather.daily_weather.ConcreteDailyWeatherDataFactory;
+import entity.weather.daily_weather.DailyWeatherData;
+import entity.weather.day_weather.ConcreteDayWeatherDataFactory;
+import entity.weather.day_weather.DayWeatherData;
+import entity.weather.hour_weather.ConcreteHourWeatherDataFactory;
+import entity.weather.hour_weather.HourWeatherData;
+import entity.weather.hourly_weather.ConcreteHourlyWeatherDataFactory;
+import entity.weather.hourly_weather.HourlyWeatherData;
+import exception.ApiCallException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OneCallParserTest {
+
+    private final OneCallParser oneCallParser = new OneCallParser(new ConcreteDailyWeatherDataFactory(),
+            new ConcreteHourlyWeatherDataFactory());
+    private final InMemoryWeatherDAO inMemoryWeatherDAO = new InMemoryWeatherDAO(new ConcreteDayWeatherDataFactory(),
+            new ConcreteDailyWeatherDataFactory(), new ConcreteHourWeatherDataFactory(),
+            new ConcreteHourlyWeatherDataFactory());
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Toronto", "Vancouver", "Edmonton"})
+    void matchesDomParsingTest(String city) throws IOException, ApiCallException {
+        final ForecastSnapshot snapshot = oneCallParser.parse(city, readCity(city), 42L);
+
+        final HourlyWeatherData expectedHourly = inMemoryWeatherDAO.getHourlyWeatherData(city);
+        final HourlyWeatherData hourly = snapshot.getHourlyWeatherData();
+        assertEquals(expectedHourly.getCity(), hourly.getCity());
+        assertEquals(expectedHourly.getTimezone(), hourly.getTimezone());
+        assertEquals(expectedHourly.getLowTemperature(), hourly.getLowTemperature());
+        assertEquals(expectedHourly.getHighTemperature(), hourly.getHighTemperature());
+        assertEquals(expectedHourly.getHourWeatherDataList().size(), hourly.getHourWeatherDataList().size());
+        for (int i = 0; i < hourly.getHourWeatherDataList().size(); i++) {
+            assertHourEquals(expectedHourly.getHourWeatherDataList().get(i), hourly.getHourWeatherDataList().get(i));
+        }
+
+        final DailyWeatherData expectedDaily = inMemoryWeatherDAO.getDailyWeatherData(city);
+        final DailyWeatherData daily = snapshot.getDailyWeatherData();
+        assertEquals(expectedDaily.getTimezone(), daily.getTimezone());
+        assertEquals(expectedDaily.getDayWeatherDataList().size(), daily.getDayWeatherDataList().size());
+        for (int i = 0; i < daily.getDayWeatherDataList().size(); i++) {
+            assertDayEquals(expectedDaily.getDayWeatherDataList().get(i), daily.getDayWeatherDataList().get(i));
+        }
+
+        assertEquals(42L, snapshot.getFetchedAt());
+    }
+
+    @Test
+    void responseWithoutHourlySectionTest() throws IOException {
+        final JSONObject toronto = new JSONObject(new String(readCity("Toronto").readAllBytes(),
+                StandardCharsets.UTF_8));
+        toronto.remove("hourly");
+        final ForecastSnapshot snapshot = oneCallParser.parse("Toronto",
+                new ByteArrayInputStream(toronto.toString().getBytes(StandardCharsets.UTF_8)), 0L);
+
+        assertNull(snapshot.getHourlyWeatherData());
+        assertEquals(8, snapshot.getDailyWeatherData().getDayWeatherDataList().size());
+        assertEquals(Set.of(ForecastSection.DAILY), snapshot.getSections());
+        assertEquals("current,minutely,alerts,hourly", OpenWeatherWeatherDAO.exclude(snapshot.getSections()));
+        assertEquals("current,minutely,alerts", OpenWeatherWeatherDAO.exclude(ForecastSection.ALL));
+    }
+
+    @Test
+    void incompleteResponseTest() {
+        final InputStream body = new ByteArrayInputStream(
+                "{\"timezone\": \"America/New_York\", \"hourly\": []}".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IOException.class, () -> oneCallParser.parse("Toronto", body, 0L));
+    }
+
+    @Test
+    void malformedResponseTest() {
+        final InputStream body = new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IOException.class, () -> oneCallParser.parse("Toronto", body, 0L));
+    }
+
+    private InputStream readCity(String city) throws IOException {
+        try (InputStream inputStream = getClass().getResourceAsStream("/data/InMemoryWeatherData.json")) {
+            final String json = new JSONObject(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8))
+                    .getJSONObject(city).toString();
+            return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void assertHourEquals(HourWeatherData expected, HourWeatherData actual) {
+        assertEquals(expected.getCity(), actual.getCity());
+        assertEquals(expected.getTimezone(), actual.getTimezone());
+        assertEquals(expected.getCondition(), actual.getCondition());
+        assertEquals(expected.getConditionCode(), actual.getConditionCode());
+        assertEquals(expected.getConditionDescription(), actual.getConditionDescription());
+        assertEquals(expected.getTemperature(), actual.getTemperature());
+        assertEquals(expected.getFeelsLikeTemperature(), actual.getFeelsLikeTemperature());
+        assertEquals(expected.getWindSpeed(), actual.getWindSpeed());
+        assertEquals(expected.getUvIndex(), actual.getUvIndex());
+        assertEquals(expected.getCloudCover(), actual.getCloudCover());
+        assertEquals(expected.getPrecipitation(), actual.getPrecipitation());
+        assertEquals(expected.getHumidity(), actual.getHumidity());
+    }
+
+    private static void assertDayEquals(DayWeatherData expected, DayWeatherData actual) {
+        assertEquals(expected.getCity(), actual.getCity());
+        assertEquals(expected.getTimezone(), actual.getTimezone());
+        assertEquals(expected.getCondition(), actual.getCondition());
+        assertEquals(expected.getConditionCode(), actual.getConditionCode());
+        assertEquals(expected.getConditionDescription(), actual.getConditionDescription());
+        assertEquals(expected.getTemperature(), actual.getTemperature());
+        assertEquals(expected.getFeelsLikeTemperature(), actual.getFeelsLikeTemperature());
+        assertEquals(expected.getWindSpeed(), actual.getWindSpeed());
+        assertEquals(expected.getUvIndex(), actual.getUvIndex());
+        assertEquals(expected.getCloudCover(), actual.getCloudCover());
+        assertEquals(expected.getPrecipitation(), actual.getPrecipitation());
+        assertEquals(expected.getHumidity(), actual.getHumidity());
+    }
+}
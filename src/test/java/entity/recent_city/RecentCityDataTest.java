@@ -2,35 +2,24 @@ package entity.recent_city;
 
 import data_access.recent_city.RecentCitiesDAO;
 import exception.RecentCitiesDataException;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
-import java.io.FileWriter;
-import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class RecentCityDataTest {
 
-    static final String filePath = "src/main/resources/data/RecentCities.json";
-
-    /**
-     * Clear the JSON file to an empty JSON Array
-     */
-    @BeforeEach
-    void clearJsonFile() {
-        try (FileWriter fileWriter = new FileWriter(filePath, false)) {
-            fileWriter.write("[]");
-        } catch (IOException e) {
-            System.err.println("Failed to clear JSON file: " + e.getMessage());
-        }
-    }
+    @TempDir
+    Path tempDir;
 
     @Test
     void readRecentCitiesTest() {
         RecentCityDataFactory recentCityDataFactory = new ConcreteRecentCityDataFactory();
-        RecentCitiesDAO recentCitiesDAO = new RecentCitiesDAO(recentCityDataFactory);
+        RecentCitiesDAO recentCitiesDAO = new RecentCitiesDAO(recentCityDataFactory,
+                tempDir.resolve("RecentCities.json"));
 
         // add new cities to the recent cities data file
         try {
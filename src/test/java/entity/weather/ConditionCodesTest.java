@@ -0,0 +1,58 @@
+package entity.weather;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionCodesTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "211, THUNDERSTORM, thunderstorm",
+        "300, DRIZZLE, light intensity drizzle",
+        "500, RAIN, light rain",
+        "502, RAIN, heavy intensity rain",
+        "600, SNOW, light snow",
+        "701, MIST, mist",
+        "762, ASH, volcanic ash",
+        "800, CLEAR, clear sky",
+        "804, CLOUDS, overcast clouds",
+    })
+    void fromIdTest(int id, ConditionGroup group, String description) {
+        final byte code = ConditionCodes.fromId(id);
+
+        assertNotEquals(ConditionCodes.UNKNOWN, code);
+        assertEquals(id, ConditionCodes.getId(code));
+        assertEquals(group, ConditionCodes.getGroup(code));
+        assertEquals(group.getMain(), ConditionCodes.getMain(code));
+        assertEquals(description, ConditionCodes.getDescription(code));
+    }
+
+    @Test
+    void finerGrainedConditionsTest() {
+        final byte lightRain = ConditionCodes.fromId(500);
+        final byte heavyRain = ConditionCodes.fromId(502);
+
+        assertNotEquals(lightRain, heavyRain);
+        assertEquals(ConditionCodes.getGroup(lightRain), ConditionCodes.getGroup(heavyRain));
+    }
+
+    @Test
+    void fromMainTest() {
+        for (ConditionGroup group : ConditionGroup.values()) {
+            assertEquals(group, ConditionCodes.getGroup(ConditionCodes.fromMain(group.getMain())));
+        }
+    }
+
+    @Test
+    void unknownConditionTest() {
+        assertEquals(ConditionCodes.UNKNOWN, ConditionCodes.fromId(999));
+        assertEquals(ConditionCodes.UNKNOWN, ConditionCodes.fromId(-1));
+        assertEquals(ConditionCodes.UNKNOWN, ConditionCodes.fromId(505));
+        assertEquals(ConditionCodes.UNKNOWN, ConditionCodes.fromMain("Sunny"));
+        assertEquals(ConditionGroup.UNKNOWN, ConditionCodes.getGroup(ConditionCodes.UNKNOWN));
+        assertEquals(0, ConditionCodes.getId(ConditionCodes.UNKNOWN));
+    }
+}
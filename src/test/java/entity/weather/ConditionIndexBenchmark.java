@@ -0,0 +1,132 @@
+package entity.weather;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import entity.weather.hour_weather.ConcreteHourWeatherDataFactory;
+import entity.weather.hour_weather.HourWeatherData;
+import entity.weather.hour_weather.HourWeatherDataFactory;
+import entity.weather.hourly_weather.ConcreteHourlyWeatherData;
+import entity.weather.hourly_weather.ConcreteHourlyWeatherDataFactory;
+import entity.weather.hourly_weather.HourlyWeatherData;
+
+/**
+ * Answers thousands of Checker window queries against one 48 hour forecast: once by comparing the main condition
+ * strings of list backed hours (the Checker before condition codes), once by scanning the condition code column, and
+ * once through the condition index. Windows use the Checker's ranges of a start hour in 0-24 and 1-25 hours.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConditionIndexBenchmark {
+
+    private static final int HOURS = 48;
+    private static final int QUERIES = 4096;
+    private static final int[] CONDITION_IDS = {211, 300, 500, 502, 600, 701, 800, 801, 804};
+    private static final ConditionGroup[] QUERY_GROUPS = {ConditionGroup.THUNDERSTORM, ConditionGroup.DRIZZLE,
+        ConditionGroup.RAIN, ConditionGroup.SNOW, ConditionGroup.CLEAR, ConditionGroup.CLOUDS};
+
+    private HourlyWeatherData listBackedForecast;
+    private HourlyWeatherData columnarForecast;
+    private final ConditionGroup[] groups = new ConditionGroup[QUERIES];
+    private final String[] mains = new String[QUERIES];
+    private final int[] fromHours = new int[QUERIES];
+    private final int[] windowHours = new int[QUERIES];
+
+    @Setup(Level.Trial)
+    public void createForecast() {
+        final Random random = new Random(HOURS);
+        final HourWeatherDataFactory hourWeatherDataFactory = new ConcreteHourWeatherDataFactory();
+        final WeatherColumns hourColumns = new WeatherColumns(HOURS);
+        final List<HourWeatherData> hourWeatherDataList = new ArrayList<>(HOURS);
+        for (int i = 0; i < HOURS; i++) {
+            final byte conditionCode = ConditionCodes.fromId(CONDITION_IDS[random.nextInt(CONDITION_IDS.length)]);
+            hourColumns.add(conditionCode, i, i, 0, 0, 0, 0, 0);
+            hourWeatherDataList.add(hourWeatherDataFactory.create("Toronto", "America/New_York", conditionCode, i, i,
+                    0, 0, 0, 0, 0));
+        }
+        listBackedForecast = new ConcreteHourlyWeatherData(hourWeatherDataList, "America/New_York", "Toronto", 0, 0);
+        columnarForecast = new ConcreteHourlyWeatherDataFactory().create(hourColumns, "America/New_York", "Toronto",
+                0, 0);
+
+        for (int i = 0; i < QUERIES; i++) {
+            groups[i] = QUERY_GROUPS[random.nextInt(QUERY_GROUPS.length)];
+            mains[i] = groups[i].getMain();
+            fromHours[i] = random.nextInt(25);
+            windowHours[i] = 1 + random.nextInt(24);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int stringScan() {
+        int matches = 0;
+        for (int query = 0; query < QUERIES; query++) {
+            final List<HourWeatherData> hourWeatherDataList = listBackedForecast.getHourWeatherDataList();
+            for (int i = fromHours[query]; i < fromHours[query] + windowHours[query]; i++) {
+                if (hourWeatherDataList.get(i).getCondition().equals(mains[query])) {
+                    matches++;
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int codeScan() {
+        int matches = 0;
+        for (int query = 0; query < QUERIES; query++) {
+            for (int i = fromHours[query]; i < fromHours[query] + windowHours[query]; i++) {
+                if (ConditionCodes.getGroup(columnarForecast.getConditionCode(i)) == groups[query]) {
+                    matches++;
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int conditionIndex() {
+        int matches = 0;
+        for (int query = 0; query < QUERIES; query++) {
+            if (columnarForecast.hasCondition(groups[query], fromHours[query], windowHours[query])) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Runs the benchmark from the IDE.
+     * @param args unused arguments
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ConditionIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,72 @@
+package entity.weather;
+
+import java.util.Random;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionIndexTest {
+
+    private static final int[] CONDITION_IDS = {211, 300, 500, 502, 600, 701, 800, 804};
+
+    private static WeatherColumns createColumns(int hours) {
+        final Random random = new Random(hours);
+        final WeatherColumns columns = new WeatherColumns(hours);
+        for (int i = 0; i < hours; i++) {
+            final byte conditionCode = ConditionCodes.fromId(CONDITION_IDS[random.nextInt(CONDITION_IDS.length)]);
+            columns.add(conditionCode, 0, 0, 0, 0, 0, 0, 0);
+        }
+        return columns;
+    }
+
+    private static boolean scan(WeatherColumns columns, ConditionGroup group, int fromHour, int windowHours) {
+        boolean occurs = false;
+        for (int i = Math.max(fromHour, 0); i < fromHour + windowHours && i < columns.size(); i++) {
+            occurs |= ConditionCodes.getGroup(columns.getConditionCode(i)) == group;
+        }
+        return occurs;
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 48, 63, 64, 65, 130})
+    void matchesLinearScanTest(int hours) {
+        final WeatherColumns columns = createColumns(hours);
+        final ConditionIndex conditionIndex = new ConditionIndex(columns);
+
+        for (ConditionGroup group : ConditionGroup.values()) {
+            for (int fromHour = -1; fromHour <= hours + 1; fromHour++) {
+                for (int windowHours = 0; windowHours <= hours + 2; windowHours++) {
+                    assertEquals(scan(columns, group, fromHour, windowHours),
+                            conditionIndex.occurs(group, fromHour, windowHours),
+                            group + " from " + fromHour + " for " + windowHours + " of " + hours + " hours");
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 47, 48})
+    void windowEdgesTest(int rainHour) {
+        final WeatherColumns columns = new WeatherColumns(48);
+        for (int i = 0; i < 48; i++) {
+            final int conditionId;
+            if (i == rainHour) {
+                conditionId = 502;
+            }
+            else {
+                conditionId = 800;
+            }
+            columns.add(ConditionCodes.fromId(conditionId), 0, 0, 0, 0, 0, 0, 0);
+        }
+        final ConditionIndex conditionIndex = new ConditionIndex(columns);
+
+        final boolean inForecast = rainHour < 48;
+        assertEquals(inForecast, conditionIndex.occurs(ConditionGroup.RAIN, rainHour, 1));
+        assertEquals(inForecast, conditionIndex.occurs(ConditionGroup.RAIN, 0, Integer.MAX_VALUE));
+        assertFalse(conditionIndex.occurs(ConditionGroup.RAIN, rainHour + 1, 48));
+        assertFalse(conditionIndex.occurs(ConditionGroup.RAIN, 0, rainHour));
+        assertFalse(conditionIndex.occurs(ConditionGroup.SNOW, 0, 48));
+    }
+}
@@ -0,0 +1,109 @@
+package entity.weather;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import entity.weather.day_weather.ConcreteDayWeatherDataFactory;
+import entity.weather.day_weather.DayWeatherData;
+import entity.weather.day_weather.DayWeatherDataFactory;
+import entity.weather.hour_weather.ConcreteHourWeatherDataFactory;
+import entity.weather.hour_weather.HourWeatherData;
+import entity.weather.hour_weather.HourWeatherDataFactory;
+
+/**
+ * Measures the garbage produced while building the 48 hour and 8 day entities of one forecast, once through the
+ * JSONObject factory methods and once through the typed ones. The GC profiler is always attached, and
+ * gc.alloc.rate.norm is the number of bytes allocated per forecast.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WeatherDataFactoryBenchmark {
+
+    private static final int HOURS = 48;
+    private static final int DAYS = 8;
+    private static final String CITY = "Toronto";
+    private static final String TIME_ZONE = "America/New_York";
+    private static final String CONDITION = "Clouds";
+    private static final byte CONDITION_CODE = ConditionCodes.fromMain(CONDITION);
+
+    private final HourWeatherDataFactory hourWeatherDataFactory = new ConcreteHourWeatherDataFactory();
+    private final DayWeatherDataFactory dayWeatherDataFactory = new ConcreteDayWeatherDataFactory();
+
+    @Benchmark
+    public List<Object> jsonObjectFactory() {
+        final List<Object> forecast = new ArrayList<>(HOURS + DAYS);
+        for (int i = 0; i < HOURS; i++) {
+            final HourWeatherData hourWeatherData = hourWeatherDataFactory.create(values(i));
+            forecast.add(hourWeatherData);
+        }
+        for (int i = 0; i < DAYS; i++) {
+            final DayWeatherData dayWeatherData = dayWeatherDataFactory.create(values(i));
+            forecast.add(dayWeatherData);
+        }
+        return forecast;
+    }
+
+    @Benchmark
+    public List<Object> typedFactory() {
+        final List<Object> forecast = new ArrayList<>(HOURS + DAYS);
+        for (int i = 0; i < HOURS; i++) {
+            final HourWeatherData hourWeatherData = hourWeatherDataFactory.create(CITY, TIME_ZONE, CONDITION_CODE, i,
+                    i - 2, i % 10, i % 11, i % 100, i % 100, 80);
+            forecast.add(hourWeatherData);
+        }
+        for (int i = 0; i < DAYS; i++) {
+            final DayWeatherData dayWeatherData = dayWeatherDataFactory.create(CITY, TIME_ZONE, CONDITION_CODE, i,
+                    i - 2, i % 10, i % 11, i % 100, i % 100, 80);
+            forecast.add(dayWeatherData);
+        }
+        return forecast;
+    }
+
+    /**
+     * Packages the values of one hour or day the way WeatherDAO did before the typed factory methods.
+     */
+    private static JSONObject values(int i) {
+        final JSONObject weatherDataValues = new JSONObject();
+        weatherDataValues.put("city", CITY);
+        weatherDataValues.put("timezone", TIME_ZONE);
+        weatherDataValues.put("condition", CONDITION);
+        weatherDataValues.put("temperature", i);
+        weatherDataValues.put("feelsLikeTemperature", i - 2);
+        weatherDataValues.put("windSpeed", i % 10);
+        weatherDataValues.put("uvIndex", i % 11);
+        weatherDataValues.put("cloudCover", i % 100);
+        weatherDataValues.put("precipitation", i % 100);
+        weatherDataValues.put("humidity", 80);
+        return weatherDataValues;
+    }
+
+    /**
+     * Runs the benchmark from the IDE.
+     * @param args unused arguments
+     * @throws RunnerException if the benchmark fails to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WeatherDataFactoryBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -0,0 +1,76 @@
+package entity.weather.hourly_weather;
+
+import entity.weather.ConditionCodes;
+import entity.weather.WeatherColumns;
+import entity.weather.hour_weather.HourWeatherData;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarHourlyWeatherDataTest {
+
+    private static final int HOURS = 48;
+
+    private HourlyWeatherData createHourlyWeatherData() {
+        // start small so the columns have to grow past their initial capacity
+        final WeatherColumns hourColumns = new WeatherColumns(2);
+        for (int i = 0; i < HOURS; i++) {
+            final int conditionId;
+            if (i % 2 == 0) {
+                conditionId = 502;
+            }
+            else {
+                conditionId = 804;
+            }
+            hourColumns.add(ConditionCodes.fromId(conditionId), i, i - 2, i % 10, i % 11, i, i + 1, 80);
+        }
+        return new ConcreteHourlyWeatherDataFactory().create(hourColumns, "America/New_York", "Toronto", -3, 12);
+    }
+
+    @Test
+    void hourViewsTest() {
+        HourlyWeatherData hourlyWeatherData = createHourlyWeatherData();
+        List<HourWeatherData> hourWeatherDataList = hourlyWeatherData.getHourWeatherDataList();
+
+        assertEquals(HOURS, hourWeatherDataList.size());
+        assertEquals(-3, hourlyWeatherData.getLowTemperature());
+        assertEquals(12, hourlyWeatherData.getHighTemperature());
+
+        HourWeatherData hour = hourWeatherDataList.get(5);
+        assertEquals("Toronto", hour.getCity());
+        assertEquals("America/New_York", hour.getTimezone());
+        assertEquals("Clouds", hour.getCondition());
+        assertEquals("overcast clouds", hour.getConditionDescription());
+        assertEquals(5, hour.getTemperature());
+        assertEquals(3, hour.getFeelsLikeTemperature());
+        assertEquals(5, hour.getWindSpeed());
+        assertEquals(5, hour.getUvIndex());
+        assertEquals(5, hour.getCloudCover());
+        assertEquals(6, hour.getPrecipitation());
+        assertEquals(80, hour.getHumidity());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> hourWeatherDataList.get(HOURS));
+        assertThrows(UnsupportedOperationException.class, () -> hourWeatherDataList.add(hour));
+    }
+
+    @Test
+    void columnAccessTest() {
+        HourlyWeatherData hourlyWeatherData = createHourlyWeatherData();
+
+        assertEquals(HOURS, hourlyWeatherData.getHourCount());
+        assertEquals(ConditionCodes.fromId(502), hourlyWeatherData.getConditionCode(0));
+        assertEquals("Clouds", hourlyWeatherData.getCondition(47));
+        assertEquals(47, hourlyWeatherData.getTemperature(47));
+        assertThrows(IndexOutOfBoundsException.class, () -> hourlyWeatherData.getTemperature(HOURS));
+    }
+
+    @Test
+    void listBackedDefaultsTest() {
+        HourlyWeatherData emptyHourlyWeatherData = new ConcreteHourlyWeatherData(null, "America/New_York",
+                "Toronto", 0, 0);
+
+        assertEquals(0, emptyHourlyWeatherData.getHourCount());
+    }
+}
@@ -0,0 +1,30 @@
+package interface_adapter;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OfflineLabelTest {
+
+    private static final long NOW = Duration.ofDays(100).toMillis();
+
+    @Test
+    void liveForecastHasNoLabelTest() {
+        assertEquals("", OfflineLabel.describe(false, NOW - Duration.ofHours(5).toMillis(), NOW));
+    }
+
+    @Test
+    void restoredForecastShowsItsAgeTest() {
+        assertEquals("Offline, 42m Old", OfflineLabel.describe(true, NOW - Duration.ofMinutes(42).toMillis(), NOW));
+        assertEquals("Offline, 2h Old", OfflineLabel.describe(true, NOW - Duration.ofMinutes(150).toMillis(), NOW));
+        assertEquals("Offline, 47h Old", OfflineLabel.describe(true, NOW - Duration.ofHours(47).toMillis(), NOW));
+        assertEquals("Offline, 3d Old", OfflineLabel.describe(true, NOW - Duration.ofHours(80).toMillis(), NOW));
+    }
+
+    @Test
+    void restoredForecastOfUnknownAgeIsOfflineTest() {
+        assertEquals("Offline", OfflineLabel.describe(true, 0, NOW));
+    }
+}
@@ -0,0 +1,127 @@
+package interface_adapter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UseCaseDispatcherTest {
+
+    // stands in for the Event Dispatch Thread, holding the presenter calls until the test runs them
+    private final LinkedBlockingQueue<Runnable> uiQueue = new LinkedBlockingQueue<>();
+    private final List<String> presented = new ArrayList<>();
+    private final CityOutputBoundary presenter = presented::add;
+
+    interface CityOutputBoundary {
+        void prepareSuccessView(String city);
+    }
+
+    private void runUiQueue() {
+        Runnable delivery = uiQueue.poll();
+        while (delivery != null) {
+            delivery.run();
+            delivery = uiQueue.poll();
+        }
+    }
+
+    @Test
+    void outputDeliveredOnUiExecutorTest() throws InterruptedException {
+        final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        final UseCaseDispatcher dispatcher = new UseCaseDispatcher(executor, uiQueue::add);
+        final CityOutputBoundary outputBoundary = dispatcher.onUiThread(CityOutputBoundary.class, presenter);
+
+        dispatcher.submit("display_home", () -> outputBoundary.prepareSuccessView("Toronto"));
+        final Runnable delivery = uiQueue.poll(5, TimeUnit.SECONDS);
+
+        assertNotNull(delivery);
+        assertTrue(presented.isEmpty());
+        delivery.run();
+        assertEquals(List.of("Toronto"), presented);
+        executor.shutdown();
+    }
+
+    @Test
+    void supersededOutputDroppedTest() throws InterruptedException {
+        final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        final UseCaseDispatcher dispatcher = new UseCaseDispatcher(executor, uiQueue::add);
+        final CityOutputBoundary outputBoundary = dispatcher.onUiThread(CityOutputBoundary.class, presenter);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(2);
+
+        dispatcher.submit("display_home", () -> {
+            started.countDown();
+            awaitQuietly(release);
+            outputBoundary.prepareSuccessView("Toronto");
+            finished.countDown();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        dispatcher.submit("display_home", () -> {
+            outputBoundary.prepareSuccessView("Vancouver");
+            finished.countDown();
+        });
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        runUiQueue();
+
+        assertEquals(List.of("Vancouver"), presented);
+        executor.shutdown();
+    }
+
+    @Test
+    void pendingSupersededRequestNeverRunsTest() {
+        final List<Runnable> tasks = new ArrayList<>();
+        final UseCaseDispatcher dispatcher = new UseCaseDispatcher(tasks::add, uiQueue::add);
+        final List<String> executed = new ArrayList<>();
+
+        dispatcher.submit("display_daily", () -> executed.add("MONDAY"));
+        dispatcher.submit("display_daily", () -> executed.add("TUESDAY"));
+        dispatcher.submit("display_hourly", () -> executed.add("12:00"));
+        tasks.forEach(Runnable::run);
+
+        assertEquals(List.of("TUESDAY", "12:00"), executed);
+    }
+
+    @Test
+    void directCallsPassThroughTest() {
+        final UseCaseDispatcher dispatcher = new UseCaseDispatcher(Runnable::run, uiQueue::add);
+        final CityOutputBoundary outputBoundary = dispatcher.onUiThread(CityOutputBoundary.class, presenter);
+
+        outputBoundary.prepareSuccessView("Edmonton");
+
+        assertEquals(List.of("Edmonton"), presented);
+        assertTrue(uiQueue.isEmpty());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void interactorFailureIsRethrownOnUiExecutorTest() throws InterruptedException {
+        final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        final UseCaseDispatcher dispatcher = new UseCaseDispatcher(executor, uiQueue::add);
+
+        dispatcher.submit("display_home", () -> {
+            throw new IllegalStateException("Presenter Failed.");
+        });
+        final Runnable delivery = uiQueue.poll(5, TimeUnit.SECONDS);
+
+        assertNotNull(delivery);
+        final IllegalStateException exception = assertThrows(IllegalStateException.class, delivery::run);
+        assertEquals("Presenter Failed.", exception.getMessage());
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,188 @@
+package use_case.display_home;
+
+import data_access.weather.InMemoryWeatherDAO;
+import data_access.weather.geocoding.CityNameDAO;
+import entity.recent_city.ConcreteRecentCityData;
+import entity.recent_city.RecentCityData;
+import entity.weather.daily_weather.ConcreteDailyWeatherDataFactory;
+import entity.weather.day_weather.ConcreteDayWeatherDataFactory;
+import entity.weather.hour_weather.ConcreteHourWeatherDataFactory;
+import entity.weather.hourly_weather.ConcreteHourlyWeatherData;
+import entity.weather.hourly_weather.ConcreteHourlyWeatherDataFactory;
+import entity.weather.hourly_weather.HourlyWeatherData;
+import exception.ApiCallException;
+import exception.CityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DisplayHomeInteractorTest {
+
+    // cities the weather service finds, Bergen among them though the city name index does not know it
+    private static final Set<String> FOUND_CITIES = Set.of("Toronto", "Vancouver", "Berlin", "Bergen");
+
+    private final List<String> cities = new ArrayList<>();
+    private final List<String> requestedCities = new ArrayList<>();
+    private CityNameDAO cityNameDAO;
+    private DisplayHomeOutputData outputData;
+    private String errorMessage;
+    private boolean serviceDown;
+    // when set, the weather service serves last-known forecasts fetched at this time
+    private long lastKnownFetchedAt;
+    private DisplayHomeInteractor interactor;
+
+    @BeforeEach
+    void setUp() {
+        final InMemoryWeatherDAO weatherDAO = new InMemoryWeatherDAO(new ConcreteDayWeatherDataFactory(),
+                new ConcreteDailyWeatherDataFactory(), new ConcreteHourWeatherDataFactory(),
+                new ConcreteHourlyWeatherDataFactory());
+        final DisplayHomeWeatherDAI displayHomeWeatherDAO = city -> {
+            requestedCities.add(city);
+            if (serviceDown) {
+                throw new ApiCallException("Failed To Get Geo-Coordinates For " + city + ".");
+            }
+            if (!FOUND_CITIES.contains(city)) {
+                throw new CityNotFoundException("City Not Found: " + city + ".");
+            }
+            // every found city shares Toronto's forecast
+            final HourlyWeatherData toronto = weatherDAO.getHourlyWeatherData("Toronto");
+            if (lastKnownFetchedAt == 0) {
+                return toronto;
+            }
+            return new ConcreteHourlyWeatherData(toronto.getHourWeatherDataList(), toronto.getTimezone(), city,
+                    toronto.getLowTemperature(), toronto.getHighTemperature()) {
+                @Override
+                public boolean isRestored() {
+                    return true;
+                }
+
+                @Override
+                public long getFetchedAt() {
+                    return lastKnownFetchedAt;
+                }
+            };
+        };
+        final DisplayHomeRecentCitiesDAI displayHomeRecentCitiesDAO = new DisplayHomeRecentCitiesDAI() {
+            @Override
+            public void addCity(String city) {
+                cities.remove(city);
+                cities.addFirst(city);
+            }
+
+            @Override
+            public RecentCityData getRecentCityData() {
+                return new ConcreteRecentCityData(cities);
+            }
+        };
+        final DisplayHomeOutputBoundary displayHomePresenter = new DisplayHomeOutputBoundary() {
+            @Override
+            public void prepareSuccessView(DisplayHomeOutputData displayHomeOutputData) {
+                outputData = displayHomeOutputData;
+            }
+
+            @Override
+            public void prepareFailView(String error) {
+                errorMessage = error;
+            }
+
+            @Override
+            public void prepareSuggestions(List<String> suggestions) {
+            }
+
+            @Override
+            public void switchToDailyView() {
+            }
+
+            @Override
+            public void switchToHourlyView() {
+            }
+
+            @Override
+            public void switchToCheckerView() {
+            }
+
+            @Override
+            public void switchToSummaryView() {
+            }
+
+            @Override
+            public void switchToHistoryView() {
+            }
+        };
+
+        cityNameDAO = new CityNameDAO();
+        cityNameDAO.addCities(List.of("Toronto", "Vancouver", "Berlin"), CityNameDAO.GAZETTEER_WEIGHT);
+        interactor = new DisplayHomeInteractor(displayHomeWeatherDAO, displayHomePresenter,
+                displayHomeRecentCitiesDAO, cityNameDAO);
+    }
+
+    @Test
+    void foundCityIsNotCorrectedTest() {
+        // Bergen would be corrected to Berlin, but it is a city of its own
+        assertEquals("Berlin", cityNameDAO.correctCity("Bergen"));
+
+        interactor.execute(new DisplayHomeInputData("Bergen"));
+
+        assertNull(errorMessage);
+        assertEquals("Bergen", outputData.getCity());
+        assertEquals(List.of("Bergen"), requestedCities);
+        assertEquals(List.of("Bergen"), cities);
+    }
+
+    @Test
+    void knownCityIsShownUnderItsOwnNameTest() {
+        interactor.execute(new DisplayHomeInputData(" toronto "));
+
+        assertEquals("Toronto", outputData.getCity());
+        assertEquals(List.of("Toronto"), requestedCities);
+        assertEquals(List.of("Toronto"), cities);
+    }
+
+    @Test
+    void misspelledCityIsCorrectedOnceNotFoundTest() {
+        interactor.execute(new DisplayHomeInputData("Torotno"));
+
+        assertNull(errorMessage);
+        assertEquals("Toronto", outputData.getCity());
+        assertEquals(List.of("Torotno", "Toronto"), requestedCities);
+        assertEquals(List.of("Toronto"), cities);
+    }
+
+    @Test
+    void unknownCityIsNotAddedToHistoryTest() {
+        interactor.execute(new DisplayHomeInputData("Atlantis"));
+
+        assertEquals("City Not Found.", errorMessage);
+        assertNull(outputData);
+        assertEquals(List.of("Atlantis"), requestedCities);
+        assertTrue(cities.isEmpty());
+    }
+
+    @Test
+    void lastKnownForecastIsMarkedWithItsAgeTest() {
+        interactor.execute(new DisplayHomeInputData("Toronto"));
+        assertFalse(outputData.isRestored());
+
+        lastKnownFetchedAt = 1_700_000_000_000L;
+        interactor.execute(new DisplayHomeInputData("Toronto"));
+
+        assertTrue(outputData.isRestored());
+        assertEquals(1_700_000_000_000L, outputData.getFetchedAt());
+    }
+
+    @Test
+    void failedLookupIsNotCorrectedTest() {
+        serviceDown = true;
+
+        interactor.execute(new DisplayHomeInputData("Torotno"));
+
+        assertEquals("City Not Found.", errorMessage);
+        assertEquals(List.of("Torotno"), requestedCities);
+        assertTrue(cities.isEmpty());
+    }
+}